@@ -41,11 +41,49 @@ public enum AbilityKey {
      */
     SERVER_TEST_2("test_2", "just for junit test", AbilityMode.SERVER),
     
+    /**
+     * Server can decode the payload body encoded by protobuf codec.
+     */
+    SERVER_PROTOBUF_PAYLOAD("protobufPayload", "support protobuf encoded payload body", AbilityMode.SERVER),
+    
+    /**
+     * Server can decompress the payload body compressed by deflate.
+     */
+    SERVER_PAYLOAD_COMPRESSION("payloadCompression", "support deflate compressed payload body", AbilityMode.SERVER),
+    
     /**
      * For Test temporarily.
      */
     SDK_CLIENT_TEST_1("test_1", "just for junit test", AbilityMode.SDK_CLIENT),
     
+    /**
+     * Sdk client can apply the delta instances of naming push.
+     */
+    SDK_CLIENT_NAMING_DELTA_PUSH("namingDeltaPush", "support delta instances in naming push", AbilityMode.SDK_CLIENT),
+    
+    /**
+     * Sdk client can decode the payload body encoded by protobuf codec.
+     */
+    SDK_CLIENT_PROTOBUF_PAYLOAD("protobufPayload", "support protobuf encoded payload body", AbilityMode.SDK_CLIENT),
+    
+    /**
+     * Sdk client can decompress the payload body compressed by deflate.
+     */
+    SDK_CLIENT_PAYLOAD_COMPRESSION("payloadCompression", "support deflate compressed payload body",
+            AbilityMode.SDK_CLIENT),
+    
+    /**
+     * Cluster client can decode the payload body encoded by protobuf codec.
+     */
+    CLUSTER_CLIENT_PROTOBUF_PAYLOAD("protobufPayload", "support protobuf encoded payload body",
+            AbilityMode.CLUSTER_CLIENT),
+    
+    /**
+     * Cluster client can decompress the payload body compressed by deflate.
+     */
+    CLUSTER_CLIENT_PAYLOAD_COMPRESSION("payloadCompression", "support deflate compressed payload body",
+            AbilityMode.CLUSTER_CLIENT),
+    
     /**
      * For Test temporarily.
      */
@@ -44,6 +44,8 @@ public class ClusterClientAbilities extends AbstractAbilityRegistry {
          *
          */
         // put ability here, which you want current client supports
+        supportedAbilities.put(AbilityKey.CLUSTER_CLIENT_PROTOBUF_PAYLOAD, true);
+        supportedAbilities.put(AbilityKey.CLUSTER_CLIENT_PAYLOAD_COMPRESSION, true);
     }
 
     /**
@@ -45,6 +45,9 @@ public class SdkClientAbilities extends AbstractAbilityRegistry {
          *
          */
         // put ability here, which you want current client supports
+        supportedAbilities.put(AbilityKey.SDK_CLIENT_NAMING_DELTA_PUSH, true);
+        supportedAbilities.put(AbilityKey.SDK_CLIENT_PROTOBUF_PAYLOAD, true);
+        supportedAbilities.put(AbilityKey.SDK_CLIENT_PAYLOAD_COMPRESSION, true);
     }
     
     /**.
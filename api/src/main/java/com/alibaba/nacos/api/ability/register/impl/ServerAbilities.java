@@ -45,6 +45,8 @@ public class ServerAbilities extends AbstractAbilityRegistry {
          *
          */
         // put ability here, which you want current server supports
+        supportedAbilities.put(AbilityKey.SERVER_PROTOBUF_PAYLOAD, true);
+        supportedAbilities.put(AbilityKey.SERVER_PAYLOAD_COMPRESSION, true);
     }
     
     /**.
@@ -17,6 +17,16 @@
 package com.alibaba.nacos.api.config.remote.response;
 
 import com.alibaba.nacos.api.remote.response.Response;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.json.UTF8JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 
 /**
  * ConfigQueryResponse.
@@ -32,6 +42,12 @@ public class ConfigQueryResponse extends Response {
     
     String content;
     
+    /**
+     * Utf-8 bytes of content, only set by server so that the content can be written into payload without decoding.
+     */
+    @JsonIgnore
+    transient byte[] contentBytes;
+    
     String encryptedDataKey;
     
     String contentType;
@@ -109,7 +125,11 @@ public class ConfigQueryResponse extends Response {
      *
      * @return property value of content
      */
+    @JsonIgnore
     public String getContent() {
+        if (content == null && contentBytes != null) {
+            content = new String(contentBytes, StandardCharsets.UTF_8);
+        }
         return content;
     }
     
@@ -118,8 +138,31 @@ public class ConfigQueryResponse extends Response {
      *
      * @param content value to be assigned to property content
      */
+    @JsonProperty("content")
     public void setContent(String content) {
         this.content = content;
+        this.contentBytes = null;
+    }
+    
+    @JsonIgnore
+    public byte[] getContentBytes() {
+        return contentBytes;
+    }
+    
+    /**
+     * Set content by utf-8 bytes, which will be serialized without building the content string.
+     *
+     * @param contentBytes utf-8 bytes of content
+     */
+    public void setContentBytes(byte[] contentBytes) {
+        this.contentBytes = contentBytes;
+        this.content = null;
+    }
+    
+    @JsonProperty("content")
+    @JsonSerialize(using = ContentSerializer.class)
+    Object getSerializedContent() {
+        return null != contentBytes ? contentBytes : content;
     }
     
     public void setEncryptedDataKey(String encryptedDataKey) {
@@ -147,4 +190,25 @@ public class ConfigQueryResponse extends Response {
     public void setContentType(String contentType) {
         this.contentType = contentType;
     }
+    
+    /**
+     * Serialize content from utf-8 bytes directly if present, the escaping is done on bytes by json generator.
+     */
+    static class ContentSerializer extends JsonSerializer<Object> {
+        
+        @Override
+        public void serialize(Object value, JsonGenerator gen, SerializerProvider serializers) throws IOException {
+            if (value instanceof byte[]) {
+                byte[] bytes = (byte[]) value;
+                // only the byte based generator can write utf-8 string directly
+                if (gen instanceof UTF8JsonGenerator) {
+                    gen.writeUTF8String(bytes, 0, bytes.length);
+                } else {
+                    gen.writeString(new String(bytes, StandardCharsets.UTF_8));
+                }
+            } else {
+                gen.writeString((String) value);
+            }
+        }
+    }
 }
@@ -16,14 +16,21 @@
 
 package com.alibaba.nacos.api.naming.remote.request;
 
+import com.alibaba.nacos.api.naming.pojo.Instance;
 import com.alibaba.nacos.api.naming.pojo.ServiceInfo;
 import com.alibaba.nacos.api.remote.request.ServerRequest;
 
+import java.util.List;
+
 import static com.alibaba.nacos.api.common.Constants.Naming.NAMING_MODULE;
 
 /**
  * Notify subscriber request.
  *
+ * <p>A delta request, whose {@code baseRevision} is greater than 0, only carries the added and modified instances in
+ * the hosts of service info and the removed instances in {@code removedHosts}, against the service info of
+ * {@code baseRevision} pushed before.
+ *
  * @author xiweng.yy
  */
 public class NotifySubscriberRequest extends ServerRequest {
@@ -36,6 +43,12 @@ public class NotifySubscriberRequest extends ServerRequest {
     
     private ServiceInfo serviceInfo;
     
+    private long revision;
+    
+    private long baseRevision;
+    
+    private List<Instance> removedHosts;
+    
     public NotifySubscriberRequest() {
     }
     
@@ -52,6 +65,24 @@ public class NotifySubscriberRequest extends ServerRequest {
         return new NotifySubscriberRequest(serviceInfo);
     }
     
+    /**
+     * Build delta notify subscriber request.
+     *
+     * @param serviceInfo  service info with added and modified instances
+     * @param removedHosts removed instances
+     * @param baseRevision revision of the service info this delta based on
+     * @param revision     revision of the service info after applying this delta
+     * @return delta notify subscriber request
+     */
+    public static NotifySubscriberRequest buildNotifySubscriberDeltaRequest(ServiceInfo serviceInfo,
+            List<Instance> removedHosts, long baseRevision, long revision) {
+        NotifySubscriberRequest result = new NotifySubscriberRequest(serviceInfo);
+        result.setRemovedHosts(removedHosts);
+        result.setBaseRevision(baseRevision);
+        result.setRevision(revision);
+        return result;
+    }
+    
     public ServiceInfo getServiceInfo() {
         return serviceInfo;
     }
@@ -84,4 +115,28 @@ public class NotifySubscriberRequest extends ServerRequest {
         this.groupName = groupName;
     }
     
+    public long getRevision() {
+        return revision;
+    }
+    
+    public void setRevision(long revision) {
+        this.revision = revision;
+    }
+    
+    public long getBaseRevision() {
+        return baseRevision;
+    }
+    
+    public void setBaseRevision(long baseRevision) {
+        this.baseRevision = baseRevision;
+    }
+    
+    public List<Instance> getRemovedHosts() {
+        return removedHosts;
+    }
+    
+    public void setRemovedHosts(List<Instance> removedHosts) {
+        this.removedHosts = removedHosts;
+    }
+    
 }
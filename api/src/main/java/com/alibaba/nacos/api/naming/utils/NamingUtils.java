@@ -175,6 +175,16 @@ public class NamingUtils {
         }
     }
     
+    /**
+     * Get the key of instance in the delta of naming push, which is unique for the instances of one service.
+     *
+     * @param instance instance
+     * @return 'ip:port#clusterName'
+     */
+    public static String getDeltaInstanceKey(Instance instance) {
+        return instance.toInetAddr() + Constants.POUND + instance.getClusterName();
+    }
+    
     /**
      * Check string is a number or not.
      *
@@ -74,11 +74,26 @@ public class DefaultRequestFuture implements RequestFuture {
     
     public DefaultRequestFuture(String connectionId, String requestId, RequestCallBack requestCallBack,
             TimeoutInnerTrigger timeoutInnerTrigger) {
+        this(connectionId, requestId, requestCallBack, timeoutInnerTrigger, true);
+    }
+    
+    /**
+     * Create request future.
+     *
+     * @param connectionId        connection id
+     * @param requestId           request id
+     * @param requestCallBack     callback of the request, nullable
+     * @param timeoutInnerTrigger trigger on timeout, nullable
+     * @param scheduleTimeout     whether to schedule the timeout of callback, {@code false} if the caller fails the
+     *                            future on timeout itself
+     */
+    public DefaultRequestFuture(String connectionId, String requestId, RequestCallBack requestCallBack,
+            TimeoutInnerTrigger timeoutInnerTrigger, boolean scheduleTimeout) {
         this.timeStamp = System.currentTimeMillis();
         this.requestCallBack = requestCallBack;
         this.requestId = requestId;
         this.connectionId = connectionId;
-        if (requestCallBack != null) {
+        if (requestCallBack != null && scheduleTimeout) {
             this.timeoutFuture = RpcScheduledExecutor.TIMEOUT_SCHEDULER
                     .schedule(new TimeoutHandler(), requestCallBack.getTimeout(), TimeUnit.MILLISECONDS);
         }
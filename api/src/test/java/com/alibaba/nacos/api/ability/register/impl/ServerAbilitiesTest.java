@@ -16,6 +16,7 @@
 
 package com.alibaba.nacos.api.ability.register.impl;
 
+import com.alibaba.nacos.api.ability.constant.AbilityKey;
 import org.junit.Test;
 
 import static org.junit.Assert.assertTrue;
@@ -24,7 +25,7 @@ public class ServerAbilitiesTest {
     
     @Test
     public void testGetStaticAbilities() {
-        // TODO add the server abilities.
-        assertTrue(ServerAbilities.getStaticAbilities().isEmpty());
+        assertTrue(ServerAbilities.getStaticAbilities().get(AbilityKey.SERVER_PROTOBUF_PAYLOAD));
+        assertTrue(ServerAbilities.getStaticAbilities().get(AbilityKey.SERVER_PAYLOAD_COMPRESSION));
     }
 }
\ No newline at end of file
@@ -21,7 +21,10 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.nio.charset.StandardCharsets;
+
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 public class ConfigQueryResponseTest extends BasedConfigResponseTest {
@@ -53,6 +56,19 @@ public class ConfigQueryResponseTest extends BasedConfigResponseTest {
         assertTrue(json.contains("\"lastModified\":1111111"));
     }
     
+    @Test
+    public void testSerializeContentBytes() throws JsonProcessingException {
+        String content = "line1\n\"quoted\"\t中文";
+        configQueryResponse.setContentBytes(content.getBytes(StandardCharsets.UTF_8));
+        String json = new String(mapper.writeValueAsBytes(configQueryResponse), StandardCharsets.UTF_8);
+        assertTrue(json.contains("\"content\":\"line1\\n\\\"quoted\\\"\\t中文\""));
+        ConfigQueryResponse actual = mapper.readValue(json, ConfigQueryResponse.class);
+        assertEquals(content, actual.getContent());
+        assertNull(actual.getContentBytes());
+        assertEquals(content, configQueryResponse.getContent());
+        assertEquals(json, mapper.writeValueAsString(configQueryResponse));
+    }
+    
     @Override
     @Test
     public void testSerializeFailResponse() throws JsonProcessingException {
@@ -16,6 +16,7 @@
 
 package com.alibaba.nacos.api.naming.remote.request;
 
+import com.alibaba.nacos.api.naming.pojo.Instance;
 import com.alibaba.nacos.api.naming.pojo.ServiceInfo;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.core.JsonProcessingException;
@@ -24,6 +25,8 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
+import java.util.Collections;
+
 import static com.alibaba.nacos.api.common.Constants.Naming.NAMING_MODULE;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
@@ -68,6 +71,23 @@ public class NotifySubscriberRequestTest {
         assertEquals(GROUP + "@@" + SERVICE, actual.getServiceInfo().getKey());
     }
     
+    @Test
+    public void testSerializeDelta() throws JsonProcessingException {
+        ServiceInfo serviceInfo = new ServiceInfo(GROUP + "@@" + SERVICE);
+        Instance removed = new Instance();
+        removed.setIp("1.1.1.1");
+        removed.setPort(8848);
+        NotifySubscriberRequest request = NotifySubscriberRequest
+                .buildNotifySubscriberDeltaRequest(serviceInfo, Collections.singletonList(removed), 1L, 2L);
+        String json = mapper.writeValueAsString(request);
+        assertTrue(json.contains("\"revision\":2"));
+        assertTrue(json.contains("\"baseRevision\":1"));
+        NotifySubscriberRequest actual = mapper.readValue(json, NotifySubscriberRequest.class);
+        assertEquals(1L, actual.getBaseRevision());
+        assertEquals(2L, actual.getRevision());
+        assertEquals("1.1.1.1", actual.getRemovedHosts().get(0).getIp());
+    }
+    
     private void checkRequestBasedInfo(NotifySubscriberRequest request) {
         assertEquals(SERVICE, request.getServiceName());
         assertEquals(GROUP, request.getGroupName());
@@ -240,4 +240,13 @@ public class NamingUtilsTest {
         String str2 = "123456";
         assertTrue(NamingUtils.isNumber(str2));
     }
+    
+    @Test
+    public void testGetDeltaInstanceKey() {
+        Instance instance = new Instance();
+        instance.setIp("1.1.1.1");
+        instance.setPort(8848);
+        instance.setClusterName("cluster");
+        assertEquals("1.1.1.1:8848#cluster", NamingUtils.getDeltaInstanceKey(instance));
+    }
 }
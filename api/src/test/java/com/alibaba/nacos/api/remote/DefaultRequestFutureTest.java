@@ -276,6 +276,21 @@ public class DefaultRequestFutureTest {
         assertEquals(callback, requestFuture.getRequestCallBack());
     }
     
+    @Test
+    public void testASyncGetResponseWithoutScheduledTimeout() throws InterruptedException {
+        MockTimeoutInnerTrigger trigger = new MockTimeoutInnerTrigger();
+        MockRequestCallback callback = new MockRequestCallback(100L);
+        DefaultRequestFuture requestFuture = new DefaultRequestFuture(CONNECTION_ID, REQUEST_ID, callback, trigger,
+                false);
+        TimeUnit.MILLISECONDS.sleep(300);
+        assertFalse(requestFuture.isDone());
+        assertNull(callback.exception);
+        assertFalse(trigger.isTimeout);
+        requestFuture.setResponse(response);
+        assertTrue(requestFuture.isDone());
+        assertEquals(response, callback.response);
+    }
+    
     private class MockTimeoutInnerTrigger implements DefaultRequestFuture.TimeoutInnerTrigger {
         
         boolean isTimeout;
@@ -0,0 +1,119 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.benchmark.config;
+
+import com.alibaba.nacos.common.utils.MD5Utils;
+import com.alibaba.nacos.config.server.service.ConfigCacheService;
+import com.alibaba.nacos.config.server.utils.GroupKey2;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measure the md5 lookups of {@link ConfigCacheService} done by every listen and batch listen request.
+ *
+ * <p>Run with {@code java -jar benchmark/target/nacos-benchmarks.jar ConfigCacheServiceBenchmark}.
+ *
+ * @author Nacos
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@Threads(4)
+@State(Scope.Benchmark)
+public class ConfigCacheServiceBenchmark {
+    
+    @Param({"100000"})
+    private int groupKeyCount;
+    
+    private String[] groupKeys;
+    
+    private String[] md5s;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        groupKeys = new String[groupKeyCount];
+        md5s = new String[groupKeyCount];
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < groupKeyCount; i++) {
+            groupKeys[i] = GroupKey2.getKey("dataId" + i, "DEFAULT_GROUP", "public");
+            md5s[i] = MD5Utils.md5Hex("content" + i, "UTF-8");
+            ConfigCacheService.updateMd5(groupKeys[i], md5s[i], now, null);
+        }
+    }
+    
+    /**
+     * Get md5 of an existing group key.
+     *
+     * @return md5
+     */
+    @Benchmark
+    public String getContentMd5() {
+        return ConfigCacheService.getContentMd5(groupKeys[randomIndex()]);
+    }
+    
+    /**
+     * Get md5 of an existing group key with client ip and tag, as batch listen handler does.
+     *
+     * @return md5
+     */
+    @Benchmark
+    public String getContentMd5WithIpAndTag() {
+        return ConfigCacheService.getContentMd5(groupKeys[randomIndex()], "192.168.0.1", "");
+    }
+    
+    /**
+     * Compare an up to date md5.
+     *
+     * @return whether up to date
+     */
+    @Benchmark
+    public boolean isUptodate() {
+        int index = randomIndex();
+        return ConfigCacheService.isUptodate(groupKeys[index], md5s[index]);
+    }
+    
+    /**
+     * Compare an outdated md5, which is the case of a changed config.
+     *
+     * @return whether up to date
+     */
+    @Benchmark
+    public boolean isUptodateChanged() {
+        int index = randomIndex();
+        return ConfigCacheService.isUptodate(groupKeys[index], md5s[(index + 1) % groupKeyCount]);
+    }
+    
+    private int randomIndex() {
+        return ThreadLocalRandom.current().nextInt(groupKeyCount);
+    }
+}
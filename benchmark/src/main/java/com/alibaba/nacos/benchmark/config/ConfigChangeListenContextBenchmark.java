@@ -0,0 +1,190 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.benchmark.config;
+
+import com.alibaba.nacos.config.server.remote.ConfigChangeListenContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compare {@link ConfigChangeListenContext} with the previous monitor based implementation, for listener fan-out and
+ * for concurrent batch listen.
+ *
+ * <p>Run with {@code java -jar benchmark/target/nacos-benchmarks.jar ConfigChangeListenContextBenchmark}.
+ *
+ * @author Nacos
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class ConfigChangeListenContextBenchmark {
+    
+    @Param({"100000"})
+    private int connectionCount;
+    
+    @Param({"50"})
+    private int keysPerConnection;
+    
+    @Param({"5000"})
+    private int groupKeyCount;
+    
+    private String[] groupKeys;
+    
+    private String[] connectionIds;
+    
+    private ConfigChangeListenContext listenContext;
+    
+    private SynchronizedListenContext synchronizedListenContext;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        groupKeys = new String[groupKeyCount];
+        for (int i = 0; i < groupKeyCount; i++) {
+            groupKeys[i] = "dataId" + i + "+DEFAULT_GROUP+public";
+        }
+        connectionIds = new String[connectionCount];
+        listenContext = new ConfigChangeListenContext();
+        synchronizedListenContext = new SynchronizedListenContext();
+        for (int i = 0; i < connectionCount; i++) {
+            connectionIds[i] = "connection_" + i;
+            for (int j = 0; j < keysPerConnection; j++) {
+                String groupKey = groupKeys[(i + j * 97) % groupKeyCount];
+                listenContext.addListen(groupKey, "md5", connectionIds[i]);
+                synchronizedListenContext.addListen(groupKey, "md5", connectionIds[i]);
+            }
+        }
+    }
+    
+    /**
+     * Get and iterate listeners of one group key, as config change notifier does.
+     *
+     * @param blackhole blackhole
+     */
+    @Benchmark
+    public void fanOut(Blackhole blackhole) {
+        Set<String> listeners = listenContext.getListeners(randomGroupKey());
+        if (listeners != null) {
+            for (String each : listeners) {
+                blackhole.consume(each);
+            }
+        }
+    }
+    
+    /**
+     * Get and iterate listeners of one group key with the previous implementation.
+     *
+     * @param blackhole blackhole
+     */
+    @Benchmark
+    public void fanOutSynchronized(Blackhole blackhole) {
+        Set<String> listeners = synchronizedListenContext.getListeners(randomGroupKey());
+        if (listeners != null) {
+            for (String each : listeners) {
+                blackhole.consume(each);
+            }
+        }
+    }
+    
+    /**
+     * Add and remove listen from several threads, as batch listen handlers do after a rolling restart.
+     */
+    @Benchmark
+    @Threads(8)
+    public void batchListen() {
+        String groupKey = randomGroupKey();
+        String connectionId = randomConnectionId();
+        listenContext.addListen(groupKey, "md5", connectionId);
+        listenContext.removeListen(groupKey, connectionId);
+    }
+    
+    /**
+     * Add and remove listen from several threads with the previous implementation.
+     */
+    @Benchmark
+    @Threads(8)
+    public void batchListenSynchronized() {
+        String groupKey = randomGroupKey();
+        String connectionId = randomConnectionId();
+        synchronizedListenContext.addListen(groupKey, "md5", connectionId);
+        synchronizedListenContext.removeListen(groupKey, connectionId);
+    }
+    
+    private String randomGroupKey() {
+        return groupKeys[ThreadLocalRandom.current().nextInt(groupKeyCount)];
+    }
+    
+    private String randomConnectionId() {
+        return connectionIds[ThreadLocalRandom.current().nextInt(connectionCount)];
+    }
+    
+    /**
+     * Copy of the previous monitor based listen context, kept as the baseline of this benchmark.
+     */
+    static class SynchronizedListenContext {
+        
+        private final ConcurrentHashMap<String, HashSet<String>> groupKeyContext = new ConcurrentHashMap<>();
+        
+        private final ConcurrentHashMap<String, HashMap<String, String>> connectionIdContext =
+                new ConcurrentHashMap<>();
+        
+        synchronized void addListen(String groupKey, String md5, String connectionId) {
+            groupKeyContext.computeIfAbsent(groupKey, key -> new HashSet<>()).add(connectionId);
+            connectionIdContext.computeIfAbsent(connectionId, key -> new HashMap<>(16)).put(groupKey, md5);
+        }
+        
+        synchronized void removeListen(String groupKey, String connectionId) {
+            Set<String> connectionIds = groupKeyContext.get(groupKey);
+            if (connectionIds != null) {
+                connectionIds.remove(connectionId);
+                if (connectionIds.isEmpty()) {
+                    groupKeyContext.remove(groupKey);
+                }
+            }
+            HashMap<String, String> keys = connectionIdContext.get(connectionId);
+            if (keys != null) {
+                keys.remove(groupKey);
+            }
+        }
+        
+        synchronized Set<String> getListeners(String groupKey) {
+            HashSet<String> connectionIds = groupKeyContext.get(groupKey);
+            return connectionIds == null || connectionIds.isEmpty() ? null : new HashSet<>(connectionIds);
+        }
+    }
+}
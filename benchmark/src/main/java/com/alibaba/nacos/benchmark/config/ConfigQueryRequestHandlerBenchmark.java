@@ -0,0 +1,129 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.benchmark.config;
+
+import com.alibaba.nacos.api.config.remote.request.ConfigQueryRequest;
+import com.alibaba.nacos.api.config.remote.response.ConfigQueryResponse;
+import com.alibaba.nacos.api.remote.request.RequestMeta;
+import com.alibaba.nacos.config.server.remote.ConfigQueryRequestHandler;
+import com.alibaba.nacos.config.server.service.ConfigCacheService;
+import com.alibaba.nacos.sys.env.EnvUtil;
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measure the config query path of {@link ConfigQueryRequestHandler}, from cache lookup and read lock to reading the
+ * content from a disk service under a temporary nacos home.
+ *
+ * <p>Run with {@code java -jar benchmark/target/nacos-benchmarks.jar ConfigQueryRequestHandlerBenchmark -prof gc}.
+ *
+ * @author Nacos
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@Threads(4)
+@State(Scope.Benchmark)
+public class ConfigQueryRequestHandlerBenchmark {
+    
+    private static final String GROUP = "DEFAULT_GROUP";
+    
+    private static final String TENANT = "public";
+    
+    @Param({"rawdisk", "rocksdb"})
+    private String diskType;
+    
+    @Param({"1000"})
+    private int configCount;
+    
+    @Param({"1024", "102400"})
+    private int contentSize;
+    
+    private File nacosHome;
+    
+    private ConfigQueryRequestHandler handler;
+    
+    private RequestMeta meta;
+    
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        nacosHome = Files.createTempDirectory("nacos-benchmark").toFile();
+        EnvUtil.setEnvironment(new StandardEnvironment());
+        EnvUtil.setNacosHomePath(nacosHome.getAbsolutePath());
+        System.setProperty("config_disk_type", diskType);
+        
+        StringBuilder content = new StringBuilder(contentSize);
+        for (int i = 0; content.length() < contentSize; i++) {
+            content.append("key.").append(i).append("=value\n");
+        }
+        content.setLength(contentSize);
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < configCount; i++) {
+            if (!ConfigCacheService.dump("dataId" + i, GROUP, TENANT, content.toString(), now, "properties",
+                    null)) {
+                throw new IllegalStateException("dump config dataId" + i + " failed");
+            }
+        }
+        handler = new ConfigQueryRequestHandler(null, null, null);
+        meta = new RequestMeta();
+        meta.setClientIp("192.168.0.1");
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        FileUtils.deleteQuietly(nacosHome);
+    }
+    
+    /**
+     * Query a random config.
+     *
+     * @return query response
+     * @throws Exception if handle failed
+     */
+    @Benchmark
+    public ConfigQueryResponse query() throws Exception {
+        ConfigQueryRequest request = ConfigQueryRequest.build(
+                "dataId" + ThreadLocalRandom.current().nextInt(configCount), GROUP, TENANT);
+        ConfigQueryResponse response = handler.handle(request, meta);
+        if (!response.isSuccess()) {
+            throw new IllegalStateException("query failed, " + response.getMessage());
+        }
+        return response;
+    }
+}
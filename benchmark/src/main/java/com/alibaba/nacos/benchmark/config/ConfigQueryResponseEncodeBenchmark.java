@@ -0,0 +1,102 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.benchmark.config;
+
+import com.alibaba.nacos.api.config.remote.response.ConfigQueryResponse;
+import com.alibaba.nacos.api.grpc.auto.Payload;
+import com.alibaba.nacos.common.remote.client.grpc.GrpcUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compare encoding a config query response into gRPC payload from a decoded content string, with encoding it from the
+ * content bytes read from disk.
+ *
+ * <p>Run with {@code java -jar benchmark/target/nacos-benchmarks.jar ConfigQueryResponseEncodeBenchmark -prof gc} to
+ * compare the allocation of each pull.
+ *
+ * @author Nacos
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Benchmark)
+public class ConfigQueryResponseEncodeBenchmark {
+    
+    @Param({"102400", "1048576"})
+    private int contentSize;
+    
+    private byte[] contentBytes;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        contentBytes = new byte[contentSize];
+        Arrays.fill(contentBytes, (byte) 'a');
+        byte[] line = "key.name=value\n".getBytes(StandardCharsets.UTF_8);
+        for (int i = 0; i + line.length <= contentSize; i += line.length) {
+            System.arraycopy(line, 0, contentBytes, i, line.length);
+        }
+    }
+    
+    /**
+     * Decode content read from disk into string, then encode the response, as query handler did before.
+     *
+     * @return payload
+     */
+    @Benchmark
+    public Payload encodeFromString() {
+        ConfigQueryResponse response = newResponse();
+        response.setContent(new String(contentBytes, StandardCharsets.UTF_8));
+        return GrpcUtils.convert(response);
+    }
+    
+    /**
+     * Encode the response with the content bytes read from disk directly.
+     *
+     * @return payload
+     */
+    @Benchmark
+    public Payload encodeFromBytes() {
+        ConfigQueryResponse response = newResponse();
+        response.setContentBytes(contentBytes);
+        return GrpcUtils.convert(response);
+    }
+    
+    private ConfigQueryResponse newResponse() {
+        ConfigQueryResponse response = new ConfigQueryResponse();
+        response.setMd5("b3c1a5f2d0e94a8f9c6b7d2e1f0a3b4c");
+        response.setContentType("properties");
+        response.setLastModified(System.currentTimeMillis());
+        return response;
+    }
+}
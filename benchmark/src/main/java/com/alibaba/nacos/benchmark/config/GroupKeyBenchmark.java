@@ -0,0 +1,115 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.benchmark.config;
+
+import com.alibaba.nacos.config.server.utils.GroupKey;
+import com.alibaba.nacos.config.server.utils.GroupKey2;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measure building and parsing group keys, which is done for every config in listen, query and dump.
+ *
+ * <p>The escaped case uses data ids with {@code +} and {@code %}, which need to be encoded in the group key.
+ *
+ * <p>Run with {@code java -jar benchmark/target/nacos-benchmarks.jar GroupKeyBenchmark -prof gc}.
+ *
+ * @author Nacos
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GroupKeyBenchmark {
+    
+    @Param({"plain", "escaped"})
+    private String keyType;
+    
+    private String dataId;
+    
+    private String group;
+    
+    private String tenant;
+    
+    private String groupKey;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        if ("escaped".equals(keyType)) {
+            dataId = "com.alibaba.nacos+order%service.properties";
+        } else {
+            dataId = "com.alibaba.nacos.order-service.properties";
+        }
+        group = "DEFAULT_GROUP";
+        tenant = "3c7b0b8c-2a1e-4f6d-9a5e-7d1f2c3b4a59";
+        groupKey = GroupKey2.getKey(dataId, group, tenant);
+    }
+    
+    /**
+     * Build group key with {@link GroupKey2}.
+     *
+     * @return group key
+     */
+    @Benchmark
+    public String getKey() {
+        return GroupKey2.getKey(dataId, group, tenant);
+    }
+    
+    /**
+     * Build group key with {@link GroupKey}.
+     *
+     * @return group key
+     */
+    @Benchmark
+    public String getKeyTenant() {
+        return GroupKey.getKeyTenant(dataId, group, tenant);
+    }
+    
+    /**
+     * Parse group key with {@link GroupKey2}.
+     *
+     * @return data id, group and tenant
+     */
+    @Benchmark
+    public String[] parseKey2() {
+        return GroupKey2.parseKey(groupKey);
+    }
+    
+    /**
+     * Parse group key with {@link GroupKey}.
+     *
+     * @return data id, group and tenant
+     */
+    @Benchmark
+    public String[] parseKey() {
+        return GroupKey.parseKey(groupKey);
+    }
+}
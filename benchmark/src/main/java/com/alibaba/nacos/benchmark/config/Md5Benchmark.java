@@ -0,0 +1,89 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.benchmark.config;
+
+import com.alibaba.nacos.common.utils.MD5Utils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measure {@link MD5Utils#md5Hex(String, String)} on typical config sizes, which is done for every publish and dump.
+ *
+ * <p>Run with {@code java -jar benchmark/target/nacos-benchmarks.jar Md5Benchmark -prof gc}.
+ *
+ * @author Nacos
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class Md5Benchmark {
+    
+    @Param({"1024", "10240", "102400"})
+    private int contentSize;
+    
+    private String content;
+    
+    private byte[] contentBytes;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        StringBuilder builder = new StringBuilder(contentSize);
+        for (int i = 0; builder.length() < contentSize; i++) {
+            builder.append("key.").append(i).append("=value\n");
+        }
+        builder.setLength(contentSize);
+        content = builder.toString();
+        contentBytes = content.getBytes(StandardCharsets.UTF_8);
+    }
+    
+    /**
+     * Md5 of the content string, which is encoded to UTF-8 bytes first.
+     *
+     * @return md5 hex
+     */
+    @Benchmark
+    public String md5HexString() {
+        return MD5Utils.md5Hex(content, "UTF-8");
+    }
+    
+    /**
+     * Md5 of the encoded content bytes.
+     *
+     * @return md5 hex
+     * @throws Exception if md5 digest is not supported
+     */
+    @Benchmark
+    public String md5HexBytes() throws Exception {
+        return MD5Utils.md5Hex(contentBytes);
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.benchmark.naming;
+
+import com.alibaba.nacos.naming.constants.Constants;
+import com.alibaba.nacos.naming.core.v2.pojo.InstancePublishInfo;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+/**
+ * Measure the retained heap of each registered instance, with the plain {@link InstancePublishInfo} layout used before
+ * and with the compact one.
+ *
+ * <p>The instances are built from freshly decoded strings as the register requests do, with the metadata usually sent
+ * by spring cloud clients. Run with {@code java -Xmx4g -XX:+UseParallelGC -cp benchmark/target/nacos-benchmarks.jar
+ * com.alibaba.nacos.benchmark.naming.InstancePublishInfoFootprint [instanceCount]}, default 500000 instances.
+ *
+ * @author Nacos
+ */
+public class InstancePublishInfoFootprint {
+    
+    private static final int DEFAULT_INSTANCE_COUNT = 500000;
+    
+    private static final int GC_ROUNDS = 5;
+    
+    private static final MemoryMXBean MEMORY_BEAN = ManagementFactory.getMemoryMXBean();
+    
+    private static volatile Object[] retained;
+    
+    /**
+     * Print bytes per instance of both layouts.
+     *
+     * @param args optional instance count
+     * @throws InterruptedException if interrupted while waiting for gc
+     */
+    public static void main(String[] args) throws InterruptedException {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_INSTANCE_COUNT;
+        // Warm up the class loading and string table so that they are not counted.
+        measure(1000, InstancePublishInfoFootprint::newPlainInstance);
+        measure(1000, InstancePublishInfoFootprint::newCompactInstance);
+        long plain = measure(count, InstancePublishInfoFootprint::newPlainInstance);
+        long compact = measure(count, InstancePublishInfoFootprint::newCompactInstance);
+        System.out.printf("instances: %d%n", count);
+        System.out.printf("plain   : %d bytes per instance%n", plain / count);
+        System.out.printf("compact : %d bytes per instance%n", compact / count);
+        System.out.printf("saved   : %.1f%%%n", 100.0 * (plain - compact) / plain);
+    }
+    
+    private static long measure(int count, IntFunction<Object> factory) throws InterruptedException {
+        retained = null;
+        long before = usedHeap();
+        Object[] instances = new Object[count];
+        for (int i = 0; i < count; i++) {
+            instances[i] = factory.apply(i);
+        }
+        retained = instances;
+        long result = usedHeap() - before;
+        retained = null;
+        return result;
+    }
+    
+    private static long usedHeap() throws InterruptedException {
+        for (int i = 0; i < GC_ROUNDS; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        return MEMORY_BEAN.getHeapMemoryUsage().getUsed();
+    }
+    
+    private static InstancePublishInfo newCompactInstance(int index) {
+        InstancePublishInfo result = new InstancePublishInfo(ip(index), 8080);
+        result.setHealthy(true);
+        result.setCluster(decoded("DEFAULT"));
+        result.getExtendDatum().putAll(metadata(index));
+        return result;
+    }
+    
+    private static PlainInstancePublishInfo newPlainInstance(int index) {
+        PlainInstancePublishInfo result = new PlainInstancePublishInfo(ip(index), 8080);
+        result.healthy = true;
+        result.cluster = decoded("DEFAULT");
+        result.extendDatum.putAll(metadata(index));
+        return result;
+    }
+    
+    private static String ip(int index) {
+        return decoded("10." + ((index >>> 16) & 255) + "." + ((index >>> 8) & 255) + "." + (index & 255));
+    }
+    
+    private static Map<String, Object> metadata(int index) {
+        Map<String, Object> result = new HashMap<>(8);
+        result.put(decoded("preserved.register.source"), decoded("SPRING_CLOUD"));
+        result.put(decoded("version"), decoded("1.0." + (index % 3)));
+        result.put(decoded("zone"), decoded("zone-" + (index % 4)));
+        result.put(decoded(Constants.CUSTOM_INSTANCE_ID), decoded("instance-" + index));
+        return result;
+    }
+    
+    /**
+     * Copy the string as it is decoded from the request, rather than the constant of class file.
+     */
+    @SuppressWarnings("StringOperationCanBeSimplified")
+    private static String decoded(String value) {
+        return new String(value.toCharArray());
+    }
+    
+    /**
+     * Layout of {@link InstancePublishInfo} before it was made compact.
+     */
+    private static class PlainInstancePublishInfo {
+        
+        private final String ip;
+        
+        private final int port;
+        
+        private boolean healthy;
+        
+        private String cluster;
+        
+        private final Map<String, Object> extendDatum;
+        
+        PlainInstancePublishInfo(String ip, int port) {
+            this.ip = ip;
+            this.port = port;
+            this.extendDatum = new HashMap<>(1);
+        }
+    }
+}
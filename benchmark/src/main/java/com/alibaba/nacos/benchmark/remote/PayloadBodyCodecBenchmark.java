@@ -0,0 +1,157 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.benchmark.remote;
+
+import com.alibaba.nacos.api.config.remote.request.ConfigBatchListenRequest;
+import com.alibaba.nacos.api.grpc.auto.Payload;
+import com.alibaba.nacos.api.naming.pojo.Instance;
+import com.alibaba.nacos.api.naming.pojo.ServiceInfo;
+import com.alibaba.nacos.api.naming.remote.NamingRemoteConstants;
+import com.alibaba.nacos.api.naming.remote.request.InstanceRequest;
+import com.alibaba.nacos.api.naming.remote.request.NotifySubscriberRequest;
+import com.alibaba.nacos.api.remote.request.Request;
+import com.alibaba.nacos.common.remote.PayloadRegistry;
+import com.alibaba.nacos.common.remote.client.grpc.GrpcUtils;
+import com.alibaba.nacos.common.remote.codec.PayloadBodyCodec;
+import com.alibaba.nacos.common.remote.codec.PayloadBodyCodecs;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compare encoding and decoding the hot gRPC payloads with json body and with protobuf body.
+ *
+ * <p>Run with {@code java -jar benchmark/target/nacos-benchmarks.jar PayloadBodyCodecBenchmark -prof gc} to compare
+ * the allocation of each codec, the encoded size of each payload is printed on setup.
+ *
+ * @author Nacos
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Benchmark)
+public class PayloadBodyCodecBenchmark {
+    
+    @Param({"json", "protobuf"})
+    private String codecName;
+    
+    @Param({"NotifySubscriberRequest", "ConfigBatchListenRequest", "InstanceRequest"})
+    private String requestType;
+    
+    @Param({"100"})
+    private int size;
+    
+    private PayloadBodyCodec codec;
+    
+    private Request request;
+    
+    private Payload payload;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        PayloadRegistry.init();
+        codec = "json".equals(codecName) ? PayloadBodyCodecs.JSON : PayloadBodyCodecs.PROTOBUF;
+        request = newRequest();
+        payload = GrpcUtils.convert(request, codec);
+        System.out.printf("%n%s encoded by %s: %d bytes%n", requestType, codecName,
+                payload.getBody().getValue().size());
+    }
+    
+    /**
+     * Encode the request into gRPC payload.
+     *
+     * @return payload
+     */
+    @Benchmark
+    public Payload encode() {
+        return GrpcUtils.convert(request, codec);
+    }
+    
+    /**
+     * Decode the request from gRPC payload.
+     *
+     * @return request
+     */
+    @Benchmark
+    public Object decode() {
+        return GrpcUtils.parse(payload);
+    }
+    
+    private Request newRequest() {
+        switch (requestType) {
+            case "NotifySubscriberRequest":
+                return newNotifySubscriberRequest();
+            case "ConfigBatchListenRequest":
+                return newConfigBatchListenRequest();
+            case "InstanceRequest":
+                return new InstanceRequest("public", "service", "DEFAULT_GROUP",
+                        NamingRemoteConstants.REGISTER_INSTANCE, newInstance(0));
+            default:
+                throw new IllegalArgumentException("Unknown request type " + requestType);
+        }
+    }
+    
+    private NotifySubscriberRequest newNotifySubscriberRequest() {
+        ServiceInfo serviceInfo = new ServiceInfo("DEFAULT_GROUP@@service", "");
+        serviceInfo.setLastRefTime(System.currentTimeMillis());
+        serviceInfo.setChecksum("b3c1a5f2d0e94a8f9c6b7d2e1f0a3b4c");
+        List<Instance> hosts = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            hosts.add(newInstance(i));
+        }
+        serviceInfo.setHosts(hosts);
+        NotifySubscriberRequest request = NotifySubscriberRequest.buildNotifySubscriberRequest(serviceInfo);
+        request.setRequestId("1");
+        return request;
+    }
+    
+    private ConfigBatchListenRequest newConfigBatchListenRequest() {
+        ConfigBatchListenRequest request = new ConfigBatchListenRequest();
+        request.setRequestId("1");
+        for (int i = 0; i < size; i++) {
+            request.addConfigListenContext("DEFAULT_GROUP", "application-" + i + ".properties", "public",
+                    "b3c1a5f2d0e94a8f9c6b7d2e1f0a3b4c");
+        }
+        return request;
+    }
+    
+    private Instance newInstance(int index) {
+        Instance instance = new Instance();
+        instance.setIp("10.0." + (index >> 8) + "." + (index & 0xff));
+        instance.setPort(8080);
+        instance.setClusterName("DEFAULT");
+        instance.setServiceName("DEFAULT_GROUP@@service");
+        instance.addMetadata("version", "1.0.0");
+        instance.addMetadata("zone", "zone-a");
+        return instance;
+    }
+}
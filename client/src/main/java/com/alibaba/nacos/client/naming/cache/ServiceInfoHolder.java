@@ -35,6 +35,7 @@ import java.io.File;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -60,6 +61,11 @@ public class ServiceInfoHolder implements Closeable {
     
     private final ConcurrentMap<String, ServiceInfo> serviceInfoMap;
     
+    /**
+     * Revision of the service info pushed by server, which is the base of the next delta push.
+     */
+    private final ConcurrentMap<String, Long> pushRevisionMap = new ConcurrentHashMap<>(16);
+    
     private final FailoverReactor failoverReactor;
     
     private final boolean pushEmptyProtection;
@@ -149,7 +155,69 @@ public class ServiceInfoHolder implements Closeable {
      * @param serviceInfo new service info
      * @return service info
      */
-    public ServiceInfo processServiceInfo(ServiceInfo serviceInfo) {
+    public synchronized ServiceInfo processServiceInfo(ServiceInfo serviceInfo) {
+        return doProcessServiceInfo(serviceInfo, null);
+    }
+    
+    /**
+     * Process service info pushed by server with revision.
+     *
+     * @param serviceInfo new service info
+     * @param revision    revision of the service info
+     * @return service info
+     */
+    public synchronized ServiceInfo processPushedServiceInfo(ServiceInfo serviceInfo, long revision) {
+        return doProcessServiceInfo(serviceInfo, revision);
+    }
+    
+    /**
+     * Process delta of service info pushed by server.
+     *
+     * @param deltaServiceInfo service info with the added and modified instances
+     * @param removedHosts     removed instances
+     * @param baseRevision     revision of the service info the delta based on
+     * @param revision         revision of the service info after applying the delta
+     * @return service info after applying the delta, or {@code null} if the base revision is not the current one
+     */
+    public synchronized ServiceInfo processPushedServiceInfoDelta(ServiceInfo deltaServiceInfo,
+            List<Instance> removedHosts, long baseRevision, long revision) {
+        String serviceKey = deltaServiceInfo.getKey();
+        ServiceInfo oldService = null == serviceKey ? null : serviceInfoMap.get(serviceKey);
+        Long currentRevision = null == serviceKey ? null : pushRevisionMap.get(serviceKey);
+        if (null == oldService || null == currentRevision || currentRevision != baseRevision) {
+            NAMING_LOGGER.warn("revision gap of delta push service: {}, current revision: {}, base revision: {}",
+                    serviceKey, currentRevision, baseRevision);
+            return null;
+        }
+        Map<String, Instance> hosts = new LinkedHashMap<>(oldService.getHosts().size());
+        for (Instance each : oldService.getHosts()) {
+            hosts.put(NamingUtils.getDeltaInstanceKey(each), each);
+        }
+        if (null != removedHosts) {
+            for (Instance each : removedHosts) {
+                hosts.remove(NamingUtils.getDeltaInstanceKey(each));
+            }
+        }
+        for (Instance each : deltaServiceInfo.getHosts()) {
+            hosts.put(NamingUtils.getDeltaInstanceKey(each), each);
+        }
+        ServiceInfo serviceInfo = new ServiceInfo(deltaServiceInfo.getName(), deltaServiceInfo.getClusters());
+        serviceInfo.setGroupName(deltaServiceInfo.getGroupName());
+        serviceInfo.setCacheMillis(deltaServiceInfo.getCacheMillis());
+        serviceInfo.setLastRefTime(deltaServiceInfo.getLastRefTime());
+        serviceInfo.setChecksum(deltaServiceInfo.getChecksum());
+        serviceInfo.setAllIPs(deltaServiceInfo.isAllIPs());
+        serviceInfo.setReachProtectionThreshold(deltaServiceInfo.isReachProtectionThreshold());
+        serviceInfo.setHosts(new ArrayList<>(hosts.values()));
+        return doProcessServiceInfo(serviceInfo, revision);
+    }
+    
+    /**
+     * Process service info, and keep the revision of pushed service info as the base of next delta push. The revision
+     * is cleared once the service info is changed by other ways, so that the next delta push is rejected and the server
+     * pushes the full service info instead.
+     */
+    private ServiceInfo doProcessServiceInfo(ServiceInfo serviceInfo, Long revision) {
         String serviceKey = serviceInfo.getKey();
         if (serviceKey == null) {
             return null;
@@ -157,10 +225,18 @@ public class ServiceInfoHolder implements Closeable {
         ServiceInfo oldService = serviceInfoMap.get(serviceInfo.getKey());
         if (isEmptyOrErrorPush(serviceInfo)) {
             //empty or error push, just ignore
+            if (null != revision) {
+                pushRevisionMap.remove(serviceKey);
+            }
             return oldService;
         }
         serviceInfoMap.put(serviceInfo.getKey(), serviceInfo);
         boolean changed = isChangedServiceInfo(oldService, serviceInfo);
+        if (null != revision) {
+            pushRevisionMap.put(serviceKey, revision);
+        } else if (changed) {
+            pushRevisionMap.remove(serviceKey);
+        }
         if (StringUtils.isBlank(serviceInfo.getJsonFromServer())) {
             serviceInfo.setJsonFromServer(JacksonUtils.toJson(serviceInfo));
         }
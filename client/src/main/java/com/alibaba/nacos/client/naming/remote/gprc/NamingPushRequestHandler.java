@@ -16,6 +16,7 @@
 
 package com.alibaba.nacos.client.naming.remote.gprc;
 
+import com.alibaba.nacos.api.exception.NacosException;
 import com.alibaba.nacos.api.naming.remote.request.NotifySubscriberRequest;
 import com.alibaba.nacos.api.naming.remote.response.NotifySubscriberResponse;
 import com.alibaba.nacos.api.remote.request.Request;
@@ -41,8 +42,21 @@ public class NamingPushRequestHandler implements ServerRequestHandler {
     public Response requestReply(Request request, Connection connection) {
         if (request instanceof NotifySubscriberRequest) {
             NotifySubscriberRequest notifyRequest = (NotifySubscriberRequest) request;
-            serviceInfoHolder.processServiceInfo(notifyRequest.getServiceInfo());
-            return new NotifySubscriberResponse();
+            NotifySubscriberResponse response = new NotifySubscriberResponse();
+            if (notifyRequest.getBaseRevision() > 0) {
+                // reject the delta push without the base, server will push the full service info instead
+                if (null == serviceInfoHolder.processPushedServiceInfoDelta(notifyRequest.getServiceInfo(),
+                        notifyRequest.getRemovedHosts(), notifyRequest.getBaseRevision(),
+                        notifyRequest.getRevision())) {
+                    response.setErrorInfo(NacosException.CLIENT_INVALID_PARAM,
+                            "Base revision " + notifyRequest.getBaseRevision() + " of delta push not found");
+                }
+            } else if (notifyRequest.getRevision() > 0) {
+                serviceInfoHolder.processPushedServiceInfo(notifyRequest.getServiceInfo(), notifyRequest.getRevision());
+            } else {
+                serviceInfoHolder.processServiceInfo(notifyRequest.getServiceInfo());
+            }
+            return response;
         }
         return null;
     }
@@ -29,6 +29,7 @@ import org.junit.Test;
 
 import java.lang.reflect.Field;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Properties;
 import java.util.concurrent.ScheduledExecutorService;
@@ -77,6 +78,35 @@ public class ServiceInfoHolderTest {
         Assert.assertEquals(info2, actual2);
     }
     
+    @Test
+    public void testProcessPushedServiceInfoDelta() {
+        ServiceInfo info = new ServiceInfo("a@@b@@c");
+        List<Instance> hosts = new ArrayList<>();
+        hosts.add(createInstance("1.1.1.1", 1));
+        hosts.add(createInstance("1.1.1.2", 2));
+        info.setHosts(hosts);
+        ServiceInfoHolder holder = new ServiceInfoHolder("aa", "scope-001",
+                NacosClientProperties.PROTOTYPE.derive(new Properties()));
+        holder.processPushedServiceInfo(info, 1L);
+        
+        ServiceInfo delta = new ServiceInfo("a@@b@@c");
+        Instance modified = createInstance("1.1.1.2", 2);
+        modified.setWeight(2.0);
+        delta.setHosts(Collections.singletonList(modified));
+        ServiceInfo actual = holder.processPushedServiceInfoDelta(delta,
+                Collections.singletonList(createInstance("1.1.1.1", 1)), 1L, 2L);
+        Assert.assertEquals(1, actual.getHosts().size());
+        Assert.assertEquals(2.0, actual.getHosts().get(0).getWeight(), 0.0);
+        Assert.assertEquals(actual, holder.getServiceInfoMap().get("a@@b@@c"));
+        
+        // base revision not matched
+        Assert.assertNull(holder.processPushedServiceInfoDelta(delta, null, 1L, 3L));
+        // changed by query, the pushed revision is not the base any more
+        holder.processServiceInfo(info);
+        Assert.assertNull(holder.processPushedServiceInfoDelta(delta, null, 2L, 3L));
+        Assert.assertEquals(2, holder.getServiceInfoMap().get("a@@b@@c").getHosts().size());
+    }
+    
     private Instance createInstance(String ip, int port) {
         Instance instance = new Instance();
         instance.setIp(ip);
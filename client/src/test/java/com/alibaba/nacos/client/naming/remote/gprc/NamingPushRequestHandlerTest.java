@@ -29,9 +29,12 @@ import com.alibaba.nacos.common.remote.client.RpcClient;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.Collections;
+
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 public class NamingPushRequestHandlerTest {
     
@@ -48,4 +51,29 @@ public class NamingPushRequestHandlerTest {
         Assert.assertTrue(response instanceof NotifySubscriberResponse);
         verify(holder, times(1)).processServiceInfo(info);
     }
-}
\ No newline at end of file
+    
+    @Test
+    public void testRequestReplyWithRevision() {
+        ServiceInfoHolder holder = mock(ServiceInfoHolder.class);
+        NamingPushRequestHandler handler = new NamingPushRequestHandler(holder);
+        ServiceInfo info = new ServiceInfo("name", "cluster1");
+        NotifySubscriberRequest req = NotifySubscriberRequest.buildNotifySubscriberRequest(info);
+        req.setRevision(1L);
+        Response response = handler.requestReply(req, new TestConnection(new RpcClient.ServerInfo()));
+        Assert.assertTrue(response.isSuccess());
+        verify(holder).processPushedServiceInfo(info, 1L);
+    }
+    
+    @Test
+    public void testRequestReplyDeltaWithoutBase() {
+        ServiceInfoHolder holder = mock(ServiceInfoHolder.class);
+        NamingPushRequestHandler handler = new NamingPushRequestHandler(holder);
+        ServiceInfo info = new ServiceInfo("name", "cluster1");
+        Request req = NotifySubscriberRequest
+                .buildNotifySubscriberDeltaRequest(info, Collections.emptyList(), 1L, 2L);
+        when(holder.processPushedServiceInfoDelta(info, Collections.emptyList(), 1L, 2L)).thenReturn(null);
+        Response response = handler.requestReply(req, new TestConnection(new RpcClient.ServerInfo()));
+        Assert.assertTrue(response instanceof NotifySubscriberResponse);
+        Assert.assertFalse(response.isSuccess());
+    }
+}
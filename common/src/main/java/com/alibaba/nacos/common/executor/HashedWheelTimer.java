@@ -0,0 +1,274 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.common.executor;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+/**
+ * Hashed wheel timer for a large amount of approximated timeouts, such as long polling and request timeouts.
+ *
+ * <p>Adding and cancelling a timeout is O(1) without lock, timeouts are put into the bucket of the wheel by the single
+ * worker thread, and expired at the precision of one tick. Expired tasks are run by the task executor, or by the
+ * worker thread itself if no executor given, so they should be short.
+ *
+ * @author Nacos
+ */
+public class HashedWheelTimer {
+    
+    private static final Logger LOGGER = LoggerFactory.getLogger(HashedWheelTimer.class);
+    
+    private final long tickNanos;
+    
+    private final Queue<Timeout>[] wheel;
+    
+    private final int mask;
+    
+    private final Queue<Timeout> newTimeouts = new ConcurrentLinkedQueue<>();
+    
+    private final AtomicInteger pendingTimeouts = new AtomicInteger();
+    
+    private final Executor taskExecutor;
+    
+    private final Thread workerThread;
+    
+    private final long startTime;
+    
+    private volatile boolean stopped;
+    
+    public HashedWheelTimer(String name, long tickDuration, TimeUnit unit, int ticksPerWheel) {
+        this(name, tickDuration, unit, ticksPerWheel, null);
+    }
+    
+    /**
+     * Create and start a hashed wheel timer.
+     *
+     * @param name          name of the worker thread
+     * @param tickDuration  duration of one tick
+     * @param unit          unit of tick duration
+     * @param ticksPerWheel ticks of one wheel round, normalized to power of two
+     * @param taskExecutor  executor to run expired tasks, run in worker thread if null
+     */
+    @SuppressWarnings("unchecked")
+    public HashedWheelTimer(String name, long tickDuration, TimeUnit unit, int ticksPerWheel, Executor taskExecutor) {
+        if (tickDuration <= 0 || ticksPerWheel <= 0) {
+            throw new IllegalArgumentException("tickDuration and ticksPerWheel must be greater than 0");
+        }
+        int wheelSize = Integer.highestOneBit(ticksPerWheel - 1) << 1;
+        wheelSize = Math.max(wheelSize, 1);
+        this.tickNanos = unit.toNanos(tickDuration);
+        this.wheel = new Queue[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            wheel[i] = new ArrayDeque<>();
+        }
+        this.mask = wheelSize - 1;
+        this.taskExecutor = taskExecutor;
+        this.startTime = System.nanoTime();
+        this.workerThread = new NameThreadFactory(name).newThread(new Worker());
+        this.workerThread.start();
+    }
+    
+    /**
+     * Schedule the task to run once after the delay.
+     *
+     * @param task  task to run
+     * @param delay delay
+     * @param unit  unit of delay
+     * @return handle of the timeout, which can be cancelled
+     */
+    public Timeout newTimeout(Runnable task, long delay, TimeUnit unit) {
+        if (stopped) {
+            throw new IllegalStateException("timer is stopped");
+        }
+        long deadline = System.nanoTime() - startTime + Math.max(0L, unit.toNanos(delay));
+        Timeout timeout = new Timeout(this, task, deadline);
+        pendingTimeouts.incrementAndGet();
+        newTimeouts.add(timeout);
+        return timeout;
+    }
+    
+    /**
+     * Get the count of timeouts neither expired nor cancelled.
+     *
+     * @return pending timeout count
+     */
+    public int pendingTimeouts() {
+        return pendingTimeouts.get();
+    }
+    
+    /**
+     * Stop the worker thread, timeouts not expired will never run.
+     */
+    public void stop() {
+        stopped = true;
+        workerThread.interrupt();
+    }
+    
+    private void runTask(Timeout timeout) {
+        if (taskExecutor == null) {
+            timeout.runTask();
+        } else {
+            try {
+                taskExecutor.execute(timeout::runTask);
+            } catch (Throwable t) {
+                LOGGER.warn("Execute timer task {} failed.", timeout.task, t);
+            }
+        }
+    }
+    
+    private class Worker implements Runnable {
+        
+        private long tick;
+        
+        @Override
+        public void run() {
+            while (!stopped) {
+                if (!waitForNextTick()) {
+                    return;
+                }
+                transferNewTimeouts();
+                expireTimeouts(wheel[(int) (tick & mask)]);
+                tick++;
+            }
+        }
+        
+        private boolean waitForNextTick() {
+            long deadline = tickNanos * (tick + 1);
+            while (true) {
+                long sleepNanos = deadline - (System.nanoTime() - startTime);
+                if (sleepNanos <= 0) {
+                    return true;
+                }
+                try {
+                    TimeUnit.NANOSECONDS.sleep(sleepNanos);
+                } catch (InterruptedException e) {
+                    if (stopped) {
+                        return false;
+                    }
+                }
+            }
+        }
+        
+        private void transferNewTimeouts() {
+            Timeout timeout;
+            while ((timeout = newTimeouts.poll()) != null) {
+                if (timeout.isCancelled()) {
+                    continue;
+                }
+                long expireTick = timeout.deadline / tickNanos;
+                timeout.remainingRounds = (expireTick - tick) / wheel.length;
+                // Expire timeouts of the passed ticks at current tick.
+                long bucketTick = Math.max(expireTick, tick);
+                wheel[(int) (bucketTick & mask)].add(timeout);
+            }
+        }
+        
+        private void expireTimeouts(Queue<Timeout> bucket) {
+            int size = bucket.size();
+            for (int i = 0; i < size; i++) {
+                Timeout timeout = bucket.poll();
+                if (timeout.isCancelled()) {
+                    continue;
+                }
+                if (timeout.remainingRounds <= 0) {
+                    if (timeout.expire()) {
+                        runTask(timeout);
+                    }
+                } else {
+                    timeout.remainingRounds--;
+                    bucket.add(timeout);
+                }
+            }
+        }
+    }
+    
+    /**
+     * Handle of a task scheduled by {@link HashedWheelTimer}.
+     */
+    public static class Timeout {
+        
+        private static final int ST_INIT = 0;
+        
+        private static final int ST_CANCELLED = 1;
+        
+        private static final int ST_EXPIRED = 2;
+        
+        private static final AtomicIntegerFieldUpdater<Timeout> STATE_UPDATER = AtomicIntegerFieldUpdater
+                .newUpdater(Timeout.class, "state");
+        
+        private final HashedWheelTimer timer;
+        
+        private final Runnable task;
+        
+        private final long deadline;
+        
+        private long remainingRounds;
+        
+        private volatile int state = ST_INIT;
+        
+        Timeout(HashedWheelTimer timer, Runnable task, long deadline) {
+            this.timer = timer;
+            this.task = task;
+            this.deadline = deadline;
+        }
+        
+        /**
+         * Cancel the task if it is not expired, the cancelled timeout is removed from the wheel lazily.
+         *
+         * @return {@code true} if cancelled by this call
+         */
+        public boolean cancel() {
+            if (STATE_UPDATER.compareAndSet(this, ST_INIT, ST_CANCELLED)) {
+                timer.pendingTimeouts.decrementAndGet();
+                return true;
+            }
+            return false;
+        }
+        
+        public boolean isCancelled() {
+            return state == ST_CANCELLED;
+        }
+        
+        public boolean isExpired() {
+            return state == ST_EXPIRED;
+        }
+        
+        boolean expire() {
+            if (STATE_UPDATER.compareAndSet(this, ST_INIT, ST_EXPIRED)) {
+                timer.pendingTimeouts.decrementAndGet();
+                return true;
+            }
+            return false;
+        }
+        
+        void runTask() {
+            try {
+                task.run();
+            } catch (Throwable t) {
+                LOGGER.warn("An exception was thrown by timer task {}.", task, t);
+            }
+        }
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.common.remote;
+
+import com.alibaba.nacos.api.remote.request.Request;
+import com.alibaba.nacos.common.remote.codec.PayloadBodyCodec;
+import com.alibaba.nacos.common.remote.codec.PayloadCompression;
+import com.alibaba.nacos.common.remote.codec.ProtobufPayloadBodyCodec;
+import com.alibaba.nacos.common.utils.JacksonUtils;
+import com.alibaba.nacos.common.utils.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Body shared by several {@link PreEncodedRequest}, encoded once by each codec negotiated with the receivers.
+ *
+ * <p>The request is encoded without request id and headers, so it must not be modified after the body is created.
+ * The request id of each request is added as the last field, so the encoded body except the tail, and its compressed
+ * bytes, are shared by all requests. The tail is the closing brace of json body, and nothing of protobuf body.
+ *
+ * @author Nacos
+ */
+public class PreEncodedBody {
+    
+    private static final byte[] NOT_COMPRESSED = new byte[0];
+    
+    private static final byte[] EMPTY = new byte[0];
+    
+    private final Request request;
+    
+    private final Map<String, EncodedBody> encodedBodies = new ConcurrentHashMap<>(4);
+    
+    private volatile int encodedSize;
+    
+    /**
+     * Create body of the request.
+     *
+     * @param request request without request id and headers
+     */
+    public PreEncodedBody(Request request) {
+        this.request = request;
+    }
+    
+    public Class<?> getRequestType() {
+        return request.getClass();
+    }
+    
+    /**
+     * Get the body encoded by the codec without request id, which is encoded at the first call of each codec.
+     *
+     * @param codec codec supporting the request type
+     * @return encoded body
+     */
+    public byte[] getEncodedBody(PayloadBodyCodec codec) {
+        return getOrEncode(codec).body;
+    }
+    
+    /**
+     * Encode the body with the request id.
+     *
+     * @param codec     codec supporting the request type
+     * @param requestId request id, nullable
+     * @return encoded body with request id
+     */
+    public byte[] encode(PayloadBodyCodec codec, String requestId) {
+        EncodedBody encodedBody = getOrEncode(codec);
+        byte[] tail = encodedBody.buildTail(requestId);
+        if (0 == tail.length) {
+            return encodedBody.body;
+        }
+        return concat(encodedBody.body, encodedBody.sharedLength, tail);
+    }
+    
+    /**
+     * Encode the body with the request id in the format of {@link PayloadCompression}, the shared part of body is
+     * compressed at the first call of each codec, and the request id is appended as the raw tail.
+     *
+     * @param codec       codec supporting the request type
+     * @param requestId   request id, nullable
+     * @param payloadType payload type, to record compression statistics
+     * @return compressed body with request id, {@code null} if the body is too small or not smaller after compression
+     */
+    public byte[] encodeCompressed(PayloadBodyCodec codec, String requestId, String payloadType) {
+        EncodedBody encodedBody = getOrEncode(codec);
+        byte[] compressed = encodedBody.getCompressed(payloadType);
+        if (NOT_COMPRESSED == compressed) {
+            return null;
+        }
+        return concat(compressed, compressed.length, encodedBody.buildTail(requestId));
+    }
+    
+    /**
+     * Get the size of the last encoded body, which is the bytes saved each time the body is shared.
+     *
+     * @return encoded size, 0 if not encoded yet
+     */
+    public int getEncodedSize() {
+        return encodedSize;
+    }
+    
+    private EncodedBody getOrEncode(PayloadBodyCodec codec) {
+        EncodedBody result = encodedBodies.get(codec.getName());
+        if (null != result) {
+            return result;
+        }
+        return encodedBodies.computeIfAbsent(codec.getName(), name -> {
+            EncodedBody encodedBody = new EncodedBody(codec.encode(request),
+                    ProtobufPayloadBodyCodec.NAME.equals(name));
+            encodedSize = encodedBody.body.length;
+            return encodedBody;
+        });
+    }
+    
+    private static byte[] concat(byte[] head, int headLength, byte[] tail) {
+        byte[] result = new byte[headLength + tail.length];
+        System.arraycopy(head, 0, result, 0, headLength);
+        System.arraycopy(tail, 0, result, headLength, tail.length);
+        return result;
+    }
+    
+    private static class EncodedBody {
+        
+        private final byte[] body;
+        
+        private final boolean protobuf;
+        
+        private final int sharedLength;
+        
+        private volatile byte[] compressed;
+        
+        private EncodedBody(byte[] body, boolean protobuf) {
+            this.body = body;
+            this.protobuf = protobuf;
+            this.sharedLength = protobuf ? body.length : body.length - 1;
+        }
+        
+        private byte[] buildTail(String requestId) {
+            if (protobuf) {
+                return null == requestId ? EMPTY : ProtobufPayloadBodyCodec.encodeRequestId(requestId);
+            }
+            StringBuilder tail = new StringBuilder();
+            if (null != requestId) {
+                // body without the closing brace is "{" if the request has no other field.
+                tail.append(sharedLength > 1 ? StringUtils.COMMA : StringUtils.EMPTY).append("\"requestId\":").append(JacksonUtils.toJson(requestId));
+            }
+            return tail.append('}').toString().getBytes(StandardCharsets.UTF_8);
+        }
+        
+        private byte[] getCompressed(String payloadType) {
+            byte[] result = compressed;
+            if (null == result) {
+                synchronized (this) {
+                    result = compressed;
+                    if (null == result) {
+                        result = PayloadCompression.compress(payloadType, body, sharedLength);
+                        result = null == result ? NOT_COMPRESSED : result;
+                        compressed = result;
+                    }
+                }
+            }
+            return result;
+        }
+    }
+}
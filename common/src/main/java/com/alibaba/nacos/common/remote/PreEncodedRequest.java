@@ -0,0 +1,43 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.common.remote;
+
+/**
+ * Request whose body has been encoded once and is shared by several requests, such as the same push data sent to
+ * many connections.
+ *
+ * <p>The shared body is encoded without request id and headers, the request id of each request is added when it is
+ * converted to payload.
+ *
+ * @author Nacos
+ */
+public interface PreEncodedRequest {
+    
+    /**
+     * Get the payload type of the request, which should be the simple class name of the request known by receiver.
+     *
+     * @return payload type
+     */
+    String getPayloadType();
+    
+    /**
+     * Get the shared body encoded without request id and headers.
+     *
+     * @return shared body
+     */
+    PreEncodedBody getPreEncodedBody();
+}
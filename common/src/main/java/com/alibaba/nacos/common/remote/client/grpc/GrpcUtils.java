@@ -24,14 +24,17 @@ import com.alibaba.nacos.api.remote.request.RequestMeta;
 import com.alibaba.nacos.api.remote.response.Response;
 import com.alibaba.nacos.api.utils.NetUtils;
 import com.alibaba.nacos.common.remote.PayloadRegistry;
+import com.alibaba.nacos.common.remote.PreEncodedBody;
+import com.alibaba.nacos.common.remote.PreEncodedRequest;
+import com.alibaba.nacos.common.remote.codec.PayloadBodyCodec;
+import com.alibaba.nacos.common.remote.codec.PayloadBodyCodecs;
+import com.alibaba.nacos.common.remote.codec.PayloadCompression;
 import com.alibaba.nacos.common.remote.exception.RemoteException;
 import com.alibaba.nacos.common.utils.JacksonUtils;
-import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
 import com.google.protobuf.Any;
 import com.google.protobuf.ByteString;
 import com.google.protobuf.UnsafeByteOperations;
 
-import java.nio.ByteBuffer;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -55,7 +58,7 @@ public class GrpcUtils {
         Payload.Builder payloadBuilder = Payload.newBuilder();
         Metadata.Builder metaBuilder = Metadata.newBuilder();
         if (meta != null) {
-            metaBuilder.putAllHeaders(request.getHeaders()).setType(request.getClass().getSimpleName());
+            metaBuilder.putAllHeaders(request.getHeaders()).setType(getPayloadType(request));
         }
         metaBuilder.setClientIp(NetUtils.localIP());
         payloadBuilder.setMetadata(metaBuilder.build());
@@ -75,17 +78,48 @@ public class GrpcUtils {
      * @return payload.
      */
     public static Payload convert(Request request) {
+        return convert(request, PayloadBodyCodecs.JSON);
+    }
+    
+    /**
+     * convert request to payload, encode body by the codec if the request type is supported by it, otherwise by json.
+     *
+     * @param request request.
+     * @param codec   codec negotiated with the receiver.
+     * @return payload.
+     */
+    public static Payload convert(Request request, PayloadBodyCodec codec) {
+        return convert(request, codec, false);
+    }
         
-        Metadata newMeta = Metadata.newBuilder().setType(request.getClass().getSimpleName())
-                .setClientIp(NetUtils.localIP()).putAllHeaders(request.getHeaders()).build();
-        
-        byte[] jsonBytes = convertRequestToByte(request);
+    /**
+     * convert request to payload, encode body by the codec if the request type is supported by it, otherwise by json,
+     * and compress the large body if the receiver supports.
+     *
+     * @param request      request.
+     * @param codec        codec negotiated with the receiver.
+     * @param compressible whether the receiver supports payload compression.
+     * @return payload.
+     */
+    public static Payload convert(Request request, PayloadBodyCodec codec, boolean compressible) {
         
-        Payload.Builder builder = Payload.newBuilder();
+        Metadata.Builder metaBuilder = Metadata.newBuilder().setType(getPayloadType(request))
+                .setClientIp(NetUtils.localIP()).putAllHeaders(request.getHeaders());
         
-        return builder
-                .setBody(Any.newBuilder().setValue(UnsafeByteOperations.unsafeWrap(jsonBytes)))
-                .setMetadata(newMeta).build();
+        if (request instanceof PreEncodedRequest) {
+            PreEncodedBody preEncodedBody = ((PreEncodedRequest) request).getPreEncodedBody();
+            PayloadBodyCodec bodyCodec = chooseCodec(codec, preEncodedBody.getRequestType());
+            byte[] compressed = compressible ? preEncodedBody
+                    .encodeCompressed(bodyCodec, request.getRequestId(), metaBuilder.getType()) : null;
+            if (null != compressed) {
+                return newPayload(metaBuilder, bodyCodec, compressed, true);
+            }
+            return newPayload(metaBuilder, bodyCodec, preEncodedBody.encode(bodyCodec, request.getRequestId()), false);
+        }
+        PayloadBodyCodec bodyCodec = chooseCodec(codec, request.getClass());
+        byte[] bodyBytes = bodyCodec == PayloadBodyCodecs.JSON ? convertRequestToByte(request)
+                : bodyCodec.encode(request);
+        return buildPayload(metaBuilder, bodyCodec, bodyBytes, compressible);
         
     }
     
@@ -96,15 +130,72 @@ public class GrpcUtils {
      * @return payload.
      */
     public static Payload convert(Response response) {
-        byte[] jsonBytes = JacksonUtils.toJsonBytes(response);
+        return convert(response, PayloadBodyCodecs.JSON);
+    }
+    
+    /**
+     * convert response to payload, encode body by the codec if the response type is supported by it, otherwise by
+     * json.
+     *
+     * @param response response.
+     * @param codec    codec negotiated with the receiver.
+     * @return payload.
+     */
+    public static Payload convert(Response response, PayloadBodyCodec codec) {
+        return convert(response, codec, false);
+    }
+    
+    /**
+     * convert response to payload, encode body by the codec if the response type is supported by it, otherwise by
+     * json, and compress the large body if the receiver supports.
+     *
+     * @param response     response.
+     * @param codec        codec negotiated with the receiver.
+     * @param compressible whether the receiver supports payload compression.
+     * @return payload.
+     */
+    public static Payload convert(Response response, PayloadBodyCodec codec, boolean compressible) {
+        PayloadBodyCodec bodyCodec = chooseCodec(codec, response.getClass());
+        byte[] bodyBytes = bodyCodec.encode(response);
         
         Metadata.Builder metaBuilder = Metadata.newBuilder().setType(response.getClass().getSimpleName());
-        return Payload.newBuilder()
-                .setBody(Any.newBuilder().setValue(UnsafeByteOperations.unsafeWrap(jsonBytes)))
-                .setMetadata(metaBuilder.build()).build();
+        return buildPayload(metaBuilder, bodyCodec, bodyBytes, compressible);
+    }
+    
+    private static Payload buildPayload(Metadata.Builder metaBuilder, PayloadBodyCodec bodyCodec, byte[] bodyBytes,
+            boolean compressible) {
+        byte[] compressed = compressible ? PayloadCompression.compress(metaBuilder.getType(), bodyBytes) : null;
+        if (null != compressed) {
+            return newPayload(metaBuilder, bodyCodec, compressed, true);
+        }
+        return newPayload(metaBuilder, bodyCodec, bodyBytes, false);
+    }
+    
+    private static Payload newPayload(Metadata.Builder metaBuilder, PayloadBodyCodec bodyCodec, byte[] body,
+            boolean compressed) {
+        if (compressed) {
+            metaBuilder.putHeaders(PayloadCompression.HEADER, PayloadCompression.DEFLATE);
+        }
+        return Payload.newBuilder().setBody(Any.newBuilder().setTypeUrl(bodyCodec.getName())
+                .setValue(UnsafeByteOperations.unsafeWrap(body))).setMetadata(metaBuilder.build()).build();
+    }
+    
+    private static PayloadBodyCodec chooseCodec(PayloadBodyCodec codec, Class<?> bodyType) {
+        return codec.isSupported(bodyType) ? codec : PayloadBodyCodecs.JSON;
+    }
+    
+    private static String getPayloadType(Request request) {
+        if (request instanceof PreEncodedRequest) {
+            return ((PreEncodedRequest) request).getPayloadType();
+        }
+        return request.getClass().getSimpleName();
     }
     
     private static byte[] convertRequestToByte(Request request) {
+        if (request instanceof PreEncodedRequest) {
+            return ((PreEncodedRequest) request).getPreEncodedBody()
+                    .encode(PayloadBodyCodecs.JSON, request.getRequestId());
+        }
         Map<String, String> requestHeaders = new HashMap<>(request.getHeaders());
         request.clearHeaders();
         byte[] jsonBytes = JacksonUtils.toJsonBytes(request);
@@ -121,11 +212,22 @@ public class GrpcUtils {
     public static Object parse(Payload payload) {
         Class classType = PayloadRegistry.getClassByType(payload.getMetadata().getType());
         if (classType != null) {
-            ByteString byteString = payload.getBody().getValue();
-            ByteBuffer byteBuffer = byteString.asReadOnlyByteBuffer();
-            Object obj = JacksonUtils.toObj(new ByteBufferBackedInputStream(byteBuffer), classType);
+            PayloadBodyCodec codec = PayloadBodyCodecs.getCodec(payload.getBody().getTypeUrl());
+            if (null == codec) {
+                throw new RemoteException(NacosException.SERVER_ERROR,
+                        "Unknown payload codec:" + payload.getBody().getTypeUrl());
+            }
+            ByteString body = payload.getBody().getValue();
+            Map<String, String> headers = payload.getMetadata().getHeadersMap();
+            String encoding = headers.get(PayloadCompression.HEADER);
+            if (null != encoding) {
+                body = PayloadCompression.decompress(encoding, body);
+                headers = new HashMap<>(headers);
+                headers.remove(PayloadCompression.HEADER);
+            }
+            Object obj = codec.decode(body, classType);
             if (obj instanceof Request) {
-                ((Request) obj).putAllHeader(payload.getMetadata().getHeadersMap());
+                ((Request) obj).putAllHeader(headers);
             }
             return obj;
         } else {
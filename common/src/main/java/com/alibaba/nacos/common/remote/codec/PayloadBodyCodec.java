@@ -0,0 +1,63 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.common.remote.codec;
+
+import com.google.protobuf.ByteString;
+
+/**
+ * Codec of the body of gRPC payload.
+ *
+ * <p>The name of codec is set as the type url of payload body, so that the receiver can decode the body by the same
+ * codec. The encoder should only choose a codec which the receiver declares to support by ability negotiation.
+ *
+ * @author Nacos
+ */
+public interface PayloadBodyCodec {
+    
+    /**
+     * Get the name of codec, which is set as the type url of payload body.
+     *
+     * @return name of codec
+     */
+    String getName();
+    
+    /**
+     * Whether the type of body can be encoded by this codec.
+     *
+     * @param type type of body
+     * @return {@code true} if supported
+     */
+    boolean isSupported(Class<?> type);
+    
+    /**
+     * Encode the body.
+     *
+     * @param body body to encode
+     * @return encoded bytes
+     */
+    byte[] encode(Object body);
+    
+    /**
+     * Decode the body.
+     *
+     * @param body encoded body
+     * @param type type of body
+     * @param <T>  type of body
+     * @return body
+     */
+    <T> T decode(ByteString body, Class<T> type);
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.common.remote.codec;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Holder of payload body codecs, find the codec to decode by the type url of payload body.
+ *
+ * @author Nacos
+ */
+public class PayloadBodyCodecs {
+    
+    public static final PayloadBodyCodec JSON = new JsonPayloadBodyCodec();
+    
+    public static final PayloadBodyCodec PROTOBUF = new ProtobufPayloadBodyCodec();
+    
+    private static final Map<String, PayloadBodyCodec> CODECS = new ConcurrentHashMap<>();
+    
+    static {
+        register(JSON);
+        register(PROTOBUF);
+    }
+    
+    /**
+     * Register codec, the codec with same name is replaced.
+     *
+     * @param codec codec
+     */
+    public static void register(PayloadBodyCodec codec) {
+        CODECS.put(codec.getName(), codec);
+    }
+    
+    /**
+     * Get codec by name.
+     *
+     * @param name name of codec, which is the type url of payload body
+     * @return codec, {@code null} if not found
+     */
+    public static PayloadBodyCodec getCodec(String name) {
+        return CODECS.get(name);
+    }
+    
+    /**
+     * Select codec for the receiver.
+     *
+     * @param protobufSupported whether the receiver declares to support protobuf payload
+     * @return protobuf codec if supported, otherwise json codec
+     */
+    public static PayloadBodyCodec select(boolean protobufSupported) {
+        return protobufSupported ? PROTOBUF : JSON;
+    }
+}
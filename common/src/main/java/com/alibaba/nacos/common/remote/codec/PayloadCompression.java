@@ -0,0 +1,257 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.common.remote.codec;
+
+import com.alibaba.nacos.api.exception.runtime.NacosDeserializationException;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.UnsafeByteOperations;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BiConsumer;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Deflate compression of large payload body, flagged by the {@link #HEADER} of payload metadata.
+ *
+ * <p>The compressed body is the varint of inflated length followed by the deflate stream, and optionally a raw tail
+ * after the end of deflate stream, so that a compressed body shared by several payloads can be followed by the fields
+ * of each payload. Deflater, inflater and the output buffer are reused per thread, body is sent raw if compression
+ * does not make it smaller.
+ *
+ * <p>The threshold is read from the system property {@link #THRESHOLD_PROPERTY} on clients, and set by the server from
+ * its configuration. The raw body size is limited by the largest max inbound message size of the grpc servers and
+ * clients in the process, so a small compressed body can not allocate more memory than a raw one.
+ *
+ * @author Nacos
+ */
+public class PayloadCompression {
+    
+    public static final String HEADER = "Payload-Encoding";
+    
+    public static final String DEFLATE = "deflate";
+    
+    public static final String THRESHOLD_PROPERTY = "nacos.remote.payload.compression.threshold";
+    
+    public static final int DEFAULT_THRESHOLD = 16 * 1024;
+    
+    /**
+     * Same as the default max inbound message size of grpc servers and clients.
+     */
+    private static final int DEFAULT_MAX_RAW_SIZE = 10 * 1024 * 1024;
+    
+    /**
+     * Buffers larger than this are not kept by thread to avoid holding memory of rare huge payloads.
+     */
+    private static final int MAX_REUSED_BUFFER_SIZE = 1024 * 1024;
+    
+    private static final ThreadLocal<Compressor> COMPRESSOR = ThreadLocal.withInitial(Compressor::new);
+    
+    private static final ThreadLocal<Inflater> INFLATER = ThreadLocal.withInitial(Inflater::new);
+    
+    private static final Map<String, PayloadCompressionStatistics> STATISTICS = new ConcurrentHashMap<>();
+    
+    private static final List<BiConsumer<String, PayloadCompressionStatistics>> LISTENERS =
+            new CopyOnWriteArrayList<>();
+    
+    private static volatile int threshold = Integer.getInteger(THRESHOLD_PROPERTY, DEFAULT_THRESHOLD);
+    
+    private static volatile int maxRawSize = DEFAULT_MAX_RAW_SIZE;
+    
+    public static int getThreshold() {
+        return threshold;
+    }
+    
+    public static void setThreshold(int threshold) {
+        PayloadCompression.threshold = threshold;
+    }
+    
+    public static int getMaxRawSize() {
+        return maxRawSize;
+    }
+    
+    /**
+     * Raise the max raw body size to the max inbound message size of a grpc server or client, it is never lowered.
+     *
+     * @param maxInboundMessageSize max inbound message size
+     */
+    public static synchronized void raiseMaxRawSize(int maxInboundMessageSize) {
+        if (maxInboundMessageSize > maxRawSize) {
+            maxRawSize = maxInboundMessageSize;
+        }
+    }
+    
+    /**
+     * Compress the body if it reaches the threshold.
+     *
+     * @param type payload type, to record statistics
+     * @param body raw body
+     * @return compressed body, {@code null} if the body is too small or not smaller after compression
+     */
+    public static byte[] compress(String type, byte[] body) {
+        return compress(type, body, body.length);
+    }
+    
+    /**
+     * Compress the first bytes of body if they reach the threshold.
+     *
+     * @param type   payload type, to record statistics
+     * @param body   raw body
+     * @param length length of bytes to compress from the start of body
+     * @return compressed bytes, {@code null} if the bytes are too small or not smaller after compression
+     */
+    public static byte[] compress(String type, byte[] body, int length) {
+        if (length < threshold) {
+            return null;
+        }
+        long start = System.nanoTime();
+        Compressor compressor = COMPRESSOR.get();
+        byte[] buffer = compressor.borrowBuffer(length);
+        int prefixSize = CodedOutputStream.computeUInt32SizeNoTag(length);
+        Deflater deflater = compressor.deflater;
+        try {
+            deflater.setInput(body, 0, length);
+            deflater.finish();
+            // the reused buffer may be larger, limit the output to be smaller than raw body.
+            int limit = length;
+            int size = prefixSize;
+            while (!deflater.finished() && size < limit) {
+                size += deflater.deflate(buffer, size, limit - size);
+            }
+            byte[] result = null;
+            if (deflater.finished()) {
+                CodedOutputStream.newInstance(buffer, 0, prefixSize).writeUInt32NoTag(length);
+                result = Arrays.copyOf(buffer, size);
+            }
+            getStatistics(type).record(length, null == result ? length : size, System.nanoTime() - start);
+            return result;
+        } catch (IOException e) {
+            // never happen, the prefix is written into the array of exact size.
+            return null;
+        } finally {
+            deflater.reset();
+        }
+    }
+    
+    /**
+     * Decompress the body by the encoding.
+     *
+     * @param encoding encoding in payload header
+     * @param body     compressed body
+     * @return raw body
+     * @throws NacosDeserializationException if encoding unknown, body broken or raw body too large
+     */
+    public static ByteString decompress(String encoding, ByteString body) {
+        if (!DEFLATE.equals(encoding)) {
+            throw new NacosDeserializationException(
+                    new IllegalArgumentException("Unknown payload encoding " + encoding));
+        }
+        Inflater inflater = INFLATER.get();
+        try {
+            CodedInputStream in = body.newCodedInput();
+            int rawSize = in.readUInt32();
+            checkRawSize(Integer.toUnsignedLong(rawSize));
+            byte[] compressed = in.readRawBytes(body.size() - in.getTotalBytesRead());
+            byte[] raw = new byte[rawSize];
+            inflater.setInput(compressed);
+            int size = 0;
+            while (size < rawSize && !inflater.finished()) {
+                int inflated = inflater.inflate(raw, size, rawSize - size);
+                // no progress means truncated input or a preset dictionary required, which never ends by retrying.
+                if (inflated == 0) {
+                    break;
+                }
+                size += inflated;
+            }
+            if (size != rawSize || !inflater.finished()) {
+                throw new NacosDeserializationException(new IllegalArgumentException("Broken deflate payload body"));
+            }
+            int tailSize = inflater.getRemaining();
+            if (0 == tailSize) {
+                return UnsafeByteOperations.unsafeWrap(raw);
+            }
+            checkRawSize((long) rawSize + tailSize);
+            return UnsafeByteOperations.unsafeWrap(raw).concat(body.substring(body.size() - tailSize));
+        } catch (IOException | DataFormatException e) {
+            throw new NacosDeserializationException(e);
+        } finally {
+            inflater.reset();
+        }
+    }
+    
+    private static void checkRawSize(long rawSize) {
+        if (rawSize > maxRawSize) {
+            throw new NacosDeserializationException(new IllegalArgumentException(
+                    "Payload body size " + rawSize + " exceeds the max size " + maxRawSize));
+        }
+    }
+    
+    /**
+     * Get statistics of the payload type, created if absent.
+     *
+     * @param type payload type
+     * @return statistics
+     */
+    public static PayloadCompressionStatistics getStatistics(String type) {
+        PayloadCompressionStatistics result = STATISTICS.get(type);
+        if (null != result) {
+            return result;
+        }
+        PayloadCompressionStatistics statistics = new PayloadCompressionStatistics();
+        result = STATISTICS.putIfAbsent(type, statistics);
+        if (null == result) {
+            LISTENERS.forEach(each -> each.accept(type, statistics));
+            result = statistics;
+        }
+        return result;
+    }
+    
+    /**
+     * Register listener of statistics, which is called for existing payload types and each new payload type.
+     *
+     * @param listener listener accepting payload type and its statistics
+     */
+    public static void registerStatisticsListener(BiConsumer<String, PayloadCompressionStatistics> listener) {
+        LISTENERS.add(listener);
+        STATISTICS.forEach(listener);
+    }
+    
+    private static class Compressor {
+        
+        private final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        
+        private byte[] buffer;
+        
+        private byte[] borrowBuffer(int size) {
+            if (size > MAX_REUSED_BUFFER_SIZE) {
+                return new byte[size];
+            }
+            if (null == buffer || buffer.length < size) {
+                buffer = new byte[size];
+            }
+            return buffer;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.common.remote.codec;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Statistics of payload compression of one payload type.
+ *
+ * @author Nacos
+ */
+public class PayloadCompressionStatistics {
+    
+    private final LongAdder count = new LongAdder();
+    
+    private final LongAdder rawBytes = new LongAdder();
+    
+    private final LongAdder compressedBytes = new LongAdder();
+    
+    private final LongAdder costNanos = new LongAdder();
+    
+    void record(int rawSize, int compressedSize, long cost) {
+        count.increment();
+        rawBytes.add(rawSize);
+        compressedBytes.add(compressedSize);
+        costNanos.add(cost);
+    }
+    
+    public long getCount() {
+        return count.sum();
+    }
+    
+    public long getRawBytes() {
+        return rawBytes.sum();
+    }
+    
+    public long getCompressedBytes() {
+        return compressedBytes.sum();
+    }
+    
+    public long getCostNanos() {
+        return costNanos.sum();
+    }
+    
+    /**
+     * Get the ratio of compressed bytes to raw bytes, payloads not worth compressing are counted as raw bytes.
+     *
+     * @return compression ratio, 1 if nothing compressed
+     */
+    public double getRatio() {
+        long raw = getRawBytes();
+        return raw == 0 ? 1D : (double) getCompressedBytes() / raw;
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.common.remote.codec;
+
+import com.alibaba.nacos.api.config.remote.request.ConfigBatchListenRequest;
+import com.alibaba.nacos.api.exception.runtime.NacosDeserializationException;
+import com.alibaba.nacos.api.exception.runtime.NacosSerializationException;
+import com.alibaba.nacos.api.naming.remote.request.InstanceRequest;
+import com.alibaba.nacos.api.naming.remote.request.NotifySubscriberRequest;
+import com.alibaba.nacos.common.remote.codec.protobuf.ConfigBatchListenRequestSerializer;
+import com.alibaba.nacos.common.remote.codec.protobuf.InstanceRequestSerializer;
+import com.alibaba.nacos.common.remote.codec.protobuf.InstanceSerializer;
+import com.alibaba.nacos.common.remote.codec.protobuf.NotifySubscriberRequestSerializer;
+import com.alibaba.nacos.common.remote.codec.protobuf.AbstractProtobufBodySerializer;
+import com.alibaba.nacos.common.remote.codec.protobuf.ServiceInfoSerializer;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.CodedOutputStream;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Protobuf codec of payload body, which only supports the hot payload types with serializers written by hand.
+ *
+ * @author Nacos
+ */
+public class ProtobufPayloadBodyCodec implements PayloadBodyCodec {
+    
+    public static final String NAME = "nacos/protobuf";
+    
+    /**
+     * Field number of request id in all request serializers, so that the request id can be appended to a body shared
+     * by several requests.
+     */
+    public static final int REQUEST_ID_FIELD = 1;
+    
+    private final Map<Class<?>, AbstractProtobufBodySerializer<?>> serializers = new HashMap<>();
+    
+    public ProtobufPayloadBodyCodec() {
+        InstanceSerializer instanceSerializer = new InstanceSerializer();
+        serializers.put(NotifySubscriberRequest.class, new NotifySubscriberRequestSerializer(instanceSerializer,
+                new ServiceInfoSerializer(instanceSerializer)));
+        serializers.put(InstanceRequest.class, new InstanceRequestSerializer(instanceSerializer));
+        serializers.put(ConfigBatchListenRequest.class, new ConfigBatchListenRequestSerializer());
+    }
+    
+    @Override
+    public String getName() {
+        return NAME;
+    }
+    
+    @Override
+    public boolean isSupported(Class<?> type) {
+        return serializers.containsKey(type);
+    }
+    
+    @Override
+    @SuppressWarnings("unchecked")
+    public byte[] encode(Object body) {
+        AbstractProtobufBodySerializer<Object> serializer = (AbstractProtobufBodySerializer<Object>) serializers
+                .get(body.getClass());
+        if (null == serializer) {
+            throw new NacosSerializationException(body.getClass());
+        }
+        try {
+            return serializer.encode(body);
+        } catch (IOException e) {
+            throw new NacosSerializationException(body.getClass(), e);
+        }
+    }
+    
+    @Override
+    public <T> T decode(ByteString body, Class<T> type) {
+        AbstractProtobufBodySerializer<?> serializer = serializers.get(type);
+        if (null == serializer) {
+            throw new NacosDeserializationException(type);
+        }
+        try {
+            return type.cast(serializer.readFrom(body.newCodedInput()));
+        } catch (IOException e) {
+            throw new NacosDeserializationException(type, e);
+        }
+    }
+    
+    /**
+     * Encode the request id field, which can be appended to the body encoded without request id.
+     *
+     * @param requestId request id
+     * @return encoded request id field
+     */
+    public static byte[] encodeRequestId(String requestId) {
+        byte[] result = new byte[CodedOutputStream.computeStringSize(REQUEST_ID_FIELD, requestId)];
+        try {
+            CodedOutputStream out = CodedOutputStream.newInstance(result);
+            out.writeString(REQUEST_ID_FIELD, requestId);
+            out.checkNoSpaceLeft();
+        } catch (IOException e) {
+            throw new NacosSerializationException(e);
+        }
+        return result;
+    }
+}
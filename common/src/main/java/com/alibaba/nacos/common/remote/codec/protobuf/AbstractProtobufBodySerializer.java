@@ -0,0 +1,165 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.common.remote.codec.protobuf;
+
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.WireFormat;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Serializer of one type in protobuf wire format.
+ *
+ * <p>Fields are written by field number and unknown fields are skipped when reading, so that new fields can be added
+ * with new field numbers compatibly. Null fields are not written.
+ *
+ * @param <T> type to serialize
+ * @author Nacos
+ */
+public abstract class AbstractProtobufBodySerializer<T> {
+    
+    protected static final int END_TAG = 0;
+    
+    /**
+     * Compute the size of value without tag and length.
+     *
+     * @param value value
+     * @return size of value
+     */
+    public abstract int computeSize(T value);
+    
+    /**
+     * Write the fields of value.
+     *
+     * @param value value
+     * @param out   output
+     * @throws IOException if write failed
+     */
+    public abstract void writeTo(T value, CodedOutputStream out) throws IOException;
+    
+    /**
+     * Create a new value for reading.
+     *
+     * @return new value
+     */
+    protected abstract T newInstance();
+    
+    /**
+     * Read one field into value.
+     *
+     * @param value       value
+     * @param fieldNumber field number
+     * @param in          input
+     * @return {@code false} if the field is unknown and not read
+     * @throws IOException if read failed
+     */
+    protected abstract boolean readField(T value, int fieldNumber, CodedInputStream in) throws IOException;
+    
+    /**
+     * Read value until the end of input or limit.
+     *
+     * @param in input
+     * @return value
+     * @throws IOException if read failed
+     */
+    public T readFrom(CodedInputStream in) throws IOException {
+        T result = newInstance();
+        int tag;
+        while ((tag = in.readTag()) != END_TAG) {
+            if (!readField(result, WireFormat.getTagFieldNumber(tag), in)) {
+                in.skipField(tag);
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * Encode value into bytes.
+     *
+     * @param value value
+     * @return encoded bytes
+     * @throws IOException if write failed
+     */
+    public byte[] encode(T value) throws IOException {
+        byte[] result = new byte[computeSize(value)];
+        CodedOutputStream out = CodedOutputStream.newInstance(result);
+        writeTo(value, out);
+        out.checkNoSpaceLeft();
+        return result;
+    }
+    
+    protected static int computeStringSize(int fieldNumber, String value) {
+        return null == value ? 0 : CodedOutputStream.computeStringSize(fieldNumber, value);
+    }
+    
+    protected static void writeString(CodedOutputStream out, int fieldNumber, String value) throws IOException {
+        if (null != value) {
+            out.writeString(fieldNumber, value);
+        }
+    }
+    
+    protected static <E> int computeMessageSize(int fieldNumber, E value,
+            AbstractProtobufBodySerializer<E> serializer) {
+        if (null == value) {
+            return 0;
+        }
+        int size = serializer.computeSize(value);
+        return CodedOutputStream.computeTagSize(fieldNumber) + CodedOutputStream.computeUInt32SizeNoTag(size) + size;
+    }
+    
+    protected static <E> void writeMessage(CodedOutputStream out, int fieldNumber, E value,
+            AbstractProtobufBodySerializer<E> serializer) throws IOException {
+        if (null == value) {
+            return;
+        }
+        out.writeTag(fieldNumber, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+        out.writeUInt32NoTag(serializer.computeSize(value));
+        serializer.writeTo(value, out);
+    }
+    
+    protected static <E> E readMessage(CodedInputStream in, AbstractProtobufBodySerializer<E> serializer)
+            throws IOException {
+        int oldLimit = in.pushLimit(in.readRawVarint32());
+        E result = serializer.readFrom(in);
+        in.popLimit(oldLimit);
+        return result;
+    }
+    
+    protected static <E> int computeRepeatedMessageSize(int fieldNumber, List<E> values,
+            AbstractProtobufBodySerializer<E> serializer) {
+        if (null == values) {
+            return 0;
+        }
+        int result = 0;
+        for (E each : values) {
+            result += computeMessageSize(fieldNumber, each, serializer);
+        }
+        return result;
+    }
+    
+    protected static <E> void writeRepeatedMessage(CodedOutputStream out, int fieldNumber, List<E> values,
+            AbstractProtobufBodySerializer<E> serializer) throws IOException {
+        if (null == values) {
+            return;
+        }
+        for (E each : values) {
+            writeMessage(out, fieldNumber, each, serializer);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.common.remote.codec.protobuf;
+
+import com.alibaba.nacos.api.config.remote.request.ConfigBatchListenRequest;
+import com.alibaba.nacos.api.config.remote.request.ConfigBatchListenRequest.ConfigListenContext;
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+
+import java.io.IOException;
+
+/**
+ * Protobuf serializer of {@link ConfigBatchListenRequest}.
+ *
+ * @author Nacos
+ */
+public class ConfigBatchListenRequestSerializer extends AbstractProtobufBodySerializer<ConfigBatchListenRequest> {
+    
+    private static final int REQUEST_ID = 1;
+    
+    private static final int LISTEN = 2;
+    
+    private static final int CONFIG_LISTEN_CONTEXTS = 3;
+    
+    private static final int DATA_ID = 4;
+    
+    private static final int GROUP = 5;
+    
+    private static final int TENANT = 6;
+    
+    private final ConfigListenContextSerializer contextSerializer = new ConfigListenContextSerializer();
+    
+    @Override
+    public int computeSize(ConfigBatchListenRequest value) {
+        return computeStringSize(REQUEST_ID, value.getRequestId())
+                + CodedOutputStream.computeBoolSize(LISTEN, value.isListen())
+                + computeRepeatedMessageSize(CONFIG_LISTEN_CONTEXTS, value.getConfigListenContexts(),
+                contextSerializer) + computeStringSize(DATA_ID, value.getDataId())
+                + computeStringSize(GROUP, value.getGroup()) + computeStringSize(TENANT, value.getTenant());
+    }
+    
+    @Override
+    public void writeTo(ConfigBatchListenRequest value, CodedOutputStream out) throws IOException {
+        writeString(out, REQUEST_ID, value.getRequestId());
+        out.writeBool(LISTEN, value.isListen());
+        writeRepeatedMessage(out, CONFIG_LISTEN_CONTEXTS, value.getConfigListenContexts(), contextSerializer);
+        writeString(out, DATA_ID, value.getDataId());
+        writeString(out, GROUP, value.getGroup());
+        writeString(out, TENANT, value.getTenant());
+    }
+    
+    @Override
+    protected ConfigBatchListenRequest newInstance() {
+        return new ConfigBatchListenRequest();
+    }
+    
+    @Override
+    protected boolean readField(ConfigBatchListenRequest value, int fieldNumber, CodedInputStream in)
+            throws IOException {
+        switch (fieldNumber) {
+            case REQUEST_ID:
+                value.setRequestId(in.readString());
+                return true;
+            case LISTEN:
+                value.setListen(in.readBool());
+                return true;
+            case CONFIG_LISTEN_CONTEXTS:
+                value.getConfigListenContexts().add(readMessage(in, contextSerializer));
+                return true;
+            case DATA_ID:
+                value.setDataId(in.readString());
+                return true;
+            case GROUP:
+                value.setGroup(in.readString());
+                return true;
+            case TENANT:
+                value.setTenant(in.readString());
+                return true;
+            default:
+                return false;
+        }
+    }
+    
+    private static class ConfigListenContextSerializer extends AbstractProtobufBodySerializer<ConfigListenContext> {
+        
+        private static final int GROUP = 1;
+        
+        private static final int MD5 = 2;
+        
+        private static final int DATA_ID = 3;
+        
+        private static final int TENANT = 4;
+        
+        @Override
+        public int computeSize(ConfigListenContext value) {
+            return computeStringSize(GROUP, value.getGroup()) + computeStringSize(MD5, value.getMd5())
+                    + computeStringSize(DATA_ID, value.getDataId()) + computeStringSize(TENANT, value.getTenant());
+        }
+        
+        @Override
+        public void writeTo(ConfigListenContext value, CodedOutputStream out) throws IOException {
+            writeString(out, GROUP, value.getGroup());
+            writeString(out, MD5, value.getMd5());
+            writeString(out, DATA_ID, value.getDataId());
+            writeString(out, TENANT, value.getTenant());
+        }
+        
+        @Override
+        protected ConfigListenContext newInstance() {
+            return new ConfigListenContext();
+        }
+        
+        @Override
+        protected boolean readField(ConfigListenContext value, int fieldNumber, CodedInputStream in)
+                throws IOException {
+            switch (fieldNumber) {
+                case GROUP:
+                    value.setGroup(in.readString());
+                    return true;
+                case MD5:
+                    value.setMd5(in.readString());
+                    return true;
+                case DATA_ID:
+                    value.setDataId(in.readString());
+                    return true;
+                case TENANT:
+                    value.setTenant(in.readString());
+                    return true;
+                default:
+                    return false;
+            }
+        }
+    }
+}
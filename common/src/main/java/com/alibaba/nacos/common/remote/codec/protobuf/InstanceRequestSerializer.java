@@ -0,0 +1,99 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.common.remote.codec.protobuf;
+
+import com.alibaba.nacos.api.naming.remote.request.InstanceRequest;
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+
+import java.io.IOException;
+
+/**
+ * Protobuf serializer of {@link InstanceRequest}.
+ *
+ * @author Nacos
+ */
+public class InstanceRequestSerializer extends AbstractProtobufBodySerializer<InstanceRequest> {
+    
+    private static final int REQUEST_ID = 1;
+    
+    private static final int NAMESPACE = 2;
+    
+    private static final int SERVICE_NAME = 3;
+    
+    private static final int GROUP_NAME = 4;
+    
+    private static final int TYPE = 5;
+    
+    private static final int INSTANCE = 6;
+    
+    private final InstanceSerializer instanceSerializer;
+    
+    public InstanceRequestSerializer(InstanceSerializer instanceSerializer) {
+        this.instanceSerializer = instanceSerializer;
+    }
+    
+    @Override
+    public int computeSize(InstanceRequest value) {
+        return computeStringSize(REQUEST_ID, value.getRequestId())
+                + computeStringSize(NAMESPACE, value.getNamespace())
+                + computeStringSize(SERVICE_NAME, value.getServiceName())
+                + computeStringSize(GROUP_NAME, value.getGroupName()) + computeStringSize(TYPE, value.getType())
+                + computeMessageSize(INSTANCE, value.getInstance(), instanceSerializer);
+    }
+    
+    @Override
+    public void writeTo(InstanceRequest value, CodedOutputStream out) throws IOException {
+        writeString(out, REQUEST_ID, value.getRequestId());
+        writeString(out, NAMESPACE, value.getNamespace());
+        writeString(out, SERVICE_NAME, value.getServiceName());
+        writeString(out, GROUP_NAME, value.getGroupName());
+        writeString(out, TYPE, value.getType());
+        writeMessage(out, INSTANCE, value.getInstance(), instanceSerializer);
+    }
+    
+    @Override
+    protected InstanceRequest newInstance() {
+        return new InstanceRequest();
+    }
+    
+    @Override
+    protected boolean readField(InstanceRequest value, int fieldNumber, CodedInputStream in) throws IOException {
+        switch (fieldNumber) {
+            case REQUEST_ID:
+                value.setRequestId(in.readString());
+                return true;
+            case NAMESPACE:
+                value.setNamespace(in.readString());
+                return true;
+            case SERVICE_NAME:
+                value.setServiceName(in.readString());
+                return true;
+            case GROUP_NAME:
+                value.setGroupName(in.readString());
+                return true;
+            case TYPE:
+                value.setType(in.readString());
+                return true;
+            case INSTANCE:
+                value.setInstance(readMessage(in, instanceSerializer));
+                return true;
+            default:
+                return false;
+        }
+    }
+}
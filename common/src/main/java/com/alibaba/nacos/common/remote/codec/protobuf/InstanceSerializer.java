@@ -0,0 +1,166 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.common.remote.codec.protobuf;
+
+import com.alibaba.nacos.api.naming.pojo.Instance;
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.WireFormat;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Protobuf serializer of {@link Instance}.
+ *
+ * @author Nacos
+ */
+public class InstanceSerializer extends AbstractProtobufBodySerializer<Instance> {
+    
+    private static final int INSTANCE_ID = 1;
+    
+    private static final int IP = 2;
+    
+    private static final int PORT = 3;
+    
+    private static final int WEIGHT = 4;
+    
+    private static final int HEALTHY = 5;
+    
+    private static final int ENABLED = 6;
+    
+    private static final int EPHEMERAL = 7;
+    
+    private static final int CLUSTER_NAME = 8;
+    
+    private static final int SERVICE_NAME = 9;
+    
+    private static final int METADATA = 10;
+    
+    private static final int METADATA_KEY = 1;
+    
+    private static final int METADATA_VALUE = 2;
+    
+    @Override
+    public int computeSize(Instance value) {
+        int result = computeStringSize(INSTANCE_ID, value.getInstanceId()) + computeStringSize(IP, value.getIp())
+                + CodedOutputStream.computeInt32Size(PORT, value.getPort())
+                + CodedOutputStream.computeDoubleSize(WEIGHT, value.getWeight())
+                + CodedOutputStream.computeBoolSize(HEALTHY, value.isHealthy())
+                + CodedOutputStream.computeBoolSize(ENABLED, value.isEnabled())
+                + CodedOutputStream.computeBoolSize(EPHEMERAL, value.isEphemeral())
+                + computeStringSize(CLUSTER_NAME, value.getClusterName())
+                + computeStringSize(SERVICE_NAME, value.getServiceName());
+        if (null != value.getMetadata()) {
+            for (Map.Entry<String, String> entry : value.getMetadata().entrySet()) {
+                int entrySize = computeEntrySize(entry);
+                result += CodedOutputStream.computeTagSize(METADATA) + CodedOutputStream
+                        .computeUInt32SizeNoTag(entrySize) + entrySize;
+            }
+        }
+        return result;
+    }
+    
+    @Override
+    public void writeTo(Instance value, CodedOutputStream out) throws IOException {
+        writeString(out, INSTANCE_ID, value.getInstanceId());
+        writeString(out, IP, value.getIp());
+        out.writeInt32(PORT, value.getPort());
+        out.writeDouble(WEIGHT, value.getWeight());
+        out.writeBool(HEALTHY, value.isHealthy());
+        out.writeBool(ENABLED, value.isEnabled());
+        out.writeBool(EPHEMERAL, value.isEphemeral());
+        writeString(out, CLUSTER_NAME, value.getClusterName());
+        writeString(out, SERVICE_NAME, value.getServiceName());
+        if (null != value.getMetadata()) {
+            for (Map.Entry<String, String> entry : value.getMetadata().entrySet()) {
+                out.writeTag(METADATA, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+                out.writeUInt32NoTag(computeEntrySize(entry));
+                writeString(out, METADATA_KEY, entry.getKey());
+                writeString(out, METADATA_VALUE, entry.getValue());
+            }
+        }
+    }
+    
+    @Override
+    protected Instance newInstance() {
+        return new Instance();
+    }
+    
+    @Override
+    protected boolean readField(Instance value, int fieldNumber, CodedInputStream in) throws IOException {
+        switch (fieldNumber) {
+            case INSTANCE_ID:
+                value.setInstanceId(in.readString());
+                return true;
+            case IP:
+                value.setIp(in.readString());
+                return true;
+            case PORT:
+                value.setPort(in.readInt32());
+                return true;
+            case WEIGHT:
+                value.setWeight(in.readDouble());
+                return true;
+            case HEALTHY:
+                value.setHealthy(in.readBool());
+                return true;
+            case ENABLED:
+                value.setEnabled(in.readBool());
+                return true;
+            case EPHEMERAL:
+                value.setEphemeral(in.readBool());
+                return true;
+            case CLUSTER_NAME:
+                value.setClusterName(in.readString());
+                return true;
+            case SERVICE_NAME:
+                value.setServiceName(in.readString());
+                return true;
+            case METADATA:
+                readMetadata(value, in);
+                return true;
+            default:
+                return false;
+        }
+    }
+    
+    private int computeEntrySize(Map.Entry<String, String> entry) {
+        return computeStringSize(METADATA_KEY, entry.getKey()) + computeStringSize(METADATA_VALUE, entry.getValue());
+    }
+    
+    private void readMetadata(Instance value, CodedInputStream in) throws IOException {
+        int oldLimit = in.pushLimit(in.readRawVarint32());
+        String key = null;
+        String metadataValue = null;
+        int tag;
+        while ((tag = in.readTag()) != END_TAG) {
+            switch (WireFormat.getTagFieldNumber(tag)) {
+                case METADATA_KEY:
+                    key = in.readString();
+                    break;
+                case METADATA_VALUE:
+                    metadataValue = in.readString();
+                    break;
+                default:
+                    in.skipField(tag);
+            }
+        }
+        in.popLimit(oldLimit);
+        value.addMetadata(key, metadataValue);
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.common.remote.codec.protobuf;
+
+import com.alibaba.nacos.api.naming.remote.request.NotifySubscriberRequest;
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+
+import java.io.IOException;
+import java.util.ArrayList;
+
+/**
+ * Protobuf serializer of {@link NotifySubscriberRequest}.
+ *
+ * @author Nacos
+ */
+public class NotifySubscriberRequestSerializer extends AbstractProtobufBodySerializer<NotifySubscriberRequest> {
+    
+    private static final int REQUEST_ID = 1;
+    
+    private static final int NAMESPACE = 2;
+    
+    private static final int SERVICE_NAME = 3;
+    
+    private static final int GROUP_NAME = 4;
+    
+    private static final int SERVICE_INFO = 5;
+    
+    private static final int REVISION = 6;
+    
+    private static final int BASE_REVISION = 7;
+    
+    private static final int REMOVED_HOSTS = 8;
+    
+    /**
+     * Whether removed hosts is not null, to distinguish null from empty removed hosts.
+     */
+    private static final int HAS_REMOVED_HOSTS = 9;
+    
+    private final InstanceSerializer instanceSerializer;
+    
+    private final ServiceInfoSerializer serviceInfoSerializer;
+    
+    public NotifySubscriberRequestSerializer(InstanceSerializer instanceSerializer,
+            ServiceInfoSerializer serviceInfoSerializer) {
+        this.instanceSerializer = instanceSerializer;
+        this.serviceInfoSerializer = serviceInfoSerializer;
+    }
+    
+    @Override
+    public int computeSize(NotifySubscriberRequest value) {
+        return computeStringSize(REQUEST_ID, value.getRequestId())
+                + computeStringSize(NAMESPACE, value.getNamespace())
+                + computeStringSize(SERVICE_NAME, value.getServiceName())
+                + computeStringSize(GROUP_NAME, value.getGroupName())
+                + computeMessageSize(SERVICE_INFO, value.getServiceInfo(), serviceInfoSerializer)
+                + CodedOutputStream.computeInt64Size(REVISION, value.getRevision())
+                + CodedOutputStream.computeInt64Size(BASE_REVISION, value.getBaseRevision())
+                + computeRepeatedMessageSize(REMOVED_HOSTS, value.getRemovedHosts(), instanceSerializer)
+                + CodedOutputStream.computeBoolSize(HAS_REMOVED_HOSTS, null != value.getRemovedHosts());
+    }
+    
+    @Override
+    public void writeTo(NotifySubscriberRequest value, CodedOutputStream out) throws IOException {
+        writeString(out, REQUEST_ID, value.getRequestId());
+        writeString(out, NAMESPACE, value.getNamespace());
+        writeString(out, SERVICE_NAME, value.getServiceName());
+        writeString(out, GROUP_NAME, value.getGroupName());
+        writeMessage(out, SERVICE_INFO, value.getServiceInfo(), serviceInfoSerializer);
+        out.writeInt64(REVISION, value.getRevision());
+        out.writeInt64(BASE_REVISION, value.getBaseRevision());
+        writeRepeatedMessage(out, REMOVED_HOSTS, value.getRemovedHosts(), instanceSerializer);
+        out.writeBool(HAS_REMOVED_HOSTS, null != value.getRemovedHosts());
+    }
+    
+    @Override
+    protected NotifySubscriberRequest newInstance() {
+        return new NotifySubscriberRequest();
+    }
+    
+    @Override
+    protected boolean readField(NotifySubscriberRequest value, int fieldNumber, CodedInputStream in)
+            throws IOException {
+        switch (fieldNumber) {
+            case REQUEST_ID:
+                value.setRequestId(in.readString());
+                return true;
+            case NAMESPACE:
+                value.setNamespace(in.readString());
+                return true;
+            case SERVICE_NAME:
+                value.setServiceName(in.readString());
+                return true;
+            case GROUP_NAME:
+                value.setGroupName(in.readString());
+                return true;
+            case SERVICE_INFO:
+                value.setServiceInfo(readMessage(in, serviceInfoSerializer));
+                return true;
+            case REVISION:
+                value.setRevision(in.readInt64());
+                return true;
+            case BASE_REVISION:
+                value.setBaseRevision(in.readInt64());
+                return true;
+            case REMOVED_HOSTS:
+                if (null == value.getRemovedHosts()) {
+                    value.setRemovedHosts(new ArrayList<>());
+                }
+                value.getRemovedHosts().add(readMessage(in, instanceSerializer));
+                return true;
+            case HAS_REMOVED_HOSTS:
+                if (in.readBool() && null == value.getRemovedHosts()) {
+                    value.setRemovedHosts(new ArrayList<>());
+                }
+                return true;
+            default:
+                return false;
+        }
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.common.remote.codec.protobuf;
+
+import com.alibaba.nacos.api.naming.pojo.Instance;
+import com.alibaba.nacos.api.naming.pojo.ServiceInfo;
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Protobuf serializer of {@link ServiceInfo}.
+ *
+ * @author Nacos
+ */
+public class ServiceInfoSerializer extends AbstractProtobufBodySerializer<ServiceInfo> {
+    
+    private static final int NAME = 1;
+    
+    private static final int GROUP_NAME = 2;
+    
+    private static final int CLUSTERS = 3;
+    
+    private static final int CACHE_MILLIS = 4;
+    
+    private static final int HOSTS = 5;
+    
+    private static final int LAST_REF_TIME = 6;
+    
+    private static final int CHECKSUM = 7;
+    
+    private static final int ALL_IPS = 8;
+    
+    private static final int REACH_PROTECTION_THRESHOLD = 9;
+    
+    private final InstanceSerializer instanceSerializer;
+    
+    public ServiceInfoSerializer(InstanceSerializer instanceSerializer) {
+        this.instanceSerializer = instanceSerializer;
+    }
+    
+    @Override
+    public int computeSize(ServiceInfo value) {
+        return computeStringSize(NAME, value.getName()) + computeStringSize(GROUP_NAME, value.getGroupName())
+                + computeStringSize(CLUSTERS, value.getClusters())
+                + CodedOutputStream.computeInt64Size(CACHE_MILLIS, value.getCacheMillis())
+                + computeRepeatedMessageSize(HOSTS, hostsOf(value), instanceSerializer)
+                + CodedOutputStream.computeInt64Size(LAST_REF_TIME, value.getLastRefTime())
+                + computeStringSize(CHECKSUM, value.getChecksum())
+                + CodedOutputStream.computeBoolSize(ALL_IPS, value.isAllIPs())
+                + CodedOutputStream.computeBoolSize(REACH_PROTECTION_THRESHOLD, value.isReachProtectionThreshold());
+    }
+    
+    @Override
+    public void writeTo(ServiceInfo value, CodedOutputStream out) throws IOException {
+        writeString(out, NAME, value.getName());
+        writeString(out, GROUP_NAME, value.getGroupName());
+        writeString(out, CLUSTERS, value.getClusters());
+        out.writeInt64(CACHE_MILLIS, value.getCacheMillis());
+        writeRepeatedMessage(out, HOSTS, hostsOf(value), instanceSerializer);
+        out.writeInt64(LAST_REF_TIME, value.getLastRefTime());
+        writeString(out, CHECKSUM, value.getChecksum());
+        out.writeBool(ALL_IPS, value.isAllIPs());
+        out.writeBool(REACH_PROTECTION_THRESHOLD, value.isReachProtectionThreshold());
+    }
+    
+    @Override
+    protected ServiceInfo newInstance() {
+        return new ServiceInfo();
+    }
+    
+    @Override
+    protected boolean readField(ServiceInfo value, int fieldNumber, CodedInputStream in) throws IOException {
+        switch (fieldNumber) {
+            case NAME:
+                value.setName(in.readString());
+                return true;
+            case GROUP_NAME:
+                value.setGroupName(in.readString());
+                return true;
+            case CLUSTERS:
+                value.setClusters(in.readString());
+                return true;
+            case CACHE_MILLIS:
+                value.setCacheMillis(in.readInt64());
+                return true;
+            case HOSTS:
+                value.addHost(readMessage(in, instanceSerializer));
+                return true;
+            case LAST_REF_TIME:
+                value.setLastRefTime(in.readInt64());
+                return true;
+            case CHECKSUM:
+                value.setChecksum(in.readString());
+                return true;
+            case ALL_IPS:
+                value.setAllIPs(in.readBool());
+                return true;
+            case REACH_PROTECTION_THRESHOLD:
+                value.setReachProtectionThreshold(in.readBool());
+                return true;
+            default:
+                return false;
+        }
+    }
+    
+    private List<Instance> hostsOf(ServiceInfo value) {
+        // getter of hosts copies the hosts, which fails if hosts is null.
+        return value.isValid() ? value.getHosts() : null;
+    }
+}
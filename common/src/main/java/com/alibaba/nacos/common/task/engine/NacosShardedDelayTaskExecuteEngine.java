@@ -0,0 +1,189 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.common.task.engine;
+
+import com.alibaba.nacos.api.exception.NacosException;
+import com.alibaba.nacos.common.task.AbstractDelayTask;
+import com.alibaba.nacos.common.task.NacosTaskProcessor;
+import com.alibaba.nacos.common.utils.ThreadUtils;
+import org.slf4j.Logger;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Nacos delay task execute engine sharded by the hash of task key.
+ *
+ * <p>Each shard has its own task map, lock and processing thread, so that adding and processing tasks of different
+ * shards don't block each other.
+ *
+ * @author Nacos
+ */
+public class NacosShardedDelayTaskExecuteEngine extends AbstractNacosTaskExecuteEngine<AbstractDelayTask> {
+    
+    private final Shard[] shards;
+    
+    public NacosShardedDelayTaskExecuteEngine(String name, Logger logger) {
+        this(name, ThreadUtils.getSuitableThreadCount(1), logger, 100L);
+    }
+    
+    public NacosShardedDelayTaskExecuteEngine(String name, int shardCount, Logger logger, long processInterval) {
+        super(logger);
+        if (shardCount <= 0) {
+            throw new IllegalArgumentException("shardCount must be greater than 0");
+        }
+        shards = new Shard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new Shard(name + "-" + i, i, logger, processInterval);
+        }
+    }
+    
+    @Override
+    public int size() {
+        int result = 0;
+        for (Shard each : shards) {
+            result += each.size();
+        }
+        return result;
+    }
+    
+    @Override
+    public boolean isEmpty() {
+        for (Shard each : shards) {
+            if (!each.isEmpty()) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    @Override
+    public void addTask(Object key, AbstractDelayTask newTask) {
+        getShard(key).addTask(key, newTask);
+    }
+    
+    @Override
+    public AbstractDelayTask removeTask(Object key) {
+        return getShard(key).removeTask(key);
+    }
+    
+    @Override
+    public Collection<Object> getAllTaskKeys() {
+        Collection<Object> keys = new HashSet<>();
+        for (Shard each : shards) {
+            keys.addAll(each.getAllTaskKeys());
+        }
+        return keys;
+    }
+    
+    @Override
+    public void shutdown() throws NacosException {
+        for (Shard each : shards) {
+            each.shutdown();
+        }
+    }
+    
+    public int getShardCount() {
+        return shards.length;
+    }
+    
+    /**
+     * Get the count of tasks waiting in the shard.
+     *
+     * @param shardIndex index of shard
+     * @return task count
+     */
+    public int getShardSize(int shardIndex) {
+        return shards[shardIndex].size();
+    }
+    
+    /**
+     * Get the total count of tasks added into the shard.
+     *
+     * @param shardIndex index of shard
+     * @return added task count
+     */
+    public long getShardAddedCount(int shardIndex) {
+        return shards[shardIndex].addedCount.sum();
+    }
+    
+    /**
+     * Get the total count of tasks merged into the existing task with the same key in the shard.
+     *
+     * @param shardIndex index of shard
+     * @return merged task count
+     */
+    public long getShardMergedCount(int shardIndex) {
+        return shards[shardIndex].mergedCount.sum();
+    }
+    
+    /**
+     * Process tasks of one shard, called by the processing thread of the shard.
+     *
+     * @param shardIndex index of shard
+     */
+    protected void processTasks(int shardIndex) {
+        shards[shardIndex].processShardTasks();
+    }
+    
+    private Shard getShard(Object key) {
+        return shards[(key.hashCode() & Integer.MAX_VALUE) % shards.length];
+    }
+    
+    private class Shard extends NacosDelayTaskExecuteEngine {
+        
+        private final int index;
+        
+        private final LongAdder addedCount = new LongAdder();
+        
+        private final LongAdder mergedCount = new LongAdder();
+        
+        private Shard(String name, int index, Logger logger, long processInterval) {
+            super(name, 32, logger, processInterval);
+            this.index = index;
+        }
+        
+        @Override
+        public void addTask(Object key, AbstractDelayTask newTask) {
+            lock.lock();
+            try {
+                if (tasks.containsKey(key)) {
+                    mergedCount.increment();
+                }
+                addedCount.increment();
+                super.addTask(key, newTask);
+            } finally {
+                lock.unlock();
+            }
+        }
+        
+        @Override
+        public NacosTaskProcessor getProcessor(Object key) {
+            return NacosShardedDelayTaskExecuteEngine.this.getProcessor(key);
+        }
+        
+        @Override
+        protected void processTasks() {
+            NacosShardedDelayTaskExecuteEngine.this.processTasks(index);
+        }
+        
+        private void processShardTasks() {
+            super.processTasks();
+        }
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.common.executor;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class HashedWheelTimerTest {
+    
+    private HashedWheelTimer timer;
+    
+    @Before
+    public void setUp() {
+        timer = new HashedWheelTimer("test-wheel-timer", 10, TimeUnit.MILLISECONDS, 8);
+    }
+    
+    @After
+    public void tearDown() {
+        timer.stop();
+    }
+    
+    @Test
+    public void testExpireAfterDelay() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        long start = System.nanoTime();
+        HashedWheelTimer.Timeout timeout = timer.newTimeout(latch::countDown, 50, TimeUnit.MILLISECONDS);
+        Assert.assertEquals(1, timer.pendingTimeouts());
+        
+        Assert.assertTrue(latch.await(2, TimeUnit.SECONDS));
+        Assert.assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(50));
+        Assert.assertTrue(timeout.isExpired());
+        Assert.assertEquals(0, timer.pendingTimeouts());
+    }
+    
+    @Test
+    public void testExpireAfterSeveralRounds() throws InterruptedException {
+        // one round of the wheel is 80ms.
+        CountDownLatch latch = new CountDownLatch(1);
+        long start = System.nanoTime();
+        timer.newTimeout(latch::countDown, 250, TimeUnit.MILLISECONDS);
+        
+        Assert.assertTrue(latch.await(2, TimeUnit.SECONDS));
+        Assert.assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(250));
+    }
+    
+    @Test
+    public void testCancel() throws InterruptedException {
+        AtomicInteger count = new AtomicInteger();
+        HashedWheelTimer.Timeout timeout = timer.newTimeout(count::incrementAndGet, 30, TimeUnit.MILLISECONDS);
+        Assert.assertTrue(timeout.cancel());
+        Assert.assertFalse(timeout.cancel());
+        Assert.assertEquals(0, timer.pendingTimeouts());
+        
+        TimeUnit.MILLISECONDS.sleep(100);
+        Assert.assertEquals(0, count.get());
+        Assert.assertTrue(timeout.isCancelled());
+        Assert.assertFalse(timeout.isExpired());
+    }
+    
+    @Test
+    public void testRunTaskByExecutor() throws InterruptedException {
+        timer.stop();
+        timer = new HashedWheelTimer("test-wheel-timer", 10, TimeUnit.MILLISECONDS, 8,
+                Executors.newSingleThreadExecutor(new NameThreadFactory("test-wheel-timer-executor")));
+        CountDownLatch latch = new CountDownLatch(2);
+        String[] threadName = new String[1];
+        timer.newTimeout(() -> {
+            throw new IllegalStateException("test");
+        }, 10, TimeUnit.MILLISECONDS);
+        timer.newTimeout(() -> {
+            threadName[0] = Thread.currentThread().getName();
+            latch.countDown();
+        }, 20, TimeUnit.MILLISECONDS);
+        timer.newTimeout(latch::countDown, 30, TimeUnit.MILLISECONDS);
+        
+        Assert.assertTrue(latch.await(2, TimeUnit.SECONDS));
+        Assert.assertTrue(threadName[0].startsWith("test-wheel-timer-executor"));
+    }
+    
+    @Test(expected = IllegalStateException.class)
+    public void testNewTimeoutAfterStop() {
+        timer.stop();
+        timer.newTimeout(() -> {
+        }, 10, TimeUnit.MILLISECONDS);
+    }
+}
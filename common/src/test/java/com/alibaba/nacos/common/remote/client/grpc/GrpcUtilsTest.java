@@ -19,15 +19,37 @@
 package com.alibaba.nacos.common.remote.client.grpc;
 
 import com.alibaba.nacos.api.config.remote.response.ClientConfigMetricResponse;
+import com.alibaba.nacos.api.config.remote.response.ConfigQueryResponse;
 import com.alibaba.nacos.api.grpc.auto.Payload;
+import com.alibaba.nacos.api.naming.pojo.Instance;
+import com.alibaba.nacos.api.naming.pojo.ServiceInfo;
+import com.alibaba.nacos.api.naming.remote.NamingRemoteConstants;
+import com.alibaba.nacos.api.naming.remote.request.InstanceRequest;
+import com.alibaba.nacos.api.naming.remote.request.NotifySubscriberRequest;
 import com.alibaba.nacos.api.naming.remote.request.ServiceQueryRequest;
 import com.alibaba.nacos.common.remote.PayloadRegistry;
+import com.alibaba.nacos.common.remote.PreEncodedBody;
+import com.alibaba.nacos.common.remote.PreEncodedRequest;
+import com.alibaba.nacos.common.remote.codec.PayloadBodyCodec;
+import com.alibaba.nacos.common.remote.codec.PayloadBodyCodecs;
+import com.alibaba.nacos.common.remote.codec.PayloadCompression;
+import com.alibaba.nacos.common.remote.codec.PayloadCompressionStatistics;
+import com.alibaba.nacos.common.remote.codec.ProtobufPayloadBodyCodec;
+import com.alibaba.nacos.common.remote.exception.RemoteException;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
 public class GrpcUtilsTest {
     
@@ -97,4 +119,195 @@ public class GrpcUtilsTest {
         assertEquals(this.response.getMetrics(), response.getMetrics());
         
     }
+    
+    @Test
+    public void testConvertPreEncodedRequest() {
+        ServiceQueryRequest bodyRequest = new ServiceQueryRequest("namespace", "service", "group");
+        bodyRequest.setCluster("cluster");
+        bodyRequest.setHealthyOnly(true);
+        PreEncodedBody preEncodedBody = new PreEncodedBody(bodyRequest);
+        
+        PreEncodedServiceQueryRequest preEncodedRequest = new PreEncodedServiceQueryRequest(preEncodedBody);
+        preEncodedRequest.setRequestId("100");
+        Payload payload = GrpcUtils.convert(preEncodedRequest);
+        assertEquals(ServiceQueryRequest.class.getSimpleName(), payload.getMetadata().getType());
+        ServiceQueryRequest actual = (ServiceQueryRequest) GrpcUtils.parse(payload);
+        assertEquals("100", actual.getRequestId());
+        assertEquals("cluster", actual.getCluster());
+        assertTrue(actual.isHealthyOnly());
+        assertEquals("namespace", actual.getNamespace());
+        
+        preEncodedRequest.setRequestId(null);
+        actual = (ServiceQueryRequest) GrpcUtils.parse(GrpcUtils.convert(preEncodedRequest));
+        assertNull(actual.getRequestId());
+        assertEquals("cluster", actual.getCluster());
+        assertEquals(preEncodedBody.getEncodedBody(PayloadBodyCodecs.JSON).length, preEncodedBody.getEncodedSize());
+    }
+    
+    @Test
+    public void testConvertPreEncodedRequestWithProtobufCodec() {
+        Instance instance = new Instance();
+        instance.setIp("1.1.1.1");
+        instance.setPort(8848);
+        ServiceInfo serviceInfo = new ServiceInfo("group@@service");
+        serviceInfo.setHosts(Collections.singletonList(instance));
+        NotifySubscriberRequest bodyRequest = NotifySubscriberRequest.buildNotifySubscriberRequest(serviceInfo);
+        bodyRequest.setRevision(10L);
+        PreEncodedBody preEncodedBody = new PreEncodedBody(bodyRequest);
+        
+        PreEncodedNotifySubscriberRequest first = new PreEncodedNotifySubscriberRequest(preEncodedBody);
+        first.setRequestId("1");
+        PreEncodedNotifySubscriberRequest second = new PreEncodedNotifySubscriberRequest(preEncodedBody);
+        second.setRequestId("2");
+        Payload firstPayload = GrpcUtils.convert(first, PayloadBodyCodecs.PROTOBUF);
+        final Payload secondPayload = GrpcUtils.convert(second, PayloadBodyCodecs.PROTOBUF);
+        assertEquals(ProtobufPayloadBodyCodec.NAME, firstPayload.getBody().getTypeUrl());
+        assertSame(preEncodedBody.getEncodedBody(PayloadBodyCodecs.PROTOBUF),
+                preEncodedBody.getEncodedBody(PayloadBodyCodecs.PROTOBUF));
+        
+        NotifySubscriberRequest actual = (NotifySubscriberRequest) GrpcUtils.parse(firstPayload);
+        assertEquals("1", actual.getRequestId());
+        assertEquals(10L, actual.getRevision());
+        assertEquals(instance, actual.getServiceInfo().getHosts().get(0));
+        assertEquals("2", ((NotifySubscriberRequest) GrpcUtils.parse(secondPayload)).getRequestId());
+        
+        Payload jsonPayload = GrpcUtils.convert(first, PayloadBodyCodecs.JSON);
+        assertEquals("", jsonPayload.getBody().getTypeUrl());
+        actual = (NotifySubscriberRequest) GrpcUtils.parse(jsonPayload);
+        assertEquals("1", actual.getRequestId());
+        assertEquals(instance, actual.getServiceInfo().getHosts().get(0));
+    }
+    
+    @Test
+    public void testConvertPreEncodedRequestWithCompression() {
+        ServiceInfo serviceInfo = new ServiceInfo("group@@service");
+        serviceInfo.setHosts(IntStream.range(0, PayloadCompression.getThreshold() / 16).mapToObj(i -> {
+            Instance instance = new Instance();
+            instance.setIp("1.1.1." + i);
+            instance.setPort(8848);
+            return instance;
+        }).collect(Collectors.toList()));
+        PreEncodedBody preEncodedBody = new PreEncodedBody(
+                NotifySubscriberRequest.buildNotifySubscriberRequest(serviceInfo));
+        PayloadCompressionStatistics statistics = PayloadCompression
+                .getStatistics(NotifySubscriberRequest.class.getSimpleName());
+        for (PayloadBodyCodec codec : Arrays.asList(PayloadBodyCodecs.JSON, PayloadBodyCodecs.PROTOBUF)) {
+            long count = statistics.getCount();
+            for (String requestId : Arrays.asList("1", "2")) {
+                PreEncodedNotifySubscriberRequest request = new PreEncodedNotifySubscriberRequest(preEncodedBody);
+                request.setRequestId(requestId);
+                Payload payload = GrpcUtils.convert(request, codec, true);
+                assertEquals(PayloadCompression.DEFLATE,
+                        payload.getMetadata().getHeadersMap().get(PayloadCompression.HEADER));
+                NotifySubscriberRequest actual = (NotifySubscriberRequest) GrpcUtils.parse(payload);
+                assertEquals(requestId, actual.getRequestId());
+                assertEquals(serviceInfo.getHosts(), actual.getServiceInfo().getHosts());
+            }
+            // the shared body is compressed only once for each codec.
+            assertEquals(count + 1, statistics.getCount());
+        }
+    }
+    
+    @Test
+    public void testConvertRequestWithProtobufCodec() {
+        Instance instance = new Instance();
+        instance.setIp("1.1.1.1");
+        instance.setPort(8848);
+        InstanceRequest instanceRequest = new InstanceRequest("namespace", "service", "group",
+                NamingRemoteConstants.REGISTER_INSTANCE, instance);
+        instanceRequest.putHeader("h1", "v1");
+        Payload payload = GrpcUtils.convert(instanceRequest, PayloadBodyCodecs.PROTOBUF);
+        assertEquals(ProtobufPayloadBodyCodec.NAME, payload.getBody().getTypeUrl());
+        InstanceRequest actual = (InstanceRequest) GrpcUtils.parse(payload);
+        assertEquals("v1", actual.getHeader("h1"));
+        assertEquals("service", actual.getServiceName());
+        assertEquals(instance, actual.getInstance());
+    }
+    
+    @Test
+    public void testConvertUnsupportedRequestWithProtobufCodec() {
+        Payload payload = GrpcUtils.convert(request, PayloadBodyCodecs.PROTOBUF);
+        assertEquals("", payload.getBody().getTypeUrl());
+        ServiceQueryRequest actual = (ServiceQueryRequest) GrpcUtils.parse(payload);
+        assertEquals(request.getCluster(), actual.getCluster());
+        
+        payload = GrpcUtils.convert(response, PayloadBodyCodecs.PROTOBUF);
+        assertEquals("", payload.getBody().getTypeUrl());
+        assertEquals(response.getMetrics(), ((ClientConfigMetricResponse) GrpcUtils.parse(payload)).getMetrics());
+    }
+    
+    @Test(expected = RemoteException.class)
+    public void testParseUnknownCodec() {
+        Payload payload = GrpcUtils.convert(request);
+        payload = payload.toBuilder().setBody(payload.getBody().toBuilder().setTypeUrl("unknown")).build();
+        GrpcUtils.parse(payload);
+    }
+    
+    @Test
+    public void testConvertWithCompression() {
+        String largeCluster = IntStream.range(0, PayloadCompression.getThreshold()).mapToObj(String::valueOf)
+                .collect(Collectors.joining(","));
+        request.setCluster(largeCluster);
+        Payload payload = GrpcUtils.convert(request, PayloadBodyCodecs.JSON, true);
+        assertEquals(PayloadCompression.DEFLATE, payload.getMetadata().getHeadersMap().get(PayloadCompression.HEADER));
+        ServiceQueryRequest actualRequest = (ServiceQueryRequest) GrpcUtils.parse(payload);
+        assertEquals(largeCluster, actualRequest.getCluster());
+        assertEquals(request.getHeaders(), actualRequest.getHeaders());
+        
+        ConfigQueryResponse configQueryResponse = ConfigQueryResponse.buildSuccessResponse(largeCluster);
+        payload = GrpcUtils.convert(configQueryResponse, PayloadBodyCodecs.JSON, true);
+        assertEquals(PayloadCompression.DEFLATE, payload.getMetadata().getHeadersMap().get(PayloadCompression.HEADER));
+        assertEquals(largeCluster, ((ConfigQueryResponse) GrpcUtils.parse(payload)).getContent());
+    }
+    
+    @Test
+    public void testConvertWithoutCompression() {
+        Payload payload = GrpcUtils.convert(request, PayloadBodyCodecs.JSON, true);
+        assertFalse(payload.getMetadata().getHeadersMap().containsKey(PayloadCompression.HEADER));
+        
+        request.setCluster(IntStream.range(0, PayloadCompression.getThreshold()).mapToObj(String::valueOf)
+                .collect(Collectors.joining(",")));
+        payload = GrpcUtils.convert(request, PayloadBodyCodecs.JSON, false);
+        assertFalse(payload.getMetadata().getHeadersMap().containsKey(PayloadCompression.HEADER));
+        assertEquals(request.getCluster(), ((ServiceQueryRequest) GrpcUtils.parse(payload)).getCluster());
+    }
+    
+    private static class PreEncodedServiceQueryRequest extends ServiceQueryRequest implements PreEncodedRequest {
+        
+        private final PreEncodedBody preEncodedBody;
+        
+        private PreEncodedServiceQueryRequest(PreEncodedBody preEncodedBody) {
+            this.preEncodedBody = preEncodedBody;
+        }
+        
+        @Override
+        public String getPayloadType() {
+            return ServiceQueryRequest.class.getSimpleName();
+        }
+        
+        @Override
+        public PreEncodedBody getPreEncodedBody() {
+            return preEncodedBody;
+        }
+    }
+    
+    private static class PreEncodedNotifySubscriberRequest extends NotifySubscriberRequest
+            implements PreEncodedRequest {
+        
+        private final PreEncodedBody preEncodedBody;
+        
+        private PreEncodedNotifySubscriberRequest(PreEncodedBody preEncodedBody) {
+            this.preEncodedBody = preEncodedBody;
+        }
+        
+        @Override
+        public String getPayloadType() {
+            return NotifySubscriberRequest.class.getSimpleName();
+        }
+        
+        @Override
+        public PreEncodedBody getPreEncodedBody() {
+            return preEncodedBody;
+        }
+    }
 }
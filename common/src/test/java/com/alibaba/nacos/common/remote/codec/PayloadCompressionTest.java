@@ -0,0 +1,175 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.common.remote.codec;
+
+import com.alibaba.nacos.api.exception.runtime.NacosDeserializationException;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.CodedOutputStream;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.zip.Deflater;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class PayloadCompressionTest {
+    
+    @Test
+    public void testCompressAndDecompress() {
+        byte[] raw = newCompressibleBody(PayloadCompression.getThreshold() * 4);
+        PayloadCompressionStatistics statistics = PayloadCompression.getStatistics("testCompressAndDecompress");
+        byte[] compressed = PayloadCompression.compress("testCompressAndDecompress", raw);
+        assertTrue(compressed.length < raw.length);
+        assertArrayEquals(raw, PayloadCompression
+                .decompress(PayloadCompression.DEFLATE, ByteString.copyFrom(compressed)).toByteArray());
+        
+        assertEquals(1, statistics.getCount());
+        assertEquals(raw.length, statistics.getRawBytes());
+        assertEquals(compressed.length, statistics.getCompressedBytes());
+        assertTrue(statistics.getRatio() < 1D);
+        assertTrue(statistics.getCostNanos() > 0);
+        
+        // buffer of the thread is reused by the next compression.
+        byte[] smaller = Arrays.copyOf(raw, PayloadCompression.getThreshold());
+        assertArrayEquals(smaller, PayloadCompression.decompress(PayloadCompression.DEFLATE,
+                ByteString.copyFrom(PayloadCompression.compress("testCompressAndDecompress", smaller)))
+                .toByteArray());
+    }
+    
+    @Test
+    public void testNotCompressSmallBody() {
+        byte[] raw = newCompressibleBody(PayloadCompression.getThreshold() - 1);
+        assertNull(PayloadCompression.compress("testNotCompressSmallBody", raw));
+        assertEquals(0, PayloadCompression.getStatistics("testNotCompressSmallBody").getCount());
+    }
+    
+    @Test
+    public void testNotCompressRandomBody() {
+        byte[] raw = new byte[PayloadCompression.getThreshold()];
+        new Random(1).nextBytes(raw);
+        assertNull(PayloadCompression.compress("testNotCompressRandomBody", raw));
+        PayloadCompressionStatistics statistics = PayloadCompression.getStatistics("testNotCompressRandomBody");
+        assertEquals(1, statistics.getCount());
+        assertEquals(1D, statistics.getRatio(), 0D);
+    }
+    
+    @Test
+    public void testStatisticsListener() {
+        String[] accepted = new String[1];
+        PayloadCompression.getStatistics("testStatisticsListenerExisting");
+        PayloadCompression.registerStatisticsListener((type, statistics) -> {
+            if (type.startsWith("testStatisticsListener")) {
+                accepted[0] = type;
+            }
+        });
+        assertEquals("testStatisticsListenerExisting", accepted[0]);
+        PayloadCompression.getStatistics("testStatisticsListenerNew");
+        assertEquals("testStatisticsListenerNew", accepted[0]);
+    }
+    
+    @Test(expected = NacosDeserializationException.class)
+    public void testDecompressUnknownEncoding() {
+        PayloadCompression.decompress("gzip", ByteString.EMPTY);
+    }
+    
+    @Test(expected = NacosDeserializationException.class)
+    public void testDecompressBrokenBody() {
+        byte[] compressed = PayloadCompression
+                .compress("testDecompressBrokenBody", newCompressibleBody(PayloadCompression.getThreshold()));
+        PayloadCompression.decompress(PayloadCompression.DEFLATE,
+                ByteString.copyFrom(compressed, 0, compressed.length - 4));
+    }
+    
+    @Test(expected = NacosDeserializationException.class)
+    public void testDecompressNegativeRawSize() throws IOException {
+        PayloadCompression.decompress(PayloadCompression.DEFLATE, newFrame(-1, new byte[] {0x78, 0x01}));
+    }
+    
+    @Test(expected = NacosDeserializationException.class)
+    public void testDecompressTooLargeRawSize() throws IOException {
+        PayloadCompression
+                .decompress(PayloadCompression.DEFLATE, newFrame(PayloadCompression.getMaxRawSize() + 1, new byte[2]));
+    }
+    
+    @Test(expected = NacosDeserializationException.class)
+    public void testDecompressRawSizeMismatch() throws IOException {
+        byte[] raw = newCompressibleBody(PayloadCompression.getThreshold());
+        byte[] compressed = PayloadCompression.compress("testDecompressRawSizeMismatch", raw);
+        ByteString deflateStream = ByteString.copyFrom(compressed)
+                .substring(CodedOutputStream.computeUInt32SizeNoTag(raw.length));
+        PayloadCompression.decompress(PayloadCompression.DEFLATE, newFrame(raw.length + 1, deflateStream.toByteArray()));
+    }
+    
+    @Test(timeout = 3000L, expected = NacosDeserializationException.class)
+    public void testDecompressWithPresetDictionary() throws IOException {
+        byte[] raw = newCompressibleBody(PayloadCompression.getThreshold());
+        Deflater deflater = new Deflater();
+        deflater.setDictionary("dictionary".getBytes(StandardCharsets.UTF_8));
+        deflater.setInput(raw);
+        deflater.finish();
+        byte[] buffer = new byte[raw.length];
+        int length = deflater.deflate(buffer);
+        deflater.end();
+        PayloadCompression.decompress(PayloadCompression.DEFLATE, newFrame(raw.length, Arrays.copyOf(buffer, length)));
+    }
+    
+    @Test
+    public void testDecompressWithRawTail() {
+        byte[] raw = newCompressibleBody(PayloadCompression.getThreshold() * 2);
+        byte[] compressed = PayloadCompression.compress("testDecompressWithRawTail", raw, raw.length - 1);
+        byte[] tail = ",\"requestId\":\"1\"}".getBytes(StandardCharsets.UTF_8);
+        ByteString actual = PayloadCompression.decompress(PayloadCompression.DEFLATE,
+                ByteString.copyFrom(compressed).concat(ByteString.copyFrom(tail)));
+        assertEquals(raw.length - 1 + tail.length, actual.size());
+        assertEquals(ByteString.copyFrom(raw, 0, raw.length - 1), actual.substring(0, raw.length - 1));
+        assertEquals(ByteString.copyFrom(tail), actual.substring(raw.length - 1));
+    }
+    
+    @Test
+    public void testRaiseMaxRawSize() {
+        int maxRawSize = PayloadCompression.getMaxRawSize();
+        PayloadCompression.raiseMaxRawSize(maxRawSize - 1);
+        assertEquals(maxRawSize, PayloadCompression.getMaxRawSize());
+        PayloadCompression.raiseMaxRawSize(maxRawSize + 1);
+        assertEquals(maxRawSize + 1, PayloadCompression.getMaxRawSize());
+    }
+    
+    private ByteString newFrame(int rawSize, byte[] deflateStream) throws IOException {
+        ByteString.Output output = ByteString.newOutput();
+        CodedOutputStream out = CodedOutputStream.newInstance(output);
+        out.writeUInt32NoTag(rawSize);
+        out.writeRawBytes(deflateStream);
+        out.flush();
+        return output.toByteString();
+    }
+    
+    private byte[] newCompressibleBody(int size) {
+        byte[] line = "{\"dataId\":\"application.properties\",\"group\":\"DEFAULT_GROUP\"}"
+                .getBytes(StandardCharsets.UTF_8);
+        byte[] result = new byte[size];
+        for (int i = 0; i < size; i++) {
+            result[i] = line[i % line.length];
+        }
+        return result;
+    }
+}
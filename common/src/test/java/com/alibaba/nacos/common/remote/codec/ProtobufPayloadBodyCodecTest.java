@@ -0,0 +1,133 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.common.remote.codec;
+
+import com.alibaba.nacos.api.config.remote.request.ConfigBatchListenRequest;
+import com.alibaba.nacos.api.exception.runtime.NacosSerializationException;
+import com.alibaba.nacos.api.naming.pojo.Instance;
+import com.alibaba.nacos.api.naming.pojo.ServiceInfo;
+import com.alibaba.nacos.api.naming.remote.NamingRemoteConstants;
+import com.alibaba.nacos.api.naming.remote.request.InstanceRequest;
+import com.alibaba.nacos.api.naming.remote.request.NotifySubscriberRequest;
+import com.alibaba.nacos.api.naming.remote.request.ServiceQueryRequest;
+import com.alibaba.nacos.common.utils.JacksonUtils;
+import com.google.protobuf.ByteString;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class ProtobufPayloadBodyCodecTest {
+    
+    private final PayloadBodyCodec codec = PayloadBodyCodecs.PROTOBUF;
+    
+    @Test
+    public void testIsSupported() {
+        assertTrue(codec.isSupported(NotifySubscriberRequest.class));
+        assertTrue(codec.isSupported(InstanceRequest.class));
+        assertTrue(codec.isSupported(ConfigBatchListenRequest.class));
+        assertFalse(codec.isSupported(ServiceQueryRequest.class));
+    }
+    
+    @Test
+    public void testNotifySubscriberRequest() {
+        ServiceInfo serviceInfo = new ServiceInfo("group@@service", "cluster");
+        serviceInfo.setCacheMillis(3000L);
+        serviceInfo.setLastRefTime(1000L);
+        serviceInfo.setChecksum("checksum");
+        serviceInfo.setReachProtectionThreshold(true);
+        serviceInfo.setHosts(Collections.singletonList(createInstance("1.1.1.1")));
+        NotifySubscriberRequest request = NotifySubscriberRequest.buildNotifySubscriberRequest(serviceInfo);
+        request.setRequestId("1");
+        request.setNamespace("namespace");
+        request.setServiceName("service");
+        request.setGroupName("group");
+        request.setRevision(2L);
+        request.setBaseRevision(1L);
+        request.setRemovedHosts(Collections.singletonList(createInstance("2.2.2.2")));
+        assertRoundTrip(request, NotifySubscriberRequest.class);
+        
+        request.setRemovedHosts(new ArrayList<>());
+        NotifySubscriberRequest actual = assertRoundTrip(request, NotifySubscriberRequest.class);
+        assertTrue(actual.getRemovedHosts().isEmpty());
+        
+        request.setRemovedHosts(null);
+        actual = assertRoundTrip(request, NotifySubscriberRequest.class);
+        assertNull(actual.getRemovedHosts());
+    }
+    
+    @Test
+    public void testNotifySubscriberRequestWithoutHosts() {
+        NotifySubscriberRequest request = NotifySubscriberRequest
+                .buildNotifySubscriberRequest(new ServiceInfo("group@@service"));
+        NotifySubscriberRequest actual = assertRoundTrip(request, NotifySubscriberRequest.class);
+        assertTrue(actual.getServiceInfo().getHosts().isEmpty());
+    }
+    
+    @Test
+    public void testInstanceRequest() {
+        InstanceRequest request = new InstanceRequest("namespace", "service", "group",
+                NamingRemoteConstants.REGISTER_INSTANCE, createInstance("1.1.1.1"));
+        request.setRequestId("1");
+        assertRoundTrip(request, InstanceRequest.class);
+        
+        request.setInstance(null);
+        assertRoundTrip(request, InstanceRequest.class);
+    }
+    
+    @Test
+    public void testConfigBatchListenRequest() {
+        ConfigBatchListenRequest request = new ConfigBatchListenRequest();
+        request.setRequestId("1");
+        request.setListen(false);
+        request.addConfigListenContext("group", "dataId1", "tenant", "md5");
+        request.addConfigListenContext("group", "dataId2", "", null);
+        assertRoundTrip(request, ConfigBatchListenRequest.class);
+    }
+    
+    @Test(expected = NacosSerializationException.class)
+    public void testEncodeUnsupported() {
+        codec.encode(new ServiceQueryRequest());
+    }
+    
+    private <T> T assertRoundTrip(T expected, Class<T> type) {
+        T actual = codec.decode(ByteString.copyFrom(codec.encode(expected)), type);
+        assertEquals(JacksonUtils.toJson(expected), JacksonUtils.toJson(actual));
+        return actual;
+    }
+    
+    private Instance createInstance(String ip) {
+        Instance instance = new Instance();
+        instance.setInstanceId(ip + "#8848");
+        instance.setIp(ip);
+        instance.setPort(8848);
+        instance.setWeight(2.5);
+        instance.setHealthy(false);
+        instance.setEnabled(true);
+        instance.setEphemeral(false);
+        instance.setClusterName("cluster");
+        instance.setServiceName("group@@service");
+        instance.addMetadata("key", "value");
+        instance.addMetadata("empty", "");
+        return instance;
+    }
+}
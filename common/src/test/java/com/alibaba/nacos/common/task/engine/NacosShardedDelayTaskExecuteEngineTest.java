@@ -0,0 +1,129 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.common.task.engine;
+
+import com.alibaba.nacos.common.task.AbstractDelayTask;
+import com.alibaba.nacos.common.task.NacosTaskProcessor;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class NacosShardedDelayTaskExecuteEngineTest {
+    
+    private NacosShardedDelayTaskExecuteEngine executeEngine;
+    
+    @Mock
+    private NacosTaskProcessor taskProcessor;
+    
+    @Mock
+    private NacosTaskProcessor testTaskProcessor;
+    
+    @Before
+    public void setUp() throws Exception {
+        executeEngine = new NacosShardedDelayTaskExecuteEngine(NacosShardedDelayTaskExecuteEngineTest.class.getName(),
+                4, null, 100L);
+        executeEngine.setDefaultTaskProcessor(taskProcessor);
+    }
+    
+    @After
+    public void tearDown() throws Exception {
+        executeEngine.shutdown();
+    }
+    
+    @Test
+    public void testAddAndRemoveTaskInShards() {
+        for (int i = 0; i < 4; i++) {
+            executeEngine.addTask(i, newDelayedTask());
+        }
+        assertEquals(4, executeEngine.size());
+        assertFalse(executeEngine.isEmpty());
+        assertEquals(4, executeEngine.getAllTaskKeys().size());
+        for (int i = 0; i < 4; i++) {
+            assertEquals(1, executeEngine.getShardSize(i));
+        }
+        // not removed before the task should be processed
+        assertNull(executeEngine.removeTask(0));
+        assertEquals(4, executeEngine.size());
+    }
+    
+    @Test
+    public void testTaskMergeCount() {
+        executeEngine.addTask("test", newDelayedTask());
+        executeEngine.addTask("test", newDelayedTask());
+        executeEngine.addTask("other", newDelayedTask());
+        assertEquals(2, executeEngine.size());
+        long added = 0;
+        long merged = 0;
+        for (int i = 0; i < executeEngine.getShardCount(); i++) {
+            added += executeEngine.getShardAddedCount(i);
+            merged += executeEngine.getShardMergedCount(i);
+        }
+        assertEquals(3, added);
+        assertEquals(1, merged);
+    }
+    
+    @Test
+    public void testProcessTasksWithProcessor() throws InterruptedException {
+        when(testTaskProcessor.process(any())).thenReturn(true);
+        when(taskProcessor.process(any())).thenReturn(false, true);
+        executeEngine.addProcessor("test", testTaskProcessor);
+        executeEngine.addTask("test", new MockDelayTask());
+        executeEngine.addTask("retry", new MockDelayTask());
+        TimeUnit.MILLISECONDS.sleep(350);
+        verify(testTaskProcessor).process(any());
+        verify(taskProcessor, times(2)).process(any());
+        assertTrue(executeEngine.isEmpty());
+    }
+    
+    @Test
+    public void testTaskShouldNotExecute() throws InterruptedException {
+        executeEngine.addTask("test", newDelayedTask());
+        TimeUnit.MILLISECONDS.sleep(200);
+        verify(taskProcessor, never()).process(any());
+        assertEquals(1, executeEngine.size());
+    }
+    
+    private AbstractDelayTask newDelayedTask() {
+        AbstractDelayTask result = new MockDelayTask();
+        result.setTaskInterval(10000L);
+        result.setLastProcessTime(System.currentTimeMillis());
+        return result;
+    }
+    
+    private static class MockDelayTask extends AbstractDelayTask {
+        
+        @Override
+        public void merge(AbstractDelayTask task) {
+        }
+    }
+}
@@ -33,6 +33,10 @@ public class ConfigCommonConfig extends AbstractDynamicConfig {
     
     private int maxPushRetryTimes = 50;
     
+    private int pushBatchWindow = 20;
+    
+    private int pushBatchMaxSize = 100;
+    
     private ConfigCommonConfig() {
         super(CONFIG_COMMON);
         resetConfig();
@@ -50,13 +54,32 @@ public class ConfigCommonConfig extends AbstractDynamicConfig {
         this.maxPushRetryTimes = maxPushRetryTimes;
     }
     
+    public int getPushBatchWindow() {
+        return pushBatchWindow;
+    }
+    
+    public void setPushBatchWindow(int pushBatchWindow) {
+        this.pushBatchWindow = pushBatchWindow;
+    }
+    
+    public int getPushBatchMaxSize() {
+        return pushBatchMaxSize;
+    }
+    
+    public void setPushBatchMaxSize(int pushBatchMaxSize) {
+        this.pushBatchMaxSize = pushBatchMaxSize;
+    }
+    
     @Override
     protected void getConfigFromEnv() {
         maxPushRetryTimes = EnvUtil.getProperty("nacos.config.push.maxRetryTime", Integer.class, 50);
+        pushBatchWindow = EnvUtil.getProperty("nacos.config.push.batch.window", Integer.class, 20);
+        pushBatchMaxSize = EnvUtil.getProperty("nacos.config.push.batch.maxSize", Integer.class, 100);
     }
     
     @Override
     protected String printConfig() {
-        return "ConfigCommonConfigs{" + "maxPushRetryTimes=" + maxPushRetryTimes + '}';
+        return "ConfigCommonConfigs{" + "maxPushRetryTimes=" + maxPushRetryTimes + ", pushBatchWindow="
+                + pushBatchWindow + ", pushBatchMaxSize=" + pushBatchMaxSize + '}';
     }
 }
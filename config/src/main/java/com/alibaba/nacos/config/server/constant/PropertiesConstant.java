@@ -59,4 +59,20 @@ public class PropertiesConstant {
     
     public static final String SEARCH_WAIT_TIMEOUT = "nacos.config.search.wait_timeout";
     
+    public static final String CONTENT_CACHE_ENABLED = "nacos.config.cache.content.enabled";
+    
+    public static final String CONTENT_CACHE_MAX_BYTES = "nacos.config.cache.content.max_bytes";
+    
+    public static final String DUMP_ALL_WORKER_COUNT = "nacos.config.dump.all.workers";
+    
+    public static final String DUMP_CHECKPOINT_ENABLED = "nacos.config.dump.checkpoint.enabled";
+    
+    public static final String DUMP_CHECKPOINT_INTERVAL = "nacos.config.dump.checkpoint.interval";
+    
+    public static final String ROCKSDB_BLOCK_CACHE_MAX_BYTES = "nacos.config.rocksdb.block_cache.max_bytes";
+    
+    public static final String ROCKSDB_COMPRESSION = "nacos.config.rocksdb.compression";
+    
+    public static final String ROCKSDB_STATISTICS_ENABLED = "nacos.config.rocksdb.statistics.enabled";
+    
 }
@@ -19,6 +19,9 @@ package com.alibaba.nacos.config.server.monitor;
 import com.alibaba.nacos.common.utils.TopnCounterMetricsContainer;
 import com.alibaba.nacos.core.monitor.NacosMeterRegistryCenter;
 import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.ImmutableTag;
 import io.micrometer.core.instrument.Tag;
 import io.micrometer.core.instrument.Timer;
@@ -27,6 +30,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ToDoubleFunction;
 
 /**
  * Metrics Monitor.
@@ -65,6 +69,11 @@ public class MetricsMonitor {
      */
     private static AtomicInteger fuzzySearch = new AtomicInteger();
     
+    /**
+     * config change notifications waiting in push batch queue.
+     */
+    private static AtomicInteger pushPendingTask = new AtomicInteger();
+    
     /**
      * version -> client config subscriber count.
      */
@@ -118,6 +127,11 @@ public class MetricsMonitor {
         tags.add(new ImmutableTag("name", "fuzzySearch"));
         NacosMeterRegistryCenter.gauge(METER_REGISTRY, "nacos_monitor", tags, fuzzySearch);
         
+        tags = new ArrayList<>();
+        tags.add(immutableTag);
+        tags.add(new ImmutableTag("name", "pushPendingTask"));
+        NacosMeterRegistryCenter.gauge(METER_REGISTRY, "nacos_monitor", tags, pushPendingTask);
+        
         configSubscriber.put("v1", new AtomicInteger(0));
         configSubscriber.put("v2", new AtomicInteger(0));
         
@@ -162,6 +176,10 @@ public class MetricsMonitor {
         return fuzzySearch;
     }
     
+    public static AtomicInteger getPushPendingTaskMonitor() {
+        return pushPendingTask;
+    }
+    
     public static AtomicInteger getConfigSubscriberMonitor(String version) {
         return configSubscriber.get(version);
     }
@@ -194,6 +212,26 @@ public class MetricsMonitor {
         return NacosMeterRegistryCenter.timer(METER_REGISTRY, "nacos_timer", "module", "config", "name", "notifyRt");
     }
     
+    public static Timer getPushBatchWindowTimer() {
+        return NacosMeterRegistryCenter
+                .timer(METER_REGISTRY, "nacos_timer", "module", "config", "name", "pushBatchWindow");
+    }
+    
+    public static DistributionSummary getPushBatchSizeSummary() {
+        return NacosMeterRegistryCenter
+                .summary(METER_REGISTRY, "nacos_config_push_batch", "module", "config", "name", "pushBatchSize");
+    }
+    
+    public static Counter getPushCoalescedCounter() {
+        return NacosMeterRegistryCenter
+                .counter(METER_REGISTRY, "nacos_config_push_coalesced", "module", "config", "name", "pushCoalesced");
+    }
+    
+    public static Counter getDumpCoalescedCounter() {
+        return NacosMeterRegistryCenter
+                .counter(METER_REGISTRY, "nacos_config_dump_coalesced", "module", "config", "name", "dumpCoalesced");
+    }
+    
     public static Counter getIllegalArgumentException() {
         return NacosMeterRegistryCenter
                 .counter(METER_REGISTRY, "nacos_exception", "module", "config", "name", "illegalArgument");
@@ -213,6 +251,42 @@ public class MetricsMonitor {
                 .counter(METER_REGISTRY, "nacos_exception", "module", "config", "name", "unhealth");
     }
     
+    public static Counter getConfigContentCacheHit() {
+        return NacosMeterRegistryCenter
+                .counter(METER_REGISTRY, "nacos_config_content_cache", "module", "config", "name", "hit");
+    }
+    
+    public static Counter getConfigContentCacheMiss() {
+        return NacosMeterRegistryCenter
+                .counter(METER_REGISTRY, "nacos_config_content_cache", "module", "config", "name", "miss");
+    }
+    
+    /**
+     * Register a gauge of the config rocksdb, such as the usage of block cache.
+     *
+     * @param name     metric name
+     * @param obj      object to observe
+     * @param function function to get the value from the object
+     * @param <T>      type of the object
+     */
+    public static <T> void registerRocksDbGauge(String name, T obj, ToDoubleFunction<T> function) {
+        Gauge.builder("nacos_config_rocksdb", obj, function).tags("module", "config", "name", name)
+                .register(NacosMeterRegistryCenter.getMeterRegistry(METER_REGISTRY));
+    }
+    
+    /**
+     * Register a monotonic counter of the config rocksdb, such as the tickers of rocksdb statistics.
+     *
+     * @param name     metric name
+     * @param obj      object to observe
+     * @param function function to get the count from the object
+     * @param <T>      type of the object
+     */
+    public static <T> void registerRocksDbCounter(String name, T obj, ToDoubleFunction<T> function) {
+        FunctionCounter.builder("nacos_config_rocksdb_ticker", obj, function).tags("module", "config", "name", name)
+                .register(NacosMeterRegistryCenter.getMeterRegistry(METER_REGISTRY));
+    }
+    
     public static void incrementConfigChangeCount(String tenant, String group, String dataId) {
         configChangeCount.increment(tenant + "@" + group + "@" + dataId);
     }
@@ -16,13 +16,10 @@
 
 package com.alibaba.nacos.config.server.remote;
 
-import com.alibaba.nacos.common.utils.CollectionUtils;
 import org.springframework.stereotype.Component;
 
-import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
-import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
@@ -30,21 +27,32 @@ import java.util.concurrent.ConcurrentHashMap;
 /**
  * config change listen context.
  *
+ * <p>Both indexes are concurrent maps whose values are concurrent collections, and every mutation of a key is done
+ * inside {@link ConcurrentHashMap#compute}, so listeners of different group keys or connections never contend on a
+ * shared monitor.
+ *
  * @author liuzunfei
  * @version $Id: ConfigChangeListenContext.java, v 0.1 2020年07月20日 1:37 PM liuzunfei Exp $
  */
 @Component
 public class ConfigChangeListenContext {
     
+    /**
+     * ConcurrentHashMap does not accept null value, so null md5 is recorded as this sentinel and read back as null.
+     * Compared by reference, so it never equals an md5 sent by client.
+     */
+    private static final String NULL_MD5 = new String();
+    
     /**
      * groupKey-> connection set.
      */
-    private ConcurrentHashMap<String, HashSet<String>> groupKeyContext = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Set<String>> groupKeyContext = new ConcurrentHashMap<>();
     
     /**
      * connectionId-> group key set.
      */
-    private ConcurrentHashMap<String, HashMap<String, String>> connectionIdContext = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, ConcurrentHashMap<String, String>> connectionIdContext =
+            new ConcurrentHashMap<>();
     
     /**
      * add listen.
@@ -52,23 +60,24 @@ public class ConfigChangeListenContext {
      * @param groupKey     groupKey.
      * @param connectionId connectionId.
      */
-    public synchronized void addListen(String groupKey, String md5, String connectionId) {
+    public void addListen(String groupKey, String md5, String connectionId) {
         // 1.add groupKeyContext
-        Set<String> listenClients = groupKeyContext.get(groupKey);
-        if (listenClients == null) {
-            groupKeyContext.putIfAbsent(groupKey, new HashSet<>());
-            listenClients = groupKeyContext.get(groupKey);
-        }
-        listenClients.add(connectionId);
+        groupKeyContext.compute(groupKey, (key, listenClients) -> {
+            if (listenClients == null) {
+                listenClients = ConcurrentHashMap.newKeySet();
+            }
+            listenClients.add(connectionId);
+            return listenClients;
+        });
         
         // 2.add connectionIdContext
-        HashMap<String, String> groupKeys = connectionIdContext.get(connectionId);
-        if (groupKeys == null) {
-            connectionIdContext.putIfAbsent(connectionId, new HashMap<>(16));
-            groupKeys = connectionIdContext.get(connectionId);
-        }
-        groupKeys.put(groupKey, md5);
-        
+        connectionIdContext.compute(connectionId, (key, groupKeys) -> {
+            if (groupKeys == null) {
+                groupKeys = new ConcurrentHashMap<>(16);
+            }
+            groupKeys.put(groupKey, md5 == null ? NULL_MD5 : md5);
+            return groupKeys;
+        });
     }
     
     /**
@@ -77,52 +86,34 @@ public class ConfigChangeListenContext {
      * @param groupKey     groupKey.
      * @param connectionId connection id.
      */
-    public synchronized void removeListen(String groupKey, String connectionId) {
+    public void removeListen(String groupKey, String connectionId) {
         
         //1. remove groupKeyContext
-        Set<String> connectionIds = groupKeyContext.get(groupKey);
-        if (connectionIds != null) {
-            connectionIds.remove(connectionId);
-            if (connectionIds.isEmpty()) {
-                groupKeyContext.remove(groupKey);
-            }
-        }
+        removeConnectionFromGroupKey(groupKey, connectionId);
         
         //2.remove connectionIdContext
-        HashMap<String, String> groupKeys = connectionIdContext.get(connectionId);
-        if (groupKeys != null) {
+        connectionIdContext.computeIfPresent(connectionId, (key, groupKeys) -> {
             groupKeys.remove(groupKey);
-        }
+            return groupKeys;
+        });
     }
     
     /**
      * get listeners of the group key.
      *
-     * @param groupKey groupKey.
-     * @return the copy of listeners, may be return null.
-     */
-    public synchronized Set<String> getListeners(String groupKey) {
-        
-        HashSet<String> strings = groupKeyContext.get(groupKey);
-        if (CollectionUtils.isNotEmpty(strings)) {
-            Set<String> listenConnections = new HashSet<>();
-            safeCopy(strings, listenConnections);
-            return listenConnections;
-        }
-        return null;
-    }
-    
-    /**
-     * copy collections.
+     * <p>The returned set is a read-only view of the index rather than a copy, its iterator is weakly consistent and
+     * never throws {@link java.util.ConcurrentModificationException}, so notifying listeners does not allocate a copy
+     * of the whole set for each change.
      *
-     * @param src  may be modified concurrently
-     * @param dest dest collection
+     * @param groupKey groupKey.
+     * @return the read-only view of listeners, may be return null.
      */
-    private void safeCopy(Collection src, Collection dest) {
-        Iterator iterator = src.iterator();
-        while (iterator.hasNext()) {
-            dest.add(iterator.next());
+    public Set<String> getListeners(String groupKey) {
+        Set<String> listenConnections = groupKeyContext.get(groupKey);
+        if (listenConnections == null || listenConnections.isEmpty()) {
+            return null;
         }
+        return Collections.unmodifiableSet(listenConnections);
     }
     
     /**
@@ -130,28 +121,23 @@ public class ConfigChangeListenContext {
      *
      * @param connectionId connectionId.
      */
-    public synchronized void clearContextForConnectionId(final String connectionId) {
+    public void clearContextForConnectionId(final String connectionId) {
         
-        Map<String, String> listenKeys = getListenKeys(connectionId);
+        Map<String, String> listenKeys = connectionIdContext.remove(connectionId);
         
         if (listenKeys == null) {
-            connectionIdContext.remove(connectionId);
             return;
         }
-        for (Map.Entry<String, String> groupKey : listenKeys.entrySet()) {
-
-            Set<String> connectionIds = groupKeyContext.get(groupKey.getKey());
-            if (CollectionUtils.isNotEmpty(connectionIds)) {
-                connectionIds.remove(connectionId);
-                if (connectionIds.isEmpty()) {
-                    groupKeyContext.remove(groupKey.getKey());
-                }
-            } else {
-                groupKeyContext.remove(groupKey.getKey());
-            }
-
+        for (String groupKey : listenKeys.keySet()) {
+            removeConnectionFromGroupKey(groupKey, connectionId);
         }
-        connectionIdContext.remove(connectionId);
+    }
+    
+    private void removeConnectionFromGroupKey(String groupKey, String connectionId) {
+        groupKeyContext.computeIfPresent(groupKey, (key, connectionIds) -> {
+            connectionIds.remove(connectionId);
+            return connectionIds.isEmpty() ? null : connectionIds;
+        });
     }
     
     /**
@@ -160,9 +146,16 @@ public class ConfigChangeListenContext {
      * @param connectionId connection id.
      * @return listen group keys of the connection id, key:group key,value:md5
      */
-    public synchronized Map<String, String> getListenKeys(String connectionId) {
-        HashMap<String, String> stringStringHashMap = connectionIdContext.get(connectionId);
-        return stringStringHashMap == null ? null : new HashMap<>(stringStringHashMap);
+    public Map<String, String> getListenKeys(String connectionId) {
+        Map<String, String> groupKeys = connectionIdContext.get(connectionId);
+        if (groupKeys == null) {
+            return null;
+        }
+        Map<String, String> result = new HashMap<>(groupKeys.size() << 1);
+        for (Map.Entry<String, String> entry : groupKeys.entrySet()) {
+            result.put(entry.getKey(), toMd5(entry.getValue()));
+        }
+        return result;
     }
     
     /**
@@ -173,7 +166,11 @@ public class ConfigChangeListenContext {
      */
     public String getListenKeyMd5(String connectionId, String groupKey) {
         Map<String, String> groupKeyContexts = connectionIdContext.get(connectionId);
-        return groupKeyContexts == null ? null : groupKeyContexts.get(groupKey);
+        return groupKeyContexts == null ? null : toMd5(groupKeyContexts.get(groupKey));
+    }
+    
+    private static String toMd5(String recordedMd5) {
+        return recordedMd5 == NULL_MD5 ? null : recordedMd5;
     }
     
     /**
@@ -28,7 +28,7 @@ import com.alibaba.nacos.config.server.constant.Constants;
 import com.alibaba.nacos.config.server.model.CacheItem;
 import com.alibaba.nacos.config.server.model.ConfigInfoBase;
 import com.alibaba.nacos.config.server.service.ConfigCacheService;
-import com.alibaba.nacos.config.server.service.dump.disk.ConfigDiskServiceFactory;
+import com.alibaba.nacos.config.server.service.ConfigContentCache;
 import com.alibaba.nacos.config.server.service.repository.ConfigInfoBetaPersistService;
 import com.alibaba.nacos.config.server.service.repository.ConfigInfoPersistService;
 import com.alibaba.nacos.config.server.service.repository.ConfigInfoTagPersistService;
@@ -123,7 +123,7 @@ public class ConfigQueryRequestHandler extends RequestHandler<ConfigQueryRequest
                     String configType = cacheItem.getType();
                     response.setContentType((null != configType) ? configType : "text");
                 }
-                String content = null;
+                byte[] content = null;
                 ConfigInfoBase configInfoBase = null;
                 PrintWriter out = null;
                 if (isBeta) {
@@ -132,7 +132,7 @@ public class ConfigQueryRequestHandler extends RequestHandler<ConfigQueryRequest
                     if (PropertyUtil.isDirectRead()) {
                         configInfoBase = configInfoBetaPersistService.findConfigInfo4Beta(dataId, group, tenant);
                     } else {
-                        content = ConfigDiskServiceFactory.getInstance().getBetaContent(dataId, group, tenant);
+                        content = ConfigContentCache.getBetaContentBytes(dataId, group, tenant);
                     }
                     pullEvent = ConfigTraceService.PULL_EVENT_BETA;
                     response.setBeta(true);
@@ -147,8 +147,7 @@ public class ConfigQueryRequestHandler extends RequestHandler<ConfigQueryRequest
                                 configInfoBase = configInfoTagPersistService.findConfigInfo4Tag(dataId, group, tenant,
                                         autoTag);
                             } else {
-                                content = ConfigDiskServiceFactory.getInstance()
-                                        .getTagContent(dataId, group, tenant, autoTag);
+                                content = ConfigContentCache.getTagContentBytes(dataId, group, tenant, autoTag);
                             }
                             pullEvent = ConfigTraceService.PULL_EVENT_TAG + "-" + autoTag;
                             response.setTag(URLEncoder.encode(autoTag, ENCODE_UTF8));
@@ -160,7 +159,7 @@ public class ConfigQueryRequestHandler extends RequestHandler<ConfigQueryRequest
                             if (PropertyUtil.isDirectRead()) {
                                 configInfoBase = configInfoPersistService.findConfigInfo(dataId, group, tenant);
                             } else {
-                                content = ConfigDiskServiceFactory.getInstance().getContent(dataId, group, tenant);
+                                content = ConfigContentCache.getContentBytes(dataId, group, tenant);
                             }
                             pullEvent = ConfigTraceService.PULL_EVENT;
                             if (configInfoBase == null && content == null) {
@@ -187,7 +186,7 @@ public class ConfigQueryRequestHandler extends RequestHandler<ConfigQueryRequest
                         if (PropertyUtil.isDirectRead()) {
                             configInfoBase = configInfoTagPersistService.findConfigInfo4Tag(dataId, group, tenant, tag);
                         } else {
-                            content = ConfigDiskServiceFactory.getInstance().getTagContent(dataId, group, tenant, tag);
+                            content = ConfigContentCache.getTagContentBytes(dataId, group, tenant, tag);
                         }
                         response.setTag(tag);
                         pullEvent = ConfigTraceService.PULL_EVENT_TAG + "-" + tag;
@@ -219,7 +218,7 @@ public class ConfigQueryRequestHandler extends RequestHandler<ConfigQueryRequest
                 } else {
                     //read from file
                     try {
-                        response.setContent(content);
+                        response.setContentBytes(content);
                         response.setLastModified(lastModified);
                         response.setResultCode(ResponseCode.SUCCESS.getCode());
                     } catch (Exception e) {
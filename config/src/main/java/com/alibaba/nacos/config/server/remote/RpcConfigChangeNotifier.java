@@ -25,6 +25,7 @@ import com.alibaba.nacos.common.utils.CollectionUtils;
 import com.alibaba.nacos.common.utils.StringUtils;
 import com.alibaba.nacos.config.server.configuration.ConfigCommonConfig;
 import com.alibaba.nacos.config.server.model.event.LocalDataChangeEvent;
+import com.alibaba.nacos.config.server.monitor.MetricsMonitor;
 import com.alibaba.nacos.config.server.utils.ConfigExecutor;
 import com.alibaba.nacos.config.server.utils.GroupKey;
 import com.alibaba.nacos.core.remote.Connection;
@@ -39,9 +40,15 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import javax.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * ConfigChangeNotifier.
@@ -60,6 +67,16 @@ public class RpcConfigChangeNotifier extends Subscriber<LocalDataChangeEvent> {
     
     TpsControlManager tpsControlManager = ControlManagerCenter.getInstance().getTpsControlManager();
     
+    /**
+     * connectionId -> pending push tasks of the connection, keyed by groupKey so that repeated changes of one config
+     * inside a batch window are merged into one push.
+     */
+    private final ConcurrentHashMap<String, Map<String, RpcPushTask>> pendingPushTasks = new ConcurrentHashMap<>();
+    
+    private final AtomicBoolean flushScheduled = new AtomicBoolean(false);
+    
+    private volatile long flushScheduledTime;
+    
     public RpcConfigChangeNotifier() {
         NotifyCenter.registerSubscriber(this);
     }
@@ -116,7 +133,7 @@ public class RpcConfigChangeNotifier extends Subscriber<LocalDataChangeEvent> {
             
             RpcPushTask rpcPushRetryTask = new RpcPushTask(notifyRequest,
                     ConfigCommonConfig.getInstance().getMaxPushRetryTimes(), client, clientIp, metaInfo.getAppName());
-            push(rpcPushRetryTask);
+            batchPush(groupKey, rpcPushRetryTask);
             notifyClientCount++;
         }
         Loggers.REMOTE_PUSH.info("push [{}] clients, groupKey=[{}]", notifyClientCount, groupKey);
@@ -178,31 +195,142 @@ public class RpcConfigChangeNotifier extends Subscriber<LocalDataChangeEvent> {
             if (!tpsControlManager.check(tpsCheckRequest).isSuccess()) {
                 push(this);
             } else {
-                rpcPushService.pushWithCallback(connectionId, notifyRequest, new AbstractPushCallBack(3000L) {
-                    @Override
-                    public void onSuccess() {
-                        TpsCheckRequest tpsCheckRequest = new TpsCheckRequest();
-                        
-                        tpsCheckRequest.setPointName(POINT_CONFIG_PUSH_SUCCESS);
-                        tpsControlManager.check(tpsCheckRequest);
-                    }
+                doPush();
+            }
+            
+        }
+        
+        /**
+         * push without tps check, the caller should have checked tps.
+         */
+        void doPush() {
+            // notify request is idempotent and keyed by config, the pending one to slow client can be superseded.
+            String supersedeKey = GroupKey.getKeyTenant(notifyRequest.getDataId(), notifyRequest.getGroup(),
+                    notifyRequest.getTenant());
+            rpcPushService.pushWithCallback(connectionId, notifyRequest, new AbstractPushCallBack(3000L) {
+                @Override
+                public void onSuccess() {
+                    TpsCheckRequest tpsCheckRequest = new TpsCheckRequest();
                     
-                    @Override
-                    public void onFail(Throwable e) {
-                        TpsCheckRequest tpsCheckRequest = new TpsCheckRequest();
-                        
-                        tpsCheckRequest.setPointName(POINT_CONFIG_PUSH_FAIL);
-                        tpsControlManager.check(tpsCheckRequest);
-                        Loggers.REMOTE_PUSH
-                                .warn("Push fail, dataId={}, group={}, tenant={}, clientId={}", notifyRequest.getDataId(), 
-                                        notifyRequest.getGroup(), notifyRequest.getTenant(), connectionId, e);
-                        push(RpcPushTask.this);
-                    }
+                    tpsCheckRequest.setPointName(POINT_CONFIG_PUSH_SUCCESS);
+                    tpsControlManager.check(tpsCheckRequest);
+                }
+                
+                @Override
+                public void onFail(Throwable e) {
+                    TpsCheckRequest tpsCheckRequest = new TpsCheckRequest();
                     
-                }, ConfigExecutor.getClientConfigNotifierServiceExecutor());
+                    tpsCheckRequest.setPointName(POINT_CONFIG_PUSH_FAIL);
+                    tpsControlManager.check(tpsCheckRequest);
+                    Loggers.REMOTE_PUSH
+                            .warn("Push fail, dataId={}, group={}, tenant={}, clientId={}", notifyRequest.getDataId(), 
+                                    notifyRequest.getGroup(), notifyRequest.getTenant(), connectionId, e);
+                    push(RpcPushTask.this);
+                }
                 
+            }, ConfigExecutor.getClientConfigNotifierServiceExecutor(), supersedeKey);
+        }
+    }
+    
+    /**
+     * Add push task to the pending batch of its connection, the pending batches of all connections are flushed together
+     * after the batch window, so that one config change listened by many clients creates one flush task instead of one
+     * task for each client.
+     *
+     * @param groupKey groupKey of the changed config.
+     * @param task     push task.
+     */
+    void batchPush(String groupKey, RpcPushTask task) {
+        int batchWindow = ConfigCommonConfig.getInstance().getPushBatchWindow();
+        if (batchWindow <= 0) {
+            push(task);
+            return;
+        }
+        pendingPushTasks.compute(task.connectionId, (connectionId, tasks) -> {
+            if (tasks == null) {
+                tasks = new LinkedHashMap<>();
+            }
+            // remove first to keep the latest change at the tail.
+            if (tasks.remove(groupKey) != null) {
+                MetricsMonitor.getPushCoalescedCounter().increment();
+            } else {
+                MetricsMonitor.getPushPendingTaskMonitor().incrementAndGet();
+            }
+            tasks.put(groupKey, task);
+            return tasks;
+        });
+        scheduleFlushIfAbsent(batchWindow);
+    }
+    
+    private void scheduleFlushIfAbsent(int batchWindow) {
+        if (flushScheduled.compareAndSet(false, true)) {
+            flushScheduledTime = System.currentTimeMillis();
+            ConfigExecutor.getClientConfigNotifierServiceExecutor()
+                    .schedule(this::flushPendingPushTasks, batchWindow, TimeUnit.MILLISECONDS);
+        }
+    }
+    
+    /**
+     * Flush pending push tasks of all connections, with one tps check for the batch of each connection.
+     */
+    void flushPendingPushTasks() {
+        MetricsMonitor.getPushBatchWindowTimer()
+                .record(System.currentTimeMillis() - flushScheduledTime, TimeUnit.MILLISECONDS);
+        flushScheduled.set(false);
+        int maxBatchSize = ConfigCommonConfig.getInstance().getPushBatchMaxSize();
+        for (String connectionId : pendingPushTasks.keySet()) {
+            Map<String, RpcPushTask> tasks = pendingPushTasks.remove(connectionId);
+            if (tasks == null || tasks.isEmpty()) {
+                continue;
+            }
+            List<RpcPushTask> batch = new ArrayList<>(Math.min(tasks.size(), maxBatchSize));
+            Iterator<Map.Entry<String, RpcPushTask>> iterator = tasks.entrySet().iterator();
+            while (iterator.hasNext() && batch.size() < maxBatchSize) {
+                batch.add(iterator.next().getValue());
+                iterator.remove();
+            }
+            MetricsMonitor.getPushPendingTaskMonitor().addAndGet(-batch.size());
+            if (!tasks.isEmpty()) {
+                requeue(connectionId, tasks);
+            }
+            pushBatch(connectionId, batch);
+        }
+    }
+    
+    /**
+     * Put over size tasks back to the head of the pending batch, tasks added during the flush are newer and win.
+     */
+    private void requeue(String connectionId, Map<String, RpcPushTask> leftTasks) {
+        pendingPushTasks.merge(connectionId, leftTasks, (newerTasks, olderTasks) -> {
+            for (Map.Entry<String, RpcPushTask> each : newerTasks.entrySet()) {
+                if (olderTasks.remove(each.getKey()) != null) {
+                    MetricsMonitor.getPushCoalescedCounter().increment();
+                    MetricsMonitor.getPushPendingTaskMonitor().decrementAndGet();
+                }
+                olderTasks.put(each.getKey(), each.getValue());
+            }
+            return olderTasks;
+        });
+        scheduleFlushIfAbsent(Math.max(1, ConfigCommonConfig.getInstance().getPushBatchWindow()));
+    }
+    
+    private void pushBatch(String connectionId, List<RpcPushTask> batch) {
+        if (connectionManager.getConnection(connectionId) == null) {
+            // client is already offline, ignore tasks.
+            return;
+        }
+        MetricsMonitor.getPushBatchSizeSummary().record(batch.size());
+        TpsCheckRequest tpsCheckRequest = new TpsCheckRequest();
+        tpsCheckRequest.setPointName(POINT_CONFIG_PUSH);
+        tpsCheckRequest.setCount(batch.size());
+        boolean passed = tpsControlManager.check(tpsCheckRequest).isSuccess();
+        for (RpcPushTask each : batch) {
+            each.tryTimes++;
+            if (passed) {
+                each.doPush();
+            } else {
+                push(each);
             }
-            
         }
     }
     
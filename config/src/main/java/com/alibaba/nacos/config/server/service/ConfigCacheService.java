@@ -26,6 +26,7 @@ import com.alibaba.nacos.config.server.model.CacheItem;
 import com.alibaba.nacos.config.server.model.ConfigCache;
 import com.alibaba.nacos.config.server.model.ConfigInfoBase;
 import com.alibaba.nacos.config.server.model.event.LocalDataChangeEvent;
+import com.alibaba.nacos.config.server.monitor.MetricsMonitor;
 import com.alibaba.nacos.config.server.service.dump.disk.ConfigDiskServiceFactory;
 import com.alibaba.nacos.config.server.service.repository.ConfigInfoPersistService;
 import com.alibaba.nacos.config.server.utils.DiskUtil;
@@ -37,10 +38,14 @@ import com.google.common.collect.Lists;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map.Entry;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import static com.alibaba.nacos.config.server.constant.Constants.ENCODE_UTF8;
 import static com.alibaba.nacos.config.server.utils.LogUtil.DEFAULT_LOG;
@@ -67,15 +72,25 @@ public class ConfigCacheService {
      */
     private static final ConcurrentHashMap<String, CacheItem> CACHE = new ConcurrentHashMap<>();
     
+    /**
+     * groupKey -> the newest formal dump waiting to be applied.
+     */
+    private static final ConcurrentHashMap<String, FormalDump> PENDING_FORMAL_DUMPS = new ConcurrentHashMap<>();
+    
+    /**
+     * Group keys whose pending dumps are being applied by some thread.
+     */
+    private static final Set<String> APPLYING_GROUP_KEYS = ConcurrentHashMap.newKeySet();
+    
     private static ConfigInfoPersistService configInfoPersistService;
-
+    
     public static ConfigInfoPersistService getConfigInfoPersistService() {
         if (configInfoPersistService == null) {
             configInfoPersistService = ApplicationUtils.getBean(ConfigInfoPersistService.class);
         }
         return configInfoPersistService;
     }
-
+    
     public static int groupCount() {
         return CACHE.size();
     }
@@ -84,6 +99,15 @@ public class ConfigCacheService {
         return CACHE.containsKey(groupKey);
     }
     
+    /**
+     * Get all cache items, the returned collection is a read only view.
+     *
+     * @return all cache items.
+     */
+    public static Collection<CacheItem> getAllCacheItems() {
+        return Collections.unmodifiableCollection(CACHE.values());
+    }
+    
     /**
      * Save config file and update md5 value in cache.
      *
@@ -100,26 +124,82 @@ public class ConfigCacheService {
         String groupKey = GroupKey2.getKey(dataId, group, tenant);
         CacheItem ci = makeSure(groupKey, encryptedDataKey);
         ci.setType(type);
-        final int lockResult = tryWriteLock(groupKey);
-        
-        if (lockResult < 0) {
-            DUMP_LOG.warn("[dump-error] write lock failed. {}", groupKey);
-            return false;
+        return coalesceFormalDump(
+                new FormalDump("dump", groupKey, dataId, group, tenant, content, md5, lastModifiedTs,
+                        encryptedDataKey));
+    }
+    
+    /**
+     * Apply the dump of formal config, or wait for it applied by the thread which is applying the same group key.
+     *
+     * <p>Only the newest pending dump of each group key is kept by last modified time, the superseded ones are
+     * dropped before writing disk and publishing change event, and completed with the result of the newest one.
+     *
+     * @param dump dump of formal config.
+     * @return dump success or not.
+     */
+    static boolean coalesceFormalDump(FormalDump dump) {
+        String groupKey = dump.groupKey;
+        PENDING_FORMAL_DUMPS.merge(groupKey, dump, (exist, current) -> {
+            MetricsMonitor.getDumpCoalescedCounter().increment();
+            if (current.lastModifiedTs >= exist.lastModifiedTs) {
+                current.supersede(exist);
+                return current;
+            }
+            exist.supersede(current);
+            return exist;
+        });
+        // Loop in case of the dumps added after the last applier drained pending dumps but before it quit.
+        while (PENDING_FORMAL_DUMPS.containsKey(groupKey) && APPLYING_GROUP_KEYS.add(groupKey)) {
+            try {
+                FormalDump each;
+                while ((each = PENDING_FORMAL_DUMPS.remove(groupKey)) != null) {
+                    each.complete(applyFormalDumpWithLock(each));
+                }
+            } finally {
+                APPLYING_GROUP_KEYS.remove(groupKey);
+            }
         }
-        
+        return dump.awaitApplied();
+    }
+    
+    private static boolean applyFormalDumpWithLock(FormalDump dump) {
+        boolean success = false;
+        try {
+            final int lockResult = tryWriteLock(dump.groupKey);
+            if (lockResult < 0) {
+                DUMP_LOG.warn("[{}-error] write lock failed. {}", dump.logPrefix, dump.groupKey);
+                return false;
+            }
+            try {
+                success = applyFormalDump(dump);
+            } finally {
+                releaseWriteLock(dump.groupKey);
+            }
+        } catch (RuntimeException e) {
+            DUMP_LOG.error("[{}-error] apply dump failed. {}", dump.logPrefix, dump.groupKey, e);
+        }
+        return success;
+    }
+    
+    private static boolean applyFormalDump(FormalDump dump) {
+        String groupKey = dump.groupKey;
+        String logPrefix = dump.logPrefix;
+        long lastModifiedTs = dump.lastModifiedTs;
         try {
             
             //check timestamp
             boolean lastModifiedOutDated = lastModifiedTs < ConfigCacheService.getLastModifiedTs(groupKey);
             if (lastModifiedOutDated) {
-                DUMP_LOG.warn("[dump-ignore] timestamp is outdated,groupKey={}", groupKey);
+                DUMP_LOG.warn("[{}-ignore] timestamp is outdated,groupKey={}", logPrefix, groupKey);
                 return true;
             }
             
             boolean newLastModified = lastModifiedTs > ConfigCacheService.getLastModifiedTs(groupKey);
             
+            String md5 = dump.md5;
             if (md5 == null) {
-                md5 = MD5Utils.md5Hex(content, ENCODE_UTF8);
+                md5 = MD5Utils.md5Hex(dump.content, ENCODE_UTF8);
             }
             
             //check md5 & update local disk cache.
@@ -127,32 +207,34 @@ public class ConfigCacheService {
             boolean md5Changed = !md5.equals(localContentMd5);
             if (md5Changed) {
                 if (!PropertyUtil.isDirectRead()) {
-                    DUMP_LOG.info("[dump] md5 changed, save to disk cache ,groupKey={}, newMd5={},oldMd5={}", groupKey,
-                            md5, localContentMd5);
-                    ConfigDiskServiceFactory.getInstance().saveToDisk(dataId, group, tenant, content);
+                    DUMP_LOG.info("[{}] md5 changed, save to disk cache ,groupKey={}, newMd5={},oldMd5={}", logPrefix,
+                            groupKey, md5, localContentMd5);
+                    ConfigDiskServiceFactory.getInstance()
+                            .saveToDisk(dump.dataId, dump.group, dump.tenant, dump.content);
+                    ConfigContentCache.invalidate(groupKey);
                 } else {
                     //ignore to save disk cache in direct model
                 }
             } else {
-                DUMP_LOG.warn("[dump-ignore] ignore to save to disk cache. md5 consistent,groupKey={}, md5={}",
-                        groupKey, md5);
+                DUMP_LOG.warn("[{}-ignore] ignore to save to disk cache. md5 consistent,groupKey={}, md5={}",
+                        logPrefix, groupKey, md5);
             }
             
             //check  md5 and timestamp & update local jvm cache.
             if (md5Changed) {
                 DUMP_LOG.info(
-                        "[dump] md5 changed, update md5 and timestamp in jvm cache ,groupKey={}, newMd5={},oldMd5={},lastModifiedTs={}",
-                        groupKey, md5, localContentMd5, lastModifiedTs);
-                updateMd5(groupKey, md5, lastModifiedTs, encryptedDataKey);
+                        "[{}] md5 changed, update md5 and timestamp in jvm cache ,groupKey={}, newMd5={},oldMd5={},lastModifiedTs={}",
+                        logPrefix, groupKey, md5, localContentMd5, lastModifiedTs);
+                updateMd5(groupKey, md5, lastModifiedTs, dump.encryptedDataKey);
             } else if (newLastModified) {
                 DUMP_LOG.info(
-                        "[dump] md5 consistent ,timestamp changed, update timestamp only in jvm cache ,groupKey={},lastModifiedTs={}",
-                        groupKey, lastModifiedTs);
-                updateTimeStamp(groupKey, lastModifiedTs, encryptedDataKey);
+                        "[{}] md5 consistent ,timestamp changed, update timestamp only in jvm cache ,groupKey={},lastModifiedTs={}",
+                        logPrefix, groupKey, lastModifiedTs);
+                updateTimeStamp(groupKey, lastModifiedTs, dump.encryptedDataKey);
             } else {
                 DUMP_LOG.warn(
-                        "[dump-ignore] ignore to save to jvm cache. md5 consistent and no new timestamp changed.groupKey={}",
-                        groupKey);
+                        "[{}-ignore] ignore to save to jvm cache. md5 consistent and no new timestamp changed.groupKey={}",
+                        logPrefix, groupKey);
             }
             
             return true;
@@ -168,10 +250,7 @@ public class ConfigCacheService {
                 }
             }
             return false;
-        } finally {
-            releaseWriteLock(groupKey);
         }
-        
     }
     
     /**
@@ -239,6 +318,7 @@ public class ConfigCacheService {
                             groupKey, md5, localContentBetaMd5);
                     
                     ConfigDiskServiceFactory.getInstance().saveBetaToDisk(dataId, group, tenant, content);
+                    ConfigContentCache.invalidateBeta(groupKey);
                 } else {
                     //
                 }
@@ -319,6 +399,7 @@ public class ConfigCacheService {
             if (md5Changed) {
                 if (!PropertyUtil.isDirectRead()) {
                     ConfigDiskServiceFactory.getInstance().saveTagToDisk(dataId, group, tenant, tag, content);
+                    ConfigContentCache.invalidateTag(groupKey, tag);
                 } else {
                     //
                 }
@@ -356,65 +437,9 @@ public class ConfigCacheService {
         final String groupKey = GroupKey2.getKey(dataId, group, tenant);
         
         makeSure(groupKey, encryptedDataKey);
-        final int lockResult = tryWriteLock(groupKey);
-        
-        if (lockResult < 0) {
-            DUMP_LOG.warn("[dump-error] write lock failed. {}", groupKey);
-            return false;
-        }
-        
-        try {
-            
-            //check timestamp
-            boolean lastModifiedOutdated = lastModifiedTs < ConfigCacheService.getLastModifiedTs(groupKey);
-            if (lastModifiedOutdated) {
-                DUMP_LOG.warn("[dump-change-ignore] timestamp is outdated,groupKey={}", groupKey);
-                return true;
-            }
-            
-            boolean newLastModified = lastModifiedTs > ConfigCacheService.getLastModifiedTs(groupKey);
-            
-            String md5 = MD5Utils.md5Hex(content, ENCODE_UTF8);
-            
-            //check md5 & update local disk cache.
-            String localContentMd5 = ConfigCacheService.getContentMd5(groupKey);
-            boolean md5Changed = !md5.equals(localContentMd5);
-            if (md5Changed) {
-                if (!PropertyUtil.isDirectRead()) {
-                    DUMP_LOG.info("[dump-change] md5 changed, save to disk cache ,groupKey={}, md5={}", groupKey, md5);
-                    ConfigDiskServiceFactory.getInstance().saveToDisk(dataId, group, tenant, content);
-                } else {
-                    //ignore to save disk cache in direct model
-                }
-            } else {
-                DUMP_LOG.warn("[dump-change-ignore] ignore to save to disk cache. md5 consistent,groupKey={}, md5={}",
-                        groupKey, md5);
-            }
-            
-            //check  md5 and timestamp & update local jvm cache.
-            if (md5Changed) {
-                DUMP_LOG.info(
-                        "[dump-change] md5 changed, update md5 and timestamp in jvm cache ,groupKey={},newMd5={},oldMd5={},lastModifiedTs={}",
-                        groupKey, md5, localContentMd5, lastModifiedTs);
-                updateMd5(groupKey, md5, lastModifiedTs, encryptedDataKey);
-            } else if (newLastModified) {
-                DUMP_LOG.info(
-                        "[dump-change] md5 consistent ,timestamp changed, update timestamp only in jvm cache ,groupKey={}, md5={},lastModifiedTs={}",
-                        groupKey, md5, lastModifiedTs);
-                updateTimeStamp(groupKey, lastModifiedTs, encryptedDataKey);
-            } else {
-                DUMP_LOG.warn(
-                        "[dump-change-ignore] ignore to save to jvm cache. md5 consistent and no new timestamp changed.groupKey={}",
-                        groupKey);
-            }
-            
-            return true;
-        } catch (IOException ioe) {
-            DUMP_LOG.error("[dump-exception] save disk error. " + groupKey + ", " + ioe.toString(), ioe);
-            return false;
-        } finally {
-            releaseWriteLock(groupKey);
-        }
+        return coalesceFormalDump(
+                new FormalDump("dump-change", groupKey, dataId, group, tenant, content, null, lastModifiedTs,
+                        encryptedDataKey));
     }
     
     /**
@@ -537,6 +562,7 @@ public class ConfigCacheService {
                 DUMP_LOG.info("[dump] remove  local disk cache,groupKey={} ", groupKey);
                 ConfigDiskServiceFactory.getInstance().removeConfigInfo(dataId, group, tenant);
             }
+            ConfigContentCache.invalidateAll(CACHE.get(groupKey));
             CACHE.remove(groupKey);
             DUMP_LOG.info("[dump] remove  local jvm cache,groupKey={} ", groupKey);
             
@@ -577,6 +603,7 @@ public class ConfigCacheService {
                 DUMP_LOG.info("[remove-beta-ok] remove beta in local disk cache,groupKey={} ", groupKey);
                 ConfigDiskServiceFactory.getInstance().removeConfigInfo4Beta(dataId, group, tenant);
             }
+            ConfigContentCache.invalidateBeta(groupKey);
             NotifyCenter.publishEvent(new LocalDataChangeEvent(groupKey, true, CACHE.get(groupKey).getIps4Beta()));
             CACHE.get(groupKey).removeBeta();
             DUMP_LOG.info("[remove-beta-ok] remove beta in local jvm cache,groupKey={} ", groupKey);
@@ -617,6 +644,7 @@ public class ConfigCacheService {
                 DUMP_LOG.info("[remove-tag-ok] remove tag in local disk cache,tag={},groupKey={} ", tag, groupKey);
                 ConfigDiskServiceFactory.getInstance().removeConfigInfo4Tag(dataId, group, tenant, tag);
             }
+            ConfigContentCache.invalidateTag(groupKey, tag);
             
             CacheItem ci = CACHE.get(groupKey);
             if (ci.getConfigCacheTags() != null) {
@@ -922,5 +950,82 @@ public class ConfigCacheService {
         cache.getConfigCacheBeta().setLastModifiedTs(lastModifiedTs);
         
     }
+    
+    /**
+     * Dump of formal config waiting for the write lock of cache item.
+     */
+    static final class FormalDump {
+        
+        private static final long APPLY_TIMEOUT_SECONDS = 10L;
+        
+        final String logPrefix;
+        
+        final String groupKey;
+        
+        final String dataId;
+        
+        final String group;
+        
+        final String tenant;
+        
+        final String content;
+        
+        final String md5;
+        
+        final long lastModifiedTs;
+        
+        final String encryptedDataKey;
+        
+        private final CountDownLatch applied = new CountDownLatch(1);
+        
+        private volatile boolean success;
+        
+        private List<FormalDump> superseded;
+        
+        FormalDump(String logPrefix, String groupKey, String dataId, String group, String tenant, String content,
+                String md5, long lastModifiedTs, String encryptedDataKey) {
+            this.logPrefix = logPrefix;
+            this.groupKey = groupKey;
+            this.dataId = dataId;
+            this.group = group;
+            this.tenant = tenant;
+            this.content = content;
+            this.md5 = md5;
+            this.lastModifiedTs = lastModifiedTs;
+            this.encryptedDataKey = encryptedDataKey;
+        }
+        
+        /**
+         * Drop the older dump, it is completed together with this one. Called under the lock of pending map.
+         */
+        void supersede(FormalDump older) {
+            if (superseded == null) {
+                superseded = new ArrayList<>(2);
+            }
+            superseded.add(older);
+            if (older.superseded != null) {
+                superseded.addAll(older.superseded);
+                older.superseded = null;
+            }
+        }
+        
+        void complete(boolean success) {
+            this.success = success;
+            applied.countDown();
+            if (superseded != null) {
+                for (FormalDump each : superseded) {
+                    each.complete(success);
+                }
+            }
+        }
+        
+        boolean awaitApplied() {
+            try {
+                return applied.await(APPLY_TIMEOUT_SECONDS, TimeUnit.SECONDS) && success;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+    }
 }
-
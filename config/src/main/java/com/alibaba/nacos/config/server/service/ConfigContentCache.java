@@ -0,0 +1,280 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.config.server.service;
+
+import com.alibaba.nacos.config.server.model.CacheItem;
+import com.alibaba.nacos.config.server.monitor.MetricsMonitor;
+import com.alibaba.nacos.config.server.service.dump.disk.ConfigDiskServiceFactory;
+import com.alibaba.nacos.config.server.utils.GroupKey2;
+import com.alibaba.nacos.config.server.utils.PropertyUtil;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Size bounded in-memory content cache in front of the config disk service.
+ *
+ * <p>Contents are kept as the utf-8 bytes on disk, so they can be written into responses without decoding. Entries
+ * are weighted by the approximate heap size of the content, and are invalidated by {@link ConfigCacheService} while
+ * it holds the write lock of the {@link CacheItem}. Readers must hold the read lock of the {@link CacheItem} when
+ * calling the get methods, so a value loaded from disk can never overwrite a newer dump.
+ *
+ * @author Nacos
+ */
+public class ConfigContentCache {
+    
+    private static volatile Cache<ContentKey, byte[]> contentCache;
+    
+    private ConfigContentCache() {
+    }
+    
+    /**
+     * Get formal content as utf-8 bytes, from memory if cached or else from the disk service.
+     *
+     * @param dataId dataId.
+     * @param group  group.
+     * @param tenant tenant.
+     * @return content bytes, null if not exist.
+     * @throws IOException io exception.
+     */
+    public static byte[] getContentBytes(String dataId, String group, String tenant) throws IOException {
+        if (!PropertyUtil.isContentCacheEnabled()) {
+            return ConfigDiskServiceFactory.getInstance().getContentBytes(dataId, group, tenant);
+        }
+        ContentKey key = formalKey(GroupKey2.getKey(dataId, group, tenant));
+        byte[] content = getIfPresent(key);
+        if (content == null) {
+            content = ConfigDiskServiceFactory.getInstance().getContentBytes(dataId, group, tenant);
+            putIfNotNull(key, content);
+        }
+        return content;
+    }
+    
+    /**
+     * Get beta content as utf-8 bytes, from memory if cached or else from the disk service.
+     *
+     * @param dataId dataId.
+     * @param group  group.
+     * @param tenant tenant.
+     * @return beta content bytes, null if not exist.
+     * @throws IOException io exception.
+     */
+    public static byte[] getBetaContentBytes(String dataId, String group, String tenant) throws IOException {
+        if (!PropertyUtil.isContentCacheEnabled()) {
+            return ConfigDiskServiceFactory.getInstance().getBetaContentBytes(dataId, group, tenant);
+        }
+        ContentKey key = betaKey(GroupKey2.getKey(dataId, group, tenant));
+        byte[] content = getIfPresent(key);
+        if (content == null) {
+            content = ConfigDiskServiceFactory.getInstance().getBetaContentBytes(dataId, group, tenant);
+            putIfNotNull(key, content);
+        }
+        return content;
+    }
+    
+    /**
+     * Get tag content as utf-8 bytes, from memory if cached or else from the disk service.
+     *
+     * @param dataId dataId.
+     * @param group  group.
+     * @param tenant tenant.
+     * @param tag    tag.
+     * @return tag content bytes, null if not exist.
+     * @throws IOException io exception.
+     */
+    public static byte[] getTagContentBytes(String dataId, String group, String tenant, String tag) throws IOException {
+        if (!PropertyUtil.isContentCacheEnabled()) {
+            return ConfigDiskServiceFactory.getInstance().getTagContentBytes(dataId, group, tenant, tag);
+        }
+        ContentKey key = tagKey(GroupKey2.getKey(dataId, group, tenant), tag);
+        byte[] content = getIfPresent(key);
+        if (content == null) {
+            content = ConfigDiskServiceFactory.getInstance().getTagContentBytes(dataId, group, tenant, tag);
+            putIfNotNull(key, content);
+        }
+        return content;
+    }
+    
+    /**
+     * Invalidate the cached formal content of group key.
+     *
+     * @param groupKey groupKey.
+     */
+    public static void invalidate(String groupKey) {
+        if (contentCache != null) {
+            contentCache.invalidate(formalKey(groupKey));
+        }
+    }
+    
+    /**
+     * Invalidate the cached beta content of group key.
+     *
+     * @param groupKey groupKey.
+     */
+    public static void invalidateBeta(String groupKey) {
+        if (contentCache != null) {
+            contentCache.invalidate(betaKey(groupKey));
+        }
+    }
+    
+    /**
+     * Invalidate the cached tag content of group key.
+     *
+     * @param groupKey groupKey.
+     * @param tag      tag.
+     */
+    public static void invalidateTag(String groupKey, String tag) {
+        if (contentCache != null) {
+            contentCache.invalidate(tagKey(groupKey, tag));
+        }
+    }
+    
+    /**
+     * Invalidate all cached contents of the cache item, including formal, beta and tags.
+     *
+     * @param cacheItem cache item.
+     */
+    public static void invalidateAll(CacheItem cacheItem) {
+        if (contentCache == null || cacheItem == null) {
+            return;
+        }
+        String groupKey = cacheItem.getGroupKey();
+        contentCache.invalidate(formalKey(groupKey));
+        contentCache.invalidate(betaKey(groupKey));
+        Map<String, ?> tags = cacheItem.getConfigCacheTags();
+        if (tags != null) {
+            for (String tag : tags.keySet()) {
+                contentCache.invalidate(tagKey(groupKey, tag));
+            }
+        }
+    }
+    
+    /**
+     * Get the count of cached contents.
+     *
+     * @return cached content count, 0 if cache is not initialized.
+     */
+    public static long size() {
+        return contentCache == null ? 0L : contentCache.size();
+    }
+    
+    private static byte[] getIfPresent(ContentKey key) {
+        byte[] content = getCache().getIfPresent(key);
+        if (content != null) {
+            MetricsMonitor.getConfigContentCacheHit().increment();
+        } else {
+            MetricsMonitor.getConfigContentCacheMiss().increment();
+        }
+        return content;
+    }
+    
+    private static void putIfNotNull(ContentKey key, byte[] content) {
+        if (content != null) {
+            getCache().put(key, content);
+        }
+    }
+    
+    private static Cache<ContentKey, byte[]> getCache() {
+        if (contentCache == null) {
+            synchronized (ConfigContentCache.class) {
+                if (contentCache == null) {
+                    contentCache = CacheBuilder.newBuilder()
+                            .maximumWeight(PropertyUtil.getContentCacheMaxBytes())
+                            .weigher((ContentKey key, byte[] value) -> key.weight() + value.length)
+                            .build();
+                }
+            }
+        }
+        return contentCache;
+    }
+    
+    private static ContentKey formalKey(String groupKey) {
+        return new ContentKey(ContentType.FORMAL, groupKey, null);
+    }
+    
+    private static ContentKey betaKey(String groupKey) {
+        return new ContentKey(ContentType.BETA, groupKey, null);
+    }
+    
+    private static ContentKey tagKey(String groupKey, String tag) {
+        return new ContentKey(ContentType.TAG, groupKey, tag);
+    }
+    
+    private enum ContentType {
+        
+        /**
+         * Formal content.
+         */
+        FORMAL,
+        
+        /**
+         * Beta content.
+         */
+        BETA,
+        
+        /**
+         * Tag content.
+         */
+        TAG
+    }
+    
+    /**
+     * Cache key of one kind of content of a group key. The group key is kept apart from the type and tag, so contents
+     * of different kinds never share a key, whatever the tenant or tag is.
+     */
+    private static final class ContentKey {
+        
+        private final ContentType type;
+        
+        private final String groupKey;
+        
+        private final String tag;
+        
+        private final int hashCode;
+        
+        private ContentKey(ContentType type, String groupKey, String tag) {
+            this.type = type;
+            this.groupKey = groupKey;
+            this.tag = tag;
+            this.hashCode = Objects.hash(type, groupKey, tag);
+        }
+        
+        private int weight() {
+            return (groupKey.length() + (tag == null ? 0 : tag.length())) * 2;
+        }
+        
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof ContentKey)) {
+                return false;
+            }
+            ContentKey that = (ContentKey) o;
+            return type == that.type && groupKey.equals(that.groupKey) && Objects.equals(tag, that.tag);
+        }
+        
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
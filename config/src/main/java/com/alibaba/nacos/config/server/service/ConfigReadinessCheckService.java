@@ -17,6 +17,8 @@
 package com.alibaba.nacos.config.server.service;
 
 import com.alibaba.nacos.api.common.Constants;
+import com.alibaba.nacos.config.server.service.dump.processor.DumpAllProcessor;
+import com.alibaba.nacos.config.server.service.dump.processor.DumpAllProgress;
 import com.alibaba.nacos.config.server.service.repository.ConfigInfoPersistService;
 import com.alibaba.nacos.core.cluster.health.AbstractModuleHealthChecker;
 import com.alibaba.nacos.core.utils.Loggers;
@@ -38,6 +40,11 @@ public class ConfigReadinessCheckService extends AbstractModuleHealthChecker {
     
     @Override
     public boolean readiness() {
+        // check startup dump all
+        DumpAllProgress progress = DumpAllProcessor.getStartupProgress();
+        if (progress != null && !progress.isFinished()) {
+            return false;
+        }
         // check db
         try {
             configInfoPersistService.configInfoCount("");
@@ -48,6 +55,15 @@ public class ConfigReadinessCheckService extends AbstractModuleHealthChecker {
         return false;
     }
     
+    @Override
+    public String readinessDetail() {
+        DumpAllProgress progress = DumpAllProcessor.getStartupProgress();
+        if (progress != null && !progress.isFinished()) {
+            return "dumping, " + progress;
+        }
+        return null;
+    }
+    
     @Override
     public String getModuleName() {
         return Constants.Config.CONFIG_MODULE;
@@ -16,6 +16,7 @@
 
 package com.alibaba.nacos.config.server.service;
 
+import com.alibaba.nacos.common.executor.HashedWheelTimer;
 import com.alibaba.nacos.common.notify.Event;
 import com.alibaba.nacos.common.notify.NotifyCenter;
 import com.alibaba.nacos.common.notify.listener.Subscriber;
@@ -42,14 +43,10 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentLinkedQueue;
-import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 
 import static com.alibaba.nacos.config.server.utils.LogUtil.MEMORY_LOG;
@@ -100,9 +97,13 @@ public class LongPollingService {
         SampleResult sampleResult = new SampleResult();
         Map<String, String> lisentersGroupkeyStatus = new HashMap<>(50);
         
-        for (ClientLongPolling clientLongPolling : allSubs) {
-            if (clientLongPolling.clientMd5Map.containsKey(groupKey)) {
-                lisentersGroupkeyStatus.put(clientLongPolling.ip, clientLongPolling.clientMd5Map.get(groupKey));
+        Set<ClientLongPolling> subscribers = groupKeySubs.get(groupKey);
+        if (subscribers != null) {
+            for (ClientLongPolling clientLongPolling : subscribers) {
+                String md5 = clientLongPolling.clientMd5Map.get(groupKey);
+                if (md5 != null) {
+                    lisentersGroupkeyStatus.put(clientLongPolling.ip, md5);
+                }
             }
         }
         sampleResult.setLisentersGroupkeyStatus(lisentersGroupkeyStatus);
@@ -300,7 +301,8 @@ public class LongPollingService {
     
     @SuppressWarnings("PMD.ThreadPoolCreationRule")
     public LongPollingService() {
-        allSubs = new ConcurrentLinkedQueue<>();
+        allSubs = ConcurrentHashMap.newKeySet();
+        groupKeySubs = new ConcurrentHashMap<>();
         
         ConfigExecutor.scheduleLongPolling(new StatTask(), 0L, 10L, TimeUnit.SECONDS);
         
@@ -337,35 +339,75 @@ public class LongPollingService {
     /**
      * ClientLongPolling subscibers.
      */
-    final Queue<ClientLongPolling> allSubs;
+    final Set<ClientLongPolling> allSubs;
+    
+    /**
+     * ClientLongPolling subscibers indexed by the group keys they are listening.
+     */
+    final Map<String, Set<ClientLongPolling>> groupKeySubs;
+    
+    void addSubscriber(ClientLongPolling clientLongPolling) {
+        allSubs.add(clientLongPolling);
+        for (String groupKey : clientLongPolling.clientMd5Map.keySet()) {
+            groupKeySubs.compute(groupKey, (key, subscribers) -> {
+                if (subscribers == null) {
+                    subscribers = ConcurrentHashMap.newKeySet();
+                }
+                subscribers.add(clientLongPolling);
+                return subscribers;
+            });
+        }
+    }
+    
+    /**
+     * Remove subscriber and its relations, only the caller which removes it successfully should response the client.
+     *
+     * @param clientLongPolling subscriber
+     * @return {@code true} if removed by this call
+     */
+    boolean removeSubscriber(ClientLongPolling clientLongPolling) {
+        if (!allSubs.remove(clientLongPolling)) {
+            return false;
+        }
+        for (String groupKey : clientLongPolling.clientMd5Map.keySet()) {
+            groupKeySubs.computeIfPresent(groupKey, (key, subscribers) -> {
+                subscribers.remove(clientLongPolling);
+                return subscribers.isEmpty() ? null : subscribers;
+            });
+        }
+        return true;
+    }
     
     class DataChangeTask implements Runnable {
         
         @Override
         public void run() {
             try {
-                for (Iterator<ClientLongPolling> iter = allSubs.iterator(); iter.hasNext(); ) {
-                    ClientLongPolling clientSub = iter.next();
-                    if (clientSub.clientMd5Map.containsKey(groupKey)) {
-                        // If published tag is not in the beta list, then it skipped.
-                        if (isBeta && !CollectionUtils.contains(betaIps, clientSub.ip)) {
-                            continue;
-                        }
-                        
-                        // If published tag is not in the tag list, then it skipped.
-                        if (StringUtils.isNotBlank(tag) && !tag.equals(clientSub.tag)) {
-                            continue;
-                        }
-                        
-                        getRetainIps().put(clientSub.ip, System.currentTimeMillis());
-                        iter.remove(); // Delete subscribers' relationships.
-                        LogUtil.CLIENT_LOG
-                                .info("{}|{}|{}|{}|{}|{}|{}", (System.currentTimeMillis() - changeTime), "in-advance",
-                                        RequestUtil
-                                                .getRemoteIp((HttpServletRequest) clientSub.asyncContext.getRequest()),
-                                        "polling", clientSub.clientMd5Map.size(), clientSub.probeRequestSize, groupKey);
-                        clientSub.sendResponse(Collections.singletonList(groupKey));
+                Set<ClientLongPolling> subscribers = groupKeySubs.get(groupKey);
+                if (subscribers == null) {
+                    return;
+                }
+                for (ClientLongPolling clientSub : subscribers) {
+                    // If published tag is not in the beta list, then it skipped.
+                    if (isBeta && !CollectionUtils.contains(betaIps, clientSub.ip)) {
+                        continue;
+                    }
+                    
+                    // If published tag is not in the tag list, then it skipped.
+                    if (StringUtils.isNotBlank(tag) && !tag.equals(clientSub.tag)) {
+                        continue;
+                    }
+                    
+                    // Delete subscribers' relationships, skip it if it is responded by timeout.
+                    if (!removeSubscriber(clientSub)) {
+                        continue;
                     }
+                    getRetainIps().put(clientSub.ip, System.currentTimeMillis());
+                    LogUtil.CLIENT_LOG
+                            .info("{}|{}|{}|{}|{}|{}|{}", (System.currentTimeMillis() - changeTime), "in-advance",
+                                    RequestUtil.getRemoteIp((HttpServletRequest) clientSub.asyncContext.getRequest()),
+                                    "polling", clientSub.clientMd5Map.size(), clientSub.probeRequestSize, groupKey);
+                    clientSub.sendResponse(Collections.singletonList(groupKey));
                 }
                 
             } catch (Throwable t) {
@@ -408,12 +450,12 @@ public class LongPollingService {
         
         @Override
         public void run() {
-            asyncTimeoutFuture = ConfigExecutor.scheduleLongPolling(() -> {
+            asyncTimeoutFuture = ConfigExecutor.scheduleLongPollingTimeout(() -> {
                 try {
                     getRetainIps().put(ClientLongPolling.this.ip, System.currentTimeMillis());
                     
                     // Delete subscriber's relations.
-                    boolean removeFlag = allSubs.remove(ClientLongPolling.this);
+                    boolean removeFlag = removeSubscriber(ClientLongPolling.this);
                     
                     if (removeFlag) {
                         if (isFixedPolling()) {
@@ -445,14 +487,14 @@ public class LongPollingService {
                 
             }, timeoutTime, TimeUnit.MILLISECONDS);
             
-            allSubs.add(this);
+            addSubscriber(this);
         }
         
         void sendResponse(List<String> changedGroups) {
             
             // Cancel time out task.
             if (null != asyncTimeoutFuture) {
-                asyncTimeoutFuture.cancel(false);
+                asyncTimeoutFuture.cancel();
             }
             generateResponse(changedGroups);
         }
@@ -511,7 +553,7 @@ public class LongPollingService {
         
         final long timeoutTime;
         
-        Future<?> asyncTimeoutFuture;
+        HashedWheelTimer.Timeout asyncTimeoutFuture;
         
         @Override
         public String toString() {
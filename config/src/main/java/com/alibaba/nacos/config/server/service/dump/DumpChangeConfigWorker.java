@@ -41,7 +41,7 @@ public class DumpChangeConfigWorker implements Runnable {
     
     private HistoryConfigInfoPersistService historyConfigInfoPersistService;
     
-    Timestamp startTime;
+    volatile Timestamp startTime;
     
     public DumpChangeConfigWorker(DumpService dumpService, Timestamp startTime) {
         this.configInfoPersistService = dumpService.getConfigInfoPersistService();
@@ -53,71 +53,81 @@ public class DumpChangeConfigWorker implements Runnable {
      * do check change.
      */
     public void run() {
-        
         try {
-            Timestamp currentTime = new Timestamp(System.currentTimeMillis());
-            LogUtil.DEFAULT_LOG.info("DumpChange start ,from time {},current time {}", startTime, currentTime);
-            
-            LogUtil.DEFAULT_LOG.info("Start to check delete configs from  time {}", startTime);
-            
-            int pageSize = 100;
-            long startDeletedConfigTime = System.currentTimeMillis();
-            LogUtil.DEFAULT_LOG.info("Check delete configs from  time {}", startTime);
-            
-            long deleteCursorId = 0L;
-            
-            while (true) {
-                List<ConfigInfoWrapper> configDeleted = historyConfigInfoPersistService.findDeletedConfig(startTime,
-                        deleteCursorId, pageSize);
-                for (ConfigInfo configInfo : configDeleted) {
-                    if (configInfoPersistService.findConfigInfo(configInfo.getDataId(), configInfo.getGroup(),
-                            configInfo.getTenant()) == null) {
-                        ConfigCacheService.remove(configInfo.getDataId(), configInfo.getGroup(),
-                                configInfo.getTenant());
-                        LogUtil.DEFAULT_LOG.info("[dump-delete-ok] {}",
-                                new Object[] {GroupKey2.getKey(configInfo.getDataId(), configInfo.getGroup())});
-                    }
-                }
-                if (configDeleted.size() < pageSize) {
-                    break;
+            checkChange();
+        } catch (Throwable e) {
+            LogUtil.DEFAULT_LOG.error("Check changed configs error", e);
+        }
+    }
+    
+    /**
+     * Dump the configs changed and deleted since start time, and move start time to the time this check started.
+     */
+    void checkChange() {
+        Timestamp currentTime = new Timestamp(System.currentTimeMillis());
+        LogUtil.DEFAULT_LOG.info("DumpChange start ,from time {},current time {}", startTime, currentTime);
+        
+        LogUtil.DEFAULT_LOG.info("Start to check delete configs from  time {}", startTime);
+        
+        int pageSize = 100;
+        long startDeletedConfigTime = System.currentTimeMillis();
+        LogUtil.DEFAULT_LOG.info("Check delete configs from  time {}", startTime);
+        
+        long deleteCursorId = 0L;
+        
+        while (true) {
+            List<ConfigInfoWrapper> configDeleted = historyConfigInfoPersistService.findDeletedConfig(startTime,
+                    deleteCursorId, pageSize);
+            for (ConfigInfo configInfo : configDeleted) {
+                if (configInfoPersistService.findConfigInfo(configInfo.getDataId(), configInfo.getGroup(),
+                        configInfo.getTenant()) == null) {
+                    ConfigCacheService.remove(configInfo.getDataId(), configInfo.getGroup(),
+                            configInfo.getTenant());
+                    LogUtil.DEFAULT_LOG.info("[dump-delete-ok] {}",
+                            new Object[] {GroupKey2.getKey(configInfo.getDataId(), configInfo.getGroup())});
                 }
-                deleteCursorId = configDeleted.get(configDeleted.size() - 1).getId();
-                
             }
-            LogUtil.DEFAULT_LOG.info("Check delete configs finished,cost:{}",
-                    System.currentTimeMillis() - startDeletedConfigTime);
-            
-            LogUtil.DEFAULT_LOG.info("Check changeConfig start");
-            long startChangeConfigTime = System.currentTimeMillis();
-            
-            long changeCursorId = 0L;
-            while (true) {
-                LogUtil.DEFAULT_LOG.info("Check changed configs from  time {},lastMaxId={}", startTime, changeCursorId);
-                List<ConfigInfoWrapper> changeConfigs = configInfoPersistService.findChangeConfig(startTime,
-                        changeCursorId, pageSize);
-                for (ConfigInfoWrapper cf : changeConfigs) {
-                    ConfigCacheService.dumpChange(cf.getDataId(), cf.getGroup(), cf.getTenant(), cf.getContent(),
-                            cf.getLastModified(), cf.getEncryptedDataKey());
-                    final String content = cf.getContent();
-                    final String md5 = MD5Utils.md5Hex(content, Constants.ENCODE_UTF8);
-                    
-                    LogUtil.DEFAULT_LOG.info("[dump-change-check-ok] {}, {}, length={}, md5={}",
-                            new Object[] {GroupKey2.getKey(cf.getDataId(), cf.getGroup()), cf.getLastModified(),
-                                    content.length(), md5});
-                }
-                if (changeConfigs.size() < pageSize) {
-                    break;
-                }
-                changeCursorId = changeConfigs.get(changeConfigs.size() - 1).getId();
+            if (configDeleted.size() < pageSize) {
+                break;
             }
+            deleteCursorId = configDeleted.get(configDeleted.size() - 1).getId();
             
-            ConfigCacheService.reloadConfig();
-            long endChangeConfigTime = System.currentTimeMillis();
-            LogUtil.DEFAULT_LOG.info("Check changed configs finished,cost:{},set next start time to {}",
-                    endChangeConfigTime - startChangeConfigTime, currentTime);
-            startTime = currentTime;
-        } catch (Throwable e) {
-            LogUtil.DEFAULT_LOG.error("Check changed configs error", e);
         }
+        LogUtil.DEFAULT_LOG.info("Check delete configs finished,cost:{}",
+                System.currentTimeMillis() - startDeletedConfigTime);
+        
+        LogUtil.DEFAULT_LOG.info("Check changeConfig start");
+        long startChangeConfigTime = System.currentTimeMillis();
+        
+        long changeCursorId = 0L;
+        while (true) {
+            LogUtil.DEFAULT_LOG.info("Check changed configs from  time {},lastMaxId={}", startTime, changeCursorId);
+            List<ConfigInfoWrapper> changeConfigs = configInfoPersistService.findChangeConfig(startTime,
+                    changeCursorId, pageSize);
+            for (ConfigInfoWrapper cf : changeConfigs) {
+                ConfigCacheService.dumpChange(cf.getDataId(), cf.getGroup(), cf.getTenant(), cf.getContent(),
+                        cf.getLastModified(), cf.getEncryptedDataKey());
+                final String content = cf.getContent();
+                final String md5 = MD5Utils.md5Hex(content, Constants.ENCODE_UTF8);
+                
+                LogUtil.DEFAULT_LOG.info("[dump-change-check-ok] {}, {}, length={}, md5={}",
+                        new Object[] {GroupKey2.getKey(cf.getDataId(), cf.getGroup()), cf.getLastModified(),
+                                content.length(), md5});
+            }
+            if (changeConfigs.size() < pageSize) {
+                break;
+            }
+            changeCursorId = changeConfigs.get(changeConfigs.size() - 1).getId();
+        }
+        
+        ConfigCacheService.reloadConfig();
+        long endChangeConfigTime = System.currentTimeMillis();
+        LogUtil.DEFAULT_LOG.info("Check changed configs finished,cost:{},set next start time to {}",
+                endChangeConfigTime - startChangeConfigTime, currentTime);
+        startTime = currentTime;
+    }
+    
+    public Timestamp getStartTime() {
+        return startTime;
     }
 }
@@ -0,0 +1,368 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.config.server.service.dump;
+
+import com.alibaba.nacos.common.utils.JacksonUtils;
+import com.alibaba.nacos.common.utils.MD5Utils;
+import com.alibaba.nacos.config.server.model.CacheItem;
+import com.alibaba.nacos.config.server.model.ConfigCache;
+import com.alibaba.nacos.config.server.model.ConfigInfoWrapper;
+import com.alibaba.nacos.config.server.service.ConfigCacheService;
+import com.alibaba.nacos.config.server.service.dump.disk.ConfigDiskServiceFactory;
+import com.alibaba.nacos.config.server.service.dump.disk.ConfigRocksDbDiskService;
+import com.alibaba.nacos.config.server.utils.GroupKey2;
+import com.alibaba.nacos.config.server.utils.LogUtil;
+import com.alibaba.nacos.config.server.utils.PropertyUtil;
+import com.alibaba.nacos.sys.env.EnvUtil;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.alibaba.nacos.config.server.constant.Constants.ENCODE_UTF8;
+
+/**
+ * Local checkpoint of the config cache, stored next to the rocksdb disk cache.
+ *
+ * <p>The checkpoint records md5, last modified time, type and encrypted data key of each formal config, together with
+ * the time before which all changes in database have been applied. When server restarting, the config cache is
+ * restored from the checkpoint and only the configs changed or deleted after that time are dumped from database,
+ * instead of a full dump. The checkpoint is discarded if its digest is broken, it is older than the retention of
+ * config history, or a sampled md5 check against disk and database fails.
+ *
+ * @author Nacos
+ */
+public class DumpCheckpoint {
+    
+    private static final String CHECKPOINT_DIR = "rocksdata";
+    
+    private static final String DATA_FILE = "dump-checkpoint.data";
+    
+    private static final String META_FILE = "dump-checkpoint.meta";
+    
+    private static final String TMP_SUFFIX = ".tmp";
+    
+    private static final int VERSION = 1;
+    
+    /**
+     * Changes in this margin before the checkpoint time are dumped again, to tolerate clock difference and in-flight
+     * dumps.
+     */
+    private static final long SAFE_MARGIN_MILLIS = TimeUnit.MINUTES.toMillis(1);
+    
+    static final int SAMPLE_COUNT = 32;
+    
+    private final DumpService dumpService;
+    
+    public DumpCheckpoint(DumpService dumpService) {
+        this.dumpService = dumpService;
+    }
+    
+    /**
+     * Whether the checkpoint is enabled, only rocksdb disk cache is kept when server restarting.
+     *
+     * @return {@code true} if enabled
+     */
+    public static boolean isEnabled() {
+        return PropertyUtil.isDumpCheckpointEnabled()
+                && ConfigDiskServiceFactory.getInstance() instanceof ConfigRocksDbDiskService;
+    }
+    
+    /**
+     * Save current config cache as checkpoint.
+     *
+     * @param appliedTime all changes in database before this time have been applied to config cache
+     */
+    public synchronized void save(Timestamp appliedTime) {
+        long startTime = System.currentTimeMillis();
+        File dataFile = getFile(DATA_FILE);
+        File metaFile = getFile(META_FILE);
+        File dataTmpFile = getFile(DATA_FILE + TMP_SUFFIX);
+        File metaTmpFile = getFile(META_FILE + TMP_SUFFIX);
+        try {
+            Files.createDirectories(dataFile.getParentFile().toPath());
+            MessageDigest digest = MessageDigest.getInstance("MD5");
+            int count = 0;
+            try (BufferedWriter writer = Files.newBufferedWriter(dataTmpFile.toPath(), StandardCharsets.UTF_8)) {
+                for (CacheItem each : ConfigCacheService.getAllCacheItems()) {
+                    ConfigCache configCache = each.getConfigCache();
+                    if (configCache.getMd5Utf8() == null) {
+                        continue;
+                    }
+                    CheckpointItem item = new CheckpointItem();
+                    item.setGroupKey(each.getGroupKey());
+                    item.setMd5(configCache.getMd5Utf8());
+                    item.setLastModifiedTs(configCache.getLastModifiedTs());
+                    item.setType(each.getType());
+                    item.setEncryptedDataKey(configCache.getEncryptedDataKey());
+                    String line = JacksonUtils.toJson(item);
+                    digest.update(line.getBytes(StandardCharsets.UTF_8));
+                    writer.write(line);
+                    writer.newLine();
+                    count++;
+                }
+            }
+            CheckpointMeta meta = new CheckpointMeta();
+            meta.setVersion(VERSION);
+            meta.setCheckpointTime(appliedTime.getTime() - SAFE_MARGIN_MILLIS);
+            meta.setConfigCount(count);
+            meta.setDigest(MD5Utils.encodeHexString(digest.digest()));
+            Files.write(metaTmpFile.toPath(), JacksonUtils.toJsonBytes(meta));
+            // the meta is replaced at last, a crash between two moves is detected by the digest
+            Files.move(dataTmpFile.toPath(), dataFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            Files.move(metaTmpFile.toPath(), metaFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            LogUtil.DEFAULT_LOG.info("[dump-checkpoint] saved {} configs applied before {}, cost {} ms", count,
+                    new Timestamp(meta.getCheckpointTime()), System.currentTimeMillis() - startTime);
+        } catch (IOException | NoSuchAlgorithmException e) {
+            LogUtil.DEFAULT_LOG.warn("[dump-checkpoint] save checkpoint failed.", e);
+        }
+    }
+    
+    /**
+     * Discard the checkpoint, should be called before the disk cache is cleared.
+     */
+    public synchronized void discard() {
+        File metaFile = getFile(META_FILE);
+        if (metaFile.exists() && !metaFile.delete()) {
+            LogUtil.DEFAULT_LOG.warn("[dump-checkpoint] delete checkpoint {} failed.", metaFile);
+        }
+    }
+    
+    /**
+     * Restore config cache from checkpoint and dump the delta from database.
+     *
+     * @return {@code true} if restored, {@code false} if a full dump is required
+     */
+    public synchronized boolean restore() {
+        long startTime = System.currentTimeMillis();
+        CheckpointMeta meta;
+        List<CheckpointItem> items;
+        try {
+            meta = readMeta();
+            if (meta == null) {
+                return false;
+            }
+            long retentionMillis = TimeUnit.DAYS.toMillis(dumpService.getRetentionDays());
+            if (meta.getCheckpointTime() < startTime - retentionMillis) {
+                LogUtil.DEFAULT_LOG.warn("[dump-checkpoint] checkpoint at {} is older than config history retention.",
+                        new Timestamp(meta.getCheckpointTime()));
+                return false;
+            }
+            items = readItems(meta);
+            if (items == null || !sampleCheck(items, meta.getCheckpointTime())) {
+                return false;
+            }
+        } catch (Exception e) {
+            LogUtil.DEFAULT_LOG.warn("[dump-checkpoint] read checkpoint failed.", e);
+            return false;
+        }
+        
+        for (CheckpointItem each : items) {
+            ConfigCacheService.updateMd5(each.getGroupKey(), each.getMd5(), each.getLastModifiedTs(),
+                    each.getEncryptedDataKey());
+            ConfigCacheService.getContentCache(each.getGroupKey()).setType(each.getType());
+        }
+        Timestamp checkpointTime = new Timestamp(meta.getCheckpointTime());
+        new DumpChangeConfigWorker(dumpService, checkpointTime).checkChange();
+        LogUtil.DEFAULT_LOG.info("[dump-checkpoint] restored {} configs and dumped changes since {}, cost {} ms",
+                items.size(), checkpointTime, System.currentTimeMillis() - startTime);
+        return true;
+    }
+    
+    private CheckpointMeta readMeta() throws IOException {
+        File metaFile = getFile(META_FILE);
+        if (!metaFile.exists() || !getFile(DATA_FILE).exists()) {
+            LogUtil.DEFAULT_LOG.info("[dump-checkpoint] no checkpoint found.");
+            return null;
+        }
+        CheckpointMeta meta = JacksonUtils.toObj(Files.readAllBytes(metaFile.toPath()), CheckpointMeta.class);
+        if (meta.getVersion() != VERSION) {
+            LogUtil.DEFAULT_LOG.warn("[dump-checkpoint] unsupported checkpoint version {}.", meta.getVersion());
+            return null;
+        }
+        return meta;
+    }
+    
+    private List<CheckpointItem> readItems(CheckpointMeta meta) throws IOException, NoSuchAlgorithmException {
+        MessageDigest digest = MessageDigest.getInstance("MD5");
+        List<CheckpointItem> items = new ArrayList<>(meta.getConfigCount());
+        try (BufferedReader reader = Files.newBufferedReader(getFile(DATA_FILE).toPath(), StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                digest.update(line.getBytes(StandardCharsets.UTF_8));
+                items.add(JacksonUtils.toObj(line, CheckpointItem.class));
+            }
+        }
+        if (items.size() != meta.getConfigCount() || !MD5Utils.encodeHexString(digest.digest())
+                .equals(meta.getDigest())) {
+            LogUtil.DEFAULT_LOG.warn("[dump-checkpoint] checkpoint digest mismatch, expect {} configs, read {}.",
+                    meta.getConfigCount(), items.size());
+            return null;
+        }
+        return items;
+    }
+    
+    /**
+     * Check md5 of sampled configs against the content on disk, and against database if it is not changed after the
+     * checkpoint.
+     */
+    private boolean sampleCheck(List<CheckpointItem> items, long checkpointTime) throws IOException {
+        List<CheckpointItem> samples = new ArrayList<>(items);
+        Collections.shuffle(samples);
+        for (CheckpointItem each : samples.subList(0, Math.min(SAMPLE_COUNT, samples.size()))) {
+            String[] keys = GroupKey2.parseKey(each.getGroupKey());
+            String dataId = keys[0];
+            String group = keys[1];
+            String tenant = keys[2];
+            String content = ConfigDiskServiceFactory.getInstance().getContent(dataId, group, tenant);
+            if (content == null || !MD5Utils.md5Hex(content, ENCODE_UTF8).equals(each.getMd5())) {
+                LogUtil.DEFAULT_LOG.warn("[dump-checkpoint] md5 of {} on disk is different from checkpoint.",
+                        each.getGroupKey());
+                return false;
+            }
+            ConfigInfoWrapper configInfo = dumpService.getConfigInfoPersistService()
+                    .findConfigInfo(dataId, group, tenant);
+            // deleted or changed after checkpoint, will be dumped as delta
+            if (configInfo == null || configInfo.getLastModified() >= checkpointTime) {
+                continue;
+            }
+            if (!each.getMd5().equals(configInfo.getMd5())) {
+                LogUtil.DEFAULT_LOG.warn("[dump-checkpoint] md5 of {} in database is different from checkpoint.",
+                        each.getGroupKey());
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    private File getFile(String name) {
+        return new File(new File(EnvUtil.getNacosHome(), CHECKPOINT_DIR), name);
+    }
+    
+    /**
+     * Checkpoint meta.
+     */
+    public static class CheckpointMeta {
+        
+        private int version;
+        
+        private long checkpointTime;
+        
+        private int configCount;
+        
+        private String digest;
+        
+        public int getVersion() {
+            return version;
+        }
+        
+        public void setVersion(int version) {
+            this.version = version;
+        }
+        
+        public long getCheckpointTime() {
+            return checkpointTime;
+        }
+        
+        public void setCheckpointTime(long checkpointTime) {
+            this.checkpointTime = checkpointTime;
+        }
+        
+        public int getConfigCount() {
+            return configCount;
+        }
+        
+        public void setConfigCount(int configCount) {
+            this.configCount = configCount;
+        }
+        
+        public String getDigest() {
+            return digest;
+        }
+        
+        public void setDigest(String digest) {
+            this.digest = digest;
+        }
+    }
+    
+    /**
+     * Checkpoint of one config.
+     */
+    public static class CheckpointItem {
+        
+        private String groupKey;
+        
+        private String md5;
+        
+        private long lastModifiedTs;
+        
+        private String type;
+        
+        private String encryptedDataKey;
+        
+        public String getGroupKey() {
+            return groupKey;
+        }
+        
+        public void setGroupKey(String groupKey) {
+            this.groupKey = groupKey;
+        }
+        
+        public String getMd5() {
+            return md5;
+        }
+        
+        public void setMd5(String md5) {
+            this.md5 = md5;
+        }
+        
+        public long getLastModifiedTs() {
+            return lastModifiedTs;
+        }
+        
+        public void setLastModifiedTs(long lastModifiedTs) {
+            this.lastModifiedTs = lastModifiedTs;
+        }
+        
+        public String getType() {
+            return type;
+        }
+        
+        public void setType(String type) {
+            this.type = type;
+        }
+        
+        public String getEncryptedDataKey() {
+            return encryptedDataKey;
+        }
+        
+        public void setEncryptedDataKey(String encryptedDataKey) {
+            this.encryptedDataKey = encryptedDataKey;
+        }
+    }
+}
@@ -45,6 +45,7 @@ import com.alibaba.nacos.config.server.utils.DiskUtil;
 import com.alibaba.nacos.config.server.utils.GroupKey;
 import com.alibaba.nacos.config.server.utils.GroupKey2;
 import com.alibaba.nacos.config.server.utils.LogUtil;
+import com.alibaba.nacos.config.server.utils.PropertyUtil;
 import com.alibaba.nacos.config.server.utils.TimeUtils;
 import com.alibaba.nacos.core.cluster.ServerMemberManager;
 import com.alibaba.nacos.core.namespace.repository.NamespacePersistService;
@@ -87,6 +88,10 @@ public abstract class DumpService {
     
     protected DumpAllTagProcessor dumpAllTagProcessor;
     
+    protected DumpCheckpoint dumpCheckpoint;
+    
+    private DumpChangeConfigWorker dumpChangeConfigWorker;
+    
     protected ConfigInfoPersistService configInfoPersistService;
     
     protected NamespacePersistService namespacePersistService;
@@ -159,6 +164,7 @@ public abstract class DumpService {
         this.dumpAllProcessor = new DumpAllProcessor(this);
         this.dumpAllBetaProcessor = new DumpAllBetaProcessor(this);
         this.dumpAllTagProcessor = new DumpAllTagProcessor(this);
+        this.dumpCheckpoint = new DumpCheckpoint(this);
         this.dumpTaskMgr = new TaskManager("com.alibaba.nacos.server.DumpTaskManager");
         this.dumpTaskMgr.setDefaultTaskProcessor(processor);
         
@@ -229,7 +235,9 @@ public abstract class DumpService {
             Timestamp currentTime = new Timestamp(System.currentTimeMillis());
             
             try {
-                dumpConfigInfo(dumpAllProcessor);
+                if (!DumpCheckpoint.isEnabled() || !dumpCheckpoint.restore()) {
+                    dumpConfigInfo(dumpAllProcessor);
+                }
                 
                 // update Beta cache
                 LogUtil.DEFAULT_LOG.info("start clear all config-info-beta.");
@@ -285,12 +293,21 @@ public abstract class DumpService {
                 
                 ConfigExecutor.scheduleConfigTask(dumpAllTag, initialDelay, DUMP_ALL_INTERVAL_IN_MINUTE,
                         TimeUnit.MINUTES);
-                ConfigExecutor.scheduleConfigTask(new DumpChangeConfigWorker(this, currentTime), 0,
-                        DUMP_CHANGE_INTERVAL_IN_SECONDS, TimeUnit.SECONDS);
+                dumpChangeConfigWorker = new DumpChangeConfigWorker(this, currentTime);
+                ConfigExecutor.scheduleConfigTask(dumpChangeConfigWorker, 0, DUMP_CHANGE_INTERVAL_IN_SECONDS,
+                        TimeUnit.SECONDS);
                 
             }
             
             ConfigExecutor.scheduleConfigTask(clearConfigHistory, 10, 10, TimeUnit.MINUTES);
+            
+            if (DumpCheckpoint.isEnabled()) {
+                Runnable checkpoint = () -> dumpCheckpoint.save(null == dumpChangeConfigWorker ? new Timestamp(
+                        System.currentTimeMillis()) : dumpChangeConfigWorker.getStartTime());
+                int checkpointInterval = PropertyUtil.getDumpCheckpointInterval();
+                ConfigExecutor.scheduleConfigTask(checkpoint, checkpointInterval, checkpointInterval,
+                        TimeUnit.MINUTES);
+            }
         } finally {
             TimerContext.end(dumpFileContext, LogUtil.DUMP_LOG);
         }
@@ -301,8 +318,9 @@ public abstract class DumpService {
         
         try {
             LogUtil.DEFAULT_LOG.info("start clear all config-info.");
+            dumpCheckpoint.discard();
             DiskUtil.clearAll();
-            dumpAllProcessor.process(new DumpAllTask());
+            dumpAllProcessor.process(new DumpAllTask(true));
         } catch (Exception e) {
             LogUtil.FATAL_LOG.error("dump config fail" + e.getMessage());
             throw e;
@@ -318,7 +336,7 @@ public abstract class DumpService {
         return Timestamp.valueOf(format.format(cal.getTime()));
     }
     
-    private int getRetentionDays() {
+    int getRetentionDays() {
         String val = EnvUtil.getProperty("nacos.config.retention.days");
         if (null == val) {
             return retentionDays;
@@ -153,6 +153,40 @@ public interface ConfigDiskService {
      */
     String getTagContent(String dataId, String group, String tenant, String tag) throws IOException;
     
+    /**
+     * Returns the content of the cache file in server as utf-8 bytes, without decoding it to string.
+     *
+     * @param dataId dataId.
+     * @param group  group.
+     * @param tenant tenant.
+     * @return content bytes, null if not exist.
+     * @throws IOException io exception.
+     */
+    byte[] getContentBytes(String dataId, String group, String tenant) throws IOException;
+    
+    /**
+     * Returns the beta content of cache file in server as utf-8 bytes, without decoding it to string.
+     *
+     * @param dataId dataId.
+     * @param group  group.
+     * @param tenant tenant.
+     * @return beta content bytes, null if not exist.
+     * @throws IOException io exception.
+     */
+    byte[] getBetaContentBytes(String dataId, String group, String tenant) throws IOException;
+    
+    /**
+     * Returns the tag content of cache file in server as utf-8 bytes, without decoding it to string.
+     *
+     * @param dataId dataId.
+     * @param group  group.
+     * @param tenant tenant.
+     * @param tag    tag.
+     * @return tag content bytes, null if not exist.
+     * @throws IOException io exception.
+     */
+    byte[] getTagContentBytes(String dataId, String group, String tenant, String tag) throws IOException;
+    
     /**
      * get the md5 of config with encode.
      *
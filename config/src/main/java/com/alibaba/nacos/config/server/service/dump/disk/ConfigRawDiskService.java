@@ -217,6 +217,26 @@ public class ConfigRawDiskService implements ConfigDiskService {
         }
     }
     
+    public byte[] getContentBytes(String dataId, String group, String tenant) throws IOException {
+        return file2Bytes(targetFile(dataId, group, tenant));
+    }
+    
+    public byte[] getBetaContentBytes(String dataId, String group, String tenant) throws IOException {
+        return file2Bytes(targetBetaFile(dataId, group, tenant));
+    }
+    
+    public byte[] getTagContentBytes(String dataId, String group, String tenant, String tag) throws IOException {
+        return file2Bytes(targetTagFile(dataId, group, tenant, tag));
+    }
+    
+    private static byte[] file2Bytes(File file) throws IOException {
+        try {
+            return file.exists() ? FileUtils.readFileToByteArray(file) : null;
+        } catch (FileNotFoundException e) {
+            return null;
+        }
+    }
+    
     public String getLocalConfigMd5(String dataId, String group, String tenant, String encode) throws IOException {
         String content = getContent(dataId, group, tenant);
         if (content == null) {
@@ -18,25 +18,42 @@ package com.alibaba.nacos.config.server.service.dump.disk;
 
 import com.alibaba.nacos.common.utils.MD5Utils;
 import com.alibaba.nacos.common.utils.StringUtils;
+import com.alibaba.nacos.config.server.monitor.MetricsMonitor;
 import com.alibaba.nacos.config.server.utils.LogUtil;
+import com.alibaba.nacos.config.server.utils.PropertyUtil;
 import com.alibaba.nacos.sys.env.EnvUtil;
+import org.apache.commons.io.FileUtils;
 import org.rocksdb.BlockBasedTableConfig;
+import org.rocksdb.BloomFilter;
+import org.rocksdb.Cache;
+import org.rocksdb.ColumnFamilyDescriptor;
+import org.rocksdb.ColumnFamilyHandle;
 import org.rocksdb.ColumnFamilyOptions;
+import org.rocksdb.CompressionType;
 import org.rocksdb.DBOptions;
-import org.rocksdb.Options;
+import org.rocksdb.LRUCache;
 import org.rocksdb.RocksDB;
 import org.rocksdb.RocksDBException;
+import org.rocksdb.Statistics;
+import org.rocksdb.StatsLevel;
+import org.rocksdb.TickerType;
 
 import java.io.File;
 import java.io.IOException;
-import java.util.HashMap;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static com.alibaba.nacos.config.server.constant.Constants.ENCODE_UTF8;
 
 /**
  * config rocks db disk service.
  *
+ * <p>Formal, beta, tag and batch configs are kept in column families of one rocksdb instance, which share one LRU
+ * block cache and write ahead log. Statistics of the instance are exported to the config meter registry.
+ *
  * @author shiyiyue
  */
 @SuppressWarnings("PMD.ServiceOrDaoClassShouldEndWithImplRule")
@@ -44,45 +61,47 @@ public class ConfigRocksDbDiskService implements ConfigDiskService {
     
     private static final String ROCKSDB_DATA = File.separator + "rocksdata" + File.separator;
     
-    private static final String BASE_DIR = ROCKSDB_DATA + "config-data";
+    private static final String DB_DIR = ROCKSDB_DATA + "config-db";
+    
+    private static final String BASE_DIR = "config-data";
+    
+    private static final String BETA_DIR = "beta-data";
     
-    private static final String BETA_DIR = ROCKSDB_DATA + "beta-data";
+    private static final String TAG_DIR = "tag-data";
     
-    private static final String TAG_DIR = ROCKSDB_DATA + "tag-data";
+    private static final String BATCH_DIR = "batch-data";
     
-    private static final String BATCH_DIR = ROCKSDB_DATA + "batch-data";
+    private static final String[] COLUMN_FAMILIES = new String[] {BASE_DIR, BETA_DIR, TAG_DIR, BATCH_DIR};
     
     private static final long DEFAULT_WRITE_BUFFER_MB = 32;
     
-    Map<String, RocksDB> rocksDbMap = new HashMap<>();
+    private static final int BLOOM_FILTER_BITS_PER_KEY = 10;
     
-    private void createDirIfNotExist(String dir) {
-        File roskDataDir = new File(EnvUtil.getNacosHome(), "rocksdata");
-        if (!roskDataDir.exists()) {
-            roskDataDir.mkdir();
-        }
-        File baseDir = new File(EnvUtil.getNacosHome(), dir);
-        if (!baseDir.exists()) {
-            baseDir.mkdir();
-        }
-    }
+    /**
+     * Keys are utf-8 encoded, which never contain byte 0xFF, so [empty, 0xFF) covers all keys of a column family.
+     */
+    private static final byte[] KEY_RANGE_BEGIN = new byte[0];
     
-    private void deleteDirIfExist(String dir) {
-        File rockskDataDir = new File(EnvUtil.getNacosHome(), "rocksdata");
-        if (!rockskDataDir.exists()) {
-            return;
-        }
-        File baseDir = new File(EnvUtil.getNacosHome(), dir);
-        if (baseDir.exists()) {
-            baseDir.delete();
-        }
-    }
+    private static final byte[] KEY_RANGE_END = new byte[] {(byte) 0xFF};
+    
+    private static final TickerType[] EXPORTED_TICKERS = new TickerType[] {TickerType.BLOCK_CACHE_HIT,
+            TickerType.BLOCK_CACHE_MISS, TickerType.BLOOM_FILTER_USEFUL, TickerType.BLOOM_FILTER_FULL_POSITIVE,
+            TickerType.MEMTABLE_HIT, TickerType.MEMTABLE_MISS, TickerType.NUMBER_KEYS_READ,
+            TickerType.NUMBER_KEYS_WRITTEN, TickerType.BYTES_READ, TickerType.BYTES_WRITTEN,
+            TickerType.COMPACT_READ_BYTES, TickerType.COMPACT_WRITE_BYTES, TickerType.STALL_MICROS};
+    
+    private final Map<String, ColumnFamilyHandle> columnFamilyHandles = new ConcurrentHashMap<>(8);
+    
+    private volatile RocksDB rocksDb;
+    
+    private Cache blockCache;
+    
+    private Statistics statistics;
+    
+    private CompressionType compressionType = CompressionType.NO_COMPRESSION;
     
     public ConfigRocksDbDiskService() {
-        createDirIfNotExist(BASE_DIR);
-        createDirIfNotExist(BETA_DIR);
-        createDirIfNotExist(TAG_DIR);
-        createDirIfNotExist(BATCH_DIR);
+        createDirIfEmpty(EnvUtil.getNacosHome() + DB_DIR);
     }
     
     private byte[] getKeyByte(String dataId, String group, String tenant, String tag) throws IOException {
@@ -120,7 +139,8 @@ public class ConfigRocksDbDiskService implements ConfigDiskService {
     public void saveToDiskInner(String type, String dataId, String group, String tenant, String tag, String content)
             throws IOException {
         try {
-            initAndGetDB(type).put(getKeyByte(dataId, group, tenant, tag), content.getBytes(ENCODE_UTF8));
+            ColumnFamilyHandle handle = initAndGetDB(type);
+            rocksDb.put(handle, getKeyByte(dataId, group, tenant, tag), content.getBytes(ENCODE_UTF8));
         } catch (RocksDBException e) {
             throw new IOException(e);
         }
@@ -202,19 +222,69 @@ public class ConfigRocksDbDiskService implements ConfigDiskService {
         return new String(bytes, ENCODE_UTF8);
     }
     
-    RocksDB initAndGetDB(String dir) throws IOException, RocksDBException {
-        if (rocksDbMap.containsKey(dir)) {
-            return rocksDbMap.get(dir);
-        } else {
+    ColumnFamilyHandle initAndGetDB(String columnFamily) throws RocksDBException {
+        if (rocksDb == null) {
             synchronized (this) {
-                if (rocksDbMap.containsKey(dir)) {
-                    return rocksDbMap.get(dir);
+                if (rocksDb == null) {
+                    openDb();
+                }
+            }
+        }
+        return columnFamilyHandles.get(columnFamily);
+    }
+    
+    private void openDb() throws RocksDBException {
+        deleteLegacyDirs();
+        String path = EnvUtil.getNacosHome() + DB_DIR;
+        createDirIfEmpty(path);
+        // load native library before creating the shared cache, which is not loaded by rocksdb objects themselves.
+        RocksDB.loadLibrary();
+        blockCache = new LRUCache(PropertyUtil.getRocksDbBlockCacheMaxBytes());
+        compressionType = parseCompressionType(PropertyUtil.getRocksDbCompression());
+        List<ColumnFamilyDescriptor> descriptors = new ArrayList<>(COLUMN_FAMILIES.length + 1);
+        descriptors.add(new ColumnFamilyDescriptor(RocksDB.DEFAULT_COLUMN_FAMILY));
+        for (String each : COLUMN_FAMILIES) {
+            descriptors.add(new ColumnFamilyDescriptor(each.getBytes(StandardCharsets.UTF_8),
+                    createColumnFamilyOptions(each)));
+        }
+        List<ColumnFamilyHandle> handles = new ArrayList<>(descriptors.size());
+        RocksDB db = RocksDB.open(createOptions(), path, descriptors, handles);
+        for (int i = 0; i < COLUMN_FAMILIES.length; i++) {
+            columnFamilyHandles.put(COLUMN_FAMILIES[i], handles.get(i + 1));
+        }
+        rocksDb = db;
+        registerMetrics();
+        LogUtil.DEFAULT_LOG.info("open config rocksdb {}, block cache {} bytes, compression {}", path,
+                PropertyUtil.getRocksDbBlockCacheMaxBytes(), compressionType);
+    }
+    
+    /**
+     * Delete the directories of the separated rocksdb instances used by previous versions, the dump all task will
+     * rebuild the data into the column families.
+     */
+    private void deleteLegacyDirs() {
+        for (String each : COLUMN_FAMILIES) {
+            File legacyDir = new File(EnvUtil.getNacosHome(), ROCKSDB_DATA + each);
+            if (legacyDir.exists()) {
+                try {
+                    FileUtils.deleteDirectory(legacyDir);
+                    LogUtil.DEFAULT_LOG.info("delete legacy rocksdb dir {}", legacyDir.getAbsolutePath());
+                } catch (IOException e) {
+                    LogUtil.DEFAULT_LOG.warn("delete legacy rocksdb dir {} failed.", legacyDir.getAbsolutePath(), e);
                 }
-                createDirIfEmpty(EnvUtil.getNacosHome() + dir);
-                rocksDbMap.put(dir, RocksDB.open(createOptions(dir), EnvUtil.getNacosHome() + dir));
-                return rocksDbMap.get(dir);
             }
-            
+        }
+    }
+    
+    private void registerMetrics() {
+        MetricsMonitor.registerRocksDbGauge("blockCacheUsage", blockCache, Cache::getUsage);
+        MetricsMonitor.registerRocksDbGauge("blockCachePinnedUsage", blockCache, Cache::getPinnedUsage);
+        if (statistics == null) {
+            return;
+        }
+        for (TickerType each : EXPORTED_TICKERS) {
+            MetricsMonitor.registerRocksDbCounter(each.name().toLowerCase(), statistics,
+                    stat -> stat.getTickerCount(each));
         }
     }
     
@@ -228,7 +298,8 @@ public class ConfigRocksDbDiskService implements ConfigDiskService {
     private String getContentInner(String type, String dataId, String group, String tenant) throws IOException {
         byte[] bytes = null;
         try {
-            bytes = initAndGetDB(type).get(getKeyByte(dataId, group, tenant, null));
+            ColumnFamilyHandle handle = initAndGetDB(type);
+            bytes = rocksDb.get(handle, getKeyByte(dataId, group, tenant, null));
             String string = byte2String(bytes);
             return string;
         } catch (RocksDBException e) {
@@ -236,11 +307,22 @@ public class ConfigRocksDbDiskService implements ConfigDiskService {
         }
     }
     
+    private byte[] getBytesInner(String type, String dataId, String group, String tenant, String tag)
+            throws IOException {
+        try {
+            ColumnFamilyHandle handle = initAndGetDB(type);
+            return rocksDb.get(handle, getKeyByte(dataId, group, tenant, tag));
+        } catch (RocksDBException e) {
+            throw new IOException(e);
+        }
+    }
+    
     private String getTagContentInner(String type, String dataId, String group, String tenant, String tag)
             throws IOException {
         byte[] bytes = null;
         try {
-            bytes = initAndGetDB(type).get(getKeyByte(dataId, group, tenant, tag));
+            ColumnFamilyHandle handle = initAndGetDB(type);
+            bytes = rocksDb.get(handle, getKeyByte(dataId, group, tenant, tag));
             return byte2String(bytes);
         } catch (RocksDBException e) {
             throw new IOException(e);
@@ -249,7 +331,8 @@ public class ConfigRocksDbDiskService implements ConfigDiskService {
     
     private void removeContentInner(String type, String dataId, String group, String tenant, String tag) {
         try {
-            initAndGetDB(type).delete(getKeyByte(dataId, group, tenant, tag));
+            ColumnFamilyHandle handle = initAndGetDB(type);
+            rocksDb.delete(handle, getKeyByte(dataId, group, tenant, tag));
         } catch (Exception e) {
             LogUtil.DEFAULT_LOG.warn("Remove dir=[{}] config fail,dataId={},group={},tenant={},error={}", type, dataId,
                     group, tenant, e.getCause());
@@ -274,22 +357,47 @@ public class ConfigRocksDbDiskService implements ConfigDiskService {
         return getContentInner(BASE_DIR, dataId, group, tenant);
     }
     
+    public byte[] getContentBytes(String dataId, String group, String tenant) throws IOException {
+        return getBytesInner(BASE_DIR, dataId, group, tenant, null);
+    }
+    
+    public byte[] getBetaContentBytes(String dataId, String group, String tenant) throws IOException {
+        return getBytesInner(BETA_DIR, dataId, group, tenant, null);
+    }
+    
+    public byte[] getTagContentBytes(String dataId, String group, String tenant, String tag) throws IOException {
+        return getBytesInner(TAG_DIR, dataId, group, tenant, tag);
+    }
+    
     public String getLocalConfigMd5(String dataId, String group, String tenant, String encode) throws IOException {
         return MD5Utils.md5Hex(getContentInner(BASE_DIR, dataId, group, tenant), encode);
     }
     
-    Options createOptions(String dir) {
+    DBOptions createOptions() {
         DBOptions dbOptions = new DBOptions();
+        dbOptions.setCreateIfMissing(true);
+        dbOptions.setCreateMissingColumnFamilies(true);
         dbOptions.setMaxBackgroundJobs(Runtime.getRuntime().availableProcessors());
-        Options options = new Options(dbOptions, createColumnFamilyOptions(dir));
-        options.setCreateIfMissing(true);
-        return options;
+        // column families share one wal, force flushing rarely written ones to keep the wal from growing unbounded.
+        dbOptions.setMaxTotalWalSize(4 * getSuitFormalCacheSizeMB(BASE_DIR) * 1024 * 1024);
+        if (PropertyUtil.isRocksDbStatisticsEnabled()) {
+            statistics = new Statistics();
+            statistics.setStatsLevel(StatsLevel.EXCEPT_DETAILED_TIMERS);
+            dbOptions.setStatistics(statistics);
+        }
+        return dbOptions;
     }
     
     ColumnFamilyOptions createColumnFamilyOptions(String dir) {
-        ColumnFamilyOptions columnFamilyOptions = new ColumnFamilyOptions();
         BlockBasedTableConfig tableFormatConfig = new BlockBasedTableConfig();
+        tableFormatConfig.setBlockCache(blockCache);
+        // configs are always read by point lookup of the whole key, bloom filter skips sst files without the key.
+        tableFormatConfig.setFilterPolicy(new BloomFilter(BLOOM_FILTER_BITS_PER_KEY, false));
+        tableFormatConfig.setCacheIndexAndFilterBlocks(true);
+        tableFormatConfig.setPinL0FilterAndIndexBlocksInCache(true);
+        ColumnFamilyOptions columnFamilyOptions = new ColumnFamilyOptions();
         columnFamilyOptions.setTableFormatConfig(tableFormatConfig);
+        columnFamilyOptions.setCompressionType(compressionType);
         //set more write buffer size to formal config-data, reduce flush to sst file frequency.
         columnFamilyOptions.setWriteBufferSize(getSuitFormalCacheSizeMB(dir) * 1024 * 1024);
         //once a stt file is flushed, compact it immediately to avoid too many sst file which will result in read latency.
@@ -297,6 +405,33 @@ public class ConfigRocksDbDiskService implements ConfigDiskService {
         return columnFamilyOptions;
     }
     
+    /**
+     * Parse compression type by the library name, such as lz4 or zstd.
+     *
+     * <p>Rocksdb treats unknown names as no compression, which is warned here so that a typo is not silently ignored.
+     *
+     * @param libraryName library name of compression, no compression if blank
+     * @return compression type
+     */
+    static CompressionType parseCompressionType(String libraryName) {
+        if (StringUtils.isBlank(libraryName)) {
+            return CompressionType.NO_COMPRESSION;
+        }
+        List<String> supported = new ArrayList<>();
+        for (CompressionType each : CompressionType.values()) {
+            if (null == each.getLibraryName()) {
+                continue;
+            }
+            if (each.getLibraryName().equalsIgnoreCase(libraryName.trim())) {
+                return each;
+            }
+            supported.add(each.getLibraryName());
+        }
+        LogUtil.DEFAULT_LOG.warn("unknown config rocksdb compression {}, use no compression, supported are {}",
+                libraryName, supported);
+        return CompressionType.NO_COMPRESSION;
+    }
+    
     /**
      * get suit formal buffer size.
      *
@@ -333,64 +468,38 @@ public class ConfigRocksDbDiskService implements ConfigDiskService {
      * Clear all config file.
      */
     public void clearAll() {
-        try {
-            if (rocksDbMap.containsKey(BASE_DIR)) {
-                rocksDbMap.get(BASE_DIR).close();
-                RocksDB.destroyDB(EnvUtil.getNacosHome() + BASE_DIR, new Options());
-            }
-            deleteDirIfExist(BASE_DIR);
-            LogUtil.DEFAULT_LOG.info("clear all config-info success.");
-        } catch (RocksDBException e) {
-            LogUtil.DEFAULT_LOG.warn("clear all config-info failed.", e);
-        }
+        clearColumnFamily(BASE_DIR, "config-info");
     }
     
     /**
      * Clear all beta config file.
      */
     public void clearAllBeta() {
-        try {
-            if (rocksDbMap.containsKey(BETA_DIR)) {
-                rocksDbMap.get(BETA_DIR).close();
-                RocksDB.destroyDB(EnvUtil.getNacosHome() + BETA_DIR, new Options());
-            }
-            deleteDirIfExist(BETA_DIR);
-            LogUtil.DEFAULT_LOG.info("clear all config-info-beta success.");
-        } catch (RocksDBException e) {
-            LogUtil.DEFAULT_LOG.warn("clear all config-info-beta failed.", e);
-        }
+        clearColumnFamily(BETA_DIR, "config-info-beta");
     }
     
     /**
      * Clear all tag config file.
      */
     public void clearAllTag() {
-        
-        try {
-            if (rocksDbMap.containsKey(TAG_DIR)) {
-                rocksDbMap.get(TAG_DIR).close();
-                RocksDB.destroyDB(EnvUtil.getNacosHome() + TAG_DIR, new Options());
-            }
-            deleteDirIfExist(TAG_DIR);
-            LogUtil.DEFAULT_LOG.info("clear all config-info-tag success.");
-        } catch (RocksDBException e) {
-            LogUtil.DEFAULT_LOG.warn("clear all config-info-tag failed.", e);
-        }
+        clearColumnFamily(TAG_DIR, "config-info-tag");
     }
     
     /**
      * clear all batch.
      */
     public void clearAllBatch() {
+        clearColumnFamily(BATCH_DIR, "config-info-batch");
+    }
+    
+    private void clearColumnFamily(String columnFamily, String name) {
         try {
-            if (rocksDbMap.containsKey(BATCH_DIR)) {
-                rocksDbMap.get(BATCH_DIR).close();
-                RocksDB.destroyDB(EnvUtil.getNacosHome() + BATCH_DIR, new Options());
-            }
-            deleteDirIfExist(BATCH_DIR);
-            LogUtil.DEFAULT_LOG.info("clear all config-info-batch success.");
+            ColumnFamilyHandle handle = initAndGetDB(columnFamily);
+            rocksDb.deleteRange(handle, KEY_RANGE_BEGIN, KEY_RANGE_END);
+            rocksDb.compactRange(handle);
+            LogUtil.DEFAULT_LOG.info("clear all {} success.", name);
         } catch (RocksDBException e) {
-            LogUtil.DEFAULT_LOG.warn("clear all config-info-batch failed.", e);
+            LogUtil.DEFAULT_LOG.warn("clear all {} failed.", name, e);
         }
     }
     
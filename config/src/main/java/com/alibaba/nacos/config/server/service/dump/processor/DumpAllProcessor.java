@@ -16,6 +16,8 @@
 
 package com.alibaba.nacos.config.server.service.dump.processor;
 
+import com.alibaba.nacos.common.executor.ExecutorFactory;
+import com.alibaba.nacos.common.executor.NameThreadFactory;
 import com.alibaba.nacos.common.task.NacosTask;
 import com.alibaba.nacos.common.utils.MD5Utils;
 import com.alibaba.nacos.config.server.constant.Constants;
@@ -27,15 +29,29 @@ import com.alibaba.nacos.config.server.service.ClientIpWhiteList;
 import com.alibaba.nacos.config.server.service.ConfigCacheService;
 import com.alibaba.nacos.config.server.service.SwitchService;
 import com.alibaba.nacos.config.server.service.dump.DumpService;
+import com.alibaba.nacos.config.server.service.dump.task.DumpAllTask;
 import com.alibaba.nacos.config.server.service.repository.ConfigInfoPersistService;
 import com.alibaba.nacos.config.server.utils.GroupKey2;
 import com.alibaba.nacos.config.server.utils.LogUtil;
+import com.alibaba.nacos.config.server.utils.PropertyUtil;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static com.alibaba.nacos.config.server.utils.LogUtil.DEFAULT_LOG;
 
 /**
  * Dump all processor.
  *
+ * <p>Pages are prefetched from database by one thread into a bounded queue, while the calling thread loads the
+ * metadata configs and hands the rows to md5 and disk workers partitioned by group key hash. All the hand-offs are
+ * bounded, so a slow disk blocks the prefetcher instead of buffering the whole table in memory.
+ *
  * @author Nacos
  * @date 2020/7/5 12:19 PM
  */
@@ -49,44 +65,162 @@ public class DumpAllProcessor implements NacosTaskProcessor {
     @Override
     public boolean process(NacosTask task) {
         long currentMaxId = configInfoPersistService.findConfigMaxId();
-        long lastMaxId = 0;
-        while (lastMaxId < currentMaxId) {
-            Page<ConfigInfoWrapper> page = configInfoPersistService.findAllConfigInfoFragment(lastMaxId, PAGE_SIZE);
-            if (page != null && page.getPageItems() != null && !page.getPageItems().isEmpty()) {
-                for (ConfigInfoWrapper cf : page.getPageItems()) {
-                    long id = cf.getId();
-                    lastMaxId = Math.max(id, lastMaxId);
-                    if (cf.getDataId().equals(AggrWhitelist.AGGRIDS_METADATA)) {
-                        AggrWhitelist.load(cf.getContent());
-                    }
-                    
-                    if (cf.getDataId().equals(ClientIpWhiteList.CLIENT_IP_WHITELIST_METADATA)) {
-                        ClientIpWhiteList.load(cf.getContent());
-                    }
-                    
-                    if (cf.getDataId().equals(SwitchService.SWITCH_META_DATA_ID)) {
-                        SwitchService.load(cf.getContent());
+        DumpAllProgress progress = new DumpAllProgress(currentMaxId);
+        if (task instanceof DumpAllTask && ((DumpAllTask) task).isStartup()) {
+            startupProgress = progress;
+        }
+        int workerCount = Math.max(1, PropertyUtil.getDumpAllWorkerCount());
+        ExecutorService executor = ExecutorFactory.newFixedExecutorService(workerCount + 1,
+                new NameThreadFactory("com.alibaba.nacos.config.dump.all"));
+        BlockingQueue<List<ConfigInfoWrapper>> pageQueue = new ArrayBlockingQueue<>(PREFETCH_PAGE_COUNT);
+        List<BlockingQueue<ConfigInfoWrapper>> workerQueues = new ArrayList<>(workerCount);
+        CountDownLatch workerFinished = new CountDownLatch(workerCount);
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        try {
+            executor.execute(() -> prefetch(currentMaxId, pageQueue, error));
+            for (int i = 0; i < workerCount; i++) {
+                BlockingQueue<ConfigInfoWrapper> workerQueue = new ArrayBlockingQueue<>(PAGE_SIZE);
+                workerQueues.add(workerQueue);
+                executor.execute(() -> dumpRows(workerQueue, progress, workerFinished, error));
+            }
+            dispatch(pageQueue, workerQueues, progress);
+            workerFinished.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            DEFAULT_LOG.error("[all-dump] interrupted, {}", progress);
+            return false;
+        } finally {
+            executor.shutdownNow();
+        }
+        Throwable throwable = error.get();
+        if (throwable != null) {
+            DEFAULT_LOG.error("[all-dump] failed, {}", progress);
+            if (throwable instanceof RuntimeException) {
+                throw (RuntimeException) throwable;
+            }
+            throw new IllegalStateException("dump all config failed", throwable);
+        }
+        progress.finish();
+        DEFAULT_LOG.info("[all-dump] finished, {}", progress);
+        return true;
+    }
+    
+    /**
+     * Get the progress of dump all when server starting, null if it is not started yet.
+     *
+     * @return startup dump all progress
+     */
+    public static DumpAllProgress getStartupProgress() {
+        return startupProgress;
+    }
+    
+    private void prefetch(long currentMaxId, BlockingQueue<List<ConfigInfoWrapper>> pageQueue,
+            AtomicReference<Throwable> error) {
+        try {
+            long lastMaxId = 0;
+            while (lastMaxId < currentMaxId && error.get() == null) {
+                Page<ConfigInfoWrapper> page = null;
+                try {
+                    page = configInfoPersistService.findAllConfigInfoFragment(lastMaxId, PAGE_SIZE);
+                } catch (Throwable e) {
+                    error.compareAndSet(null, e);
+                }
+                if (page != null && page.getPageItems() != null && !page.getPageItems().isEmpty()) {
+                    for (ConfigInfoWrapper cf : page.getPageItems()) {
+                        lastMaxId = Math.max(cf.getId(), lastMaxId);
                     }
+                    pageQueue.put(page.getPageItems());
+                } else {
+                    lastMaxId += PAGE_SIZE;
+                }
+            }
+            // the dispatcher drains the queue until the end mark, it is only gone when this thread is interrupted
+            pageQueue.put(END_OF_PAGES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
     
-                    ConfigCacheService.dump(cf.getDataId(), cf.getGroup(), cf.getTenant(), cf.getContent(),
-                            cf.getLastModified(), cf.getType(), cf.getEncryptedDataKey());
-                    
-                    final String content = cf.getContent();
-                    final String md5 = MD5Utils.md5Hex(content, Constants.ENCODE);
-                    LogUtil.DUMP_LOG.info("[dump-all-ok] {}, {}, length={}, md5={}",
-                            GroupKey2.getKey(cf.getDataId(), cf.getGroup()), cf.getLastModified(), content.length(),
-                            md5);
+    private void dispatch(BlockingQueue<List<ConfigInfoWrapper>> pageQueue,
+            List<BlockingQueue<ConfigInfoWrapper>> workerQueues, DumpAllProgress progress)
+            throws InterruptedException {
+        try {
+            List<ConfigInfoWrapper> pageItems;
+            while ((pageItems = pageQueue.take()) != END_OF_PAGES) {
+                long lastMaxId = progress.getFetchedId();
+                for (ConfigInfoWrapper cf : pageItems) {
+                    lastMaxId = Math.max(cf.getId(), lastMaxId);
+                    loadMetadata(cf);
+                    String groupKey = GroupKey2.getKey(cf.getDataId(), cf.getGroup(), cf.getTenant());
+                    int index = (groupKey.hashCode() & Integer.MAX_VALUE) % workerQueues.size();
+                    workerQueues.get(index).put(cf);
                 }
-                DEFAULT_LOG.info("[all-dump] {} / {}", lastMaxId, currentMaxId);
-            } else {
-                lastMaxId += PAGE_SIZE;
+                progress.setFetchedId(lastMaxId);
+                DEFAULT_LOG.info("[all-dump] {} / {}, {}", lastMaxId, progress.getMaxId(), progress);
+            }
+        } finally {
+            for (BlockingQueue<ConfigInfoWrapper> each : workerQueues) {
+                each.put(END_OF_ROWS);
             }
         }
-        return true;
+    }
+    
+    private void loadMetadata(ConfigInfoWrapper cf) {
+        if (cf.getDataId().equals(AggrWhitelist.AGGRIDS_METADATA)) {
+            AggrWhitelist.load(cf.getContent());
+        }
+        
+        if (cf.getDataId().equals(ClientIpWhiteList.CLIENT_IP_WHITELIST_METADATA)) {
+            ClientIpWhiteList.load(cf.getContent());
+        }
+        
+        if (cf.getDataId().equals(SwitchService.SWITCH_META_DATA_ID)) {
+            SwitchService.load(cf.getContent());
+        }
+    }
+    
+    private void dumpRows(BlockingQueue<ConfigInfoWrapper> workerQueue, DumpAllProgress progress,
+            CountDownLatch workerFinished, AtomicReference<Throwable> error) {
+        try {
+            ConfigInfoWrapper cf;
+            while ((cf = workerQueue.take()) != END_OF_ROWS) {
+                // keep draining after failure, so that the dispatcher is never blocked by a full queue
+                if (error.get() != null) {
+                    continue;
+                }
+                try {
+                    dumpRow(cf);
+                    progress.increaseDumpedCount();
+                } catch (Throwable e) {
+                    error.compareAndSet(null, e);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            workerFinished.countDown();
+        }
+    }
+    
+    private void dumpRow(ConfigInfoWrapper cf) {
+        final String content = cf.getContent();
+        final String md5 = MD5Utils.md5Hex(content, Constants.ENCODE);
+        ConfigCacheService.dumpWithMd5(cf.getDataId(), cf.getGroup(), cf.getTenant(), content, md5,
+                cf.getLastModified(), cf.getType(), cf.getEncryptedDataKey());
+        LogUtil.DUMP_LOG.info("[dump-all-ok] {}, {}, length={}, md5={}",
+                GroupKey2.getKey(cf.getDataId(), cf.getGroup()), cf.getLastModified(), content.length(), md5);
     }
     
     static final int PAGE_SIZE = 1000;
     
+    static final int PREFETCH_PAGE_COUNT = 2;
+    
+    private static final List<ConfigInfoWrapper> END_OF_PAGES = new ArrayList<>(0);
+    
+    private static final ConfigInfoWrapper END_OF_ROWS = new ConfigInfoWrapper();
+    
+    private static volatile DumpAllProgress startupProgress;
+    
     final DumpService dumpService;
     
     final ConfigInfoPersistService configInfoPersistService;
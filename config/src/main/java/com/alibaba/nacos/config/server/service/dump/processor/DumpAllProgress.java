@@ -0,0 +1,86 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.config.server.service.dump.processor;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Progress of one dump all execution.
+ *
+ * @author Nacos
+ */
+public class DumpAllProgress {
+    
+    private final long maxId;
+    
+    private final long startTime;
+    
+    private final AtomicLong dumpedCount = new AtomicLong();
+    
+    private volatile long fetchedId;
+    
+    private volatile boolean finished;
+    
+    public DumpAllProgress(long maxId) {
+        this.maxId = maxId;
+        this.startTime = System.currentTimeMillis();
+    }
+    
+    public long getMaxId() {
+        return maxId;
+    }
+    
+    public long getFetchedId() {
+        return fetchedId;
+    }
+    
+    public void setFetchedId(long fetchedId) {
+        this.fetchedId = fetchedId;
+    }
+    
+    public long getDumpedCount() {
+        return dumpedCount.get();
+    }
+    
+    public void increaseDumpedCount() {
+        dumpedCount.incrementAndGet();
+    }
+    
+    public boolean isFinished() {
+        return finished;
+    }
+    
+    public void finish() {
+        this.finished = true;
+    }
+    
+    /**
+     * Get the dumped configs per second since this dump all started.
+     *
+     * @return configs per second
+     */
+    public long getThroughput() {
+        long costMillis = Math.max(1L, System.currentTimeMillis() - startTime);
+        return getDumpedCount() * 1000L / costMillis;
+    }
+    
+    @Override
+    public String toString() {
+        return "dumped " + getDumpedCount() + " configs, fetched id " + fetchedId + " / " + maxId + ", "
+                + getThroughput() + " configs/s";
+    }
+}
@@ -26,6 +26,23 @@ import com.alibaba.nacos.common.task.AbstractDelayTask;
  */
 public class DumpAllTask extends AbstractDelayTask {
     
+    /**
+     * Whether this task is the first dump all when server starting.
+     */
+    private final boolean startup;
+    
+    public DumpAllTask() {
+        this(false);
+    }
+    
+    public DumpAllTask(boolean startup) {
+        this.startup = startup;
+    }
+    
+    public boolean isStartup() {
+        return startup;
+    }
+    
     @Override
     public void merge(AbstractDelayTask task) {
     }
@@ -17,6 +17,7 @@
 package com.alibaba.nacos.config.server.utils;
 
 import com.alibaba.nacos.common.executor.ExecutorFactory;
+import com.alibaba.nacos.common.executor.HashedWheelTimer;
 import com.alibaba.nacos.common.executor.NameThreadFactory;
 import com.alibaba.nacos.common.utils.ThreadUtils;
 import com.alibaba.nacos.config.server.Config;
@@ -60,6 +61,12 @@ public final class ConfigExecutor {
             .newSingleScheduledExecutorService(ClassUtils.getCanonicalName(Config.class),
                     new NameThreadFactory("com.alibaba.nacos.config.LongPolling"));
     
+    /**
+     * Timeouts of long polling clients, 100ms per tick and about 51s per round, expired on long polling executor.
+     */
+    private static final HashedWheelTimer LONG_POLLING_TIMER = new HashedWheelTimer(
+            "com.alibaba.nacos.config.LongPollingTimer", 100L, TimeUnit.MILLISECONDS, 512, LONG_POLLING_EXECUTOR);
+    
     private static final ScheduledExecutorService ASYNC_CONFIG_CHANGE_NOTIFY_EXECUTOR = ExecutorFactory.Managed
             .newScheduledExecutorService(ClassUtils.getCanonicalName(Config.class),
                     ThreadUtils.getSuitableThreadCount(),
@@ -109,6 +116,10 @@ public final class ConfigExecutor {
         return LONG_POLLING_EXECUTOR.schedule(runnable, delay, unit);
     }
     
+    public static HashedWheelTimer.Timeout scheduleLongPollingTimeout(Runnable runnable, long delay, TimeUnit unit) {
+        return LONG_POLLING_TIMER.newTimeout(runnable, delay, unit);
+    }
+    
     public static void executeLongPolling(Runnable runnable) {
         LONG_POLLING_EXECUTOR.execute(runnable);
     }
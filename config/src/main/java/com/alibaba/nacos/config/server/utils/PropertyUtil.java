@@ -16,6 +16,7 @@
 
 package com.alibaba.nacos.config.server.utils;
 
+import com.alibaba.nacos.common.utils.ThreadUtils;
 import com.alibaba.nacos.config.server.constant.PropertiesConstant;
 import com.alibaba.nacos.persistence.configuration.DatasourceConfiguration;
 import com.alibaba.nacos.sys.env.EnvUtil;
@@ -93,6 +94,46 @@ public class PropertyUtil implements ApplicationContextInitializer<ConfigurableA
      */
     private static int correctUsageDelay = 10 * 60;
     
+    /**
+     * Whether to cache config content in memory in front of the disk service.
+     */
+    private static boolean contentCacheEnabled = false;
+    
+    /**
+     * The maximum bytes of config content cached in memory.
+     */
+    private static long contentCacheMaxBytes = 64 * 1024 * 1024;
+    
+    /**
+     * The count of md5 and disk workers used by dump all.
+     */
+    private static int dumpAllWorkerCount = ThreadUtils.getSuitableThreadCount(1);
+    
+    /**
+     * Whether to restore config cache from the local dump checkpoint when server starting, only for rocksdb disk.
+     */
+    private static boolean dumpCheckpointEnabled = false;
+    
+    /**
+     * The interval in minutes to save the local dump checkpoint.
+     */
+    private static int dumpCheckpointInterval = 10;
+    
+    /**
+     * The capacity of the LRU block cache shared by all column families of the config rocksdb.
+     */
+    private static long rocksDbBlockCacheMaxBytes = 64 * 1024 * 1024;
+    
+    /**
+     * The compression library of the config rocksdb, such as lz4 or zstd, no compression if not set.
+     */
+    private static String rocksDbCompression = null;
+    
+    /**
+     * Whether to collect statistics of the config rocksdb and export them as metrics.
+     */
+    private static boolean rocksDbStatisticsEnabled = true;
+    
     public static int getNotifyConnectTimeout() {
         return notifyConnectTimeout;
     }
@@ -213,6 +254,70 @@ public class PropertyUtil implements ApplicationContextInitializer<ConfigurableA
         PropertyUtil.correctUsageDelay = correctUsageDelay;
     }
     
+    public static boolean isContentCacheEnabled() {
+        return contentCacheEnabled;
+    }
+    
+    public static void setContentCacheEnabled(boolean contentCacheEnabled) {
+        PropertyUtil.contentCacheEnabled = contentCacheEnabled;
+    }
+    
+    public static long getContentCacheMaxBytes() {
+        return contentCacheMaxBytes;
+    }
+    
+    public static void setContentCacheMaxBytes(long contentCacheMaxBytes) {
+        PropertyUtil.contentCacheMaxBytes = contentCacheMaxBytes;
+    }
+    
+    public static int getDumpAllWorkerCount() {
+        return dumpAllWorkerCount;
+    }
+    
+    public static void setDumpAllWorkerCount(int dumpAllWorkerCount) {
+        PropertyUtil.dumpAllWorkerCount = dumpAllWorkerCount;
+    }
+    
+    public static boolean isDumpCheckpointEnabled() {
+        return dumpCheckpointEnabled;
+    }
+    
+    public static void setDumpCheckpointEnabled(boolean dumpCheckpointEnabled) {
+        PropertyUtil.dumpCheckpointEnabled = dumpCheckpointEnabled;
+    }
+    
+    public static int getDumpCheckpointInterval() {
+        return dumpCheckpointInterval;
+    }
+    
+    public static void setDumpCheckpointInterval(int dumpCheckpointInterval) {
+        PropertyUtil.dumpCheckpointInterval = dumpCheckpointInterval;
+    }
+    
+    public static long getRocksDbBlockCacheMaxBytes() {
+        return rocksDbBlockCacheMaxBytes;
+    }
+    
+    public static void setRocksDbBlockCacheMaxBytes(long rocksDbBlockCacheMaxBytes) {
+        PropertyUtil.rocksDbBlockCacheMaxBytes = rocksDbBlockCacheMaxBytes;
+    }
+    
+    public static String getRocksDbCompression() {
+        return rocksDbCompression;
+    }
+    
+    public static void setRocksDbCompression(String rocksDbCompression) {
+        PropertyUtil.rocksDbCompression = rocksDbCompression;
+    }
+    
+    public static boolean isRocksDbStatisticsEnabled() {
+        return rocksDbStatisticsEnabled;
+    }
+    
+    public static void setRocksDbStatisticsEnabled(boolean rocksDbStatisticsEnabled) {
+        PropertyUtil.rocksDbStatisticsEnabled = rocksDbStatisticsEnabled;
+    }
+    
     public static boolean isStandaloneMode() {
         return EnvUtil.getStandaloneMode();
     }
@@ -254,6 +359,18 @@ public class PropertyUtil implements ApplicationContextInitializer<ConfigurableA
             setDefaultMaxAggrSize(getInt(PropertiesConstant.DEFAULT_MAX_AGGR_SIZE, defaultMaxAggrSize));
             setCorrectUsageDelay(getInt(PropertiesConstant.CORRECT_USAGE_DELAY, correctUsageDelay));
             setInitialExpansionPercent(getInt(PropertiesConstant.INITIAL_EXPANSION_PERCENT, initialExpansionPercent));
+            // content cache
+            setContentCacheEnabled(getBoolean(PropertiesConstant.CONTENT_CACHE_ENABLED, contentCacheEnabled));
+            setContentCacheMaxBytes(getLong(PropertiesConstant.CONTENT_CACHE_MAX_BYTES, contentCacheMaxBytes));
+            setDumpAllWorkerCount(getInt(PropertiesConstant.DUMP_ALL_WORKER_COUNT, dumpAllWorkerCount));
+            setDumpCheckpointEnabled(getBoolean(PropertiesConstant.DUMP_CHECKPOINT_ENABLED, dumpCheckpointEnabled));
+            setDumpCheckpointInterval(getInt(PropertiesConstant.DUMP_CHECKPOINT_INTERVAL, dumpCheckpointInterval));
+            // rocksdb disk
+            setRocksDbBlockCacheMaxBytes(
+                    getLong(PropertiesConstant.ROCKSDB_BLOCK_CACHE_MAX_BYTES, rocksDbBlockCacheMaxBytes));
+            setRocksDbCompression(getProperty(PropertiesConstant.ROCKSDB_COMPRESSION));
+            setRocksDbStatisticsEnabled(
+                    getBoolean(PropertiesConstant.ROCKSDB_STATISTICS_ENABLED, rocksDbStatisticsEnabled));
         } catch (Exception e) {
             LOGGER.error("read application.properties failed", e);
             throw e;
@@ -268,6 +385,10 @@ public class PropertyUtil implements ApplicationContextInitializer<ConfigurableA
         return Integer.parseInt(getString(key, String.valueOf(defaultValue)));
     }
     
+    private long getLong(String key, long defaultValue) {
+        return Long.parseLong(getString(key, String.valueOf(defaultValue)));
+    }
+    
     private String getString(String key, String defaultValue) {
         String value = getProperty(key);
         if (value == null) {
@@ -81,4 +81,27 @@ public class ConfigChangeListenContextTest {
         Assert.assertEquals("md5", listenKeyMd5);
     }
 
+    @Test
+    public void testAddListenWithNullMd5() {
+        configChangeListenContext.addListen("groupKey", null, "connectionId");
+        configChangeListenContext.addListen("emptyMd5GroupKey", "", "connectionId");
+        Assert.assertNull(configChangeListenContext.getListenKeyMd5("connectionId", "groupKey"));
+        Assert.assertEquals("", configChangeListenContext.getListenKeyMd5("connectionId", "emptyMd5GroupKey"));
+        Map<String, String> listenKeys = configChangeListenContext.getListenKeys("connectionId");
+        Assert.assertTrue(listenKeys.containsKey("groupKey"));
+        Assert.assertNull(listenKeys.get("groupKey"));
+        Assert.assertEquals(1, configChangeListenContext.getListeners("groupKey").size());
+    }
+
+    @Test
+    public void testClearContextRemoveEmptyGroupKey() {
+        configChangeListenContext.addListen("groupKey", "md5", "connectionId1");
+        configChangeListenContext.addListen("groupKey", "md5", "connectionId2");
+        configChangeListenContext.clearContextForConnectionId("connectionId1");
+        Assert.assertEquals(1, configChangeListenContext.getListeners("groupKey").size());
+        configChangeListenContext.clearContextForConnectionId("connectionId2");
+        Assert.assertNull(configChangeListenContext.getListeners("groupKey"));
+        Assert.assertEquals(0, configChangeListenContext.getConnectionCount());
+    }
+
 }
\ No newline at end of file
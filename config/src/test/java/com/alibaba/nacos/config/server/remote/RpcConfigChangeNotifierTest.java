@@ -16,20 +16,29 @@
 
 package com.alibaba.nacos.config.server.remote;
 
+import com.alibaba.nacos.api.config.remote.request.ConfigChangeNotifyRequest;
 import com.alibaba.nacos.config.server.model.event.LocalDataChangeEvent;
 import com.alibaba.nacos.config.server.utils.GroupKey2;
+import com.alibaba.nacos.core.remote.Connection;
 import com.alibaba.nacos.core.remote.ConnectionManager;
 import com.alibaba.nacos.core.remote.RpcPushService;
+import com.alibaba.nacos.sys.env.EnvUtil;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
+import org.mockito.Mockito;
 import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.core.env.StandardEnvironment;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.ArrayList;
 import java.util.List;
 
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
 @RunWith(MockitoJUnitRunner.class)
 public class RpcConfigChangeNotifierTest {
     
@@ -44,8 +53,12 @@ public class RpcConfigChangeNotifierTest {
     @Mock
     private ConnectionManager connectionManager;
     
+    @Mock
+    private Connection connection;
+    
     @Before
     public void setUp() {
+        EnvUtil.setEnvironment(new StandardEnvironment());
         rpcConfigChangeNotifier = new RpcConfigChangeNotifier();
         
         ReflectionTestUtils.setField(rpcConfigChangeNotifier, "configChangeListenContext", configChangeListenContext);
@@ -64,4 +77,26 @@ public class RpcConfigChangeNotifierTest {
         rpcConfigChangeNotifier.onEvent(new LocalDataChangeEvent(groupKey, true, betaIps));
         rpcConfigChangeNotifier.onEvent(new LocalDataChangeEvent(limitGroupKey));
     }
+    
+    @Test
+    public void testBatchPushCoalesceSameGroupKey() {
+        when(connectionManager.getConnection("connectionId")).thenReturn(connection);
+        ConfigChangeNotifyRequest request1 = ConfigChangeNotifyRequest.build("dataId", "group", "tenant");
+        ConfigChangeNotifyRequest request2 = ConfigChangeNotifyRequest.build("dataId", "group", "tenant");
+        ConfigChangeNotifyRequest request3 = ConfigChangeNotifyRequest.build("dataId2", "group", "tenant");
+        rpcConfigChangeNotifier.batchPush("groupKey", rpcConfigChangeNotifier.new RpcPushTask(request1, 3,
+                "connectionId", "127.0.0.1", "app"));
+        rpcConfigChangeNotifier.batchPush("groupKey", rpcConfigChangeNotifier.new RpcPushTask(request2, 3,
+                "connectionId", "127.0.0.1", "app"));
+        rpcConfigChangeNotifier.batchPush("groupKey2", rpcConfigChangeNotifier.new RpcPushTask(request3, 3,
+                "connectionId", "127.0.0.1", "app"));
+        rpcConfigChangeNotifier.flushPendingPushTasks();
+        
+        verify(rpcPushService, times(0)).pushWithCallback(Mockito.eq("connectionId"), Mockito.eq(request1),
+                Mockito.any(), Mockito.any(), Mockito.any());
+        verify(rpcPushService, times(1)).pushWithCallback(Mockito.eq("connectionId"), Mockito.eq(request2),
+                Mockito.any(), Mockito.any(), Mockito.any());
+        verify(rpcPushService, times(1)).pushWithCallback(Mockito.eq("connectionId"), Mockito.eq(request3),
+                Mockito.any(), Mockito.any(), Mockito.any());
+    }
 }
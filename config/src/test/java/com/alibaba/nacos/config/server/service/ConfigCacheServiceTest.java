@@ -0,0 +1,123 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.config.server.service;
+
+import com.alibaba.nacos.common.utils.MD5Utils;
+import com.alibaba.nacos.config.server.service.dump.disk.ConfigDiskService;
+import com.alibaba.nacos.config.server.service.dump.disk.ConfigDiskServiceFactory;
+import com.alibaba.nacos.config.server.utils.GroupKey2;
+import com.alibaba.nacos.persistence.configuration.DatasourceConfiguration;
+import com.alibaba.nacos.sys.env.EnvUtil;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.alibaba.nacos.config.server.constant.Constants.ENCODE_UTF8;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ConfigCacheServiceTest {
+    
+    private static final String DATA_ID = "coalesceDataId";
+    
+    private static final String GROUP = "group";
+    
+    private static final String TENANT = "tenant";
+    
+    @Mock
+    private ConfigDiskService configDiskService;
+    
+    private MockedStatic<ConfigDiskServiceFactory> configDiskServiceFactoryMockedStatic;
+    
+    @Before
+    public void setUp() {
+        EnvUtil.setEnvironment(new StandardEnvironment());
+        DatasourceConfiguration.setEmbeddedStorage(false);
+        configDiskServiceFactoryMockedStatic = Mockito.mockStatic(ConfigDiskServiceFactory.class);
+        configDiskServiceFactoryMockedStatic.when(ConfigDiskServiceFactory::getInstance).thenReturn(configDiskService);
+    }
+    
+    @After
+    public void tearDown() {
+        configDiskServiceFactoryMockedStatic.close();
+        ConfigCacheService.remove(DATA_ID, GROUP, TENANT);
+    }
+    
+    @Test
+    public void testDumpChangeIgnoreOutdated() throws Exception {
+        Assert.assertTrue(ConfigCacheService.dumpChange(DATA_ID, GROUP, TENANT, "content2", 2000L, ""));
+        Assert.assertTrue(ConfigCacheService.dumpChange(DATA_ID, GROUP, TENANT, "content1", 1000L, ""));
+        
+        verify(configDiskService).saveToDisk(DATA_ID, GROUP, TENANT, "content2");
+        verify(configDiskService, never()).saveToDisk(DATA_ID, GROUP, TENANT, "content1");
+        Assert.assertEquals(MD5Utils.md5Hex("content2", ENCODE_UTF8),
+                ConfigCacheService.getContentMd5(GroupKey2.getKey(DATA_ID, GROUP, TENANT)));
+    }
+    
+    @Test
+    public void testCoalesceDumpsWhileApplying() throws Exception {
+        AtomicBoolean superseded = new AtomicBoolean();
+        AtomicBoolean newest = new AtomicBoolean();
+        Thread[] threads = new Thread[2];
+        // Publish two newer versions while the first one is writing to disk.
+        doAnswer(invocation -> {
+            threads[0] = startAndWaitBlocked(
+                    () -> superseded.set(ConfigCacheService.dumpChange(DATA_ID, GROUP, TENANT, "content2", 2000L, "")));
+            threads[1] = startAndWaitBlocked(
+                    () -> newest.set(ConfigCacheService.dumpChange(DATA_ID, GROUP, TENANT, "content3", 3000L, "")));
+            return null;
+        }).when(configDiskService).saveToDisk(DATA_ID, GROUP, TENANT, "content1");
+        
+        Assert.assertTrue(ConfigCacheService.dumpChange(DATA_ID, GROUP, TENANT, "content1", 1000L, ""));
+        threads[0].join(TimeUnit.SECONDS.toMillis(5));
+        threads[1].join(TimeUnit.SECONDS.toMillis(5));
+        
+        Assert.assertTrue(superseded.get());
+        Assert.assertTrue(newest.get());
+        verify(configDiskService, never()).saveToDisk(DATA_ID, GROUP, TENANT, "content2");
+        verify(configDiskService).saveToDisk(DATA_ID, GROUP, TENANT, "content3");
+        verify(configDiskService, times(2)).saveToDisk(eq(DATA_ID), eq(GROUP), eq(TENANT), anyString());
+        Assert.assertEquals(MD5Utils.md5Hex("content3", ENCODE_UTF8),
+                ConfigCacheService.getContentMd5(GroupKey2.getKey(DATA_ID, GROUP, TENANT)));
+        Assert.assertEquals(3000L, ConfigCacheService.getLastModifiedTs(GroupKey2.getKey(DATA_ID, GROUP, TENANT)));
+    }
+    
+    private Thread startAndWaitBlocked(Runnable runnable) throws InterruptedException {
+        Thread thread = new Thread(runnable);
+        thread.start();
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(5);
+        while (thread.getState() != Thread.State.TIMED_WAITING && System.currentTimeMillis() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(5);
+        }
+        return thread;
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.config.server.service;
+
+import com.alibaba.nacos.config.server.model.CacheItem;
+import com.alibaba.nacos.config.server.service.dump.disk.ConfigDiskService;
+import com.alibaba.nacos.config.server.service.dump.disk.ConfigDiskServiceFactory;
+import com.alibaba.nacos.config.server.utils.GroupKey2;
+import com.alibaba.nacos.config.server.utils.PropertyUtil;
+import com.alibaba.nacos.sys.env.EnvUtil;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ConfigContentCacheTest {
+    
+    @Mock
+    private ConfigDiskService configDiskService;
+    
+    private MockedStatic<ConfigDiskServiceFactory> configDiskServiceFactoryMockedStatic;
+    
+    @Before
+    public void setUp() {
+        EnvUtil.setEnvironment(new StandardEnvironment());
+        PropertyUtil.setContentCacheEnabled(true);
+        configDiskServiceFactoryMockedStatic = Mockito.mockStatic(ConfigDiskServiceFactory.class);
+        configDiskServiceFactoryMockedStatic.when(ConfigDiskServiceFactory::getInstance).thenReturn(configDiskService);
+    }
+    
+    @After
+    public void tearDown() {
+        PropertyUtil.setContentCacheEnabled(false);
+        configDiskServiceFactoryMockedStatic.close();
+    }
+    
+    @Test
+    public void testGetContentFromMemoryAfterFirstRead() throws IOException {
+        String groupKey = GroupKey2.getKey("cacheDataId", "group", "tenant");
+        ConfigContentCache.invalidate(groupKey);
+        when(configDiskService.getContentBytes("cacheDataId", "group", "tenant")).thenReturn(bytes("content"));
+        
+        Assert.assertArrayEquals(bytes("content"),
+                ConfigContentCache.getContentBytes("cacheDataId", "group", "tenant"));
+        Assert.assertArrayEquals(bytes("content"),
+                ConfigContentCache.getContentBytes("cacheDataId", "group", "tenant"));
+        verify(configDiskService, times(1)).getContentBytes("cacheDataId", "group", "tenant");
+    }
+    
+    @Test
+    public void testInvalidate() throws IOException {
+        String groupKey = GroupKey2.getKey("invalidDataId", "group", "tenant");
+        when(configDiskService.getContentBytes("invalidDataId", "group", "tenant"))
+                .thenReturn(bytes("content1"), bytes("content2"));
+        
+        Assert.assertArrayEquals(bytes("content1"),
+                ConfigContentCache.getContentBytes("invalidDataId", "group", "tenant"));
+        ConfigContentCache.invalidate(groupKey);
+        Assert.assertArrayEquals(bytes("content2"),
+                ConfigContentCache.getContentBytes("invalidDataId", "group", "tenant"));
+    }
+    
+    @Test
+    public void testInvalidateAll() throws IOException {
+        String groupKey = GroupKey2.getKey("allDataId", "group", "tenant");
+        CacheItem cacheItem = new CacheItem(groupKey);
+        cacheItem.initConfigTagsIfEmpty("tag1");
+        when(configDiskService.getBetaContentBytes("allDataId", "group", "tenant"))
+                .thenReturn(bytes("beta1"), bytes("beta2"));
+        when(configDiskService.getTagContentBytes("allDataId", "group", "tenant", "tag1"))
+                .thenReturn(bytes("tag1"), bytes("tag2"));
+        
+        Assert.assertArrayEquals(bytes("beta1"),
+                ConfigContentCache.getBetaContentBytes("allDataId", "group", "tenant"));
+        Assert.assertArrayEquals(bytes("tag1"),
+                ConfigContentCache.getTagContentBytes("allDataId", "group", "tenant", "tag1"));
+        ConfigContentCache.invalidateAll(cacheItem);
+        Assert.assertArrayEquals(bytes("beta2"),
+                ConfigContentCache.getBetaContentBytes("allDataId", "group", "tenant"));
+        Assert.assertArrayEquals(bytes("tag2"),
+                ConfigContentCache.getTagContentBytes("allDataId", "group", "tenant", "tag1"));
+    }
+    
+    @Test
+    public void testFormalNotCollideWithBetaOrTagOfOtherTenant() throws IOException {
+        when(configDiskService.getBetaContentBytes("collideDataId", "group", "")).thenReturn(bytes("beta"));
+        when(configDiskService.getTagContentBytes("collideDataId", "group", "", "gray"))
+                .thenReturn(bytes("tag"));
+        when(configDiskService.getContentBytes("collideDataId", "group", "beta")).thenReturn(bytes("formalOfBeta"));
+        when(configDiskService.getContentBytes("collideDataId", "group", "tag")).thenReturn(bytes("formalOfTag"));
+        
+        Assert.assertArrayEquals(bytes("beta"), ConfigContentCache.getBetaContentBytes("collideDataId", "group", ""));
+        Assert.assertArrayEquals(bytes("tag"),
+                ConfigContentCache.getTagContentBytes("collideDataId", "group", "", "gray"));
+        Assert.assertArrayEquals(bytes("formalOfBeta"),
+                ConfigContentCache.getContentBytes("collideDataId", "group", "beta"));
+        Assert.assertArrayEquals(bytes("formalOfTag"),
+                ConfigContentCache.getContentBytes("collideDataId", "group", "tag"));
+    }
+    
+    @Test
+    public void testNotCacheNotExistContent() throws IOException {
+        when(configDiskService.getContentBytes("nullDataId", "group", "tenant")).thenReturn(null);
+        
+        Assert.assertNull(ConfigContentCache.getContentBytes("nullDataId", "group", "tenant"));
+        Assert.assertNull(ConfigContentCache.getContentBytes("nullDataId", "group", "tenant"));
+        verify(configDiskService, times(2)).getContentBytes("nullDataId", "group", "tenant");
+    }
+    
+    @Test
+    public void testDisabled() throws IOException {
+        PropertyUtil.setContentCacheEnabled(false);
+        when(configDiskService.getContentBytes("disableDataId", "group", "tenant")).thenReturn(bytes("content"));
+        
+        Assert.assertArrayEquals(bytes("content"),
+                ConfigContentCache.getContentBytes("disableDataId", "group", "tenant"));
+        Assert.assertArrayEquals(bytes("content"),
+                ConfigContentCache.getContentBytes("disableDataId", "group", "tenant"));
+        verify(configDiskService, times(2)).getContentBytes("disableDataId", "group", "tenant");
+    }
+    
+    private static byte[] bytes(String content) {
+        return content.getBytes(StandardCharsets.UTF_8);
+    }
+}
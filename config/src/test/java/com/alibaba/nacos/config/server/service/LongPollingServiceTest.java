@@ -0,0 +1,128 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.config.server.service;
+
+import com.alibaba.nacos.config.server.utils.GroupKey;
+import com.alibaba.nacos.sys.env.EnvUtil;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.core.env.StandardEnvironment;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.Silent.class)
+public class LongPollingServiceTest {
+    
+    private static final String GROUP_KEY_1 = GroupKey.getKeyTenant("dataId1", "group", "tenant");
+    
+    private static final String GROUP_KEY_2 = GroupKey.getKeyTenant("dataId2", "group", "tenant");
+    
+    @Mock
+    private AsyncContext asyncContext1;
+    
+    @Mock
+    private AsyncContext asyncContext2;
+    
+    @Mock
+    private HttpServletRequest request;
+    
+    @Mock
+    private HttpServletResponse response;
+    
+    private LongPollingService longPollingService;
+    
+    @Before
+    public void setUp() throws Exception {
+        EnvUtil.setEnvironment(new StandardEnvironment());
+        longPollingService = new LongPollingService();
+        when(request.getRemoteAddr()).thenReturn("127.0.0.1");
+        when(response.getWriter()).thenReturn(new PrintWriter(new StringWriter()));
+        for (AsyncContext each : new AsyncContext[] {asyncContext1, asyncContext2}) {
+            when(each.getRequest()).thenReturn(request);
+            when(each.getResponse()).thenReturn(response);
+        }
+    }
+    
+    @Test
+    public void testDataChangeOnlyRespondInterestedClients() {
+        newClientLongPolling(asyncContext1, GROUP_KEY_1, 30000L).run();
+        newClientLongPolling(asyncContext2, GROUP_KEY_2, 30000L).run();
+        Assert.assertEquals(2, longPollingService.getSubscriberCount());
+        
+        longPollingService.new DataChangeTask(GROUP_KEY_1, false, null).run();
+        
+        verify(asyncContext1).complete();
+        verify(asyncContext2, never()).complete();
+        Assert.assertEquals(1, longPollingService.getSubscriberCount());
+        Assert.assertFalse(longPollingService.groupKeySubs.containsKey(GROUP_KEY_1));
+        Assert.assertTrue(longPollingService.groupKeySubs.containsKey(GROUP_KEY_2));
+    }
+    
+    @Test
+    public void testDataChangeSkipNotBetaClients() {
+        newClientLongPolling(asyncContext1, GROUP_KEY_1, 30000L).run();
+        
+        longPollingService.new DataChangeTask(GROUP_KEY_1, true, Collections.singletonList("1.1.1.1")).run();
+        
+        verify(asyncContext1, never()).complete();
+        Assert.assertEquals(1, longPollingService.getSubscriberCount());
+    }
+    
+    @Test
+    public void testTimeoutRemoveSubscriber() {
+        newClientLongPolling(asyncContext1, GROUP_KEY_1, 100L).run();
+        
+        verify(asyncContext1, timeout(3000L)).complete();
+        Assert.assertEquals(0, longPollingService.getSubscriberCount());
+        Assert.assertTrue(longPollingService.groupKeySubs.isEmpty());
+    }
+    
+    @Test
+    public void testGetSubscribleInfo() {
+        newClientLongPolling(asyncContext1, GROUP_KEY_1, 30000L).run();
+        
+        Assert.assertEquals("md5",
+                longPollingService.getSubscribleInfo("dataId1", "group", "tenant").getLisentersGroupkeyStatus()
+                        .get("127.0.0.1"));
+        Assert.assertTrue(longPollingService.getSubscribleInfo("dataId2", "group", "tenant")
+                .getLisentersGroupkeyStatus().isEmpty());
+    }
+    
+    private LongPollingService.ClientLongPolling newClientLongPolling(AsyncContext asyncContext, String groupKey,
+            long timeout) {
+        Map<String, String> clientMd5Map = new HashMap<>(2);
+        clientMd5Map.put(groupKey, "md5");
+        return longPollingService.new ClientLongPolling(asyncContext, clientMd5Map, "127.0.0.1", 1, timeout, "app",
+                null);
+    }
+}
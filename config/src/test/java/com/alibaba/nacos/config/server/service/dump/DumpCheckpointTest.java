@@ -0,0 +1,178 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.config.server.service.dump;
+
+import com.alibaba.nacos.common.utils.MD5Utils;
+import com.alibaba.nacos.config.server.model.CacheItem;
+import com.alibaba.nacos.config.server.model.ConfigInfoWrapper;
+import com.alibaba.nacos.config.server.service.ConfigCacheService;
+import com.alibaba.nacos.config.server.service.dump.disk.ConfigDiskService;
+import com.alibaba.nacos.config.server.service.dump.disk.ConfigDiskServiceFactory;
+import com.alibaba.nacos.config.server.service.repository.ConfigInfoPersistService;
+import com.alibaba.nacos.config.server.service.repository.HistoryConfigInfoPersistService;
+import com.alibaba.nacos.config.server.utils.GroupKey2;
+import com.alibaba.nacos.persistence.configuration.DatasourceConfiguration;
+import com.alibaba.nacos.sys.env.EnvUtil;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+
+import static com.alibaba.nacos.config.server.constant.Constants.ENCODE_UTF8;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class DumpCheckpointTest {
+    
+    private static final String DATA_ID = "checkpointDataId";
+    
+    private static final String GROUP = "group";
+    
+    private static final String TENANT = "tenant";
+    
+    private static final String CONTENT = "checkpoint content";
+    
+    @Mock
+    private DumpService dumpService;
+    
+    @Mock
+    private ConfigInfoPersistService configInfoPersistService;
+    
+    @Mock
+    private HistoryConfigInfoPersistService historyConfigInfoPersistService;
+    
+    @Mock
+    private ConfigDiskService configDiskService;
+    
+    private MockedStatic<ConfigDiskServiceFactory> configDiskServiceFactoryMockedStatic;
+    
+    private DumpCheckpoint dumpCheckpoint;
+    
+    private File nacosHome;
+    
+    private String groupKey;
+    
+    private String md5;
+    
+    @Before
+    public void setUp() throws IOException {
+        EnvUtil.setEnvironment(new StandardEnvironment());
+        nacosHome = Files.createTempDirectory("nacos-checkpoint").toFile();
+        EnvUtil.setNacosHomePath(nacosHome.getAbsolutePath());
+        configDiskServiceFactoryMockedStatic = Mockito.mockStatic(ConfigDiskServiceFactory.class);
+        configDiskServiceFactoryMockedStatic.when(ConfigDiskServiceFactory::getInstance).thenReturn(configDiskService);
+        when(dumpService.getConfigInfoPersistService()).thenReturn(configInfoPersistService);
+        when(dumpService.getRetentionDays()).thenReturn(30);
+        dumpCheckpoint = new DumpCheckpoint(dumpService);
+        // clean the cache items left by other tests, which are not on the mocked disk
+        for (CacheItem each : new ArrayList<>(ConfigCacheService.getAllCacheItems())) {
+            String[] keys = GroupKey2.parseKey(each.getGroupKey());
+            ConfigCacheService.remove(keys[0], keys[1], keys[2]);
+        }
+        groupKey = GroupKey2.getKey(DATA_ID, GROUP, TENANT);
+        md5 = MD5Utils.md5Hex(CONTENT, ENCODE_UTF8);
+        ConfigCacheService.updateMd5(groupKey, md5, 1000L, "");
+        ConfigCacheService.getContentCache(groupKey).setType("yaml");
+    }
+    
+    @After
+    public void tearDown() throws IOException {
+        configDiskServiceFactoryMockedStatic.close();
+        ConfigCacheService.remove(DATA_ID, GROUP, TENANT);
+        EnvUtil.setNacosHomePath(null);
+        for (File each : new File(nacosHome, "rocksdata").listFiles()) {
+            Files.delete(each.toPath());
+        }
+    }
+    
+    @Test
+    public void testRestore() throws IOException {
+        dumpCheckpoint.save(new Timestamp(System.currentTimeMillis()));
+        ConfigCacheService.remove(DATA_ID, GROUP, TENANT);
+        Assert.assertNull(ConfigCacheService.getContentCache(groupKey));
+        when(dumpService.getHistoryConfigInfoPersistService()).thenReturn(historyConfigInfoPersistService);
+        when(configDiskService.getContent(DATA_ID, GROUP, TENANT)).thenReturn(CONTENT);
+        when(configInfoPersistService.findConfigInfo(DATA_ID, GROUP, TENANT)).thenReturn(mockConfigInfo(md5));
+        when(historyConfigInfoPersistService.findDeletedConfig(any(), anyLong(), anyInt()))
+                .thenReturn(Collections.emptyList());
+        when(configInfoPersistService.findChangeConfig(any(), anyLong(), anyInt()))
+                .thenReturn(Collections.emptyList());
+        
+        DatasourceConfiguration.setEmbeddedStorage(false);
+        
+        Assert.assertTrue(dumpCheckpoint.restore());
+        Assert.assertEquals(md5, ConfigCacheService.getContentMd5(groupKey));
+        Assert.assertEquals(1000L, ConfigCacheService.getLastModifiedTs(groupKey));
+        Assert.assertEquals("yaml", ConfigCacheService.getContentCache(groupKey).getType());
+    }
+    
+    @Test
+    public void testRestoreWithoutCheckpoint() {
+        Assert.assertFalse(dumpCheckpoint.restore());
+        
+        dumpCheckpoint.save(new Timestamp(System.currentTimeMillis()));
+        dumpCheckpoint.discard();
+        Assert.assertFalse(dumpCheckpoint.restore());
+    }
+    
+    @Test
+    public void testRestoreWithBrokenDigest() throws IOException {
+        dumpCheckpoint.save(new Timestamp(System.currentTimeMillis()));
+        File dataFile = new File(new File(nacosHome, "rocksdata"), "dump-checkpoint.data");
+        String data = new String(Files.readAllBytes(dataFile.toPath()), StandardCharsets.UTF_8);
+        Files.write(dataFile.toPath(), data.replace("yaml", "json").getBytes(StandardCharsets.UTF_8));
+        
+        Assert.assertFalse(dumpCheckpoint.restore());
+    }
+    
+    @Test
+    public void testRestoreWithDatabaseMd5Different() throws IOException {
+        dumpCheckpoint.save(new Timestamp(System.currentTimeMillis()));
+        when(configDiskService.getContent(DATA_ID, GROUP, TENANT)).thenReturn(CONTENT);
+        when(configInfoPersistService.findConfigInfo(DATA_ID, GROUP, TENANT)).thenReturn(
+                mockConfigInfo("differentMd5"));
+        
+        Assert.assertFalse(dumpCheckpoint.restore());
+    }
+    
+    private ConfigInfoWrapper mockConfigInfo(String md5) {
+        ConfigInfoWrapper configInfo = new ConfigInfoWrapper();
+        configInfo.setDataId(DATA_ID);
+        configInfo.setGroup(GROUP);
+        configInfo.setTenant(TENANT);
+        configInfo.setMd5(md5);
+        configInfo.setLastModified(1000L);
+        return configInfo;
+    }
+}
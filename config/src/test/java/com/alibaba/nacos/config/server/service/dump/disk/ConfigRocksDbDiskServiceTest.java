@@ -0,0 +1,119 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.config.server.service.dump.disk;
+
+import com.alibaba.nacos.core.monitor.NacosMeterRegistryCenter;
+import com.alibaba.nacos.sys.env.EnvUtil;
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.rocksdb.CompressionType;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+public class ConfigRocksDbDiskServiceTest {
+    
+    private File nacosHome;
+    
+    private ConfigRocksDbDiskService diskService;
+    
+    @Before
+    public void setUp() throws IOException {
+        EnvUtil.setEnvironment(new StandardEnvironment());
+        nacosHome = Files.createTempDirectory("nacos-rocksdb").toFile();
+        EnvUtil.setNacosHomePath(nacosHome.getAbsolutePath());
+        diskService = new ConfigRocksDbDiskService();
+    }
+    
+    @After
+    public void tearDown() {
+        EnvUtil.setNacosHomePath(null);
+        FileUtils.deleteQuietly(nacosHome);
+    }
+    
+    @Test
+    public void testSaveAndGetInColumnFamilies() throws IOException {
+        diskService.saveToDisk("dataId", "group", "tenant", "formal");
+        diskService.saveBetaToDisk("dataId", "group", "tenant", "beta");
+        diskService.saveTagToDisk("dataId", "group", "tenant", "tag", "tag");
+        diskService.saveBatchToDisk("dataId", "group", "tenant", "batch");
+        
+        Assert.assertEquals("formal", diskService.getContent("dataId", "group", "tenant"));
+        Assert.assertEquals("beta", diskService.getBetaContent("dataId", "group", "tenant"));
+        Assert.assertEquals("tag", diskService.getTagContent("dataId", "group", "tenant", "tag"));
+        Assert.assertEquals("batch", diskService.getBatchContent("dataId", "group", "tenant"));
+        Assert.assertArrayEquals("formal".getBytes(StandardCharsets.UTF_8),
+                diskService.getContentBytes("dataId", "group", "tenant"));
+        Assert.assertNull(diskService.getTagContent("dataId", "group", "tenant", "otherTag"));
+        
+        diskService.removeConfigInfo("dataId", "group", "tenant");
+        Assert.assertNull(diskService.getContent("dataId", "group", "tenant"));
+        Assert.assertEquals("beta", diskService.getBetaContent("dataId", "group", "tenant"));
+    }
+    
+    @Test
+    public void testClearAllOnlyClearsOneColumnFamily() throws IOException {
+        diskService.saveToDisk("dataId1", "group", "tenant", "formal1");
+        diskService.saveToDisk("dataId2", "group", "tenant", "formal2");
+        diskService.saveBetaToDisk("dataId1", "group", "tenant", "beta");
+        
+        diskService.clearAll();
+        
+        Assert.assertNull(diskService.getContent("dataId1", "group", "tenant"));
+        Assert.assertNull(diskService.getContent("dataId2", "group", "tenant"));
+        Assert.assertEquals("beta", diskService.getBetaContent("dataId1", "group", "tenant"));
+        diskService.saveToDisk("dataId1", "group", "tenant", "formal3");
+        Assert.assertEquals("formal3", diskService.getContent("dataId1", "group", "tenant"));
+    }
+    
+    @Test
+    public void testDeleteLegacyDirsWhenOpen() throws IOException {
+        File legacyDir = new File(nacosHome, "rocksdata" + File.separator + "config-data");
+        Assert.assertTrue(legacyDir.mkdirs());
+        Files.write(new File(legacyDir, "CURRENT").toPath(), "MANIFEST-000001".getBytes(StandardCharsets.UTF_8));
+        
+        diskService.saveToDisk("dataId", "group", "tenant", "formal");
+        
+        Assert.assertFalse(legacyDir.exists());
+        Assert.assertTrue(new File(nacosHome, "rocksdata" + File.separator + "config-db").exists());
+    }
+    
+    @Test
+    public void testRegisterMetrics() throws IOException {
+        diskService.saveToDisk("dataId", "group", "tenant", "formal");
+        
+        Assert.assertNotNull(NacosMeterRegistryCenter.getMeterRegistry(NacosMeterRegistryCenter.CONFIG_STABLE_REGISTRY)
+                .find("nacos_config_rocksdb_ticker").tag("name", "block_cache_hit").functionCounter());
+        Assert.assertNotNull(NacosMeterRegistryCenter.getMeterRegistry(NacosMeterRegistryCenter.CONFIG_STABLE_REGISTRY)
+                .find("nacos_config_rocksdb").tag("name", "blockCacheUsage").gauge());
+    }
+    
+    @Test
+    public void testParseCompressionType() {
+        Assert.assertEquals(CompressionType.NO_COMPRESSION, ConfigRocksDbDiskService.parseCompressionType(null));
+        Assert.assertEquals(CompressionType.NO_COMPRESSION, ConfigRocksDbDiskService.parseCompressionType(""));
+        Assert.assertEquals(CompressionType.LZ4_COMPRESSION, ConfigRocksDbDiskService.parseCompressionType("lz4"));
+        Assert.assertEquals(CompressionType.ZSTD_COMPRESSION, ConfigRocksDbDiskService.parseCompressionType(" ZSTD "));
+        Assert.assertEquals(CompressionType.NO_COMPRESSION, ConfigRocksDbDiskService.parseCompressionType("lz5"));
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.config.server.service.dump.processor;
+
+import com.alibaba.nacos.common.utils.MD5Utils;
+import com.alibaba.nacos.config.server.constant.Constants;
+import com.alibaba.nacos.config.server.model.ConfigInfoWrapper;
+import com.alibaba.nacos.config.server.service.ConfigCacheService;
+import com.alibaba.nacos.config.server.service.dump.DumpService;
+import com.alibaba.nacos.config.server.service.dump.disk.ConfigDiskService;
+import com.alibaba.nacos.config.server.service.dump.disk.ConfigDiskServiceFactory;
+import com.alibaba.nacos.config.server.service.dump.task.DumpAllTask;
+import com.alibaba.nacos.config.server.service.repository.ConfigInfoPersistService;
+import com.alibaba.nacos.config.server.utils.GroupKey2;
+import com.alibaba.nacos.persistence.model.Page;
+import com.alibaba.nacos.sys.env.EnvUtil;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class DumpAllProcessorTest {
+    
+    private static final int CONFIG_COUNT = 2500;
+    
+    @Mock
+    private DumpService dumpService;
+    
+    @Mock
+    private ConfigInfoPersistService configInfoPersistService;
+    
+    @Mock
+    private ConfigDiskService configDiskService;
+    
+    private MockedStatic<ConfigDiskServiceFactory> configDiskServiceFactoryMockedStatic;
+    
+    private DumpAllProcessor dumpAllProcessor;
+    
+    @Before
+    public void setUp() {
+        EnvUtil.setEnvironment(new StandardEnvironment());
+        configDiskServiceFactoryMockedStatic = Mockito.mockStatic(ConfigDiskServiceFactory.class);
+        configDiskServiceFactoryMockedStatic.when(ConfigDiskServiceFactory::getInstance).thenReturn(configDiskService);
+        when(dumpService.getConfigInfoPersistService()).thenReturn(configInfoPersistService);
+        dumpAllProcessor = new DumpAllProcessor(dumpService);
+    }
+    
+    @After
+    public void tearDown() {
+        configDiskServiceFactoryMockedStatic.close();
+    }
+    
+    @Test
+    public void testDumpAllPages() {
+        when(configInfoPersistService.findConfigMaxId()).thenReturn((long) CONFIG_COUNT);
+        when(configInfoPersistService.findAllConfigInfoFragment(anyLong(), eq(DumpAllProcessor.PAGE_SIZE)))
+                .thenAnswer(invocation -> mockPage(invocation.getArgument(0)));
+        
+        Assert.assertTrue(dumpAllProcessor.process(new DumpAllTask(true)));
+        DumpAllProgress progress = DumpAllProcessor.getStartupProgress();
+        Assert.assertTrue(progress.isFinished());
+        Assert.assertEquals(CONFIG_COUNT, progress.getDumpedCount());
+        Assert.assertEquals(CONFIG_COUNT, progress.getFetchedId());
+        for (int i = 1; i <= CONFIG_COUNT; i++) {
+            String groupKey = GroupKey2.getKey("dumpAllDataId" + i, "group", "tenant");
+            Assert.assertEquals(MD5Utils.md5Hex("content" + i, Constants.ENCODE),
+                    ConfigCacheService.getContentMd5(groupKey));
+        }
+    }
+    
+    @Test
+    public void testDumpAllFailWhenQueryFail() {
+        when(configInfoPersistService.findConfigMaxId()).thenReturn((long) CONFIG_COUNT);
+        when(configInfoPersistService.findAllConfigInfoFragment(anyLong(), eq(DumpAllProcessor.PAGE_SIZE)))
+                .thenThrow(new IllegalStateException("query fail"));
+        
+        try {
+            dumpAllProcessor.process(new DumpAllTask());
+            Assert.fail("dump all should fail when query fail");
+        } catch (IllegalStateException e) {
+            Assert.assertEquals("query fail", e.getMessage());
+        }
+    }
+    
+    private Page<ConfigInfoWrapper> mockPage(long lastMaxId) {
+        List<ConfigInfoWrapper> pageItems = new ArrayList<>();
+        for (long id = lastMaxId + 1; id <= Math.min(lastMaxId + DumpAllProcessor.PAGE_SIZE, CONFIG_COUNT); id++) {
+            ConfigInfoWrapper configInfo = new ConfigInfoWrapper();
+            configInfo.setId(id);
+            configInfo.setDataId("dumpAllDataId" + id);
+            configInfo.setGroup("group");
+            configInfo.setTenant("tenant");
+            configInfo.setContent("content" + id);
+            configInfo.setLastModified(id);
+            pageItems.add(configInfo);
+        }
+        Page<ConfigInfoWrapper> page = new Page<>();
+        page.setPageItems(pageItems);
+        return page;
+    }
+}
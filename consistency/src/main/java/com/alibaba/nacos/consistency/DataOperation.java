@@ -38,6 +38,10 @@ public enum DataOperation {
      * Data verify.
      */
     VERIFY,
+    /**
+     * Data verify by digest, only the differences of digest are verified by {@link #VERIFY}.
+     */
+    VERIFY_DIGEST,
     /**
      * Data Snapshot.
      */
@@ -34,6 +34,15 @@ public abstract class AbstractModuleHealthChecker {
      */
     public abstract boolean readiness();
     
+    /**
+     * Detail of readiness, such as the progress of module loading, which will be appended to the failed message.
+     *
+     * @return readiness detail, {@code null} if no detail
+     */
+    public String readinessDetail() {
+        return null;
+    }
+    
     /**
      * Module name.
      *
@@ -54,7 +54,9 @@ public class ModuleHealthCheckerHolder {
         for (AbstractModuleHealthChecker each : this.moduleHealthCheckers) {
             boolean moduleReadiness = each.readiness();
             if (!moduleReadiness) {
-                readinessFailedModule.add(each.getModuleName());
+                String detail = each.readinessDetail();
+                readinessFailedModule.add(StringUtils.isBlank(detail) ? each.getModuleName()
+                        : String.format("%s(%s)", each.getModuleName(), detail));
             }
         }
         if (readinessFailedModule.isEmpty()) {
@@ -49,6 +49,17 @@ public interface DistroDataProcessor {
      */
     boolean processVerifyData(DistroData distroData, String sourceAddress);
     
+    /**
+     * Process received verify digest, the data matched the digest should be treated as verified.
+     *
+     * @param distroData    verify digest
+     * @param sourceAddress source server address
+     * @return the differences of digest which should be verified one by one, {@code null} if digest is not supported
+     */
+    default DistroData processVerifyDigest(DistroData distroData, String sourceAddress) {
+        return null;
+    }
+    
     /**
      * Process snapshot data.
      *
@@ -63,4 +63,23 @@ public interface DistroDataStorage {
      * @return verify datum
      */
     List<DistroData> getVerifyData();
+    
+    /**
+     * Get verify datum which are different from the digest of target server.
+     *
+     * @param digestDifference differences of verify digest returned by target server
+     * @return verify datum
+     */
+    default List<DistroData> getVerifyData(DistroData digestDifference) {
+        return getVerifyData();
+    }
+    
+    /**
+     * Get digest of verify datum, which is verified before the verify datum to reduce the verify traffic.
+     *
+     * @return verify digest, {@code null} if digest is not supported and all verify datum should be sent
+     */
+    default DistroData getVerifyDigest() {
+        return null;
+    }
 }
@@ -73,6 +73,17 @@ public interface DistroTransportAgent {
      */
     void syncVerifyData(DistroData verifyData, String targetServer, DistroCallback callback);
     
+    /**
+     * Sync verify digest.
+     *
+     * @param verifyDigest verify digest
+     * @param targetServer target server
+     * @return the differences of digest, {@code null} if target server can't verify by digest
+     */
+    default DistroData syncVerifyDigest(DistroData verifyDigest, String targetServer) {
+        return null;
+    }
+    
     /**
      * get Data from target server.
      *
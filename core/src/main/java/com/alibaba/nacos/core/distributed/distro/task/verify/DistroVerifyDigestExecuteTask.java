@@ -0,0 +1,71 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.core.distributed.distro.task.verify;
+
+import com.alibaba.nacos.common.task.AbstractExecuteTask;
+import com.alibaba.nacos.core.distributed.distro.component.DistroDataStorage;
+import com.alibaba.nacos.core.distributed.distro.component.DistroTransportAgent;
+import com.alibaba.nacos.core.distributed.distro.entity.DistroData;
+import com.alibaba.nacos.core.utils.Loggers;
+
+import java.util.List;
+
+/**
+ * Execute distro verify task by digest.
+ *
+ * <p>The digest is verified by target server first, then only the verify datum different from the digest are verified
+ * one by one. If target server can't verify by digest, such as server of old version, all verify datum are verified.
+ *
+ * @author Nacos
+ */
+public class DistroVerifyDigestExecuteTask extends AbstractExecuteTask {
+    
+    private final DistroTransportAgent transportAgent;
+    
+    private final DistroDataStorage dataStorage;
+    
+    private final DistroData verifyDigest;
+    
+    private final String targetServer;
+    
+    private final String resourceType;
+    
+    public DistroVerifyDigestExecuteTask(DistroTransportAgent transportAgent, DistroDataStorage dataStorage,
+            DistroData verifyDigest, String targetServer, String resourceType) {
+        this.transportAgent = transportAgent;
+        this.dataStorage = dataStorage;
+        this.verifyDigest = verifyDigest;
+        this.targetServer = targetServer;
+        this.resourceType = resourceType;
+    }
+    
+    @Override
+    public void run() {
+        try {
+            DistroData digestDifference = transportAgent.syncVerifyDigest(verifyDigest, targetServer);
+            List<DistroData> verifyData = null == digestDifference ? dataStorage.getVerifyData()
+                    : dataStorage.getVerifyData(digestDifference);
+            if (null == verifyData || verifyData.isEmpty()) {
+                return;
+            }
+            new DistroVerifyExecuteTask(transportAgent, verifyData, targetServer, resourceType).run();
+        } catch (Exception e) {
+            Loggers.DISTRO
+                    .error("[DISTRO-FAILED] verify digest for type {} to {} failed.", resourceType, targetServer, e);
+        }
+    }
+}
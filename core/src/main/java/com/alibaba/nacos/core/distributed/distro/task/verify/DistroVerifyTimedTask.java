@@ -69,6 +69,11 @@ public class DistroVerifyTimedTask implements Runnable {
                     dataStorage.getClass().getSimpleName());
             return;
         }
+        DistroData verifyDigest = dataStorage.getVerifyDigest();
+        if (null != verifyDigest) {
+            verifyDigestForDataStorage(type, dataStorage, verifyDigest, targetServer);
+            return;
+        }
         List<DistroData> verifyData = dataStorage.getVerifyData();
         if (null == verifyData || verifyData.isEmpty()) {
             return;
@@ -82,4 +87,16 @@ public class DistroVerifyTimedTask implements Runnable {
                     new DistroVerifyExecuteTask(agent, verifyData, member.getAddress(), type));
         }
     }
+    
+    private void verifyDigestForDataStorage(String type, DistroDataStorage dataStorage, DistroData verifyDigest,
+            List<Member> targetServer) {
+        for (Member member : targetServer) {
+            DistroTransportAgent agent = distroComponentHolder.findTransportAgent(type);
+            if (null == agent) {
+                continue;
+            }
+            executeTaskExecuteEngine.addTask(member.getAddress() + type,
+                    new DistroVerifyDigestExecuteTask(agent, dataStorage, verifyDigest, member.getAddress(), type));
+        }
+    }
 }
@@ -16,14 +16,25 @@
 
 package com.alibaba.nacos.core.monitor;
 
+import com.alibaba.nacos.common.remote.codec.PayloadCompression;
+import com.alibaba.nacos.common.remote.codec.PayloadCompressionStatistics;
+import com.alibaba.nacos.core.remote.RpcAckCallbackSynchronizer;
+import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.ImmutableTag;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Tag;
 import io.micrometer.core.instrument.Timer;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 
 /**
  * The Metrics center.
@@ -42,8 +53,16 @@ public final class MetricsMonitor {
     
     private static final Timer RAFT_APPLY_READ_TIMER;
     
+    private static final Counter GRPC_OUTBOUND_REJECTED;
+    
+    private static final Timer PUSH_ACK_TIMER;
+    
+    private static final Counter PUSH_ACK_TIMEOUT;
+    
     private static AtomicInteger longConnection = new AtomicInteger();
     
+    private static AtomicLong grpcOutboundBufferedBytes = new AtomicLong();
+    
     static {
         ImmutableTag immutableTag = new ImmutableTag("module", "core");
         List<Tag> tags = new ArrayList<>();
@@ -71,12 +90,72 @@ public final class MetricsMonitor {
         tags.add(new ImmutableTag("name", "longConnection"));
         NacosMeterRegistryCenter.gauge(METER_REGISTRY, "nacos_monitor", tags, longConnection);
         
+        tags = new ArrayList<>();
+        tags.add(immutableTag);
+        tags.add(new ImmutableTag("name", "grpcOutboundBufferedBytes"));
+        NacosMeterRegistryCenter.gauge(METER_REGISTRY, "nacos_monitor", tags, grpcOutboundBufferedBytes);
+        
+        tags = new ArrayList<>();
+        tags.add(immutableTag);
+        tags.add(new ImmutableTag("name", "grpcOutboundRejected"));
+        GRPC_OUTBOUND_REJECTED = NacosMeterRegistryCenter.counter(METER_REGISTRY, "nacos_monitor", tags);
+        
+        MeterRegistry registry = NacosMeterRegistryCenter.getMeterRegistry(METER_REGISTRY);
+        PUSH_ACK_TIMER = Timer.builder("nacos_remote_push_ack_latency").tags("module", "core")
+                .publishPercentiles(0.5, 0.9, 0.99).register(registry);
+        PUSH_ACK_TIMEOUT = NacosMeterRegistryCenter.counter(METER_REGISTRY, "nacos_remote_push_ack_timeout", "module",
+                "core");
+        Gauge.builder("nacos_remote_push_ack_inflight", RpcAckCallbackSynchronizer::getInflightAckCount)
+                .tags("module", "core").register(registry);
+        
+        PayloadCompression.registerStatisticsListener(MetricsMonitor::registerPayloadCompressionMetrics);
+    }
+    
+    private static void registerPayloadCompressionMetrics(String type, PayloadCompressionStatistics statistics) {
+        MeterRegistry registry = NacosMeterRegistryCenter.getMeterRegistry(METER_REGISTRY);
+        FunctionCounter.builder("nacos_remote_payload_compression_bytes", statistics,
+                PayloadCompressionStatistics::getRawBytes).tags("module", "core", "type", type, "name", "raw")
+                .register(registry);
+        FunctionCounter.builder("nacos_remote_payload_compression_bytes", statistics,
+                PayloadCompressionStatistics::getCompressedBytes)
+                .tags("module", "core", "type", type, "name", "compressed").register(registry);
+        Gauge.builder("nacos_remote_payload_compression_ratio", statistics, PayloadCompressionStatistics::getRatio)
+                .tags("module", "core", "type", type).register(registry);
+        FunctionTimer.builder("nacos_remote_payload_compression_cost", statistics,
+                PayloadCompressionStatistics::getCount, PayloadCompressionStatistics::getCostNanos, TimeUnit.NANOSECONDS)
+                .tags("module", "core", "type", type).register(registry);
     }
     
     public static AtomicInteger getLongConnectionMonitor() {
         return longConnection;
     }
     
+    public static AtomicLong getGrpcOutboundBufferedBytes() {
+        return grpcOutboundBufferedBytes;
+    }
+    
+    public static Counter getGrpcOutboundRejected() {
+        return GRPC_OUTBOUND_REJECTED;
+    }
+    
+    public static Timer getPushAckTimer() {
+        return PUSH_ACK_TIMER;
+    }
+    
+    public static Counter getPushAckTimeout() {
+        return PUSH_ACK_TIMEOUT;
+    }
+    
+    public static Counter getBulkheadRejected(String group) {
+        return NacosMeterRegistryCenter.counter(METER_REGISTRY, "nacos_remote_bulkhead_rejected", "module", "core",
+                "group", group);
+    }
+    
+    public static void registerBulkheadPending(String group, Supplier<Number> pending) {
+        Gauge.builder("nacos_remote_bulkhead_pending", pending).tags("module", "core", "group", group)
+                .register(NacosMeterRegistryCenter.getMeterRegistry(METER_REGISTRY));
+    }
+    
     public static void raftReadIndexFailed() {
         RAFT_READ_INDEX_FAILED.record(1);
     }
@@ -16,7 +16,11 @@
 
 package com.alibaba.nacos.core.remote;
 
+import com.alibaba.nacos.api.ability.constant.AbilityKey;
+import com.alibaba.nacos.api.exception.NacosException;
+import com.alibaba.nacos.api.remote.RequestCallBack;
 import com.alibaba.nacos.api.remote.Requester;
+import com.alibaba.nacos.api.remote.request.Request;
 
 import java.util.Map;
 
@@ -59,6 +63,60 @@ public abstract class Connection implements Requester {
         return this.abilityTable;
     }
     
+    /**
+     * Whether the remote declares supporting the ability, sdk client and cluster client declare the same ability with
+     * the same name.
+     *
+     * @param abilityKey ability key
+     * @return {@code true} if declared supported
+     */
+    public boolean isAbilitySupported(AbilityKey abilityKey) {
+        Map<String, Boolean> abilities = this.abilityTable;
+        return null != abilities && Boolean.TRUE.equals(abilities.get(abilityKey.getName()));
+    }
+    
+    /**
+     * Send the request asynchronously, the request not sent yet may be superseded by the later request with the same
+     * supersede key, and its callback is notified with a success response.
+     *
+     * @param request         request
+     * @param requestCallBack callback of the request
+     * @param supersedeKey    key to supersede the pending request, {@code null} if not supersedable
+     * @throws NacosException exception when sending
+     */
+    public void asyncRequest(Request request, RequestCallBack requestCallBack, String supersedeKey)
+            throws NacosException {
+        asyncRequest(request, requestCallBack);
+    }
+    
+    /**
+     * Get count of server requests waiting for ack of the connection.
+     *
+     * @return in-flight ack count
+     */
+    public int getInflightAckCount() {
+        return RpcAckCallbackSynchronizer.getInflightAckCount(metaInfo.getConnectionId());
+    }
+    
+    /**
+     * Get bytes of the server requests queued because the client is slow to receive, 0 if not queued by the
+     * connection.
+     *
+     * @return buffered bytes
+     */
+    public long getOutboundBufferedBytes() {
+        return 0L;
+    }
+    
+    /**
+     * Get count of server requests not acked in time of the connection.
+     *
+     * @return ack timeout count
+     */
+    public long getAckTimeoutCount() {
+        return RpcAckCallbackSynchronizer.getAckTimeoutCount(metaInfo.getConnectionId());
+    }
+    
     /**
      * check is connected.
      *
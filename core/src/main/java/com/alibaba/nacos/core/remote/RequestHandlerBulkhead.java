@@ -0,0 +1,220 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.core.remote;
+
+import com.alibaba.nacos.common.utils.StringUtils;
+import com.alibaba.nacos.common.utils.ThreadFactoryBuilder;
+import com.alibaba.nacos.core.monitor.MetricsMonitor;
+import com.alibaba.nacos.core.utils.Loggers;
+import com.alibaba.nacos.sys.env.EnvUtil;
+import io.micrometer.core.instrument.Counter;
+import org.springframework.stereotype.Service;
+import org.springframework.util.ClassUtils;
+
+import javax.annotation.PostConstruct;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Isolated executor groups of request handlers.
+ *
+ * <p>Requests of handlers in a group run on the executor of the group, so that a flood of one kind of requests, such
+ * as config listen, can't starve the others, such as instance register and beat. At most threads requests of a group
+ * run at the same time, at most queue size requests wait for them, and the others are rejected when the group is full.
+ * Requests of handlers not in any group run in the caller thread as before.
+ *
+ * @author Nacos
+ */
+@Service
+public class RequestHandlerBulkhead {
+    
+    private static final String PREFIX = "nacos.remote.server.bulkhead.";
+    
+    static final String GROUPS_PROPERTY = PREFIX + "groups";
+    
+    private static final String HANDLERS_SUFFIX = ".handlers";
+    
+    private static final String THREADS_SUFFIX = ".threads";
+    
+    private static final String QUEUE_SIZE_SUFFIX = ".queue-size";
+    
+    private static final String VIRTUAL_THREAD_SUFFIX = ".virtual-thread";
+    
+    private static final int DEFAULT_QUEUE_SIZE = 1024;
+    
+    private final Map<String, BulkheadGroup> groupsByHandler = new HashMap<>();
+    
+    /**
+     * Init groups from properties.
+     */
+    @PostConstruct
+    public void init() {
+        String groups = EnvUtil.getProperty(GROUPS_PROPERTY, StringUtils.EMPTY);
+        for (String each : groups.split(StringUtils.COMMA)) {
+            String group = each.trim();
+            if (StringUtils.isBlank(group)) {
+                continue;
+            }
+            String handlers = EnvUtil.getProperty(PREFIX + group + HANDLERS_SUFFIX, StringUtils.EMPTY);
+            int threads = EnvUtil.getProperty(PREFIX + group + THREADS_SUFFIX, Integer.class,
+                    EnvUtil.getAvailableProcessors());
+            int queueSize = EnvUtil.getProperty(PREFIX + group + QUEUE_SIZE_SUFFIX, Integer.class, DEFAULT_QUEUE_SIZE);
+            boolean virtualThread = EnvUtil.getProperty(PREFIX + group + VIRTUAL_THREAD_SUFFIX, Boolean.class, false);
+            addGroup(group, Arrays.stream(handlers.split(StringUtils.COMMA)).map(String::trim).filter(StringUtils::isNotBlank)
+                    .collect(Collectors.toList()), threads, queueSize, virtualThread);
+        }
+    }
+    
+    void addGroup(String group, Collection<String> handlers, int threads, int queueSize, boolean virtualThread) {
+        if (handlers.isEmpty() || threads <= 0 || queueSize < 0) {
+            Loggers.REMOTE.warn("Skip invalid bulkhead group {}, handlers={}, threads={}, queue size={}", group,
+                    handlers, threads, queueSize);
+            return;
+        }
+        Executor perTaskExecutor = virtualThread ? newVirtualThreadExecutor(group) : null;
+        if (perTaskExecutor != null) {
+            addGroup(group, handlers, threads, queueSize, perTaskExecutor);
+            return;
+        }
+        Executor executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                new ThreadFactoryBuilder().daemon(true).nameFormat("nacos-bulkhead-" + group + "-%d").build());
+        // the pool bounds the running requests of the group itself.
+        registerGroup(group, handlers, new BulkheadGroup(group, executor, null, threads + queueSize));
+        Loggers.REMOTE.info("Bulkhead group {} created, handlers={}, threads={}, queue size={}, virtual thread=false",
+                group, handlers, threads, queueSize);
+    }
+    
+    void addGroup(String group, Collection<String> handlers, int threads, int queueSize, Executor perTaskExecutor) {
+        // every request gets its own thread, so the requests wait for a running permit to bound the running ones.
+        registerGroup(group, handlers,
+                new BulkheadGroup(group, perTaskExecutor, new Semaphore(threads), threads + queueSize));
+        Loggers.REMOTE.info("Bulkhead group {} created, handlers={}, threads={}, queue size={}, virtual thread=true",
+                group, handlers, threads, queueSize);
+    }
+    
+    private void registerGroup(String group, Collection<String> handlers, BulkheadGroup bulkheadGroup) {
+        MetricsMonitor.registerBulkheadPending(group, bulkheadGroup::getPending);
+        for (String each : handlers) {
+            if (groupsByHandler.putIfAbsent(each, bulkheadGroup) != null) {
+                Loggers.REMOTE.warn("Handler {} is already in bulkhead group {}, ignore group {}", each,
+                        groupsByHandler.get(each).name, group);
+            }
+        }
+    }
+    
+    /**
+     * Execute the task of the handler on the executor of its group, or in the caller thread if the handler is not in any
+     * group.
+     *
+     * @param handler handler of the request
+     * @param task    task to handle the request
+     * @return {@code false} if rejected because the group of the handler is full
+     */
+    public boolean execute(RequestHandler handler, Runnable task) {
+        BulkheadGroup group = groupsByHandler.isEmpty() ? null
+                : groupsByHandler.get(ClassUtils.getUserClass(handler).getSimpleName());
+        if (group == null) {
+            task.run();
+            return true;
+        }
+        return group.execute(task);
+    }
+    
+    private static Executor newVirtualThreadExecutor(String group) {
+        try {
+            Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (Executor) method.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            Loggers.REMOTE.warn("Virtual thread is not supported by current jdk, bulkhead group {} uses thread pool",
+                    group);
+            return null;
+        }
+    }
+    
+    private static class BulkheadGroup {
+        
+        private final String name;
+        
+        private final Executor executor;
+        
+        private final int maxPending;
+        
+        private final Semaphore permits;
+        
+        private final Semaphore running;
+        
+        private final Counter rejected;
+        
+        private BulkheadGroup(String name, Executor executor, Semaphore running, int maxPending) {
+            this.name = name;
+            this.executor = executor;
+            this.running = running;
+            this.maxPending = maxPending;
+            this.permits = new Semaphore(maxPending);
+            this.rejected = MetricsMonitor.getBulkheadRejected(name);
+        }
+        
+        private boolean execute(Runnable task) {
+            if (!permits.tryAcquire()) {
+                rejected.increment();
+                return false;
+            }
+            try {
+                executor.execute(() -> {
+                    try {
+                        run(task);
+                    } finally {
+                        permits.release();
+                    }
+                });
+                return true;
+            } catch (RejectedExecutionException e) {
+                permits.release();
+                rejected.increment();
+                return false;
+            }
+        }
+        
+        private void run(Runnable task) {
+            if (running == null) {
+                task.run();
+                return;
+            }
+            running.acquireUninterruptibly();
+            try {
+                task.run();
+            } finally {
+                running.release();
+            }
+        }
+        
+        private int getPending() {
+            return maxPending - permits.availablePermits();
+        }
+    }
+}
@@ -18,27 +18,40 @@ package com.alibaba.nacos.core.remote;
 
 import com.alibaba.nacos.api.exception.NacosException;
 import com.alibaba.nacos.api.remote.DefaultRequestFuture;
+import com.alibaba.nacos.api.remote.RequestCallBack;
+import com.alibaba.nacos.api.remote.RpcScheduledExecutor;
 import com.alibaba.nacos.api.remote.response.Response;
+import com.alibaba.nacos.common.executor.HashedWheelTimer;
+import com.alibaba.nacos.common.remote.exception.ConnectionAlreadyClosedException;
+import com.alibaba.nacos.core.monitor.MetricsMonitor;
 import com.alibaba.nacos.core.utils.Loggers;
-import com.alipay.hessian.clhm.ConcurrentLinkedHashMap;
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * server push ack synchronier.
  *
+ * <p>Pending acks are kept in a concurrent table of each connection keyed by the push id, and whichever of the ack and
+ * the timeout removes the pending ack first completes the future. Timeouts of requests with callback are enforced by
+ * one shared hashed wheel timer instead of a scheduled task of each request.
+ *
  * @author liuzunfei
  * @version $Id: RpcAckCallbackSynchronizer.java, v 0.1 2020年07月29日 7:56 PM liuzunfei Exp $
  */
 public class RpcAckCallbackSynchronizer {
     
-    @SuppressWarnings("checkstyle:linelength")
-    public static final Map<String, Map<String, DefaultRequestFuture>> CALLBACK_CONTEXT = new ConcurrentLinkedHashMap.Builder<String, Map<String, DefaultRequestFuture>>()
-            .maximumWeightedCapacity(1000000)
-            .listener((s, pushCallBack) -> pushCallBack.entrySet().forEach(
-                stringDefaultPushFutureEntry -> stringDefaultPushFutureEntry.getValue().setFailResult(new TimeoutException()))).build();
+    /**
+     * Ack timeouts of server requests, 50ms per tick and about 25s per round, expired on rpc timeout scheduler.
+     */
+    private static final HashedWheelTimer ACK_TIMEOUT_TIMER = new HashedWheelTimer(
+            "com.alibaba.nacos.core.remote.AckTimeoutTimer", 50L, TimeUnit.MILLISECONDS, 512,
+            RpcScheduledExecutor.TIMEOUT_SCHEDULER);
+    
+    private static final Map<String, AckContext> CALLBACK_CONTEXT = new ConcurrentHashMap<>(1024);
     
     /**
      * notify  ack.
@@ -48,8 +61,8 @@ public class RpcAckCallbackSynchronizer {
      */
     public static void ackNotify(String connectionId, Response response) {
         
-        Map<String, DefaultRequestFuture> stringDefaultPushFutureMap = CALLBACK_CONTEXT.get(connectionId);
-        if (stringDefaultPushFutureMap == null) {
+        AckContext context = CALLBACK_CONTEXT.get(connectionId);
+        if (context == null) {
             
             Loggers.REMOTE_DIGEST
                     .warn("Ack receive on a outdated connection ,connection id={},requestId={} ", connectionId,
@@ -57,15 +70,18 @@ public class RpcAckCallbackSynchronizer {
             return;
         }
         
-        DefaultRequestFuture currentCallback = stringDefaultPushFutureMap.remove(response.getRequestId());
-        if (currentCallback == null) {
+        PendingAck pendingAck = context.remove(parseRequestId(response.getRequestId()));
+        if (pendingAck == null) {
             
             Loggers.REMOTE_DIGEST
                     .warn("Ack receive on a outdated request ,connection id={},requestId={} ", connectionId,
                             response.getRequestId());
             return;
         }
+        pendingAck.cancelTimeout();
+        MetricsMonitor.getPushAckTimer().record(System.nanoTime() - pendingAck.startNanos, TimeUnit.NANOSECONDS);
         
+        DefaultRequestFuture currentCallback = pendingAck.future;
         if (response.isSuccess()) {
             currentCallback.setResponse(response);
         } else {
@@ -74,31 +90,51 @@ public class RpcAckCallbackSynchronizer {
     }
     
     /**
-     * sync callback.
+     * sync callback, the future with callback is failed by timeout if not acked in the timeout of callback.
+     *
+     * <p>The context is created when the connection is registered and cleared when it is unregistered, it is never
+     * recreated here, so a push racing with the unregistering can not leave a context of the closed connection.
      *
      * @param connectionId      connectionId
      * @param requestId         requestId
      * @param defaultPushFuture defaultPushFuture
-     * @throws NacosException NacosException
+     * @throws NacosException                    NacosException
+     * @throws ConnectionAlreadyClosedException if the context of connection is already cleared
      */
-    public static void syncCallback(String connectionId, String requestId, DefaultRequestFuture defaultPushFuture)
+    public static void syncCallback(String connectionId, long requestId, DefaultRequestFuture defaultPushFuture)
             throws NacosException {
         
-        Map<String, DefaultRequestFuture> stringDefaultPushFutureMap = initContextIfNecessary(connectionId);
-        
-        if (!stringDefaultPushFutureMap.containsKey(requestId)) {
-            DefaultRequestFuture pushCallBackPrev = stringDefaultPushFutureMap
-                    .putIfAbsent(requestId, defaultPushFuture);
-            if (pushCallBackPrev == null) {
-                return;
-            }
+        AckContext context = CALLBACK_CONTEXT.get(connectionId);
+        if (context == null) {
+            throw new ConnectionAlreadyClosedException("connection " + connectionId + " is already closed");
+        }
+        PendingAck pendingAck = new PendingAck(defaultPushFuture);
+        if (context.pendingAcks.putIfAbsent(requestId, pendingAck) != null) {
+            throw new NacosException(NacosException.INVALID_PARAM, "request id conflict");
         }
-        throw new NacosException(NacosException.INVALID_PARAM, "request id conflict");
+        RequestCallBack callBack = defaultPushFuture.getRequestCallBack();
+        if (callBack != null) {
+            // acked before scheduled is fine, the timeout finds nothing to remove when expired.
+            pendingAck.timeout = ACK_TIMEOUT_TIMER
+                    .newTimeout(() -> onTimeout(context, requestId, callBack.getTimeout()), callBack.getTimeout(),
+                            TimeUnit.MILLISECONDS);
+        }
+    }
         
+    private static void onTimeout(AckContext context, long requestId, long timeoutMills) {
+        PendingAck pendingAck = context.remove(requestId);
+        if (pendingAck == null) {
+            return;
+        }
+        context.timeouts.increment();
+        MetricsMonitor.getPushAckTimeout().increment();
+        pendingAck.future.setFailResult(new TimeoutException(
+                "Timeout After " + timeoutMills + " milliseconds, requestId=" + requestId + ", connectionId="
+                        + context.connectionId));
     }
     
     /**
-     * clear context of connectionId.
+     * clear context of connectionId, pending requests with callback are still failed by timeout.
      *
      * @param connectionId connectionId
      */
@@ -111,15 +147,8 @@ public class RpcAckCallbackSynchronizer {
      *
      * @param connectionId connectionId
      */
-    public static Map<String, DefaultRequestFuture> initContextIfNecessary(String connectionId) {
-        if (!CALLBACK_CONTEXT.containsKey(connectionId)) {
-            Map<String, DefaultRequestFuture> context = new HashMap<>(128);
-            Map<String, DefaultRequestFuture> stringDefaultRequestFutureMap = CALLBACK_CONTEXT
-                    .putIfAbsent(connectionId, context);
-            return stringDefaultRequestFutureMap == null ? context : stringDefaultRequestFutureMap;
-        } else {
-            return CALLBACK_CONTEXT.get(connectionId);
-        }
+    public static AckContext initContextIfNecessary(String connectionId) {
+        return CALLBACK_CONTEXT.computeIfAbsent(connectionId, AckContext::new);
     }
     
     /**
@@ -128,14 +157,98 @@ public class RpcAckCallbackSynchronizer {
      * @param connectionId connectionId
      * @param requestId    requestId
      */
-    public static void clearFuture(String connectionId, String requestId) {
-        Map<String, DefaultRequestFuture> stringDefaultPushFutureMap = CALLBACK_CONTEXT.get(connectionId);
-        
-        if (stringDefaultPushFutureMap == null || !stringDefaultPushFutureMap.containsKey(requestId)) {
+    public static void clearFuture(String connectionId, long requestId) {
+        AckContext context = CALLBACK_CONTEXT.get(connectionId);
+        if (context == null) {
             return;
         }
-        stringDefaultPushFutureMap.remove(requestId);
+        PendingAck pendingAck = context.remove(requestId);
+        if (pendingAck != null) {
+            pendingAck.cancelTimeout();
+        }
+    }
+    
+    /**
+     * Get count of requests waiting for ack of all connections.
+     *
+     * @return in-flight ack count
+     */
+    public static int getInflightAckCount() {
+        int result = 0;
+        for (AckContext each : CALLBACK_CONTEXT.values()) {
+            result += each.pendingAcks.size();
+        }
+        return result;
+    }
+    
+    /**
+     * Get count of requests waiting for ack of the connection.
+     *
+     * @param connectionId connectionId
+     * @return in-flight ack count, 0 if the connection has no context
+     */
+    public static int getInflightAckCount(String connectionId) {
+        AckContext context = CALLBACK_CONTEXT.get(connectionId);
+        return context == null ? 0 : context.pendingAcks.size();
+    }
+    
+    /**
+     * Get count of ack timeouts of the connection.
+     *
+     * @param connectionId connectionId
+     * @return ack timeout count, 0 if the connection has no context
+     */
+    public static long getAckTimeoutCount(String connectionId) {
+        AckContext context = CALLBACK_CONTEXT.get(connectionId);
+        return context == null ? 0L : context.timeouts.sum();
+    }
+    
+    private static long parseRequestId(String requestId) {
+        try {
+            return Long.parseLong(requestId);
+        } catch (NumberFormatException e) {
+            // push id is positive, never matched.
+            return -1L;
+        }
     }
     
+    /**
+     * Pending acks of one connection.
+     */
+    public static class AckContext {
+        
+        private final String connectionId;
+        
+        private final Map<Long, PendingAck> pendingAcks = new ConcurrentHashMap<>(128);
+        
+        private final LongAdder timeouts = new LongAdder();
+        
+        private AckContext(String connectionId) {
+            this.connectionId = connectionId;
+        }
+        
+        private PendingAck remove(long requestId) {
+            return pendingAcks.remove(requestId);
+        }
+    }
+    
+    private static class PendingAck {
+        
+        private final DefaultRequestFuture future;
+        
+        private final long startNanos = System.nanoTime();
+        
+        private volatile HashedWheelTimer.Timeout timeout;
+        
+        private PendingAck(DefaultRequestFuture future) {
+            this.future = future;
+        }
+        
+        private void cancelTimeout() {
+            HashedWheelTimer.Timeout current = timeout;
+            if (current != null) {
+                current.cancel();
+            }
+        }
+    }
 }
-
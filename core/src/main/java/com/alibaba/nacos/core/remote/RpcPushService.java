@@ -49,6 +49,21 @@ public class RpcPushService {
      */
     public void pushWithCallback(String connectionId, ServerRequest request, PushCallBack requestCallBack,
             Executor executor) {
+        pushWithCallback(connectionId, request, requestCallBack, executor, null);
+    }
+    
+    /**
+     * push response with callback, the push not sent yet because the client is slow to receive is superseded by the
+     * later push with the same supersede key.
+     *
+     * @param connectionId    connectionId.
+     * @param request         request.
+     * @param requestCallBack requestCallBack.
+     * @param executor        executor of the callback.
+     * @param supersedeKey    key to supersede the pending push, {@code null} if not supersedable.
+     */
+    public void pushWithCallback(String connectionId, ServerRequest request, PushCallBack requestCallBack,
+            Executor executor, String supersedeKey) {
         Connection connection = connectionManager.getConnection(connectionId);
         if (connection != null) {
             try {
@@ -72,7 +87,7 @@ public class RpcPushService {
                     public void onException(Throwable e) {
                         requestCallBack.onFail(e);
                     }
-                });
+                }, supersedeKey);
             } catch (ConnectionAlreadyClosedException e) {
                 connectionManager.unregister(connectionId);
                 requestCallBack.onSuccess();
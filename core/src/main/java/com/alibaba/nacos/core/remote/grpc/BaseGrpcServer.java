@@ -18,6 +18,7 @@ package com.alibaba.nacos.core.remote.grpc;
 
 import com.alibaba.nacos.api.grpc.auto.Payload;
 import com.alibaba.nacos.common.remote.ConnectionType;
+import com.alibaba.nacos.common.remote.codec.PayloadCompression;
 import com.alibaba.nacos.core.remote.BaseRpcServer;
 import com.alibaba.nacos.core.remote.ConnectionManager;
 import com.alibaba.nacos.core.utils.Loggers;
@@ -85,7 +86,12 @@ public abstract class BaseGrpcServer extends BaseRpcServer {
         for (ServerTransportFilter each : getServerTransportFilters()) {
             builder.addTransportFilter(each);
         }
-        server = builder.maxInboundMessageSize(getMaxInboundMessageSize()).fallbackHandlerRegistry(handlerRegistry)
+        int maxInboundMessageSize = getMaxInboundMessageSize();
+        PayloadCompression.raiseMaxRawSize(maxInboundMessageSize);
+        PayloadCompression.setThreshold(EnvUtil
+                .getProperty(GrpcServerConstants.GrpcConfig.PAYLOAD_COMPRESSION_THRESHOLD_PROPERTY, Integer.class,
+                        PayloadCompression.DEFAULT_THRESHOLD));
+        server = builder.maxInboundMessageSize(maxInboundMessageSize).fallbackHandlerRegistry(handlerRegistry)
                 .compressorRegistry(CompressorRegistry.getDefaultInstance())
                 .decompressorRegistry(DecompressorRegistry.getDefaultInstance())
                 .keepAliveTime(getKeepAliveTime(), TimeUnit.MILLISECONDS)
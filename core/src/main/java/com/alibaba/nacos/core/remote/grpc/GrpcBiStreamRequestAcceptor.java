@@ -30,12 +30,15 @@ import com.alibaba.nacos.core.remote.ConnectionManager;
 import com.alibaba.nacos.core.remote.ConnectionMeta;
 import com.alibaba.nacos.core.remote.RpcAckCallbackSynchronizer;
 import com.alibaba.nacos.core.utils.Loggers;
+import com.alibaba.nacos.sys.env.EnvUtil;
 import com.alibaba.nacos.sys.utils.ApplicationUtils;
 import io.grpc.stub.ServerCallStreamObserver;
 import io.grpc.stub.StreamObserver;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import javax.annotation.PostConstruct;
+import java.util.Locale;
 import java.util.Map;
 
 /**
@@ -50,6 +53,23 @@ public class GrpcBiStreamRequestAcceptor extends BiRequestStreamGrpc.BiRequestSt
     @Autowired
     ConnectionManager connectionManager;
     
+    private long outboundMaxBufferedBytes = GrpcServerConstants.GrpcConfig.DEFAULT_OUTBOUND_MAX_BUFFERED_BYTES;
+    
+    private GrpcOutboundQueue.OverflowPolicy outboundOverflowPolicy = GrpcOutboundQueue.OverflowPolicy.valueOf(
+            GrpcServerConstants.GrpcConfig.DEFAULT_OUTBOUND_OVERFLOW_POLICY);
+    
+    @PostConstruct
+    void initOutboundConfig() {
+        outboundMaxBufferedBytes = EnvUtil
+                .getProperty(GrpcServerConstants.GrpcConfig.OUTBOUND_MAX_BUFFERED_BYTES_PROPERTY, Long.class,
+                        GrpcServerConstants.GrpcConfig.DEFAULT_OUTBOUND_MAX_BUFFERED_BYTES);
+        String policy = EnvUtil.getProperty(GrpcServerConstants.GrpcConfig.OUTBOUND_OVERFLOW_POLICY_PROPERTY,
+                GrpcServerConstants.GrpcConfig.DEFAULT_OUTBOUND_OVERFLOW_POLICY);
+        outboundOverflowPolicy = GrpcOutboundQueue.OverflowPolicy.valueOf(policy.trim().toUpperCase(Locale.ROOT));
+        Loggers.REMOTE.info("Grpc outbound max buffered bytes {}, overflow policy {}", outboundMaxBufferedBytes,
+                outboundOverflowPolicy);
+    }
+    
     private void traceDetailIfNecessary(Payload grpcRequest) {
         String clientIp = grpcRequest.getMetadata().getClientIp();
         String connectionId = GrpcServerConstants.CONTEXT_KEY_CONN_ID.get();
@@ -69,6 +89,10 @@ public class GrpcBiStreamRequestAcceptor extends BiRequestStreamGrpc.BiRequestSt
     @Override
     public StreamObserver<Payload> requestBiStream(StreamObserver<Payload> responseObserver) {
         
+        // on ready handler must be set before the stream observer returned.
+        GrpcOutboundQueue outboundQueue = GrpcOutboundQueue.flowControlled(responseObserver, outboundMaxBufferedBytes,
+                outboundOverflowPolicy);
+        
         StreamObserver<Payload> streamObserver = new StreamObserver<Payload>() {
             
             final String connectionId = GrpcServerConstants.CONTEXT_KEY_CONN_ID.get();
@@ -115,7 +139,7 @@ public class GrpcBiStreamRequestAcceptor extends BiRequestStreamGrpc.BiRequestSt
                             setUpRequest.getClientVersion(), appName, setUpRequest.getLabels());
                     metaInfo.setTenant(setUpRequest.getTenant());
                     GrpcConnection connection = new GrpcConnection(metaInfo, responseObserver,
-                            GrpcServerConstants.CONTEXT_KEY_CHANNEL.get());
+                            GrpcServerConstants.CONTEXT_KEY_CHANNEL.get(), outboundQueue);
                     // null if supported
                     if (setUpRequest.getAbilityTable() != null) {
                         // map to table
@@ -16,6 +16,7 @@
 
 package com.alibaba.nacos.core.remote.grpc;
 
+import com.alibaba.nacos.api.ability.constant.AbilityKey;
 import com.alibaba.nacos.api.exception.NacosException;
 import com.alibaba.nacos.api.grpc.auto.Payload;
 import com.alibaba.nacos.api.remote.DefaultRequestFuture;
@@ -24,7 +25,9 @@ import com.alibaba.nacos.api.remote.RequestFuture;
 import com.alibaba.nacos.api.remote.request.Request;
 import com.alibaba.nacos.api.remote.response.Response;
 import com.alibaba.nacos.common.remote.client.grpc.GrpcUtils;
+import com.alibaba.nacos.common.remote.codec.PayloadBodyCodecs;
 import com.alibaba.nacos.common.remote.exception.ConnectionAlreadyClosedException;
+import com.alibaba.nacos.core.monitor.MetricsMonitor;
 import com.alibaba.nacos.core.remote.Connection;
 import com.alibaba.nacos.core.remote.ConnectionMeta;
 import com.alibaba.nacos.core.remote.RpcAckCallbackSynchronizer;
@@ -46,10 +49,20 @@ public class GrpcConnection extends Connection {
     
     private Channel channel;
     
+    private final GrpcOutboundQueue outboundQueue;
+    
+    @SuppressWarnings("unchecked")
     public GrpcConnection(ConnectionMeta metaInfo, StreamObserver streamObserver, Channel channel) {
+        this(metaInfo, streamObserver, channel, GrpcOutboundQueue.direct(streamObserver));
+    }
+    
+    public GrpcConnection(ConnectionMeta metaInfo, StreamObserver streamObserver, Channel channel,
+            GrpcOutboundQueue outboundQueue) {
         super(metaInfo);
         this.streamObserver = streamObserver;
         this.channel = channel;
+        this.outboundQueue = outboundQueue;
+        outboundQueue.setSupersededCallback(this::ackSuperseded);
     }
     
     /**
@@ -59,13 +72,18 @@ public class GrpcConnection extends Connection {
      * @throws NacosException NacosException
      */
     public void sendRequestNoAck(Request request) throws NacosException {
+        sendRequestNoAck(request, null);
+    }
+    
+    private void sendRequestNoAck(Request request, String supersedeKey) throws NacosException {
         try {
-            //StreamObserver#onNext() is not thread-safe,synchronized is required to avoid direct memory leak.
-            synchronized (streamObserver) {
-                
-                Payload payload = GrpcUtils.convert(request);
-                traceIfNecessary(payload);
-                streamObserver.onNext(payload);
+            // encode and compress out of the lock, which may cost much for large push.
+            Payload payload = GrpcUtils.convert(request,
+                    PayloadBodyCodecs.select(isAbilitySupported(AbilityKey.SDK_CLIENT_PROTOBUF_PAYLOAD)),
+                    isAbilitySupported(AbilityKey.SDK_CLIENT_PAYLOAD_COMPRESSION));
+            traceIfNecessary(payload);
+            if (!outboundQueue.offer(payload, request.getRequestId(), supersedeKey)) {
+                onOutboundOverflow();
             }
         } catch (Exception e) {
             if (e instanceof StatusRuntimeException) {
@@ -75,6 +93,23 @@ public class GrpcConnection extends Connection {
         }
     }
     
+    private void onOutboundOverflow() throws NacosException {
+        MetricsMonitor.getGrpcOutboundRejected().increment();
+        String connectionId = getMetaInfo().getConnectionId();
+        if (GrpcOutboundQueue.OverflowPolicy.EJECT == outboundQueue.getOverflowPolicy()) {
+            Loggers.REMOTE_DIGEST.warn("[{}] outbound buffer is full, eject the slow connection", connectionId);
+            close();
+            throw new ConnectionAlreadyClosedException("outbound buffer is full, connection is ejected");
+        }
+        throw new NacosException(NacosException.OVER_THRESHOLD, "outbound buffer is full, request is dropped");
+    }
+    
+    private void ackSuperseded(String requestId) {
+        Response response = new SupersededResponse();
+        response.setRequestId(requestId);
+        RpcAckCallbackSynchronizer.ackNotify(getMetaInfo().getConnectionId(), response);
+    }
+    
     private void traceIfNecessary(Payload payload) {
         String connectionId = null;
         if (this.isTraced()) {
@@ -89,38 +124,48 @@ public class GrpcConnection extends Connection {
         }
     }
     
-    private DefaultRequestFuture sendRequestInner(Request request, RequestCallBack callBack) throws NacosException {
-        final String requestId = String.valueOf(PushAckIdGenerator.getNextId());
-        request.setRequestId(requestId);
+    private DefaultRequestFuture sendRequestInner(Request request, RequestCallBack callBack, String supersedeKey)
+            throws NacosException {
+        final long requestId = PushAckIdGenerator.getNextId();
+        request.setRequestId(String.valueOf(requestId));
         
-        DefaultRequestFuture defaultPushFuture = new DefaultRequestFuture(getMetaInfo().getConnectionId(), requestId,
-                callBack, () -> RpcAckCallbackSynchronizer.clearFuture(getMetaInfo().getConnectionId(), requestId));
+        // timeout of callback is enforced by the synchronizer.
+        DefaultRequestFuture defaultPushFuture = new DefaultRequestFuture(getMetaInfo().getConnectionId(),
+                request.getRequestId(), callBack,
+                () -> RpcAckCallbackSynchronizer.clearFuture(getMetaInfo().getConnectionId(), requestId), false);
         
         RpcAckCallbackSynchronizer.syncCallback(getMetaInfo().getConnectionId(), requestId, defaultPushFuture);
-        sendRequestNoAck(request);
+        sendRequestNoAck(request, supersedeKey);
         return defaultPushFuture;
     }
     
     @Override
     public Response request(Request request, long timeoutMills) throws NacosException {
-        DefaultRequestFuture pushFuture = sendRequestInner(request, null);
+        DefaultRequestFuture pushFuture = sendRequestInner(request, null, null);
         try {
             return pushFuture.get(timeoutMills);
         } catch (Exception e) {
             throw new NacosException(NacosException.SERVER_ERROR, e);
         } finally {
-            RpcAckCallbackSynchronizer.clearFuture(getMetaInfo().getConnectionId(), pushFuture.getRequestId());
+            RpcAckCallbackSynchronizer
+                    .clearFuture(getMetaInfo().getConnectionId(), Long.parseLong(pushFuture.getRequestId()));
         }
     }
     
     @Override
     public RequestFuture requestFuture(Request request) throws NacosException {
-        return sendRequestInner(request, null);
+        return sendRequestInner(request, null, null);
     }
     
     @Override
     public void asyncRequest(Request request, RequestCallBack requestCallBack) throws NacosException {
-        sendRequestInner(request, requestCallBack);
+        sendRequestInner(request, requestCallBack, null);
+    }
+    
+    @Override
+    public void asyncRequest(Request request, RequestCallBack requestCallBack, String supersedeKey)
+            throws NacosException {
+        sendRequestInner(request, requestCallBack, supersedeKey);
     }
     
     @Override
@@ -134,6 +179,7 @@ public class GrpcConnection extends Connection {
                 Loggers.REMOTE_DIGEST.warn("[{}] try to close connection ", connectionId);
             }
             
+            outboundQueue.close();
             closeBiStream();
             channel.close();
             
@@ -155,4 +201,16 @@ public class GrpcConnection extends Connection {
     public boolean isConnected() {
         return channel != null && channel.isOpen() && channel.isActive();
     }
+    
+    @Override
+    public long getOutboundBufferedBytes() {
+        return outboundQueue.getBufferedBytes();
+    }
+    
+    private static class SupersededResponse extends Response {
+        
+        private SupersededResponse() {
+            setMessage("superseded by the later request before sent");
+        }
+    }
 }
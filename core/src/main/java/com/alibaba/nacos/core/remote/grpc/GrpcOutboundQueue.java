@@ -0,0 +1,240 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.core.remote.grpc;
+
+import com.alibaba.nacos.api.grpc.auto.Payload;
+import com.alibaba.nacos.core.monitor.MetricsMonitor;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Bounded outbound queue of the grpc bi stream to client.
+ *
+ * <p>Payloads are written to the stream only when the stream is ready, otherwise they are queued and drained on
+ * ready, so a slow client can't make netty buffer pushes without bound. A queued payload is replaced in place by the
+ * later payload with the same supersede key, and the request id of the replaced one is passed to the superseded
+ * callback. The payload is rejected if the buffered bytes would exceed the limit.
+ *
+ * <p>Without flow control, such as the stream is not a server call stream, payloads are written directly.
+ *
+ * @author Nacos
+ */
+public class GrpcOutboundQueue {
+    
+    private final StreamObserver<Payload> streamObserver;
+    
+    private final ServerCallStreamObserver<Payload> flowControlObserver;
+    
+    private final long maxBufferedBytes;
+    
+    private final OverflowPolicy overflowPolicy;
+    
+    private final Deque<OutboundItem> queue = new ArrayDeque<>();
+    
+    private final Map<String, OutboundItem> supersedeIndex = new HashMap<>();
+    
+    private Consumer<String> supersededCallback = requestId -> {
+    };
+    
+    private long bufferedBytes;
+    
+    private boolean closed;
+    
+    private GrpcOutboundQueue(StreamObserver<Payload> streamObserver,
+            ServerCallStreamObserver<Payload> flowControlObserver, long maxBufferedBytes,
+            OverflowPolicy overflowPolicy) {
+        this.streamObserver = streamObserver;
+        this.flowControlObserver = flowControlObserver;
+        this.maxBufferedBytes = maxBufferedBytes;
+        this.overflowPolicy = overflowPolicy;
+    }
+    
+    /**
+     * Create queue writing directly to the stream.
+     *
+     * @param streamObserver stream to client
+     * @return queue without flow control
+     */
+    public static GrpcOutboundQueue direct(StreamObserver<Payload> streamObserver) {
+        return new GrpcOutboundQueue(streamObserver, null, Long.MAX_VALUE, OverflowPolicy.DROP);
+    }
+    
+    /**
+     * Create queue with flow control of the stream, which must be called before the stream observer of the call is
+     * returned to register the on ready handler.
+     *
+     * @param streamObserver   stream to client
+     * @param maxBufferedBytes max bytes of queued payloads
+     * @param overflowPolicy   policy of the connection when payload rejected
+     * @return queue with flow control if the stream is a server call stream, otherwise queue without flow control
+     */
+    @SuppressWarnings("unchecked")
+    public static GrpcOutboundQueue flowControlled(StreamObserver<Payload> streamObserver, long maxBufferedBytes,
+            OverflowPolicy overflowPolicy) {
+        if (!(streamObserver instanceof ServerCallStreamObserver)) {
+            return direct(streamObserver);
+        }
+        ServerCallStreamObserver<Payload> serverCallStreamObserver = (ServerCallStreamObserver<Payload>) streamObserver;
+        GrpcOutboundQueue result = new GrpcOutboundQueue(streamObserver, serverCallStreamObserver, maxBufferedBytes,
+                overflowPolicy);
+        serverCallStreamObserver.setOnReadyHandler(result::drain);
+        return result;
+    }
+    
+    public OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+    
+    public void setSupersededCallback(Consumer<String> supersededCallback) {
+        this.supersededCallback = supersededCallback;
+    }
+    
+    /**
+     * Write the payload if the stream is ready and nothing queued, otherwise queue it.
+     *
+     * @param payload      payload to write
+     * @param requestId    request id of the payload
+     * @param supersedeKey key to supersede the queued payload with the same key, {@code null} if not supersedable
+     * @return {@code false} if rejected because buffered bytes exceed the limit
+     */
+    public boolean offer(Payload payload, String requestId, String supersedeKey) {
+        String supersededRequestId = null;
+        synchronized (this) {
+            // write to the closed stream directly to fail by the closed status.
+            if (isWritableDirectly()) {
+                //StreamObserver#onNext() is not thread-safe,synchronized is required to avoid direct memory leak.
+                streamObserver.onNext(payload);
+                return true;
+            }
+            int size = payload.getSerializedSize();
+            OutboundItem superseded = null == supersedeKey ? null : supersedeIndex.get(supersedeKey);
+            long sizeDelta = null == superseded ? size : size - superseded.size;
+            if (bufferedBytes + sizeDelta > maxBufferedBytes) {
+                return false;
+            }
+            if (null == superseded) {
+                OutboundItem item = new OutboundItem(payload, requestId, supersedeKey, size);
+                queue.add(item);
+                if (null != supersedeKey) {
+                    supersedeIndex.put(supersedeKey, item);
+                }
+            } else {
+                supersededRequestId = superseded.requestId;
+                superseded.replace(payload, requestId, size);
+            }
+            addBufferedBytes(sizeDelta);
+            drain();
+        }
+        if (null != supersededRequestId) {
+            supersededCallback.accept(supersededRequestId);
+        }
+        return true;
+    }
+    
+    private boolean isWritableDirectly() {
+        if (closed || null == flowControlObserver) {
+            return true;
+        }
+        return queue.isEmpty() && flowControlObserver.isReady();
+    }
+    
+    /**
+     * Write queued payloads until the stream is not ready.
+     */
+    public void drain() {
+        synchronized (this) {
+            while (!queue.isEmpty() && flowControlObserver.isReady()) {
+                OutboundItem item = queue.poll();
+                if (null != item.supersedeKey) {
+                    supersedeIndex.remove(item.supersedeKey);
+                }
+                addBufferedBytes(-item.size);
+                streamObserver.onNext(item.payload);
+            }
+        }
+    }
+    
+    /**
+     * Discard queued payloads, the requests of them are failed by timeout, and later payloads are written to the closed
+     * stream directly.
+     */
+    public void close() {
+        synchronized (this) {
+            closed = true;
+            queue.clear();
+            supersedeIndex.clear();
+            addBufferedBytes(-bufferedBytes);
+        }
+    }
+    
+    public long getBufferedBytes() {
+        synchronized (this) {
+            return bufferedBytes;
+        }
+    }
+    
+    private void addBufferedBytes(long delta) {
+        bufferedBytes += delta;
+        MetricsMonitor.getGrpcOutboundBufferedBytes().addAndGet(delta);
+    }
+    
+    /**
+     * Policy of the connection when the payload is rejected by the queue.
+     */
+    public enum OverflowPolicy {
+        
+        /**
+         * Close the connection of the slow client, the client reconnects and gets the latest data by redo.
+         */
+        EJECT,
+        
+        /**
+         * Drop the rejected payload and fail its request, the sender may retry it later.
+         */
+        DROP
+    }
+    
+    private static class OutboundItem {
+        
+        private final String supersedeKey;
+        
+        private Payload payload;
+        
+        private String requestId;
+        
+        private int size;
+        
+        private OutboundItem(Payload payload, String requestId, String supersedeKey, int size) {
+            this.payload = payload;
+            this.requestId = requestId;
+            this.supersedeKey = supersedeKey;
+            this.size = size;
+        }
+        
+        private void replace(Payload payload, String requestId, int size) {
+            this.payload = payload;
+            this.requestId = requestId;
+            this.size = size;
+        }
+    }
+}
@@ -16,6 +16,7 @@
 
 package com.alibaba.nacos.core.remote.grpc;
 
+import com.alibaba.nacos.api.ability.constant.AbilityKey;
 import com.alibaba.nacos.api.exception.NacosException;
 import com.alibaba.nacos.api.grpc.auto.Payload;
 import com.alibaba.nacos.api.grpc.auto.RequestGrpc;
@@ -27,12 +28,15 @@ import com.alibaba.nacos.api.remote.response.ErrorResponse;
 import com.alibaba.nacos.api.remote.response.Response;
 import com.alibaba.nacos.api.remote.response.ServerCheckResponse;
 import com.alibaba.nacos.common.remote.client.grpc.GrpcUtils;
+import com.alibaba.nacos.common.remote.codec.PayloadBodyCodecs;
 import com.alibaba.nacos.core.remote.Connection;
 import com.alibaba.nacos.core.remote.ConnectionManager;
 import com.alibaba.nacos.core.remote.RequestHandler;
+import com.alibaba.nacos.core.remote.RequestHandlerBulkhead;
 import com.alibaba.nacos.core.remote.RequestHandlerRegistry;
 import com.alibaba.nacos.core.utils.Loggers;
 import com.alibaba.nacos.sys.utils.ApplicationUtils;
+import io.grpc.Context;
 import io.grpc.stub.StreamObserver;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -54,6 +58,9 @@ public class GrpcRequestAcceptor extends RequestGrpc.RequestImplBase {
     @Autowired
     private ConnectionManager connectionManager;
     
+    @Autowired
+    private RequestHandlerBulkhead requestHandlerBulkhead;
+    
     private void traceIfNecessary(Payload grpcRequest, boolean receive) {
         String clientIp = grpcRequest.getMetadata().getClientIp();
         String connectionId = GrpcServerConstants.CONTEXT_KEY_CONN_ID.get();
@@ -122,6 +129,24 @@ public class GrpcRequestAcceptor extends RequestGrpc.RequestImplBase {
             return;
         }
         
+        // handle in the bulkhead group of the handler, with grpc context of the call.
+        Runnable task = Context.current()
+                .wrap(() -> handleRequest(grpcRequest, requestHandler, connectionId, responseObserver));
+        if (!requestHandlerBulkhead.execute(requestHandler, task)) {
+            Loggers.REMOTE_DIGEST.warn("[{}] Request rejected by bulkhead, type={}", connectionId, type);
+            Payload payloadResponse = GrpcUtils
+                    .convert(ErrorResponse.build(NacosException.OVER_THRESHOLD, "Too many requests, please try later."));
+            // delay like tps control to slow down the retry of client.
+            RpcScheduledExecutor.CONTROL_SCHEDULER.schedule(() -> {
+                traceIfNecessary(payloadResponse, false);
+                responseObserver.onNext(payloadResponse);
+                responseObserver.onCompleted();
+            }, 1000L, TimeUnit.MILLISECONDS);
+        }
+    }
+    
+    private void handleRequest(Payload grpcRequest, RequestHandler requestHandler, String connectionId,
+            StreamObserver<Payload> responseObserver) {
         Object parseObj = null;
         try {
             parseObj = GrpcUtils.parse(grpcRequest);
@@ -168,7 +193,8 @@ public class GrpcRequestAcceptor extends RequestGrpc.RequestImplBase {
             requestMeta.setAbilityTable(connection.getAbilityTable());
             connectionManager.refreshActiveTime(requestMeta.getConnectionId());
             Response response = requestHandler.handleRequest(request, requestMeta);
-            Payload payloadResponse = GrpcUtils.convert(response);
+            Payload payloadResponse = GrpcUtils.convert(response, PayloadBodyCodecs.JSON,
+                    connection.isAbilitySupported(AbilityKey.SDK_CLIENT_PAYLOAD_COMPRESSION));
             traceIfNecessary(payloadResponse, false);
             if (response.getErrorCode() == NacosException.OVER_THRESHOLD) {
                 RpcScheduledExecutor.CONTROL_SCHEDULER.schedule(() -> {
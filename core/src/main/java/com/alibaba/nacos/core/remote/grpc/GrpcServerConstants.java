@@ -91,8 +91,21 @@ final class GrpcServerConstants {
         static final String CLUSTER_PERMIT_KEEP_ALIVE_TIME =
                 NACOS_REMOTE_SERVER_GRPC_CLUSTER_PREFIX + "permit-keep-alive-time";
         
+        static final String OUTBOUND_MAX_BUFFERED_BYTES_PROPERTY =
+                NACOS_REMOTE_SERVER_GRPC_PREFIX + "outbound.max-buffered-bytes";
+        
+        static final String OUTBOUND_OVERFLOW_POLICY_PROPERTY =
+                NACOS_REMOTE_SERVER_GRPC_PREFIX + "outbound.overflow-policy";
+        
+        static final String PAYLOAD_COMPRESSION_THRESHOLD_PROPERTY =
+                NACOS_REMOTE_SERVER_GRPC_PREFIX + "payload.compression-threshold";
+        
         static final int DEFAULT_GRPC_MAX_INBOUND_MSG_SIZE = 10 * 1024 * 1024;
         
+        static final long DEFAULT_OUTBOUND_MAX_BUFFERED_BYTES = 16 * 1024 * 1024L;
+        
+        static final String DEFAULT_OUTBOUND_OVERFLOW_POLICY = "EJECT";
+        
         static final long DEFAULT_GRPC_KEEP_ALIVE_TIME = TimeUnit.NANOSECONDS.toMillis(GrpcUtil.DEFAULT_SERVER_KEEPALIVE_TIME_NANOS);
         
         static final long DEFAULT_GRPC_KEEP_ALIVE_TIMEOUT = TimeUnit.NANOSECONDS.toMillis(GrpcUtil.DEFAULT_SERVER_KEEPALIVE_TIMEOUT_NANOS);
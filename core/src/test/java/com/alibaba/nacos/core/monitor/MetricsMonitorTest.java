@@ -16,7 +16,10 @@
 
 package com.alibaba.nacos.core.monitor;
 
+import com.alibaba.nacos.common.remote.codec.PayloadCompression;
 import com.alibaba.nacos.sys.utils.ApplicationUtils;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.Timer;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import io.micrometer.prometheus.PrometheusMeterRegistry;
@@ -28,6 +31,8 @@ import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 import org.springframework.context.ConfigurableApplicationContext;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -92,4 +97,20 @@ public class MetricsMonitorTest {
         
         Assert.assertEquals(30D, raftApplyReadTimer.totalTime(TimeUnit.SECONDS), 0.01);
     }
+    
+    @Test
+    public void testPayloadCompressionMetrics() {
+        MetricsMonitor.getLongConnectionMonitor();
+        byte[] body = new byte[PayloadCompression.getThreshold()];
+        Arrays.fill(body, "a".getBytes(StandardCharsets.UTF_8)[0]);
+        PayloadCompression.compress("MetricsMonitorTestRequest", body);
+        
+        Gauge ratio = NacosMeterRegistryCenter.getMeterRegistry(NacosMeterRegistryCenter.CORE_STABLE_REGISTRY)
+                .find("nacos_remote_payload_compression_ratio").tag("type", "MetricsMonitorTestRequest").gauge();
+        Assert.assertTrue(ratio.value() < 1D);
+        FunctionTimer cost = NacosMeterRegistryCenter.getMeterRegistry(NacosMeterRegistryCenter.CORE_STABLE_REGISTRY)
+                .find("nacos_remote_payload_compression_cost").tag("type", "MetricsMonitorTestRequest")
+                .functionTimer();
+        Assert.assertEquals(1D, cost.count(), 0.01);
+    }
 }
@@ -56,7 +56,6 @@ public class ConnectionManagerTest {
     @Mock
     private ClientConnectionEventListenerRegistry clientConnectionEventListenerRegistry;
     
-    @InjectMocks
     private GrpcConnection connection;
     
     @Mock
@@ -104,6 +103,7 @@ public class ConnectionManagerTest {
         connectionMeta.labels = labels;
         connectionManager.loadCount(1, clientIp);
         
+        connection = new GrpcConnection(connectionMeta, null, channel);
         connectionManager.register(connectId, connection);
     }
     
@@ -0,0 +1,172 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.core.remote;
+
+import com.alibaba.nacos.api.remote.request.HealthCheckRequest;
+import com.alibaba.nacos.api.remote.request.RequestMeta;
+import com.alibaba.nacos.api.remote.response.HealthCheckResponse;
+import com.alibaba.nacos.core.monitor.MetricsMonitor;
+import com.alibaba.nacos.core.monitor.NacosMeterRegistryCenter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+public class RequestHandlerBulkheadTest {
+    
+    private static final SimpleMeterRegistry SIMPLE_METER_REGISTRY = new SimpleMeterRegistry();
+    
+    private RequestHandlerBulkhead bulkhead;
+    
+    @BeforeClass
+    public static void initMeterRegistry() {
+        NacosMeterRegistryCenter.getMeterRegistry(NacosMeterRegistryCenter.CORE_STABLE_REGISTRY)
+                .add(SIMPLE_METER_REGISTRY);
+    }
+    
+    @AfterClass
+    public static void removeMeterRegistry() {
+        NacosMeterRegistryCenter.getMeterRegistry(NacosMeterRegistryCenter.CORE_STABLE_REGISTRY)
+                .remove(SIMPLE_METER_REGISTRY);
+    }
+    
+    @Before
+    public void setUp() {
+        bulkhead = new RequestHandlerBulkhead();
+    }
+    
+    @Test
+    public void testRunInCallerThreadWithoutGroup() {
+        bulkhead.addGroup("other", Collections.singletonList("OtherRequestHandler"), 1, 1, false);
+        Thread caller = Thread.currentThread();
+        CompletableFuture<Thread> executed = new CompletableFuture<>();
+        assertTrue(bulkhead.execute(new IsolatedRequestHandler(), () -> executed.complete(Thread.currentThread())));
+        assertEquals(caller, executed.join());
+    }
+    
+    @Test
+    public void testRunInGroupExecutor() throws Exception {
+        bulkhead.addGroup("isolated", Collections.singletonList("IsolatedRequestHandler"), 1, 1, false);
+        CompletableFuture<Thread> executed = new CompletableFuture<>();
+        assertTrue(bulkhead.execute(new IsolatedRequestHandler(), () -> executed.complete(Thread.currentThread())));
+        Thread thread = executed.get(3, TimeUnit.SECONDS);
+        assertNotEquals(Thread.currentThread(), thread);
+        assertTrue(thread.getName().startsWith("nacos-bulkhead-isolated-"));
+    }
+    
+    @Test
+    public void testRejectWhenGroupFull() throws Exception {
+        bulkhead.addGroup("full", Collections.singletonList("IsolatedRequestHandler"), 1, 1, false);
+        final double rejected = MetricsMonitor.getBulkheadRejected("full").count();
+        CountDownLatch blocker = new CountDownLatch(1);
+        CountDownLatch finished = new CountDownLatch(2);
+        Runnable task = () -> {
+            try {
+                blocker.await();
+            } catch (InterruptedException ignored) {
+                Thread.currentThread().interrupt();
+            }
+            finished.countDown();
+        };
+        assertTrue(bulkhead.execute(new IsolatedRequestHandler(), task));
+        assertTrue(bulkhead.execute(new IsolatedRequestHandler(), task));
+        assertFalse(bulkhead.execute(new IsolatedRequestHandler(), task));
+        assertEquals(rejected + 1, MetricsMonitor.getBulkheadRejected("full").count(), 0.01);
+        
+        blocker.countDown();
+        assertTrue(finished.await(3, TimeUnit.SECONDS));
+        CompletableFuture<Boolean> executed = new CompletableFuture<>();
+        // permit is released after the task finished.
+        TimeUnit.MILLISECONDS.sleep(50);
+        assertTrue(bulkhead.execute(new IsolatedRequestHandler(), () -> executed.complete(true)));
+        assertTrue(executed.get(3, TimeUnit.SECONDS));
+    }
+    
+    @Test
+    public void testVirtualThreadGroup() throws Exception {
+        bulkhead.addGroup("virtual", Collections.singletonList("IsolatedRequestHandler"), 1, 1, true);
+        CompletableFuture<Thread> executed = new CompletableFuture<>();
+        assertTrue(bulkhead.execute(new IsolatedRequestHandler(), () -> executed.complete(Thread.currentThread())));
+        assertNotEquals(Thread.currentThread(), executed.get(3, TimeUnit.SECONDS));
+    }
+    
+    @Test
+    public void testVirtualThreadGroupBoundedByThreads() throws Exception {
+        // a thread per task like the virtual thread executor, which is not supported by every jdk.
+        bulkhead.addGroup("virtualFull", Collections.singletonList("IsolatedRequestHandler"), 1, 2,
+                command -> new Thread(command).start());
+        final double rejected = MetricsMonitor.getBulkheadRejected("virtualFull").count();
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch blocker = new CountDownLatch(1);
+        CountDownLatch finished = new CountDownLatch(3);
+        Runnable task = () -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            started.countDown();
+            try {
+                blocker.await();
+            } catch (InterruptedException ignored) {
+                Thread.currentThread().interrupt();
+            }
+            running.decrementAndGet();
+            finished.countDown();
+        };
+        assertTrue(bulkhead.execute(new IsolatedRequestHandler(), task));
+        assertTrue(bulkhead.execute(new IsolatedRequestHandler(), task));
+        assertTrue(bulkhead.execute(new IsolatedRequestHandler(), task));
+        assertFalse(bulkhead.execute(new IsolatedRequestHandler(), task));
+        assertEquals(rejected + 1, MetricsMonitor.getBulkheadRejected("virtualFull").count(), 0.01);
+        assertTrue(started.await(3, TimeUnit.SECONDS));
+        // give the waiting requests a chance to run if they were not bounded.
+        TimeUnit.MILLISECONDS.sleep(100);
+        assertEquals(1, running.get());
+        
+        blocker.countDown();
+        assertTrue(finished.await(3, TimeUnit.SECONDS));
+        assertEquals(1, maxRunning.get());
+    }
+    
+    @Test
+    public void testSkipInvalidGroup() {
+        bulkhead.addGroup("invalid", Collections.singletonList("IsolatedRequestHandler"), 0, 1, false);
+        Thread caller = Thread.currentThread();
+        CompletableFuture<Thread> executed = new CompletableFuture<>();
+        assertTrue(bulkhead.execute(new IsolatedRequestHandler(), () -> executed.complete(Thread.currentThread())));
+        assertEquals(caller, executed.join());
+    }
+    
+    private static class IsolatedRequestHandler extends RequestHandler<HealthCheckRequest, HealthCheckResponse> {
+        
+        @Override
+        public HealthCheckResponse handle(HealthCheckRequest request, RequestMeta meta) {
+            return new HealthCheckResponse();
+        }
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.core.remote;
+
+import com.alibaba.nacos.api.exception.NacosException;
+import com.alibaba.nacos.api.remote.AbstractRequestCallBack;
+import com.alibaba.nacos.api.remote.DefaultRequestFuture;
+import com.alibaba.nacos.api.remote.response.ErrorResponse;
+import com.alibaba.nacos.api.remote.response.Response;
+import com.alibaba.nacos.common.remote.exception.ConnectionAlreadyClosedException;
+import com.alibaba.nacos.core.monitor.MetricsMonitor;
+import com.alibaba.nacos.core.monitor.NacosMeterRegistryCenter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class RpcAckCallbackSynchronizerTest {
+    
+    private static final String CONNECTION_ID = "ackTestConnection";
+    
+    private static final SimpleMeterRegistry SIMPLE_METER_REGISTRY = new SimpleMeterRegistry();
+    
+    @BeforeClass
+    public static void initMeterRegistry() {
+        NacosMeterRegistryCenter.getMeterRegistry(NacosMeterRegistryCenter.CORE_STABLE_REGISTRY)
+                .add(SIMPLE_METER_REGISTRY);
+    }
+    
+    @AfterClass
+    public static void removeMeterRegistry() {
+        NacosMeterRegistryCenter.getMeterRegistry(NacosMeterRegistryCenter.CORE_STABLE_REGISTRY)
+                .remove(SIMPLE_METER_REGISTRY);
+    }
+    
+    @Before
+    public void setUp() {
+        RpcAckCallbackSynchronizer.initContextIfNecessary(CONNECTION_ID);
+    }
+    
+    @After
+    public void tearDown() {
+        RpcAckCallbackSynchronizer.clearContext(CONNECTION_ID);
+    }
+    
+    @Test
+    public void testAckNotify() throws Exception {
+        DefaultRequestFuture future = new DefaultRequestFuture(CONNECTION_ID, "1", null, null, false);
+        RpcAckCallbackSynchronizer.syncCallback(CONNECTION_ID, 1L, future);
+        assertEquals(1, RpcAckCallbackSynchronizer.getInflightAckCount(CONNECTION_ID));
+        
+        final long ackCount = MetricsMonitor.getPushAckTimer().count();
+        Response response = new Response() {
+        };
+        response.setRequestId("1");
+        RpcAckCallbackSynchronizer.ackNotify(CONNECTION_ID, response);
+        assertTrue(future.isDone());
+        assertSame(response, future.get());
+        assertEquals(0, RpcAckCallbackSynchronizer.getInflightAckCount(CONNECTION_ID));
+        assertEquals(ackCount + 1, MetricsMonitor.getPushAckTimer().count());
+        
+        // duplicated or unknown ack is ignored.
+        RpcAckCallbackSynchronizer.ackNotify(CONNECTION_ID, response);
+        response.setRequestId("unknown");
+        RpcAckCallbackSynchronizer.ackNotify(CONNECTION_ID, response);
+        RpcAckCallbackSynchronizer.ackNotify("unknownConnection", response);
+    }
+    
+    @Test
+    public void testAckNotifyFailResponse() throws Exception {
+        MockCallBack callBack = new MockCallBack(3000L);
+        DefaultRequestFuture future = new DefaultRequestFuture(CONNECTION_ID, "2", callBack, null, false);
+        RpcAckCallbackSynchronizer.syncCallback(CONNECTION_ID, 2L, future);
+        RpcAckCallbackSynchronizer.ackNotify(CONNECTION_ID, ErrorResponse.build(NacosException.SERVER_ERROR, "fail"));
+        assertFalse(future.isDone());
+        
+        Response response = ErrorResponse.build(NacosException.SERVER_ERROR, "fail");
+        response.setRequestId("2");
+        RpcAckCallbackSynchronizer.ackNotify(CONNECTION_ID, response);
+        assertTrue(callBack.latch.await(1, TimeUnit.SECONDS));
+        assertTrue(callBack.exception.get() instanceof NacosException);
+        assertEquals(0L, RpcAckCallbackSynchronizer.getAckTimeoutCount(CONNECTION_ID));
+    }
+    
+    @Test
+    public void testAckTimeout() throws Exception {
+        MockCallBack callBack = new MockCallBack(100L);
+        DefaultRequestFuture future = new DefaultRequestFuture(CONNECTION_ID, "3", callBack, null, false);
+        final double timeoutCount = MetricsMonitor.getPushAckTimeout().count();
+        RpcAckCallbackSynchronizer.syncCallback(CONNECTION_ID, 3L, future);
+        
+        assertTrue(callBack.latch.await(3, TimeUnit.SECONDS));
+        assertTrue(callBack.exception.get() instanceof TimeoutException);
+        assertEquals(0, RpcAckCallbackSynchronizer.getInflightAckCount(CONNECTION_ID));
+        assertEquals(1L, RpcAckCallbackSynchronizer.getAckTimeoutCount(CONNECTION_ID));
+        assertEquals(timeoutCount + 1, MetricsMonitor.getPushAckTimeout().count(), 0.01);
+    }
+    
+    @Test(expected = NacosException.class)
+    public void testSyncCallbackConflict() throws NacosException {
+        RpcAckCallbackSynchronizer.syncCallback(CONNECTION_ID, 4L, new DefaultRequestFuture(CONNECTION_ID, "4"));
+        RpcAckCallbackSynchronizer.syncCallback(CONNECTION_ID, 4L, new DefaultRequestFuture(CONNECTION_ID, "4"));
+    }
+    
+    @Test
+    public void testClearFuture() throws NacosException {
+        RpcAckCallbackSynchronizer.syncCallback(CONNECTION_ID, 5L, new DefaultRequestFuture(CONNECTION_ID, "5"));
+        assertEquals(1, RpcAckCallbackSynchronizer.getInflightAckCount(CONNECTION_ID));
+        RpcAckCallbackSynchronizer.clearFuture(CONNECTION_ID, 5L);
+        assertEquals(0, RpcAckCallbackSynchronizer.getInflightAckCount(CONNECTION_ID));
+        RpcAckCallbackSynchronizer.clearFuture("unknownConnection", 5L);
+    }
+    
+    @Test
+    public void testSyncCallbackNotRecreateClearedContext() throws NacosException {
+        RpcAckCallbackSynchronizer.clearContext(CONNECTION_ID);
+        try {
+            RpcAckCallbackSynchronizer.syncCallback(CONNECTION_ID, 6L, new DefaultRequestFuture(CONNECTION_ID, "6"));
+            fail("push to the connection with cleared context should fail");
+        } catch (ConnectionAlreadyClosedException ignored) {
+        }
+        assertEquals(0, RpcAckCallbackSynchronizer.getInflightAckCount(CONNECTION_ID));
+        assertEquals(0, RpcAckCallbackSynchronizer.getInflightAckCount());
+    }
+    
+    private static class MockCallBack extends AbstractRequestCallBack {
+        
+        private final CountDownLatch latch = new CountDownLatch(1);
+        
+        private final AtomicReference<Throwable> exception = new AtomicReference<>();
+        
+        private MockCallBack(long timeout) {
+            super(timeout);
+        }
+        
+        @Override
+        public Executor getExecutor() {
+            return null;
+        }
+        
+        @Override
+        public void onResponse(Response response) {
+            latch.countDown();
+        }
+        
+        @Override
+        public void onException(Throwable e) {
+            exception.set(e);
+            latch.countDown();
+        }
+    }
+}
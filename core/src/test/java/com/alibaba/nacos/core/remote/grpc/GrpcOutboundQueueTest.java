@@ -0,0 +1,172 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.core.remote.grpc;
+
+import com.alibaba.nacos.api.grpc.auto.Payload;
+import com.alibaba.nacos.core.monitor.MetricsMonitor;
+import com.alibaba.nacos.core.remote.Connection;
+import com.alibaba.nacos.core.remote.ConnectionMeta;
+import com.google.protobuf.Any;
+import com.google.protobuf.ByteString;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class GrpcOutboundQueueTest {
+    
+    @Mock
+    private ServerCallStreamObserver<Payload> streamObserver;
+    
+    private GrpcOutboundQueue outboundQueue;
+    
+    private Runnable onReadyHandler;
+    
+    private final List<String> supersededRequestIds = new ArrayList<>();
+    
+    @Before
+    public void setUp() {
+        outboundQueue = GrpcOutboundQueue.flowControlled(streamObserver, 1024L, GrpcOutboundQueue.OverflowPolicy.EJECT);
+        outboundQueue.setSupersededCallback(supersededRequestIds::add);
+        ArgumentCaptor<Runnable> captor = ArgumentCaptor.forClass(Runnable.class);
+        verify(streamObserver).setOnReadyHandler(captor.capture());
+        onReadyHandler = captor.getValue();
+    }
+    
+    @Test
+    public void testWriteDirectlyWhenReady() {
+        when(streamObserver.isReady()).thenReturn(true);
+        Payload payload = newPayload(100);
+        assertTrue(outboundQueue.offer(payload, "1", null));
+        verify(streamObserver).onNext(payload);
+        assertEquals(0L, outboundQueue.getBufferedBytes());
+    }
+    
+    @Test
+    public void testQueueWhenNotReadyAndDrainOnReady() {
+        when(streamObserver.isReady()).thenReturn(false);
+        Payload payload1 = newPayload(100);
+        Payload payload2 = newPayload(200);
+        final long metricBefore = MetricsMonitor.getGrpcOutboundBufferedBytes().get();
+        assertTrue(outboundQueue.offer(payload1, "1", null));
+        assertTrue(outboundQueue.offer(payload2, "2", null));
+        verify(streamObserver, never()).onNext(any());
+        long expectedBytes = payload1.getSerializedSize() + payload2.getSerializedSize();
+        assertEquals(expectedBytes, outboundQueue.getBufferedBytes());
+        assertEquals(metricBefore + expectedBytes, MetricsMonitor.getGrpcOutboundBufferedBytes().get());
+        
+        when(streamObserver.isReady()).thenReturn(true);
+        onReadyHandler.run();
+        ArgumentCaptor<Payload> captor = ArgumentCaptor.forClass(Payload.class);
+        verify(streamObserver, times(2)).onNext(captor.capture());
+        assertEquals(payload1, captor.getAllValues().get(0));
+        assertEquals(payload2, captor.getAllValues().get(1));
+        assertEquals(0L, outboundQueue.getBufferedBytes());
+        assertEquals(metricBefore, MetricsMonitor.getGrpcOutboundBufferedBytes().get());
+    }
+    
+    @Test
+    public void testConnectionOutboundBufferedBytes() {
+        when(streamObserver.isReady()).thenReturn(false);
+        Connection connection = new GrpcConnection(mock(ConnectionMeta.class), streamObserver, null, outboundQueue);
+        Payload payload = newPayload(100);
+        assertTrue(outboundQueue.offer(payload, "1", null));
+        assertEquals(payload.getSerializedSize(), connection.getOutboundBufferedBytes());
+        
+        when(streamObserver.isReady()).thenReturn(true);
+        onReadyHandler.run();
+        assertEquals(0L, connection.getOutboundBufferedBytes());
+    }
+    
+    @Test
+    public void testSupersedeQueuedPayload() {
+        when(streamObserver.isReady()).thenReturn(false);
+        Payload payload1 = newPayload(100);
+        Payload payload2 = newPayload(120);
+        Payload payload3 = newPayload(50);
+        assertTrue(outboundQueue.offer(payload1, "1", "key"));
+        assertTrue(outboundQueue.offer(payload2, "2", "other"));
+        assertTrue(outboundQueue.offer(payload3, "3", "key"));
+        assertEquals(1, supersededRequestIds.size());
+        assertEquals("1", supersededRequestIds.get(0));
+        assertEquals(payload2.getSerializedSize() + payload3.getSerializedSize(), outboundQueue.getBufferedBytes());
+        
+        when(streamObserver.isReady()).thenReturn(true);
+        onReadyHandler.run();
+        ArgumentCaptor<Payload> captor = ArgumentCaptor.forClass(Payload.class);
+        verify(streamObserver, times(2)).onNext(captor.capture());
+        // superseded payload keeps the position of the replaced one.
+        assertEquals(payload3, captor.getAllValues().get(0));
+        assertEquals(payload2, captor.getAllValues().get(1));
+    }
+    
+    @Test
+    public void testRejectWhenOverflow() {
+        when(streamObserver.isReady()).thenReturn(false);
+        assertTrue(outboundQueue.offer(newPayload(600), "1", null));
+        assertFalse(outboundQueue.offer(newPayload(600), "2", null));
+        verify(streamObserver, never()).onNext(any());
+        assertEquals(GrpcOutboundQueue.OverflowPolicy.EJECT, outboundQueue.getOverflowPolicy());
+    }
+    
+    @Test
+    public void testCloseDiscardQueuedPayloads() {
+        when(streamObserver.isReady()).thenReturn(false);
+        final long metricBefore = MetricsMonitor.getGrpcOutboundBufferedBytes().get();
+        assertTrue(outboundQueue.offer(newPayload(100), "1", "key"));
+        outboundQueue.close();
+        assertEquals(0L, outboundQueue.getBufferedBytes());
+        assertEquals(metricBefore, MetricsMonitor.getGrpcOutboundBufferedBytes().get());
+        Payload payload = newPayload(100);
+        assertTrue(outboundQueue.offer(payload, "2", "key"));
+        verify(streamObserver).onNext(payload);
+    }
+    
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testDirectWithoutFlowControl() {
+        StreamObserver<Payload> observer = mock(StreamObserver.class);
+        GrpcOutboundQueue directQueue = GrpcOutboundQueue.flowControlled(observer, 1L,
+                GrpcOutboundQueue.OverflowPolicy.EJECT);
+        Payload payload = newPayload(100);
+        assertTrue(directQueue.offer(payload, "1", null));
+        verify(observer).onNext(payload);
+    }
+    
+    private Payload newPayload(int bodySize) {
+        return Payload.newBuilder().setBody(Any.newBuilder().setValue(ByteString.copyFrom(new byte[bodySize])))
+                .build();
+    }
+}
@@ -34,6 +34,7 @@ import com.alibaba.nacos.core.remote.Connection;
 import com.alibaba.nacos.core.remote.ConnectionManager;
 import com.alibaba.nacos.core.remote.ConnectionMeta;
 import com.alibaba.nacos.core.remote.RequestHandler;
+import com.alibaba.nacos.core.remote.RequestHandlerBulkhead;
 import com.alibaba.nacos.core.remote.RequestHandlerRegistry;
 import com.alibaba.nacos.sys.utils.ApplicationUtils;
 import io.grpc.Context;
@@ -53,6 +54,7 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.Mockito;
 import org.mockito.junit.MockitoJUnitRunner;
 
@@ -78,6 +80,9 @@ public class GrpcRequestAcceptorTest {
     @Mock
     private RequestHandlerRegistry requestHandlerRegistry;
     
+    @Spy
+    private RequestHandlerBulkhead requestHandlerBulkhead = new RequestHandlerBulkhead();
+    
     @InjectMocks
     private GrpcRequestAcceptor acceptor;
     
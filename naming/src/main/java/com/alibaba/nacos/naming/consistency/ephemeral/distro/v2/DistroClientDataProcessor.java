@@ -45,6 +45,7 @@ import com.alibaba.nacos.sys.env.EnvUtil;
 import com.alibaba.nacos.sys.utils.ApplicationUtils;
 import org.apache.commons.collections.CollectionUtils;
 
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
@@ -63,6 +64,8 @@ public class DistroClientDataProcessor extends SmartSubscriber implements Distro
     
     private final DistroProtocol distroProtocol;
     
+    private final DistroClientVerifyIndex verifyIndex = new DistroClientVerifyIndex();
+    
     private volatile boolean isFinishInitial;
     
     public DistroClientDataProcessor(ClientManager clientManager, DistroProtocol distroProtocol) {
@@ -233,12 +236,83 @@ public class DistroClientDataProcessor extends SmartSubscriber implements Distro
         DistroClientVerifyInfo verifyData = ApplicationUtils.getBean(Serializer.class)
                 .deserialize(distroData.getContent(), DistroClientVerifyInfo.class);
         if (clientManager.verifyClient(verifyData)) {
+            String sourceServer = distroData.getDistroKey().getTargetServer();
+            if (null != sourceServer) {
+                verifyIndex.addClient(sourceServer, verifyData.getClientId());
+            }
             return true;
         }
         Loggers.DISTRO.info("client {} is invalid, get new client from {}", verifyData.getClientId(), sourceAddress);
         return false;
     }
     
+    @Override
+    public DistroData processVerifyDigest(DistroData distroData, String sourceAddress) {
+        Serializer serializer = ApplicationUtils.getBean(Serializer.class);
+        DistroClientVerifyDigest digest = serializer.deserialize(distroData.getContent(),
+                DistroClientVerifyDigest.class);
+        if (!isValidDigest(digest)) {
+            Loggers.DISTRO.warn("[DISTRO] invalid verify digest from {}", sourceAddress);
+            return null;
+        }
+        String sourceServer = null == distroData.getDistroKey().getTargetServer() ? sourceAddress
+                : distroData.getDistroKey().getTargetServer();
+        Set<String> clientIds = verifyIndex.getClientIdsForDigest(sourceServer);
+        int bucketCount = digest.getBucketCount();
+        List<String> verifiedIds = new ArrayList<>(clientIds);
+        Client[] clients = new Client[verifiedIds.size()];
+        long[] revisions = new long[clients.length];
+        int[] buckets = new int[clients.length];
+        long[] localHashes = new long[bucketCount];
+        for (int i = 0; i < clients.length; i++) {
+            String clientId = verifiedIds.get(i);
+            clients[i] = clientManager.getClient(clientId);
+            if (null == clients[i]) {
+                clientIds.remove(clientId);
+                continue;
+            }
+            revisions[i] = clients[i].getRevision();
+            buckets[i] = DistroClientVerifyDigest.bucketOf(clientId, bucketCount);
+            localHashes[buckets[i]] += DistroClientVerifyDigest.hash(clientId, revisions[i]);
+        }
+        boolean[] isDifferent = new boolean[bucketCount];
+        List<Integer> differentBuckets = new LinkedList<>();
+        for (int i = 0; i < bucketCount; i++) {
+            if (localHashes[i] != digest.getBucketHashes()[i]) {
+                isDifferent[i] = true;
+                differentBuckets.add(i);
+            }
+        }
+        for (int i = 0; i < clients.length; i++) {
+            if (null == clients[i]) {
+                continue;
+            }
+            if (isDifferent[buckets[i]]) {
+                // Clients of different bucket will be verified one by one, and added into index again if verified.
+                clientIds.remove(verifiedIds.get(i));
+            } else {
+                clientManager.verifyClient(new DistroClientVerifyInfo(verifiedIds.get(i), revisions[i]));
+            }
+        }
+        if (Loggers.DISTRO.isDebugEnabled()) {
+            Loggers.DISTRO.debug("[DISTRO] verify digest from {}, {} of {} buckets are different", sourceServer,
+                    differentBuckets.size(), bucketCount);
+        }
+        DistroClientVerifyDigest result = new DistroClientVerifyDigest();
+        result.setBucketCount(bucketCount);
+        result.setDifferentBuckets(differentBuckets.stream().mapToInt(Integer::intValue).toArray());
+        DistroData resultData = new DistroData(
+                new DistroKey(DataOperation.VERIFY_DIGEST.name(), TYPE, sourceServer), serializer.serialize(result));
+        resultData.setType(DataOperation.VERIFY_DIGEST);
+        return resultData;
+    }
+    
+    private boolean isValidDigest(DistroClientVerifyDigest digest) {
+        int bucketCount = digest.getBucketCount();
+        return bucketCount > 0 && Integer.bitCount(bucketCount) == 1 && null != digest.getBucketHashes()
+                && digest.getBucketHashes().length == bucketCount;
+    }
+    
     @Override
     public boolean processSnapshot(DistroData distroData) {
         ClientSyncDatumSnapshot snapshot = ApplicationUtils.getBean(Serializer.class)
@@ -278,24 +352,77 @@ public class DistroClientDataProcessor extends SmartSubscriber implements Distro
     @Override
     public List<DistroData> getVerifyData() {
         List<DistroData> result = null;
+        for (Client each : getResponsibleClients()) {
+            if (result == null) {
+                result = new LinkedList<>();
+            }
+            result.add(buildVerifyData(each, null));
+        }
+        return result;
+    }
+    
+    @Override
+    public List<DistroData> getVerifyData(DistroData digestDifference) {
+        DistroClientVerifyDigest difference = ApplicationUtils.getBean(Serializer.class)
+                .deserialize(digestDifference.getContent(), DistroClientVerifyDigest.class);
+        int bucketCount = difference.getBucketCount();
+        int[] differentBuckets = difference.getDifferentBuckets();
+        if (bucketCount <= 0 || null == differentBuckets || differentBuckets.length == 0) {
+            return null;
+        }
+        boolean[] isDifferent = new boolean[bucketCount];
+        for (int each : differentBuckets) {
+            if (each >= 0 && each < bucketCount) {
+                isDifferent[each] = true;
+            }
+        }
+        // Address of this server known by target server, for target server to index the verified clients.
+        String sourceServer = digestDifference.getDistroKey().getTargetServer();
+        List<DistroData> result = new LinkedList<>();
+        for (Client each : getResponsibleClients()) {
+            if (isDifferent[DistroClientVerifyDigest.bucketOf(each.getClientId(), bucketCount)]) {
+                result.add(buildVerifyData(each, sourceServer));
+            }
+        }
+        return result;
+    }
+    
+    @Override
+    public DistroData getVerifyDigest() {
+        List<Client> clients = getResponsibleClients();
+        if (clients.isEmpty()) {
+            return null;
+        }
+        DistroClientVerifyDigest digest = new DistroClientVerifyDigest(
+                DistroClientVerifyDigest.bucketCountFor(clients.size()));
+        for (Client each : clients) {
+            digest.addClient(each.getClientId(), each.getRevision());
+        }
+        DistroKey distroKey = new DistroKey(DataOperation.VERIFY_DIGEST.name(), TYPE);
+        DistroData result = new DistroData(distroKey, ApplicationUtils.getBean(Serializer.class).serialize(digest));
+        result.setType(DataOperation.VERIFY_DIGEST);
+        return result;
+    }
+    
+    private List<Client> getResponsibleClients() {
+        List<Client> result = new LinkedList<>();
         for (String each : clientManager.allClientId()) {
             Client client = clientManager.getClient(each);
             if (null == client || !client.isEphemeral()) {
                 continue;
             }
             if (clientManager.isResponsibleClient(client)) {
-                DistroClientVerifyInfo verifyData = new DistroClientVerifyInfo(client.getClientId(),
-                        client.getRevision());
-                DistroKey distroKey = new DistroKey(client.getClientId(), TYPE);
-                DistroData data = new DistroData(distroKey,
-                        ApplicationUtils.getBean(Serializer.class).serialize(verifyData));
-                data.setType(DataOperation.VERIFY);
-                if (result == null) {
-                    result = new LinkedList<>();
-                }
-                result.add(data);
+                result.add(client);
             }
         }
         return result;
     }
+    
+    private DistroData buildVerifyData(Client client, String sourceServer) {
+        DistroClientVerifyInfo verifyData = new DistroClientVerifyInfo(client.getClientId(), client.getRevision());
+        DistroKey distroKey = new DistroKey(client.getClientId(), TYPE, sourceServer);
+        DistroData result = new DistroData(distroKey, ApplicationUtils.getBean(Serializer.class).serialize(verifyData));
+        result.setType(DataOperation.VERIFY);
+        return result;
+    }
 }
@@ -155,6 +155,35 @@ public class DistroClientTransportAgent implements DistroTransportAgent {
         }
     }
     
+    @Override
+    public DistroData syncVerifyDigest(DistroData verifyDigest, String targetServer) {
+        if (isNoExistTarget(targetServer)) {
+            return null;
+        }
+        Member member = memberManager.find(targetServer);
+        if (checkTargetServerStatusUnhealthy(member)) {
+            Loggers.DISTRO.warn("[DISTRO] Cancel distro verify digest caused by target server {} unhealthy",
+                    targetServer);
+            return null;
+        }
+        // replace target server as self server so that target server can index the verified clients.
+        verifyDigest.getDistroKey().setTargetServer(memberManager.getSelf().getAddress());
+        DistroDataRequest request = new DistroDataRequest(verifyDigest, DataOperation.VERIFY_DIGEST);
+        try {
+            Response response = clusterRpcClientProxy
+                    .sendRequest(member, request, DistroConfig.getInstance().getVerifyTimeoutMillis());
+            if (checkResponse(response)) {
+                NamingTpsMonitor.distroVerifySuccess(member.getAddress(), member.getIp());
+                // target server of old version can't verify digest and returns no distro data.
+                return ((DistroDataResponse) response).getDistroData();
+            }
+            NamingTpsMonitor.distroVerifyFail(member.getAddress(), member.getIp());
+        } catch (NacosException e) {
+            Loggers.DISTRO.error("[DISTRO-FAILED] Verify distro digest to {} failed! ", targetServer, e);
+        }
+        return null;
+    }
+    
     @Override
     public DistroData getData(DistroKey key, String targetServer) {
         Member member = memberManager.find(targetServer);
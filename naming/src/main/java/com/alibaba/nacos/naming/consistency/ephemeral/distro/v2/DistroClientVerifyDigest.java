@@ -0,0 +1,151 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.naming.consistency.ephemeral.distro.v2;
+
+import java.io.Serializable;
+
+/**
+ * Digest for verifying clients.
+ *
+ * <p>Clients are hashed into buckets by client id, and the hash of one bucket is the sum of the hashes of client id
+ * and revision in the bucket, so that it is independent of the order of clients. The source server sends the hashes
+ * of buckets, and target server replies the buckets which are different from its own clients.
+ *
+ * @author Nacos
+ */
+public class DistroClientVerifyDigest implements Serializable {
+    
+    private static final long serialVersionUID = -4127745893219063471L;
+    
+    private static final int CLIENTS_PER_BUCKET = 64;
+    
+    private static final int MAX_BUCKET_COUNT = 1024;
+    
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    
+    private static final long FNV_PRIME = 0x100000001b3L;
+    
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+    
+    private static final long MIX_MULTIPLIER_1 = 0xff51afd7ed558ccdL;
+    
+    private static final long MIX_MULTIPLIER_2 = 0xc4ceb9fe1a85ec53L;
+    
+    private static final int MIX_SHIFT = 33;
+    
+    private int bucketCount;
+    
+    /**
+     * Hashes of buckets, only set in digest sent by source server.
+     */
+    private long[] bucketHashes;
+    
+    /**
+     * Buckets different from target server, only set in digest replied by target server.
+     */
+    private int[] differentBuckets;
+    
+    public DistroClientVerifyDigest() {
+    }
+    
+    public DistroClientVerifyDigest(int bucketCount) {
+        this.bucketCount = bucketCount;
+        this.bucketHashes = new long[bucketCount];
+    }
+    
+    /**
+     * Add the hash of client into its bucket.
+     *
+     * @param clientId client id
+     * @param revision revision of client
+     */
+    public void addClient(String clientId, long revision) {
+        bucketHashes[bucketOf(clientId, bucketCount)] += hash(clientId, revision);
+    }
+    
+    public int getBucketCount() {
+        return bucketCount;
+    }
+    
+    public void setBucketCount(int bucketCount) {
+        this.bucketCount = bucketCount;
+    }
+    
+    public long[] getBucketHashes() {
+        return bucketHashes;
+    }
+    
+    public void setBucketHashes(long[] bucketHashes) {
+        this.bucketHashes = bucketHashes;
+    }
+    
+    public int[] getDifferentBuckets() {
+        return differentBuckets;
+    }
+    
+    public void setDifferentBuckets(int[] differentBuckets) {
+        this.differentBuckets = differentBuckets;
+    }
+    
+    /**
+     * Get the bucket count for clients, about {@link #CLIENTS_PER_BUCKET} clients in one bucket.
+     *
+     * @param clientCount count of clients
+     * @return bucket count, power of two
+     */
+    public static int bucketCountFor(int clientCount) {
+        return Math.min(Integer.highestOneBit(Math.max(clientCount / CLIENTS_PER_BUCKET, 1)), MAX_BUCKET_COUNT);
+    }
+    
+    /**
+     * Get the bucket of client.
+     *
+     * @param clientId    client id
+     * @param bucketCount bucket count, power of two
+     * @return bucket of client
+     */
+    public static int bucketOf(String clientId, int bucketCount) {
+        return (int) (mix(hashId(clientId)) >>> Integer.SIZE) & (bucketCount - 1);
+    }
+    
+    /**
+     * Get the hash of client id and revision.
+     *
+     * @param clientId client id
+     * @param revision revision of client
+     * @return hash of client
+     */
+    public static long hash(String clientId, long revision) {
+        return mix(hashId(clientId) + revision * GOLDEN_GAMMA);
+    }
+    
+    private static long hashId(String clientId) {
+        long result = FNV_OFFSET_BASIS;
+        for (int i = 0; i < clientId.length(); i++) {
+            result ^= clientId.charAt(i);
+            result *= FNV_PRIME;
+        }
+        return result;
+    }
+    
+    private static long mix(long value) {
+        long result = value;
+        result = (result ^ (result >>> MIX_SHIFT)) * MIX_MULTIPLIER_1;
+        result = (result ^ (result >>> MIX_SHIFT)) * MIX_MULTIPLIER_2;
+        return result ^ (result >>> MIX_SHIFT);
+    }
+}
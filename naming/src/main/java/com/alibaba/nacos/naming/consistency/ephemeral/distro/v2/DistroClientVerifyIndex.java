@@ -0,0 +1,85 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.naming.consistency.ephemeral.distro.v2;
+
+import com.alibaba.nacos.naming.misc.ClientConfig;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Index of clients verified from each source server.
+ *
+ * <p>Target server only knows which clients belong to the source server after they are verified one by one, so the
+ * verify digest of source server is compared with the clients in this index. The clients of different buckets are
+ * removed from index, and added back after they are verified one by one again.
+ *
+ * @author Nacos
+ */
+public class DistroClientVerifyIndex {
+    
+    private final Map<String, SourceClients> sourceClientsMap = new ConcurrentHashMap<>();
+    
+    /**
+     * Get clients verified from source server for verifying digest, create if absent.
+     *
+     * <p>The source servers which do not verify digest for longer than client expired time are removed, whose clients
+     * are expired too.
+     *
+     * @param sourceServer source server
+     * @return client ids verified from source server
+     */
+    public Set<String> getClientIdsForDigest(String sourceServer) {
+        long currentTime = System.currentTimeMillis();
+        removeExpiredSource(currentTime);
+        SourceClients result = sourceClientsMap.computeIfAbsent(sourceServer, key -> new SourceClients());
+        result.lastDigestTime = currentTime;
+        return result.clientIds;
+    }
+    
+    /**
+     * Add client verified from source server, only for source server which verifies digest.
+     *
+     * @param sourceServer source server
+     * @param clientId     client id
+     */
+    public void addClient(String sourceServer, String clientId) {
+        SourceClients sourceClients = sourceClientsMap.get(sourceServer);
+        if (null != sourceClients) {
+            sourceClients.clientIds.add(clientId);
+        }
+    }
+    
+    private void removeExpiredSource(long currentTime) {
+        long expiredTime = ClientConfig.getInstance().getClientExpiredTime();
+        Iterator<SourceClients> iterator = sourceClientsMap.values().iterator();
+        while (iterator.hasNext()) {
+            if (currentTime - iterator.next().lastDigestTime > expiredTime) {
+                iterator.remove();
+            }
+        }
+    }
+    
+    private static class SourceClients {
+        
+        private final Set<String> clientIds = ConcurrentHashMap.newKeySet();
+        
+        private volatile long lastDigestTime;
+    }
+}
@@ -43,4 +43,12 @@ public class ClientConstants {
     
     public static final long DEFAULT_CLIENT_EXPIRED_TIME = TimeUnit.MINUTES.toMillis(3);
     
+    public static final String CLIENT_RELEASE_BATCH_WINDOW_CONFIG_KEY = "nacos.naming.client.release.batch.window";
+    
+    public static final long DEFAULT_CLIENT_RELEASE_BATCH_WINDOW = 100L;
+    
+    public static final String CLIENT_RELEASE_BATCH_SIZE_CONFIG_KEY = "nacos.naming.client.release.batch.size";
+    
+    public static final int DEFAULT_CLIENT_RELEASE_BATCH_SIZE = 1000;
+    
 }
@@ -86,7 +86,12 @@ public class IpPortBasedClient extends AbstractClient {
     
     @Override
     public boolean addServiceInstance(Service service, InstancePublishInfo instancePublishInfo) {
-        return super.addServiceInstance(service, parseToHealthCheckInstance(instancePublishInfo));
+        HealthCheckInstancePublishInfo instance = parseToHealthCheckInstance(instancePublishInfo);
+        boolean result = super.addServiceInstance(service, instance);
+        if (null != beatCheckTask) {
+            beatCheckTask.scheduleCheck(service, instance);
+        }
+        return result;
     }
     
     @Override
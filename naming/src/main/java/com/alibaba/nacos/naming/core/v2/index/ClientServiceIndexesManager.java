@@ -28,27 +28,53 @@ import com.alibaba.nacos.naming.core.v2.event.publisher.NamingEventPublisherFact
 import com.alibaba.nacos.naming.core.v2.event.service.ServiceEvent;
 import com.alibaba.nacos.naming.core.v2.pojo.InstancePublishInfo;
 import com.alibaba.nacos.naming.core.v2.pojo.Service;
+import com.alibaba.nacos.naming.misc.ClientConfig;
+import com.alibaba.nacos.naming.misc.GlobalExecutor;
+import com.alibaba.nacos.naming.misc.Loggers;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Client and service index manager.
  *
+ * <p>Released clients are removed from the indexes in batch. The releases within a short window are grouped by service,
+ * so each changed service is notified once, and the services are applied in parallel stripes, which keeps the event
+ * thread from being blocked when a large amount of clients disconnect together.
+ *
  * @author xiweng.yy
  */
 @Component
 public class ClientServiceIndexesManager extends SmartSubscriber {
     
+    /**
+     * Release batch changing fewer services than it is applied in event thread directly.
+     */
+    private static final int MIN_PARALLEL_SERVICE_COUNT = 64;
+    
     private final ConcurrentMap<Service, Set<String>> publisherIndexes = new ConcurrentHashMap<>();
     
     private final ConcurrentMap<Service, Set<String>> subscriberIndexes = new ConcurrentHashMap<>();
     
+    /**
+     * Released clients not applied to indexes yet, also the lock of index changes.
+     */
+    private final List<ReleasedClient> pendingReleases = new ArrayList<>();
+    
+    private boolean flushScheduled;
+    
     public ClientServiceIndexesManager() {
         NotifyCenter.registerSubscriber(this, NamingEventPublisherFactory.getInstance());
     }
@@ -89,28 +115,109 @@ public class ClientServiceIndexesManager extends SmartSubscriber {
     
     @Override
     public void onEvent(Event event) {
-        if (event instanceof ClientOperationEvent.ClientReleaseEvent) {
-            handleClientDisconnect((ClientOperationEvent.ClientReleaseEvent) event);
-        } else if (event instanceof ClientOperationEvent) {
-            handleClientOperation((ClientOperationEvent) event);
+        synchronized (pendingReleases) {
+            if (event instanceof ClientOperationEvent.ClientReleaseEvent) {
+                handleClientDisconnect((ClientOperationEvent.ClientReleaseEvent) event);
+            } else if (event instanceof ClientOperationEvent) {
+                // Apply the released clients first, otherwise the client registered again would be removed by them.
+                flushReleasedClients();
+                handleClientOperation((ClientOperationEvent) event);
+            }
         }
     }
     
     private void handleClientDisconnect(ClientOperationEvent.ClientReleaseEvent event) {
         Client client = event.getClient();
-        for (Service each : client.getAllSubscribeService()) {
-            removeSubscriberIndexes(each, client.getClientId());
-        }
         DeregisterInstanceReason reason = event.isNative()
                 ? DeregisterInstanceReason.NATIVE_DISCONNECTED : DeregisterInstanceReason.SYNCED_DISCONNECTED;
         long currentTimeMillis = System.currentTimeMillis();
-        for (Service each : client.getAllPublishedService()) {
-            removePublisherIndexes(each, client.getClientId());
+        Collection<Service> publishedServices = new ArrayList<>(client.getAllPublishedService());
+        for (Service each : publishedServices) {
             InstancePublishInfo instance = client.getInstancePublishInfo(each);
             NotifyCenter.publishEvent(new DeregisterInstanceTraceEvent(currentTimeMillis,
                     "", false, reason, each.getNamespace(), each.getGroup(), each.getName(),
                     instance.getIp(), instance.getPort()));
         }
+        pendingReleases.add(new ReleasedClient(client.getClientId(), new ArrayList<>(client.getAllSubscribeService()),
+                publishedServices));
+        long batchWindow = ClientConfig.getInstance().getClientReleaseBatchWindow();
+        if (batchWindow <= 0 || pendingReleases.size() >= ClientConfig.getInstance().getClientReleaseBatchSize()) {
+            flushReleasedClients();
+        } else if (!flushScheduled) {
+            flushScheduled = true;
+            GlobalExecutor.scheduleClientIndexFlush(this::flushScheduledReleasedClients, batchWindow,
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+    
+    private void flushScheduledReleasedClients() {
+        synchronized (pendingReleases) {
+            flushScheduled = false;
+            flushReleasedClients();
+        }
+    }
+    
+    /**
+     * Remove the pending released clients from indexes, the services are split into stripes applied in parallel if
+     * there are many.
+     */
+    private void flushReleasedClients() {
+        if (pendingReleases.isEmpty()) {
+            return;
+        }
+        Map<Service, List<String>> unsubscribed = new HashMap<>(pendingReleases.size());
+        Map<Service, List<String>> unpublished = new HashMap<>(pendingReleases.size());
+        for (ReleasedClient each : pendingReleases) {
+            for (Service service : each.subscribedServices) {
+                unsubscribed.computeIfAbsent(service, key -> new ArrayList<>(1)).add(each.clientId);
+            }
+            for (Service service : each.publishedServices) {
+                unpublished.computeIfAbsent(service, key -> new ArrayList<>(1)).add(each.clientId);
+            }
+        }
+        pendingReleases.clear();
+        int stripeCount = unsubscribed.size() + unpublished.size() < MIN_PARALLEL_SERVICE_COUNT ? 1
+                : GlobalExecutor.DEFAULT_THREAD_COUNT;
+        if (stripeCount <= 1) {
+            removeReleasedClients(unsubscribed, unpublished, 0, 1);
+            return;
+        }
+        List<Callable<Void>> stripes = new ArrayList<>(stripeCount);
+        for (int i = 0; i < stripeCount; i++) {
+            int stripe = i;
+            stripes.add(() -> {
+                removeReleasedClients(unsubscribed, unpublished, stripe, stripeCount);
+                return null;
+            });
+        }
+        try {
+            for (Future<Void> each : GlobalExecutor.invokeAllClientIndexTask(stripes)) {
+                each.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            Loggers.SRV_LOG.warn("Interrupted when removing released clients from indexes.");
+        } catch (ExecutionException e) {
+            Loggers.SRV_LOG.error("Remove released clients from indexes failed.", e.getCause());
+        }
+    }
+    
+    private void removeReleasedClients(Map<Service, List<String>> unsubscribed, Map<Service, List<String>> unpublished,
+            int stripe, int stripeCount) {
+        for (Map.Entry<Service, List<String>> entry : unsubscribed.entrySet()) {
+            if (isInStripe(entry.getKey(), stripe, stripeCount)) {
+                removeSubscriberIndexes(entry.getKey(), entry.getValue());
+            }
+        }
+        for (Map.Entry<Service, List<String>> entry : unpublished.entrySet()) {
+            if (isInStripe(entry.getKey(), stripe, stripeCount)) {
+                removePublisherIndexes(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+    
+    private boolean isInStripe(Service service, int stripe, int stripeCount) {
+        return (service.hashCode() & Integer.MAX_VALUE) % stripeCount == stripe;
     }
     
     private void handleClientOperation(ClientOperationEvent event) {
@@ -141,6 +248,14 @@ public class ClientServiceIndexesManager extends SmartSubscriber {
         });
     }
     
+    private void removePublisherIndexes(Service service, Collection<String> clientIds) {
+        publisherIndexes.computeIfPresent(service, (s, ids) -> {
+            ids.removeAll(clientIds);
+            NotifyCenter.publishEvent(new ServiceEvent.ServiceChangedEvent(service, true));
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+    
     private void addSubscriberIndexes(Service service, String clientId) {
         subscriberIndexes.computeIfAbsent(service, key -> new ConcurrentHashSet<>());
         // Fix #5404, Only first time add need notify event.
@@ -158,4 +273,30 @@ public class ClientServiceIndexesManager extends SmartSubscriber {
             subscriberIndexes.remove(service);
         }
     }
+    
+    private void removeSubscriberIndexes(Service service, Collection<String> clientIds) {
+        subscriberIndexes.computeIfPresent(service, (s, ids) -> {
+            ids.removeAll(clientIds);
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+    
+    /**
+     * Services of the released client, kept until removed from indexes.
+     */
+    private static class ReleasedClient {
+        
+        private final String clientId;
+        
+        private final Collection<Service> subscribedServices;
+        
+        private final Collection<Service> publishedServices;
+        
+        private ReleasedClient(String clientId, Collection<Service> subscribedServices,
+                Collection<Service> publishedServices) {
+            this.clientId = clientId;
+            this.subscribedServices = subscribedServices;
+            this.publishedServices = publishedServices;
+        }
+    }
 }
@@ -18,10 +18,15 @@ package com.alibaba.nacos.naming.core.v2.index;
 
 import com.alibaba.nacos.api.naming.pojo.Instance;
 import com.alibaba.nacos.api.naming.pojo.ServiceInfo;
+import com.alibaba.nacos.common.notify.Event;
+import com.alibaba.nacos.common.notify.NotifyCenter;
+import com.alibaba.nacos.common.notify.listener.Subscriber;
 import com.alibaba.nacos.naming.core.v2.ServiceManager;
 import com.alibaba.nacos.naming.core.v2.client.Client;
 import com.alibaba.nacos.naming.core.v2.client.manager.ClientManager;
 import com.alibaba.nacos.naming.core.v2.client.manager.ClientManagerDelegate;
+import com.alibaba.nacos.naming.core.v2.event.publisher.NamingEventPublisherFactory;
+import com.alibaba.nacos.naming.core.v2.event.service.ServiceEvent;
 import com.alibaba.nacos.naming.core.v2.metadata.InstanceMetadata;
 import com.alibaba.nacos.naming.core.v2.metadata.NamingMetadataManager;
 import com.alibaba.nacos.naming.core.v2.pojo.BatchInstancePublishInfo;
@@ -29,12 +34,15 @@ import com.alibaba.nacos.naming.core.v2.pojo.InstancePublishInfo;
 import com.alibaba.nacos.naming.core.v2.pojo.Service;
 import com.alibaba.nacos.naming.misc.SwitchDomain;
 import com.alibaba.nacos.naming.utils.InstanceUtil;
+import com.alibaba.nacos.naming.utils.ServiceUtil;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
-import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
@@ -43,10 +51,20 @@ import java.util.concurrent.ConcurrentMap;
 /**
  * Service storage.
  *
+ * <p>The instances of each service are maintained incrementally. Instances are parsed and kept per client with the
+ * publish info they are parsed from, and when the data is read, only the clients whose publish info is replaced or
+ * whose healthy status is changed are parsed again. Then a new immutable instance list is published, readers holding
+ * the previous list are not affected.
+ *
+ * <p>The instances filtered by cluster, healthy and enabled status are memoized for the current data of each service, so
+ * queries and subscriptions with the same conditions share one filtered snapshot until the data changes.
+ *
  * @author xiweng.yy
  */
 @Component
-public class ServiceStorage {
+public class ServiceStorage extends Subscriber<ServiceEvent.ServiceChangedEvent> {
+    
+    private static final int MAX_FILTERED_VIEWS_PER_SERVICE = 64;
     
     private final ClientServiceIndexesManager serviceIndexesManager;
     
@@ -60,6 +78,10 @@ public class ServiceStorage {
     
     private final ConcurrentMap<Service, Set<String>> serviceClusterIndex;
     
+    private final ConcurrentMap<Service, InstancesView> serviceInstancesViews;
+    
+    private final ConcurrentMap<Service, FilteredViews> serviceFilteredViews;
+    
     public ServiceStorage(ClientServiceIndexesManager serviceIndexesManager, ClientManagerDelegate clientManager,
             SwitchDomain switchDomain, NamingMetadataManager metadataManager) {
         this.serviceIndexesManager = serviceIndexesManager;
@@ -68,6 +90,9 @@ public class ServiceStorage {
         this.metadataManager = metadataManager;
         this.serviceDataIndexes = new ConcurrentHashMap<>();
         this.serviceClusterIndex = new ConcurrentHashMap<>();
+        this.serviceInstancesViews = new ConcurrentHashMap<>();
+        this.serviceFilteredViews = new ConcurrentHashMap<>();
+        NotifyCenter.registerSubscriber(this, NamingEventPublisherFactory.getInstance());
     }
     
     public Set<String> getClusters(Service service) {
@@ -84,14 +109,78 @@ public class ServiceStorage {
             return result;
         }
         Service singleton = ServiceManager.getInstance().getSingleton(service);
-        result.setHosts(getAllInstancesFromIndex(singleton));
+        result.setHosts(getInstances(singleton));
         serviceDataIndexes.put(singleton, result);
+        // views of the replaced data are never hit again, drop them rather than keeping them until the next query.
+        serviceFilteredViews.remove(singleton);
+        return result;
+    }
+    
+    /**
+     * Get instances of the data filtered by cluster, healthy and enabled status.
+     *
+     * <p>The result is memoized if the data is the current data of service, and shared by all callers until the data
+     * changes, so it must not be modified.
+     *
+     * @param service     service
+     * @param data        data of service, got from {@link #getData(Service)}
+     * @param cluster     cluster of instances
+     * @param healthyOnly whether only select instance which healthy
+     * @param enableOnly  whether only select instance which enabled
+     * @return filtered instances
+     */
+    public ServiceUtil.FilteredInstances getFilteredInstances(Service service, ServiceInfo data, String cluster,
+            boolean healthyOnly, boolean enableOnly) {
+        if (serviceDataIndexes.get(service) != data) {
+            return ServiceUtil.filterInstances(data, cluster, healthyOnly, enableOnly);
+        }
+        FilteredViews views = serviceFilteredViews.get(service);
+        if (null == views || views.data != data) {
+            views = new FilteredViews(data);
+            serviceFilteredViews.put(service, views);
+            // The data may be replaced meanwhile, and the views of it must not be left after the replacing.
+            if (serviceDataIndexes.get(service) != data) {
+                serviceFilteredViews.remove(service, views);
+            }
+        }
+        String viewKey = cluster + '@' + healthyOnly + '@' + enableOnly;
+        ServiceUtil.FilteredInstances result = views.views.get(viewKey);
+        if (null == result) {
+            result = ServiceUtil.filterInstances(data, cluster, healthyOnly, enableOnly);
+            // Clusters are given by callers, limit the views to avoid too many combinations kept.
+            if (views.views.size() < MAX_FILTERED_VIEWS_PER_SERVICE) {
+                views.views.putIfAbsent(viewKey, result);
+            }
+        }
         return result;
     }
     
+    /**
+     * Remove cached data and instances of service.
+     *
+     * @param service service
+     */
     public void removeData(Service service) {
         serviceDataIndexes.remove(service);
         serviceClusterIndex.remove(service);
+        serviceInstancesViews.remove(service);
+        serviceFilteredViews.remove(service);
+    }
+    
+    @Override
+    public Class<? extends Event> subscribeType() {
+        return ServiceEvent.ServiceChangedEvent.class;
+    }
+    
+    @Override
+    public void onEvent(ServiceEvent.ServiceChangedEvent changedEvent) {
+        // metadata is not part of publish info of clients, so the whole instances are parsed again.
+        if (ServiceEvent.ServiceChangedEvent.INSTANCE_METADATA_CHANGED.equals(changedEvent.getChangedType())) {
+            InstancesView view = serviceInstancesViews.get(changedEvent.getService());
+            if (null != view) {
+                view.invalidated = true;
+            }
+        }
     }
     
     private ServiceInfo emptyServiceInfo(Service service) {
@@ -103,20 +192,84 @@ public class ServiceStorage {
         return result;
     }
     
+    /**
+     * Get instances of service, checked against the current publish info of clients rather than client events.
+     *
+     * <p>Client events are delivered by other publishers than the service changed event which triggers the push, so the
+     * push may read the data before the client events. Checking the clients when reading makes sure the push always
+     * reads the changes which trigger it.
+     */
+    private List<Instance> getInstances(Service service) {
+        InstancesView view = serviceInstancesViews.computeIfAbsent(service, key -> new InstancesView());
+        synchronized (view) {
+            if (view.invalidated) {
+                return getAllInstancesFromIndex(service);
+            }
+            Collection<String> clientIds = serviceIndexesManager.getAllClientsRegisteredService(service);
+            boolean changed = view.clientInstances.keySet().retainAll(clientIds);
+            for (String each : clientIds) {
+                changed |= updateClientInstances(service, each, view.clientInstances);
+            }
+            if (changed) {
+                view.instances = publishInstances(service, view.clientInstances);
+            }
+            return view.instances;
+        }
+    }
+    
     private List<Instance> getAllInstancesFromIndex(Service service) {
-        Set<Instance> result = new HashSet<>();
+        InstancesView view = serviceInstancesViews.computeIfAbsent(service, key -> new InstancesView());
+        synchronized (view) {
+            view.invalidated = false;
+            view.clientInstances.clear();
+            for (String each : serviceIndexesManager.getAllClientsRegisteredService(service)) {
+                updateClientInstances(service, each, view.clientInstances);
+            }
+            view.instances = publishInstances(service, view.clientInstances);
+            return view.instances;
+        }
+    }
+    
+    /**
+     * Parse instances of client again if the publish info of client is changed.
+     *
+     * @return {@code true} if instances of client are changed
+     */
+    private boolean updateClientInstances(Service service, String clientId,
+            Map<String, ClientInstances> clientInstances) {
+        Optional<InstancePublishInfo> instancePublishInfo = getInstanceInfo(clientId, service);
+        if (!instancePublishInfo.isPresent()) {
+            return null != clientInstances.remove(clientId);
+        }
+        InstancePublishInfo publishInfo = instancePublishInfo.get();
+        ClientInstances cached = clientInstances.get(clientId);
+        if (null != cached && cached.isParsedFrom(publishInfo)) {
+            return false;
+        }
+        //If it is a BatchInstancePublishInfo type, it will be processed manually and added to the instance list
+        if (publishInfo instanceof BatchInstancePublishInfo) {
+            BatchInstancePublishInfo batchInstancePublishInfo = (BatchInstancePublishInfo) publishInfo;
+            clientInstances.put(clientId,
+                    new ClientInstances(publishInfo, parseBatchInstance(service, batchInstancePublishInfo)));
+        } else {
+            clientInstances.put(clientId,
+                    new ClientInstances(publishInfo, Collections.singletonList(parseInstance(service, publishInfo))));
+        }
+        return true;
+    }
+    
+    /**
+     * Merge instances of all clients into a new immutable list, the same instances published by different clients are
+     * merged into one.
+     */
+    private List<Instance> publishInstances(Service service, Map<String, ClientInstances> clientInstances) {
+        List<Instance> result = new ArrayList<>();
+        Set<String> instanceKeys = new HashSet<>();
         Set<String> clusters = new HashSet<>();
-        for (String each : serviceIndexesManager.getAllClientsRegisteredService(service)) {
-            Optional<InstancePublishInfo> instancePublishInfo = getInstanceInfo(each, service);
-            if (instancePublishInfo.isPresent()) {
-                InstancePublishInfo publishInfo = instancePublishInfo.get();
-                //If it is a BatchInstancePublishInfo type, it will be processed manually and added to the instance list
-                if (publishInfo instanceof BatchInstancePublishInfo) {
-                    BatchInstancePublishInfo batchInstancePublishInfo = (BatchInstancePublishInfo) publishInfo;
-                    List<Instance> batchInstance = parseBatchInstance(service, batchInstancePublishInfo, clusters);
-                    result.addAll(batchInstance);
-                } else {
-                    Instance instance = parseInstance(service, instancePublishInfo.get());
+        for (ClientInstances each : clientInstances.values()) {
+            for (int i = 0; i < each.instances.size(); i++) {
+                if (instanceKeys.add(each.instanceKeys[i])) {
+                    Instance instance = each.instances.get(i);
                     result.add(instance);
                     clusters.add(instance.getClusterName());
                 }
@@ -124,7 +277,7 @@ public class ServiceStorage {
         }
         // cache clusters of this service
         serviceClusterIndex.put(service, clusters);
-        return new LinkedList<>(result);
+        return Collections.unmodifiableList(result);
     }
     
     /**
@@ -133,13 +286,11 @@ public class ServiceStorage {
      * @param batchInstancePublishInfo batchInstancePublishInfo
      * @return batch instance list
      */
-    private List<Instance> parseBatchInstance(Service service, BatchInstancePublishInfo batchInstancePublishInfo, Set<String> clusters) {
+    private List<Instance> parseBatchInstance(Service service, BatchInstancePublishInfo batchInstancePublishInfo) {
         List<Instance> resultInstanceList = new ArrayList<>();
         List<InstancePublishInfo> instancePublishInfos = batchInstancePublishInfo.getInstancePublishInfos();
         for (InstancePublishInfo instancePublishInfo : instancePublishInfos) {
-            Instance instance = parseInstance(service, instancePublishInfo);
-            resultInstanceList.add(instance);
-            clusters.add(instance.getClusterName());
+            resultInstanceList.add(parseInstance(service, instancePublishInfo));
         }
         return resultInstanceList;
     }
@@ -159,4 +310,61 @@ public class ServiceStorage {
         metadata.ifPresent(instanceMetadata -> InstanceUtil.updateInstanceMetadata(result, instanceMetadata));
         return result;
     }
+    
+    /**
+     * Instances parsed from one client, with the keys used to merge the same instances of different clients.
+     */
+    private static class ClientInstances {
+        
+        private final InstancePublishInfo publishInfo;
+        
+        /**
+         * Healthy status is changed in place by health checkers, so it is kept to find the change.
+         */
+        private final boolean healthy;
+        
+        private final List<Instance> instances;
+        
+        private final String[] instanceKeys;
+        
+        private ClientInstances(InstancePublishInfo publishInfo, List<Instance> instances) {
+            this.publishInfo = publishInfo;
+            this.healthy = publishInfo.isHealthy();
+            this.instances = instances;
+            this.instanceKeys = new String[instances.size()];
+            for (int i = 0; i < instanceKeys.length; i++) {
+                instanceKeys[i] = instances.get(i).toString();
+            }
+        }
+        
+        private boolean isParsedFrom(InstancePublishInfo current) {
+            return publishInfo == current && healthy == current.isHealthy();
+        }
+    }
+    
+    /**
+     * Incrementally maintained instances of one service.
+     */
+    private static class InstancesView {
+        
+        private final Map<String, ClientInstances> clientInstances = new ConcurrentHashMap<>();
+        
+        private volatile boolean invalidated = true;
+        
+        private volatile List<Instance> instances = Collections.emptyList();
+    }
+    
+    /**
+     * Memoized filtered instances of one data of service.
+     */
+    private static class FilteredViews {
+        
+        private final ServiceInfo data;
+        
+        private final Map<String, ServiceUtil.FilteredInstances> views = new ConcurrentHashMap<>();
+        
+        private FilteredViews(ServiceInfo data) {
+            this.data = data;
+        }
+    }
 }
@@ -0,0 +1,296 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.naming.core.v2.pojo;
+
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Compact map for the extend datum of {@link InstancePublishInfo}.
+ *
+ * <p>Keys and values are flattened into one exactly sized array in insertion order, and keys and short string values
+ * are interned, so that the metadata shared by most instances, such as {@code preserved.register.source=SPRING_CLOUD},
+ * is only kept once. They are supplied by clients, so they are interned by a weak interner rather than the JVM string
+ * pool, and released once no instance refers to them. Lookup is a linear scan, which is faster than hashing for the few entries of instance metadata.
+ *
+ * <p>Not thread safe, same as the {@link java.util.HashMap} it replaces.
+ *
+ * @author Nacos
+ */
+final class CompactMetadataMap extends AbstractMap<String, Object> {
+    
+    private static final Object[] EMPTY_TABLE = new Object[0];
+    
+    /**
+     * Slots of one entry in table, the key and the value.
+     */
+    private static final int ENTRY_WIDTH = 2;
+    
+    /**
+     * String values longer than it are seldom shared by instances, so don't intern them.
+     */
+    private static final int MAX_INTERN_VALUE_LENGTH = 64;
+    
+    private static final Interner<String> INTERNER = Interners.newWeakInterner();
+    
+    /**
+     * Keys at even index and values at odd index.
+     */
+    private Object[] table = EMPTY_TABLE;
+    
+    private transient Set<Entry<String, Object>> entrySet;
+    
+    CompactMetadataMap() {
+    }
+    
+    CompactMetadataMap(Map<String, ?> source) {
+        putAll(source);
+    }
+    
+    @Override
+    public int size() {
+        return table.length >> 1;
+    }
+    
+    @Override
+    public boolean containsKey(Object key) {
+        return indexOf(key) >= 0;
+    }
+    
+    @Override
+    public Object get(Object key) {
+        int index = indexOf(key);
+        return index < 0 ? null : table[index + 1];
+    }
+    
+    @Override
+    public Object put(String key, Object value) {
+        Object internedValue = intern(value);
+        int index = indexOf(key);
+        if (index >= 0) {
+            Object old = table[index + 1];
+            table[index + 1] = internedValue;
+            return old;
+        }
+        Object[] newTable = new Object[table.length + ENTRY_WIDTH];
+        System.arraycopy(table, 0, newTable, 0, table.length);
+        newTable[table.length] = null == key ? null : INTERNER.intern(key);
+        newTable[table.length + 1] = internedValue;
+        table = newTable;
+        return null;
+    }
+    
+    @Override
+    public void putAll(Map<? extends String, ?> source) {
+        int newKeys = 0;
+        for (String each : source.keySet()) {
+            if (indexOf(each) < 0) {
+                newKeys++;
+            }
+        }
+        // Grow the table once instead of once per entry.
+        int length = table.length;
+        Object[] newTable = new Object[length + (newKeys << 1)];
+        System.arraycopy(table, 0, newTable, 0, length);
+        for (Entry<? extends String, ?> entry : source.entrySet()) {
+            int index = indexOf(newTable, length, entry.getKey());
+            if (index >= 0) {
+                newTable[index + 1] = intern(entry.getValue());
+            } else {
+                newTable[length++] = null == entry.getKey() ? null : INTERNER.intern(entry.getKey());
+                newTable[length++] = intern(entry.getValue());
+            }
+        }
+        table = newTable;
+    }
+    
+    @Override
+    public Object remove(Object key) {
+        int index = indexOf(key);
+        if (index < 0) {
+            return null;
+        }
+        Object old = table[index + 1];
+        removeAt(index);
+        return old;
+    }
+    
+    @Override
+    public void clear() {
+        table = EMPTY_TABLE;
+    }
+    
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        Set<Entry<String, Object>> result = entrySet;
+        if (null == result) {
+            result = entrySet = new EntrySet();
+        }
+        return result;
+    }
+    
+    private int indexOf(Object key) {
+        return indexOf(table, table.length, key);
+    }
+    
+    private static int indexOf(Object[] table, int length, Object key) {
+        // Interned keys are mostly matched by reference.
+        for (int i = 0; i < length; i += ENTRY_WIDTH) {
+            if (table[i] == key) {
+                return i;
+            }
+        }
+        if (null == key) {
+            return -1;
+        }
+        for (int i = 0; i < length; i += ENTRY_WIDTH) {
+            if (key.equals(table[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+    
+    private void removeAt(int index) {
+        Object[] newTable = table.length == ENTRY_WIDTH ? EMPTY_TABLE : new Object[table.length - ENTRY_WIDTH];
+        System.arraycopy(table, 0, newTable, 0, index);
+        System.arraycopy(table, index + ENTRY_WIDTH, newTable, index, table.length - index - ENTRY_WIDTH);
+        table = newTable;
+    }
+    
+    private static Object intern(Object value) {
+        if (value instanceof String && ((String) value).length() <= MAX_INTERN_VALUE_LENGTH) {
+            return INTERNER.intern((String) value);
+        }
+        return value;
+    }
+    
+    private final class EntrySet extends AbstractSet<Entry<String, Object>> {
+        
+        @Override
+        public Iterator<Entry<String, Object>> iterator() {
+            return new EntryIterator();
+        }
+        
+        @Override
+        public int size() {
+            return CompactMetadataMap.this.size();
+        }
+        
+        @Override
+        public void clear() {
+            CompactMetadataMap.this.clear();
+        }
+    }
+    
+    private final class EntryIterator implements Iterator<Entry<String, Object>> {
+        
+        private Object[] expectedTable = table;
+        
+        private int next;
+        
+        private int last = -1;
+        
+        @Override
+        public boolean hasNext() {
+            return next < expectedTable.length;
+        }
+        
+        @Override
+        public Entry<String, Object> next() {
+            if (expectedTable != table) {
+                throw new ConcurrentModificationException();
+            }
+            if (next >= expectedTable.length) {
+                throw new NoSuchElementException();
+            }
+            last = next;
+            next += ENTRY_WIDTH;
+            return new MetadataEntry(last);
+        }
+        
+        @Override
+        public void remove() {
+            if (last < 0) {
+                throw new IllegalStateException();
+            }
+            if (expectedTable != table) {
+                throw new ConcurrentModificationException();
+            }
+            removeAt(last);
+            expectedTable = table;
+            next = last;
+            last = -1;
+        }
+    }
+    
+    private final class MetadataEntry implements Entry<String, Object> {
+        
+        private final Object[] entryTable = table;
+        
+        private final int index;
+        
+        private MetadataEntry(int index) {
+            this.index = index;
+        }
+        
+        @Override
+        public String getKey() {
+            return (String) entryTable[index];
+        }
+        
+        @Override
+        public Object getValue() {
+            return entryTable[index + 1];
+        }
+        
+        @Override
+        public Object setValue(Object value) {
+            Object old = entryTable[index + 1];
+            entryTable[index + 1] = intern(value);
+            return old;
+        }
+        
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Entry)) {
+                return false;
+            }
+            Entry<?, ?> that = (Entry<?, ?>) o;
+            return Objects.equals(getKey(), that.getKey()) && Objects.equals(getValue(), that.getValue());
+        }
+        
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(getKey()) ^ Objects.hashCode(getValue());
+        }
+        
+        @Override
+        public String toString() {
+            return getKey() + "=" + getValue();
+        }
+    }
+}
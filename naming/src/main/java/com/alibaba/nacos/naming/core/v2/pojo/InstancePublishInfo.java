@@ -18,6 +18,7 @@ package com.alibaba.nacos.naming.core.v2.pojo;
 
 import com.alibaba.nacos.common.utils.InternetAddressUtil;
 
+import java.io.ObjectStreamException;
 import java.io.Serializable;
 import java.util.HashMap;
 import java.util.Map;
@@ -26,12 +27,32 @@ import java.util.Objects;
 /**
  * Instance POJO of client published for Nacos v2.
  *
+ * <p>Hundreds of thousands of instances are held in memory, so the fields are stored compactly: an IPv4 address is
+ * packed into an int, the cluster name is interned and the extend datum is kept in a {@link CompactMetadataMap}. The
+ * serialized form is the same as before, see {@link #writeReplace()}.
+ *
  * @author xiweng.yy
  */
-public class InstancePublishInfo implements Serializable {
+public class InstancePublishInfo implements Serializable, Cloneable {
     
     private static final long serialVersionUID = -74988890439616025L;
     
+    private static final int IPV4_SEGMENTS = 4;
+    
+    private static final int IPV4_MIN_LENGTH = 7;
+    
+    private static final int IPV4_MAX_LENGTH = 15;
+    
+    private static final int MAX_IPV4_SEGMENT = 255;
+    
+    /**
+     * Packed IPv4 address, only valid when {@link #ip} is null. {@code 0} means no ip.
+     */
+    private transient int packedIp;
+    
+    /**
+     * Ip which can't be packed, such as IPv6 address or host name.
+     */
     private String ip;
     
     private int port;
@@ -46,17 +67,23 @@ public class InstancePublishInfo implements Serializable {
     }
     
     public InstancePublishInfo(String ip, int port) {
-        this.ip = ip;
+        setIp(ip);
         this.port = port;
-        extendDatum = new HashMap<>(1);
+        extendDatum = new CompactMetadataMap();
     }
     
+    /**
+     * Set ip of instance, IPv4 address is packed into int.
+     *
+     * @param ip ip
+     */
     public void setIp(String ip) {
-        this.ip = ip;
+        this.packedIp = packIpv4(ip);
+        this.ip = 0 == packedIp ? ip : null;
     }
     
     public String getIp() {
-        return ip;
+        return null == ip && 0 != packedIp ? unpackIpv4(packedIp) : ip;
     }
     
     public void setPort(int port) {
@@ -68,7 +95,7 @@ public class InstancePublishInfo implements Serializable {
     }
     
     public void setCluster(String cluster) {
-        this.cluster = cluster;
+        this.cluster = null == cluster ? null : cluster.intern();
     }
     
     public String getCluster() {
@@ -79,8 +106,17 @@ public class InstancePublishInfo implements Serializable {
         return extendDatum;
     }
     
+    /**
+     * Set extend datum of instance, which is copied into {@link CompactMetadataMap} if it isn't one.
+     *
+     * @param extendDatum extend datum
+     */
     public void setExtendDatum(Map<String, Object> extendDatum) {
-        this.extendDatum = extendDatum;
+        if (null == extendDatum || extendDatum instanceof CompactMetadataMap) {
+            this.extendDatum = extendDatum;
+        } else {
+            this.extendDatum = new CompactMetadataMap(extendDatum);
+        }
     }
     
     public boolean isHealthy() {
@@ -92,7 +128,7 @@ public class InstancePublishInfo implements Serializable {
     }
     
     public String getMetadataId() {
-        return genMetadataId(ip, port, cluster);
+        return genMetadataId(getIp(), port, cluster);
     }
     
     @Override
@@ -104,25 +140,107 @@ public class InstancePublishInfo implements Serializable {
             return false;
         }
         InstancePublishInfo that = (InstancePublishInfo) o;
-        return port == that.port && healthy == that.healthy && Objects.equals(ip, that.ip) && Objects
-                .equals(extendDatum, that.extendDatum);
+        return packedIp == that.packedIp && port == that.port && healthy == that.healthy && Objects.equals(ip, that.ip)
+                && Objects.equals(extendDatum, that.extendDatum);
     }
     
     @Override
     public int hashCode() {
-        return Objects.hash(ip, port, extendDatum, healthy);
+        return Objects.hash(ip, packedIp, port, extendDatum, healthy);
     }
     
     @Override
     public String toString() {
         return "InstancePublishInfo{"
-                + "ip='" + ip + '\''
+                + "ip='" + getIp() + '\''
                 + ", port=" + port
                 + ", healthy=" + healthy
                 + ", cluster='" + cluster + '\''
                 + '}';
     }
     
+    /**
+     * Replace the compact fields with the plain ones when serializing, so that the serialized form, such as the
+     * persistent instance snapshot, stays readable by the nodes of older versions.
+     *
+     * @return this if already plain, otherwise a plain copy
+     * @throws ObjectStreamException never
+     */
+    protected Object writeReplace() throws ObjectStreamException {
+        if (0 == packedIp && !(extendDatum instanceof CompactMetadataMap)) {
+            return this;
+        }
+        InstancePublishInfo result;
+        try {
+            result = (InstancePublishInfo) clone();
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException(e);
+        }
+        result.ip = getIp();
+        result.packedIp = 0;
+        result.extendDatum = null == extendDatum ? null : new HashMap<>(extendDatum);
+        return result;
+    }
+    
+    /**
+     * Compact the plain fields after deserialized.
+     *
+     * @return this
+     * @throws ObjectStreamException never
+     */
+    protected Object readResolve() throws ObjectStreamException {
+        setIp(ip);
+        setCluster(cluster);
+        setExtendDatum(extendDatum);
+        return this;
+    }
+    
+    /**
+     * Pack the IPv4 address into int, only the canonical dotted form such as {@code 192.168.0.1} is packed so that it
+     * can be restored as the same string.
+     *
+     * @param ip ip
+     * @return packed ip, or {@code 0} if not a packable IPv4 address
+     */
+    private static int packIpv4(String ip) {
+        if (null == ip || ip.length() < IPV4_MIN_LENGTH
+                || ip.length() > IPV4_MAX_LENGTH) {
+            return 0;
+        }
+        int result = 0;
+        int segments = 0;
+        int segment = -1;
+        int segmentStart = 0;
+        for (int i = 0; i <= ip.length(); i++) {
+            char c = i < ip.length() ? ip.charAt(i) : '.';
+            if (c == '.') {
+                boolean leadingZero = i - segmentStart > 1 && ip.charAt(segmentStart) == '0';
+                if (segment < 0 || leadingZero) {
+                    return 0;
+                }
+                result = (result << 8) | segment;
+                segments++;
+                segment = -1;
+                segmentStart = i + 1;
+            } else if (c >= '0' && c <= '9' && segments < IPV4_SEGMENTS) {
+                segment = (segment < 0 ? 0 : segment * 10) + (c - '0');
+                if (segment > MAX_IPV4_SEGMENT) {
+                    return 0;
+                }
+            } else {
+                return 0;
+            }
+        }
+        return segments == IPV4_SEGMENTS ? result : 0;
+    }
+    
+    private static String unpackIpv4(int packedIp) {
+        StringBuilder result = new StringBuilder(IPV4_MAX_LENGTH);
+        result.append(packedIp >>> 24).append('.').append((packedIp >>> 16) & MAX_IPV4_SEGMENT).append('.')
+                .append((packedIp >>> 8) & MAX_IPV4_SEGMENT).append('.').append(packedIp & MAX_IPV4_SEGMENT);
+        return result.toString();
+    }
+    
     public static String genMetadataId(String ip, int port, String cluster) {
         return ip + InternetAddressUtil.IP_PORT_SPLITER + port + InternetAddressUtil.IP_PORT_SPLITER + cluster;
     }
@@ -16,6 +16,8 @@
 
 package com.alibaba.nacos.naming.healthcheck;
 
+import com.alibaba.nacos.api.common.Constants;
+import com.alibaba.nacos.common.executor.HashedWheelTimer;
 import com.alibaba.nacos.naming.healthcheck.heartbeat.BeatCheckTask;
 import com.alibaba.nacos.naming.healthcheck.interceptor.HealthCheckTaskInterceptWrapper;
 import com.alibaba.nacos.naming.healthcheck.v2.HealthCheckTaskV2;
@@ -35,7 +37,15 @@ import java.util.concurrent.TimeUnit;
 @SuppressWarnings("PMD.ThreadPoolCreationRule")
 public class HealthCheckReactor {
     
-    private static Map<String, ScheduledFuture> futureMap = new ConcurrentHashMap<>();
+    /**
+     * Client beat check tasks are scheduled once by their next deadline in a shared wheel instead of periodic futures,
+     * so that a tick only wakes up the clients which may expire.
+     */
+    private static final HashedWheelTimer BEAT_CHECK_TIMER = new HashedWheelTimer(
+            "com.alibaba.nacos.naming.beat.check.timer", 100, TimeUnit.MILLISECONDS, 512,
+            GlobalExecutor::executeNamingHealth);
+    
+    private static Map<String, BeatCheckTimeout> beatCheckMap = new ConcurrentHashMap<>();
     
     /**
      * Schedule health check task for v2.
@@ -57,8 +67,10 @@ public class HealthCheckReactor {
         Runnable wrapperTask =
                 task instanceof NacosHealthCheckTask ? new HealthCheckTaskInterceptWrapper((NacosHealthCheckTask) task)
                         : task;
-        futureMap.computeIfAbsent(task.taskKey(),
-                k -> GlobalExecutor.scheduleNamingHealth(wrapperTask, 5000, 5000, TimeUnit.MILLISECONDS));
+        BeatCheckTimeout beatCheckTimeout = new BeatCheckTimeout(task, wrapperTask);
+        if (null == beatCheckMap.putIfAbsent(task.taskKey(), beatCheckTimeout)) {
+            beatCheckTimeout.schedule(Constants.DEFAULT_HEART_BEAT_INTERVAL);
+        }
     }
     
     /**
@@ -67,18 +79,40 @@ public class HealthCheckReactor {
      * @param task client beat check task
      */
     public static void cancelCheck(BeatCheckTask task) {
-        ScheduledFuture scheduledFuture = futureMap.get(task.taskKey());
-        if (scheduledFuture == null) {
+        BeatCheckTimeout beatCheckTimeout = beatCheckMap.remove(task.taskKey());
+        if (beatCheckTimeout == null) {
             return;
         }
         try {
-            scheduledFuture.cancel(true);
-            futureMap.remove(task.taskKey());
+            beatCheckTimeout.cancel();
         } catch (Exception e) {
             Loggers.EVT_LOG.error("[CANCEL-CHECK] cancel failed!", e);
         }
     }
     
+    /**
+     * Make the scheduled client beat check task run no later than the delay, if it is armed for a later deadline, such
+     * as an instance with a shorter beat timeout joins the client.
+     *
+     * @param task  client beat check task
+     * @param delay max delay of next check in milliseconds
+     */
+    public static void scheduleCheckNoLaterThan(BeatCheckTask task, long delay) {
+        BeatCheckTimeout beatCheckTimeout = beatCheckMap.get(task.taskKey());
+        if (null != beatCheckTimeout) {
+            beatCheckTimeout.advance(delay);
+        }
+    }
+    
+    /**
+     * Get count of client beat check tasks waiting in the wheel.
+     *
+     * @return pending beat check count
+     */
+    public static int getPendingBeatCheckCount() {
+        return BEAT_CHECK_TIMER.pendingTimeouts();
+    }
+    
     /**
      * Schedule client beat check task without a delay.
      *
@@ -88,4 +122,77 @@ public class HealthCheckReactor {
     public static ScheduledFuture<?> scheduleNow(Runnable task) {
         return GlobalExecutor.scheduleNamingHealth(task, 0, TimeUnit.MILLISECONDS);
     }
+    
+    private static class BeatCheckTimeout implements Runnable {
+        
+        private final BeatCheckTask task;
+        
+        private final Runnable wrapperTask;
+        
+        private HashedWheelTimer.Timeout timeout;
+        
+        /**
+         * Deadline of the armed timeout, {@code Long.MAX_VALUE} if not armed, such as the task is running.
+         */
+        private long deadline = Long.MAX_VALUE;
+        
+        /**
+         * Deadline required while the timeout is not armed, which limits the delay of the next scheduling.
+         */
+        private long advancedDeadline = Long.MAX_VALUE;
+        
+        private boolean cancelled;
+        
+        private BeatCheckTimeout(BeatCheckTask task, Runnable wrapperTask) {
+            this.task = task;
+            this.wrapperTask = wrapperTask;
+        }
+        
+        private synchronized void schedule(long delay) {
+            if (cancelled) {
+                return;
+            }
+            long now = System.currentTimeMillis();
+            if (Long.MAX_VALUE != advancedDeadline) {
+                delay = Math.max(0L, Math.min(delay, advancedDeadline - now));
+                advancedDeadline = Long.MAX_VALUE;
+            }
+            deadline = now + delay;
+            timeout = BEAT_CHECK_TIMER.newTimeout(this, delay, TimeUnit.MILLISECONDS);
+        }
+        
+        private synchronized void advance(long delay) {
+            long newDeadline = System.currentTimeMillis() + delay;
+            if (cancelled || newDeadline >= deadline) {
+                return;
+            }
+            if (Long.MAX_VALUE == deadline) {
+                advancedDeadline = Math.min(advancedDeadline, newDeadline);
+            } else if (timeout.cancel()) {
+                schedule(delay);
+            }
+            // Otherwise the timeout is expired and the task is about to run, which checks the joined instance.
+        }
+        
+        private synchronized void cancel() {
+            cancelled = true;
+            if (null != timeout) {
+                timeout.cancel();
+            }
+        }
+        
+        private synchronized void markRunning() {
+            deadline = Long.MAX_VALUE;
+        }
+        
+        @Override
+        public void run() {
+            markRunning();
+            try {
+                wrapperTask.run();
+            } finally {
+                schedule(task.getNextCheckDelay());
+            }
+        }
+    }
 }
@@ -30,4 +30,11 @@ public interface BeatCheckTask extends Runnable {
      */
     String taskKey();
     
+    /**
+     * Delay in milliseconds to run the task again, computed by the latest run.
+     *
+     * @return delay of next check
+     */
+    long getNextCheckDelay();
+    
 }
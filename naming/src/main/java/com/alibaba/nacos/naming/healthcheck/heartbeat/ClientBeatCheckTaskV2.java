@@ -16,11 +16,13 @@
 
 package com.alibaba.nacos.naming.healthcheck.heartbeat;
 
+import com.alibaba.nacos.api.common.Constants;
 import com.alibaba.nacos.common.task.AbstractExecuteTask;
 import com.alibaba.nacos.naming.consistency.KeyBuilder;
 import com.alibaba.nacos.naming.core.v2.client.impl.IpPortBasedClient;
 import com.alibaba.nacos.naming.core.v2.pojo.HealthCheckInstancePublishInfo;
 import com.alibaba.nacos.naming.core.v2.pojo.Service;
+import com.alibaba.nacos.naming.healthcheck.HealthCheckReactor;
 import com.alibaba.nacos.naming.healthcheck.NacosHealthCheckTask;
 import com.alibaba.nacos.naming.misc.GlobalConfig;
 import com.alibaba.nacos.naming.misc.Loggers;
@@ -41,6 +43,8 @@ public class ClientBeatCheckTaskV2 extends AbstractExecuteTask implements BeatCh
     
     private final InstanceBeatCheckTaskInterceptorChain interceptorChain;
     
+    private volatile long nextCheckDelay = Constants.DEFAULT_HEART_BEAT_INTERVAL;
+    
     public ClientBeatCheckTaskV2(IpPortBasedClient client) {
         this.client = client;
         this.taskId = client.getResponsibleId();
@@ -61,18 +65,60 @@ public class ClientBeatCheckTaskV2 extends AbstractExecuteTask implements BeatCh
         return taskId;
     }
     
+    /**
+     * Get the delay to the earliest deadline of the checked instances, so the task only wakes up when some instance may
+     * turn unhealthy or expired. Beats just move the deadline later, which is picked up when the task runs.
+     *
+     * <p>Falls back to the default beat interval if any instance is not checked or passed its deadline already, such
+     * as the client is not responsible by this server or instance expiring is disabled, and the delay is limited by the
+     * default beat timeout to pick up timeout changes in metadata.
+     *
+     * @return delay of next check in milliseconds
+     */
+    @Override
+    public long getNextCheckDelay() {
+        return nextCheckDelay;
+    }
+    
+    /**
+     * Check the instance no later than its next check time, which may be earlier than the armed deadline of the client
+     * when the instance joins with a shorter beat timeout.
+     *
+     * @param service  service of instance
+     * @param instance instance joined the client
+     */
+    public void scheduleCheck(Service service, HealthCheckInstancePublishInfo instance) {
+        try {
+            long nextCheckTime = new InstanceBeatCheckTask(client, service, instance).getNextCheckTime();
+            HealthCheckReactor.scheduleCheckNoLaterThan(this, nextCheckTime - System.currentTimeMillis());
+        } catch (Exception e) {
+            Loggers.SRV_LOG.warn("Exception while scheduling client beat check for instance of {}.", service, e);
+        }
+    }
+    
     @Override
     public void doHealthCheck() {
+        long nextCheckTime = System.currentTimeMillis() + Constants.DEFAULT_HEART_BEAT_TIMEOUT;
+        boolean allChecked = true;
         try {
             Collection<Service> services = client.getAllPublishedService();
             for (Service each : services) {
                 HealthCheckInstancePublishInfo instance = (HealthCheckInstancePublishInfo) client
                         .getInstancePublishInfo(each);
-                interceptorChain.doInterceptor(new InstanceBeatCheckTask(client, each, instance));
+                InstanceBeatCheckTask instanceTask = new InstanceBeatCheckTask(client, each, instance);
+                interceptorChain.doInterceptor(instanceTask);
+                if (!instanceTask.isChecked()) {
+                    allChecked = false;
+                } else if (null != client.getInstancePublishInfo(each)) {
+                    nextCheckTime = Math.min(nextCheckTime, instanceTask.getNextCheckTime());
+                }
             }
         } catch (Exception e) {
+            allChecked = false;
             Loggers.SRV_LOG.warn("Exception while processing client beat time out.", e);
         }
+        long delay = nextCheckTime - System.currentTimeMillis();
+        nextCheckDelay = allChecked && delay > 0 ? delay : Constants.DEFAULT_HEART_BEAT_INTERVAL;
     }
     
     @Override
@@ -87,5 +133,6 @@ public class ClientBeatCheckTaskV2 extends AbstractExecuteTask implements BeatCh
     
     @Override
     public void afterIntercept() {
+        nextCheckDelay = Constants.DEFAULT_HEART_BEAT_INTERVAL;
     }
 }
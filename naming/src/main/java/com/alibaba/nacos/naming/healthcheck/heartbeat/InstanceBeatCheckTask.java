@@ -16,6 +16,7 @@
 
 package com.alibaba.nacos.naming.healthcheck.heartbeat;
 
+import com.alibaba.nacos.api.common.Constants;
 import com.alibaba.nacos.common.spi.NacosServiceLoader;
 import com.alibaba.nacos.naming.core.v2.client.impl.IpPortBasedClient;
 import com.alibaba.nacos.naming.core.v2.pojo.HealthCheckInstancePublishInfo;
@@ -34,16 +35,25 @@ public class InstanceBeatCheckTask implements Interceptable {
     
     private static final List<InstanceBeatChecker> CHECKERS = new LinkedList<>();
     
+    private static final UnhealthyInstanceChecker UNHEALTHY_CHECKER = new UnhealthyInstanceChecker();
+    
+    private static final ExpiredInstanceChecker EXPIRED_CHECKER = new ExpiredInstanceChecker();
+    
+    private static final boolean HAS_EXTEND_CHECKER;
+    
     private final IpPortBasedClient client;
     
     private final Service service;
     
     private final HealthCheckInstancePublishInfo instancePublishInfo;
     
+    private boolean checked;
+    
     static {
-        CHECKERS.add(new UnhealthyInstanceChecker());
-        CHECKERS.add(new ExpiredInstanceChecker());
+        CHECKERS.add(UNHEALTHY_CHECKER);
+        CHECKERS.add(EXPIRED_CHECKER);
         CHECKERS.addAll(NacosServiceLoader.load(InstanceBeatChecker.class));
+        HAS_EXTEND_CHECKER = CHECKERS.size() > 2;
     }
     
     public InstanceBeatCheckTask(IpPortBasedClient client, Service service, HealthCheckInstancePublishInfo instancePublishInfo) {
@@ -57,6 +67,39 @@ public class InstanceBeatCheckTask implements Interceptable {
         for (InstanceBeatChecker each : CHECKERS) {
             each.doCheck(client, service, instancePublishInfo);
         }
+        checked = true;
+    }
+    
+    /**
+     * Whether the instance has passed the interceptors and been checked by the checkers.
+     *
+     * @return {@code true} if checked
+     */
+    public boolean isChecked() {
+        return checked;
+    }
+    
+    /**
+     * Get the earliest time the status of the instance may change if no more beat comes, which is the unhealthy
+     * deadline for healthy instance and the expired deadline for unhealthy instance.
+     *
+     * <p>Extended checkers may depend on periodic checks, so the time is limited by the default beat interval when
+     * any extended checker is loaded.
+     *
+     * @return next check time in milliseconds
+     */
+    public long getNextCheckTime() {
+        long lastBeatTime = instancePublishInfo.getLastHeartBeatTime();
+        long result = lastBeatTime + EXPIRED_CHECKER.getTimeout(service, instancePublishInfo);
+        if (instancePublishInfo.isHealthy()) {
+            result = Math.min(result, lastBeatTime + UNHEALTHY_CHECKER.getTimeout(service, instancePublishInfo));
+        }
+        // Checkers judge timeout by greater than, so check one millisecond later than the deadline.
+        result++;
+        if (HAS_EXTEND_CHECKER) {
+            result = Math.min(result, System.currentTimeMillis() + Constants.DEFAULT_HEART_BEAT_INTERVAL);
+        }
+        return result;
     }
     
     @Override
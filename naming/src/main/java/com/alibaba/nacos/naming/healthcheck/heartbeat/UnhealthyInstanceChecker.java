@@ -56,7 +56,7 @@ public class UnhealthyInstanceChecker implements InstanceBeatChecker {
         return System.currentTimeMillis() - instance.getLastHeartBeatTime() > beatTimeout;
     }
     
-    private long getTimeout(Service service, InstancePublishInfo instance) {
+    long getTimeout(Service service, InstancePublishInfo instance) {
         Optional<Object> timeout = getTimeoutFromMetadata(service, instance);
         if (!timeout.isPresent()) {
             timeout = Optional.ofNullable(instance.getExtendDatum().get(PreservedMetadataKeys.HEART_BEAT_TIMEOUT));
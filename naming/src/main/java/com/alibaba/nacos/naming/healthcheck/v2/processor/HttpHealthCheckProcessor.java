@@ -28,15 +28,20 @@ import com.alibaba.nacos.naming.core.v2.metadata.ClusterMetadata;
 import com.alibaba.nacos.naming.core.v2.pojo.HealthCheckInstancePublishInfo;
 import com.alibaba.nacos.naming.core.v2.pojo.Service;
 import com.alibaba.nacos.naming.healthcheck.v2.HealthCheckTaskV2;
+import com.alibaba.nacos.naming.misc.GlobalExecutor;
 import com.alibaba.nacos.naming.misc.HttpClientManager;
 import com.alibaba.nacos.naming.misc.SwitchDomain;
 import com.alibaba.nacos.naming.monitor.MetricsMonitor;
+import com.alibaba.nacos.sys.env.EnvUtil;
 import org.springframework.stereotype.Component;
 
+import javax.annotation.PreDestroy;
+import java.io.IOException;
 import java.net.ConnectException;
 import java.net.HttpURLConnection;
 import java.net.URL;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 import static com.alibaba.nacos.common.constant.RequestUrlConstants.HTTP_PREFIX;
 import static com.alibaba.nacos.naming.misc.Loggers.SRV_LOG;
@@ -53,6 +58,18 @@ public class HttpHealthCheckProcessor implements HealthCheckProcessorV2 {
     
     public static final String TYPE = HealthCheckType.HTTP.name();
     
+    public static final String NIO_ENABLED = "nacos.naming.health.http.nio.enabled";
+    
+    public static final String NIO_MAX_CONCURRENCY = "nacos.naming.health.http.nio.maxConcurrency";
+    
+    public static final String NIO_PIPELINE_DEPTH = "nacos.naming.health.http.nio.pipelineDepth";
+    
+    public static final String NIO_TIMEOUT = "nacos.naming.health.http.nio.timeout";
+    
+    public static final String NIO_KEEP_ALIVE = "nacos.naming.health.http.nio.keepAlive";
+    
+    public static final String NIO_METHOD = "nacos.naming.health.http.nio.method";
+    
     private static final NacosAsyncRestTemplate ASYNC_REST_TEMPLATE = HttpClientManager
             .getProcessorNacosAsyncRestTemplate();
     
@@ -60,9 +77,29 @@ public class HttpHealthCheckProcessor implements HealthCheckProcessorV2 {
     
     private final SwitchDomain switchDomain;
     
+    /**
+     * Non-blocking checker multiplexing all checks on one selector, {@code null} if disabled and the async rest
+     * template is used.
+     */
+    private final NioHttpHealthChecker nioHealthChecker;
+    
     public HttpHealthCheckProcessor(HealthCheckCommonV2 healthCheckCommon, SwitchDomain switchDomain) {
         this.healthCheckCommon = healthCheckCommon;
         this.switchDomain = switchDomain;
+        this.nioHealthChecker = EnvUtil.getProperty(NIO_ENABLED, Boolean.class, false) ? createNioHealthChecker()
+                : null;
+    }
+    
+    private NioHttpHealthChecker createNioHealthChecker() {
+        try {
+            return new NioHttpHealthChecker(EnvUtil.getProperty(NIO_MAX_CONCURRENCY, Integer.class, 4096),
+                    EnvUtil.getProperty(NIO_PIPELINE_DEPTH, Integer.class, 4),
+                    EnvUtil.getProperty(NIO_TIMEOUT, Long.class, 500L),
+                    EnvUtil.getProperty(NIO_KEEP_ALIVE, Long.class, TimeUnit.SECONDS.toMillis(15)),
+                    EnvUtil.getProperty(NIO_METHOD, "GET"), GlobalExecutor::executeNamingHealth);
+        } catch (IOException e) {
+            throw new IllegalStateException("Error while initializing NIO http health checker.", e);
+        }
     }
     
     @Override
@@ -90,8 +127,12 @@ public class HttpHealthCheckProcessor implements HealthCheckProcessorV2 {
             Header header = Header.newInstance();
             header.addAll(customHeaders);
             
-            ASYNC_REST_TEMPLATE.get(target.toString(), header, Query.EMPTY, String.class,
-                    new HttpHealthCheckCallback(instance, task, service));
+            HttpHealthCheckCallback callback = new HttpHealthCheckCallback(instance, task, service);
+            if (null != nioHealthChecker) {
+                nioHealthChecker.check(instance.getIp(), ckPort, target.getFile(), customHeaders, callback);
+            } else {
+                ASYNC_REST_TEMPLATE.get(target.toString(), header, Query.EMPTY, String.class, callback);
+            }
             MetricsMonitor.getHttpHealthCheckMonitor().incrementAndGet();
         } catch (Throwable e) {
             instance.setCheckRt(switchDomain.getHttpHealthParams().getMax());
@@ -106,6 +147,16 @@ public class HttpHealthCheckProcessor implements HealthCheckProcessorV2 {
         return TYPE;
     }
     
+    /**
+     * Stop the selector thread and close the connections of the NIO checker if enabled.
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (null != nioHealthChecker) {
+            nioHealthChecker.shutdown();
+        }
+    }
+    
     private class HttpHealthCheckCallback implements Callback<String> {
         
         private final HealthCheckTaskV2 task;
@@ -126,6 +177,8 @@ public class HttpHealthCheckProcessor implements HealthCheckProcessorV2 {
         @Override
         public void onReceive(RestResult<String> result) {
             instance.setCheckRt(System.currentTimeMillis() - startTime);
+            MetricsMonitor.getHttpHealthCheckTimer()
+                    .record(System.currentTimeMillis() - startTime, TimeUnit.MILLISECONDS);
             int httpCode = result.getCode();
             if (HttpURLConnection.HTTP_OK == httpCode) {
                 healthCheckCommon.checkOk(task, service, "http:" + httpCode);
@@ -149,6 +202,8 @@ public class HttpHealthCheckProcessor implements HealthCheckProcessorV2 {
         public void onError(Throwable throwable) {
             Throwable cause = throwable;
             instance.setCheckRt(System.currentTimeMillis() - startTime);
+            MetricsMonitor.getHttpHealthCheckTimer()
+                    .record(System.currentTimeMillis() - startTime, TimeUnit.MILLISECONDS);
             int maxStackDepth = 50;
             for (int deepth = 0; deepth < maxStackDepth && cause != null; deepth++) {
                 if (HttpUtils.isTimeoutException(cause)) {
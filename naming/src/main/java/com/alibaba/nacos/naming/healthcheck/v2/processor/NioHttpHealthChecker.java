@@ -0,0 +1,817 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.naming.healthcheck.v2.processor;
+
+import com.alibaba.nacos.common.constant.HttpHeaderConsts;
+import com.alibaba.nacos.common.executor.NameThreadFactory;
+import com.alibaba.nacos.common.http.Callback;
+import com.alibaba.nacos.common.model.RestResult;
+import com.alibaba.nacos.common.utils.InternetAddressUtil;
+import com.alibaba.nacos.common.utils.StringUtils;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.SocketTimeoutException;
+import java.net.UnknownHostException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+
+import static com.alibaba.nacos.naming.misc.Loggers.SRV_LOG;
+
+/**
+ * Non-blocking http client for health check of persistent instances, on the same NIO selector model as
+ * {@link TcpHealthCheckProcessor}.
+ *
+ * <p>All connections are driven by one selector thread. Connections are kept alive and reused by endpoint (ip and
+ * port), and checks to the same endpoint are pipelined on one connection up to the pipeline depth. At most
+ * {@code maxConcurrency} checks are in flight, the others wait in queue. Results are called back by the callback
+ * executor, so the selector thread only does IO. Host names are resolved by the callback executor too.
+ *
+ * @author Nacos
+ */
+public class NioHttpHealthChecker implements Runnable {
+    
+    private static final long SELECT_TIMEOUT_MILLIS = 50L;
+    
+    private static final long IDLE_SCAN_INTERVAL_MILLIS = 1000L;
+    
+    private static final int READ_BUFFER_SIZE = 4096;
+    
+    private static final String HEAD = "HEAD";
+    
+    private static final String SHUTDOWN_MESSAGE = "http health checker is shutdown";
+    
+    private final int maxConcurrency;
+    
+    private final int pipelineDepth;
+    
+    private final long timeoutMillis;
+    
+    private final long keepAliveMillis;
+    
+    private final String method;
+    
+    private final Executor callbackExecutor;
+    
+    private final Selector selector;
+    
+    private final Queue<CheckRequest> submitted = new ConcurrentLinkedQueue<>();
+    
+    private final Deque<CheckRequest> waiting = new ArrayDeque<>();
+    
+    /**
+     * Dispatched requests in dispatch order, whose deadlines are in order too since all requests use the same timeout.
+     */
+    private final Deque<CheckRequest> inFlight = new ArrayDeque<>();
+    
+    private final Map<String, Endpoint> endpoints = new HashMap<>();
+    
+    private final ByteBuffer readBuffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+    
+    private int inFlightCount;
+    
+    private long lastIdleScanTime;
+    
+    private volatile boolean shutdown;
+    
+    /**
+     * Create and start the checker.
+     *
+     * @param maxConcurrency   max count of checks in flight
+     * @param pipelineDepth    max count of requests pipelined on one connection
+     * @param timeoutMillis    timeout of one check, including connecting
+     * @param keepAliveMillis  time to keep an idle connection for reuse, {@code 0} to close after each check
+     * @param method           http method, {@code GET} or {@code HEAD}
+     * @param callbackExecutor executor to call back results
+     * @throws IOException if the selector can't be opened
+     */
+    public NioHttpHealthChecker(int maxConcurrency, int pipelineDepth, long timeoutMillis, long keepAliveMillis,
+            String method, Executor callbackExecutor) throws IOException {
+        this.maxConcurrency = Math.max(maxConcurrency, 1);
+        this.pipelineDepth = Math.max(pipelineDepth, 1);
+        this.timeoutMillis = timeoutMillis;
+        this.keepAliveMillis = keepAliveMillis;
+        this.method = HEAD.equalsIgnoreCase(method) ? HEAD : "GET";
+        this.callbackExecutor = callbackExecutor;
+        this.selector = Selector.open();
+        new NameThreadFactory("com.alibaba.nacos.naming.health.http.nio").newThread(this).start();
+    }
+    
+    /**
+     * Submit a health check request.
+     *
+     * @param ip       ip of endpoint
+     * @param port     port of endpoint
+     * @param path     request path with query
+     * @param headers  custom headers
+     * @param callback callback of result, only the response code is parsed
+     */
+    public void check(String ip, int port, String path, Map<String, String> headers, Callback<String> callback) {
+        submit(new CheckRequest(ip, port, encodeRequest(ip, port, path, headers), callback));
+    }
+    
+    /**
+     * Stop the selector thread and close all connections.
+     */
+    public void shutdown() {
+        shutdown = true;
+        selector.wakeup();
+    }
+    
+    private void submit(CheckRequest request) {
+        submitted.add(request);
+        // The selector thread may have exited and never take it, fail it here unless taken already.
+        if (shutdown && submitted.remove(request)) {
+            request.done = true;
+            callback(request, null, new IOException(SHUTDOWN_MESSAGE));
+            return;
+        }
+        selector.wakeup();
+    }
+    
+    byte[] encodeRequest(String ip, int port, String path, Map<String, String> headers) {
+        StringBuilder request = new StringBuilder(128);
+        request.append(method).append(' ').append(StringUtils.isBlank(path) ? "/" : path).append(" HTTP/1.1\r\n");
+        request.append("Host: ");
+        if (InternetAddressUtil.isIPv6(ip) && !ip.startsWith(InternetAddressUtil.IPV6_START_MARK)) {
+            request.append(InternetAddressUtil.IPV6_START_MARK).append(ip).append(InternetAddressUtil.IPV6_END_MARK);
+        } else {
+            request.append(ip);
+        }
+        request.append(':').append(port).append("\r\n");
+        request.append("User-Agent: VIPServer\r\n");
+        request.append("Connection: ").append(keepAliveMillis > 0 ? "keep-alive" : "close").append("\r\n");
+        if (null != headers) {
+            for (Map.Entry<String, String> entry : headers.entrySet()) {
+                // Custom headers with line breaks would break the pipelined requests after it.
+                if (isValidHeaderPart(entry.getKey()) && isValidHeaderPart(entry.getValue())) {
+                    request.append(entry.getKey()).append(": ").append(entry.getValue()).append("\r\n");
+                }
+            }
+        }
+        request.append("\r\n");
+        return request.toString().getBytes(StandardCharsets.ISO_8859_1);
+    }
+    
+    private boolean isValidHeaderPart(String part) {
+        return null != part && part.indexOf('\r') < 0 && part.indexOf('\n') < 0;
+    }
+    
+    @Override
+    public void run() {
+        while (!shutdown) {
+            try {
+                selector.select(SELECT_TIMEOUT_MILLIS);
+                Iterator<SelectionKey> iterator = selector.selectedKeys().iterator();
+                while (iterator.hasNext()) {
+                    SelectionKey key = iterator.next();
+                    iterator.remove();
+                    ((Endpoint) key.attachment()).handle(key);
+                }
+                dispatch();
+                long now = System.currentTimeMillis();
+                expireTimeouts(now);
+                closeIdleEndpoints(now);
+            } catch (Throwable e) {
+                SRV_LOG.error("[HEALTH-CHECK-V2] error while processing http NIO task", e);
+            }
+        }
+        IOException shutdownException = new IOException(SHUTDOWN_MESSAGE);
+        for (Endpoint each : endpoints.values()) {
+            each.fail(shutdownException);
+        }
+        endpoints.clear();
+        CheckRequest request;
+        while ((request = submitted.poll()) != null) {
+            waiting.add(request);
+        }
+        while ((request = waiting.poll()) != null) {
+            request.done = true;
+            callback(request, null, shutdownException);
+        }
+        try {
+            selector.close();
+        } catch (IOException ignore) {
+        }
+    }
+    
+    private void dispatch() {
+        CheckRequest request;
+        while ((request = submitted.poll()) != null) {
+            waiting.add(request);
+        }
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        while (inFlightCount < maxConcurrency && (request = waiting.poll()) != null) {
+            String endpointKey = request.ip + ':' + request.port;
+            Endpoint endpoint = endpoints.get(endpointKey);
+            if (null == endpoint && null == request.address && !InternetAddressUtil.isIP(request.ip)) {
+                // Resolving host name may block, which must not be done by the selector thread.
+                resolve(request);
+                continue;
+            }
+            request.deadline = deadline;
+            inFlight.add(request);
+            inFlightCount++;
+            if (null == endpoint) {
+                InetSocketAddress address = null != request.address ? request.address
+                        : new InetSocketAddress(request.ip, request.port);
+                if (address.isUnresolved()) {
+                    complete(request, null, new UnknownHostException(request.ip));
+                    continue;
+                }
+                endpoint = new Endpoint(address);
+                endpoints.put(endpointKey, endpoint);
+            }
+            endpoint.enqueue(request);
+        }
+    }
+    
+    private void resolve(CheckRequest request) {
+        try {
+            callbackExecutor.execute(() -> {
+                request.address = new InetSocketAddress(request.ip, request.port);
+                submit(request);
+            });
+        } catch (Throwable e) {
+            SRV_LOG.warn("[HEALTH-CHECK-V2] resolve http check host {} failed", request.ip, e);
+            request.address = InetSocketAddress.createUnresolved(request.ip, request.port);
+            waiting.add(request);
+        }
+    }
+    
+    private void expireTimeouts(long now) {
+        CheckRequest head;
+        while ((head = inFlight.peek()) != null && (head.done || head.deadline <= now)) {
+            inFlight.poll();
+            if (!head.done) {
+                Endpoint endpoint = endpoints.get(head.ip + ':' + head.port);
+                SocketTimeoutException timeout = new SocketTimeoutException(
+                        "http health check timeout after " + timeoutMillis + "ms");
+                if (null != endpoint) {
+                    // Responses on the connection are in order, so the following ones can't be received either.
+                    endpoint.fail(timeout);
+                }
+                complete(head, null, timeout);
+            }
+        }
+    }
+    
+    private void closeIdleEndpoints(long now) {
+        if (now - lastIdleScanTime < IDLE_SCAN_INTERVAL_MILLIS) {
+            return;
+        }
+        lastIdleScanTime = now;
+        endpoints.values().removeIf(each -> {
+            if (each.isIdle() && now - each.lastActiveTime >= keepAliveMillis) {
+                each.close();
+                return true;
+            }
+            return false;
+        });
+    }
+    
+    private void complete(CheckRequest request, RestResult<String> result, Throwable throwable) {
+        if (request.done) {
+            return;
+        }
+        request.done = true;
+        inFlightCount--;
+        callback(request, result, throwable);
+    }
+    
+    private void callback(CheckRequest request, RestResult<String> result, Throwable throwable) {
+        try {
+            callbackExecutor.execute(() -> {
+                if (null == throwable) {
+                    request.callback.onReceive(result);
+                } else {
+                    request.callback.onError(throwable);
+                }
+            });
+        } catch (Throwable e) {
+            SRV_LOG.warn("[HEALTH-CHECK-V2] call back http check result failed", e);
+        }
+    }
+    
+    private static class CheckRequest {
+        
+        private final String ip;
+        
+        private final int port;
+        
+        private final byte[] content;
+        
+        private final Callback<String> callback;
+        
+        private InetSocketAddress address;
+        
+        private long deadline;
+        
+        private boolean retried;
+        
+        private boolean done;
+        
+        private CheckRequest(String ip, int port, byte[] content, Callback<String> callback) {
+            this.ip = ip;
+            this.port = port;
+            this.content = content;
+            this.callback = callback;
+        }
+    }
+    
+    /**
+     * Connection to one endpoint, only accessed by the selector thread.
+     */
+    private class Endpoint {
+        
+        private final InetSocketAddress address;
+        
+        private final Deque<CheckRequest> toWrite = new ArrayDeque<>();
+        
+        private final Deque<CheckRequest> awaiting = new ArrayDeque<>();
+        
+        private final ResponseParser parser = new ResponseParser();
+        
+        private SocketChannel channel;
+        
+        private SelectionKey selectionKey;
+        
+        private boolean connected;
+        
+        private boolean reused;
+        
+        private boolean responseStarted;
+        
+        private ByteBuffer writeBuffer;
+        
+        private long lastActiveTime = System.currentTimeMillis();
+        
+        private Endpoint(InetSocketAddress address) {
+            this.address = address;
+        }
+        
+        private boolean isIdle() {
+            return toWrite.isEmpty() && awaiting.isEmpty();
+        }
+        
+        private void enqueue(CheckRequest request) {
+            toWrite.add(request);
+            if (null == channel) {
+                connect();
+            } else if (connected) {
+                reused = true;
+                flush();
+            }
+        }
+        
+        private void connect() {
+            try {
+                channel = SocketChannel.open();
+                channel.configureBlocking(false);
+                channel.socket().setTcpNoDelay(true);
+                channel.socket().setKeepAlive(true);
+                connected = channel.connect(address);
+                selectionKey = channel.register(selector, connected ? SelectionKey.OP_READ : SelectionKey.OP_CONNECT,
+                        this);
+                reused = false;
+                responseStarted = false;
+                if (connected) {
+                    flush();
+                }
+            } catch (IOException e) {
+                fail(e);
+            }
+        }
+        
+        private void handle(SelectionKey key) {
+            try {
+                if (key.isValid() && key.isConnectable()) {
+                    channel.finishConnect();
+                    connected = true;
+                    key.interestOps(SelectionKey.OP_READ);
+                    flush();
+                }
+                if (key.isValid() && key.isWritable()) {
+                    flush();
+                }
+                if (key.isValid() && key.isReadable()) {
+                    read();
+                }
+            } catch (IOException e) {
+                fail(e);
+            }
+        }
+        
+        private void flush() {
+            try {
+                if (null == writeBuffer) {
+                    writeBuffer = encodePipeline();
+                }
+                while (null != writeBuffer) {
+                    channel.write(writeBuffer);
+                    if (writeBuffer.hasRemaining()) {
+                        selectionKey.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+                        return;
+                    }
+                    writeBuffer = encodePipeline();
+                }
+                selectionKey.interestOps(SelectionKey.OP_READ);
+            } catch (IOException e) {
+                fail(e);
+            }
+        }
+        
+        private ByteBuffer encodePipeline() {
+            int count = Math.min(pipelineDepth - awaiting.size(), toWrite.size());
+            if (count <= 0) {
+                return null;
+            }
+            int length = 0;
+            Iterator<CheckRequest> iterator = toWrite.iterator();
+            for (int i = 0; i < count; i++) {
+                length += iterator.next().content.length;
+            }
+            ByteBuffer result = ByteBuffer.allocate(length);
+            for (int i = 0; i < count; i++) {
+                CheckRequest request = toWrite.poll();
+                result.put(request.content);
+                awaiting.add(request);
+            }
+            result.flip();
+            return result;
+        }
+        
+        private void read() throws IOException {
+            readBuffer.clear();
+            int read = channel.read(readBuffer);
+            if (read < 0) {
+                onClosedByPeer();
+                return;
+            }
+            readBuffer.flip();
+            while (readBuffer.hasRemaining() && !awaiting.isEmpty()) {
+                if (!responseStarted) {
+                    parser.reset(HEAD.equals(method));
+                    responseStarted = true;
+                }
+                if (!parser.parse(readBuffer)) {
+                    return;
+                }
+                responseStarted = false;
+                lastActiveTime = System.currentTimeMillis();
+                complete(awaiting.poll(), new RestResult<>(parser.getStatusCode(), null, null), null);
+                if (!parser.isKeepAlive() || keepAliveMillis <= 0) {
+                    reconnectIfNeeded();
+                    return;
+                }
+            }
+            flush();
+        }
+        
+        private void onClosedByPeer() {
+            if (responseStarted && parser.finishOnClose()) {
+                responseStarted = false;
+                lastActiveTime = System.currentTimeMillis();
+                complete(awaiting.poll(), new RestResult<>(parser.getStatusCode(), null, null), null);
+                reconnectIfNeeded();
+                return;
+            }
+            CheckRequest head = awaiting.peek();
+            if (null != head && reused && !responseStarted && !head.retried) {
+                // The idle connection may be closed by peer before the request arrives, retry once by a new one.
+                for (CheckRequest each : awaiting) {
+                    each.retried = true;
+                }
+                reconnectIfNeeded();
+                return;
+            }
+            fail(new ConnectException("connection closed by peer"));
+        }
+        
+        /**
+         * Close current connection, and send the requests not responded by a new connection.
+         */
+        private void reconnectIfNeeded() {
+            close();
+            while (!awaiting.isEmpty()) {
+                toWrite.addFirst(awaiting.pollLast());
+            }
+            if (!toWrite.isEmpty()) {
+                connect();
+            }
+        }
+        
+        private void fail(IOException e) {
+            close();
+            CheckRequest request;
+            while ((request = awaiting.poll()) != null) {
+                complete(request, null, e);
+            }
+            while ((request = toWrite.poll()) != null) {
+                complete(request, null, e);
+            }
+        }
+        
+        private void close() {
+            if (null != selectionKey) {
+                selectionKey.cancel();
+            }
+            if (null != channel) {
+                try {
+                    channel.close();
+                } catch (IOException ignore) {
+                }
+            }
+            channel = null;
+            selectionKey = null;
+            connected = false;
+            responseStarted = false;
+            writeBuffer = null;
+        }
+    }
+    
+    /**
+     * Incremental parser of http/1.1 response, only status code and the headers about framing are kept, body is
+     * skipped.
+     */
+    static class ResponseParser {
+        
+        private static final int MAX_LINE_LENGTH = 8192;
+        
+        private static final int STATUS_LINE = 0;
+        
+        private static final int HEADERS = 1;
+        
+        private static final int BODY = 2;
+        
+        private static final int CHUNK_SIZE = 3;
+        
+        private static final int CHUNK_DATA = 4;
+        
+        private static final int CHUNK_TRAILERS = 5;
+        
+        private static final int BODY_UNTIL_CLOSE = 6;
+        
+        private static final int STATUS_LINE_PARTS = 3;
+        
+        private static final int MIN_STATUS_LINE_PARTS = 2;
+        
+        private static final int HTTP_CONTINUE = 100;
+        
+        private static final String HTTP_PROTOCOL_PREFIX = "HTTP/";
+        
+        private static final String HTTP_1_0 = "HTTP/1.0";
+        
+        private static final String TRANSFER_ENCODING = "Transfer-Encoding";
+        
+        private static final String CHUNKED = "chunked";
+        
+        private static final String CONNECTION = "Connection";
+        
+        private static final String CONNECTION_CLOSE = "close";
+        
+        private static final String CONNECTION_KEEP_ALIVE = "keep-alive";
+        
+        private final StringBuilder line = new StringBuilder();
+        
+        private boolean headRequest;
+        
+        private int state;
+        
+        private int statusCode;
+        
+        private boolean keepAlive;
+        
+        private boolean chunked;
+        
+        private long contentLength;
+        
+        private long remaining;
+        
+        void reset(boolean headRequest) {
+            this.headRequest = headRequest;
+            this.state = STATUS_LINE;
+            this.statusCode = 0;
+            resetHeaders();
+        }
+        
+        private void resetHeaders() {
+            line.setLength(0);
+            keepAlive = true;
+            chunked = false;
+            contentLength = -1;
+            remaining = 0;
+        }
+        
+        /**
+         * Parse the response from buffer, the bytes after the response are left in buffer.
+         *
+         * @param buffer buffer to read
+         * @return {@code true} if the response is completed
+         * @throws IOException if response is malformed
+         */
+        boolean parse(ByteBuffer buffer) throws IOException {
+            while (buffer.hasRemaining()) {
+                switch (state) {
+                    case STATUS_LINE:
+                        if (readLine(buffer)) {
+                            parseStatusLine();
+                        }
+                        break;
+                    case HEADERS:
+                        if (readLine(buffer) && parseHeader()) {
+                            return true;
+                        }
+                        break;
+                    case BODY:
+                    case CHUNK_DATA:
+                        int skip = (int) Math.min(remaining, buffer.remaining());
+                        buffer.position(buffer.position() + skip);
+                        remaining -= skip;
+                        if (remaining == 0) {
+                            if (BODY == state) {
+                                return true;
+                            }
+                            state = CHUNK_SIZE;
+                        }
+                        break;
+                    case CHUNK_SIZE:
+                        if (readLine(buffer) && parseChunkSize()) {
+                            return true;
+                        }
+                        break;
+                    case CHUNK_TRAILERS:
+                        if (readLine(buffer) && takeLine().isEmpty()) {
+                            return true;
+                        }
+                        break;
+                    default:
+                        buffer.position(buffer.limit());
+                        break;
+                }
+            }
+            return false;
+        }
+        
+        /**
+         * Complete the response on connection closed, only valid if the body is delimited by closing connection.
+         *
+         * @return {@code true} if the response is completed
+         */
+        boolean finishOnClose() {
+            if (BODY_UNTIL_CLOSE == state) {
+                keepAlive = false;
+                return true;
+            }
+            return false;
+        }
+        
+        int getStatusCode() {
+            return statusCode;
+        }
+        
+        boolean isKeepAlive() {
+            return keepAlive;
+        }
+        
+        private boolean readLine(ByteBuffer buffer) throws IOException {
+            while (buffer.hasRemaining()) {
+                char c = (char) (buffer.get() & 0xFF);
+                if ('\n' == c) {
+                    int length = line.length();
+                    if (length > 0 && '\r' == line.charAt(length - 1)) {
+                        line.setLength(length - 1);
+                    }
+                    return true;
+                }
+                if (line.length() >= MAX_LINE_LENGTH) {
+                    throw new IOException("http response line too long");
+                }
+                line.append(c);
+            }
+            return false;
+        }
+        
+        private String takeLine() {
+            String result = line.toString();
+            line.setLength(0);
+            return result;
+        }
+        
+        private void parseStatusLine() throws IOException {
+            String statusLine = takeLine();
+            String[] parts = statusLine.split(" ", STATUS_LINE_PARTS);
+            if (parts.length < MIN_STATUS_LINE_PARTS || !parts[0].startsWith(HTTP_PROTOCOL_PREFIX)) {
+                throw new IOException("malformed http status line: " + statusLine);
+            }
+            try {
+                statusCode = Integer.parseInt(parts[1]);
+            } catch (NumberFormatException e) {
+                throw new IOException("malformed http status line: " + statusLine);
+            }
+            // HTTP/1.0 closes connection by default.
+            keepAlive = !HTTP_1_0.equals(parts[0]);
+            state = HEADERS;
+        }
+        
+        private boolean parseHeader() throws IOException {
+            String header = takeLine();
+            if (!header.isEmpty()) {
+                int colon = header.indexOf(':');
+                if (colon > 0) {
+                    parseHeader(header.substring(0, colon).trim(), header.substring(colon + 1).trim());
+                }
+                return false;
+            }
+            return onHeadersEnd();
+        }
+        
+        private void parseHeader(String name, String value) throws IOException {
+            if (HttpHeaderConsts.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+                try {
+                    contentLength = Long.parseLong(value);
+                } catch (NumberFormatException e) {
+                    throw new IOException("malformed http content length: " + value);
+                }
+            } else if (TRANSFER_ENCODING.equalsIgnoreCase(name)) {
+                chunked = value.toLowerCase().contains(CHUNKED);
+            } else if (CONNECTION.equalsIgnoreCase(name)) {
+                String lowerCaseValue = value.toLowerCase();
+                if (lowerCaseValue.contains(CONNECTION_CLOSE)) {
+                    keepAlive = false;
+                } else if (lowerCaseValue.contains(CONNECTION_KEEP_ALIVE)) {
+                    keepAlive = true;
+                }
+            }
+        }
+        
+        private boolean onHeadersEnd() {
+            if (statusCode >= HTTP_CONTINUE && statusCode < HttpURLConnection.HTTP_OK) {
+                // Informational response, the final response follows.
+                state = STATUS_LINE;
+                resetHeaders();
+                return false;
+            }
+            if (headRequest || statusCode == HttpURLConnection.HTTP_NO_CONTENT
+                    || statusCode == HttpURLConnection.HTTP_NOT_MODIFIED) {
+                return true;
+            }
+            if (chunked) {
+                state = CHUNK_SIZE;
+                return false;
+            }
+            if (contentLength >= 0) {
+                remaining = contentLength;
+                state = BODY;
+                return 0 == remaining;
+            }
+            state = BODY_UNTIL_CLOSE;
+            keepAlive = false;
+            return false;
+        }
+        
+        private boolean parseChunkSize() throws IOException {
+            String sizeLine = takeLine();
+            int extension = sizeLine.indexOf(';');
+            String size = (extension >= 0 ? sizeLine.substring(0, extension) : sizeLine).trim();
+            if (size.isEmpty()) {
+                // The line break after chunk data.
+                return false;
+            }
+            try {
+                remaining = Long.parseLong(size, 16);
+            } catch (NumberFormatException e) {
+                throw new IOException("malformed http chunk size: " + sizeLine);
+            }
+            state = 0 == remaining ? CHUNK_TRAILERS : CHUNK_DATA;
+            return false;
+        }
+    }
+}
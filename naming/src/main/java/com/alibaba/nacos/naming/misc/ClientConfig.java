@@ -33,6 +33,10 @@ public class ClientConfig extends AbstractDynamicConfig {
     
     private long clientExpiredTime = ClientConstants.DEFAULT_CLIENT_EXPIRED_TIME;
     
+    private long clientReleaseBatchWindow = ClientConstants.DEFAULT_CLIENT_RELEASE_BATCH_WINDOW;
+    
+    private int clientReleaseBatchSize = ClientConstants.DEFAULT_CLIENT_RELEASE_BATCH_SIZE;
+    
     private ClientConfig() {
         super(NAMING_CLIENT);
         resetConfig();
@@ -50,14 +54,35 @@ public class ClientConfig extends AbstractDynamicConfig {
         this.clientExpiredTime = clientExpiredTime;
     }
     
+    public long getClientReleaseBatchWindow() {
+        return clientReleaseBatchWindow;
+    }
+    
+    public void setClientReleaseBatchWindow(long clientReleaseBatchWindow) {
+        this.clientReleaseBatchWindow = clientReleaseBatchWindow;
+    }
+    
+    public int getClientReleaseBatchSize() {
+        return clientReleaseBatchSize;
+    }
+    
+    public void setClientReleaseBatchSize(int clientReleaseBatchSize) {
+        this.clientReleaseBatchSize = clientReleaseBatchSize;
+    }
+    
     @Override
     protected void getConfigFromEnv() {
         clientExpiredTime = EnvUtil.getProperty(ClientConstants.CLIENT_EXPIRED_TIME_CONFIG_KEY, Long.class,
                 ClientConstants.DEFAULT_CLIENT_EXPIRED_TIME);
+        clientReleaseBatchWindow = EnvUtil.getProperty(ClientConstants.CLIENT_RELEASE_BATCH_WINDOW_CONFIG_KEY,
+                Long.class, ClientConstants.DEFAULT_CLIENT_RELEASE_BATCH_WINDOW);
+        clientReleaseBatchSize = EnvUtil.getProperty(ClientConstants.CLIENT_RELEASE_BATCH_SIZE_CONFIG_KEY,
+                Integer.class, ClientConstants.DEFAULT_CLIENT_RELEASE_BATCH_SIZE);
     }
     
     @Override
     protected String printConfig() {
-        return "ClientConfig{" + "clientExpiredTime=" + clientExpiredTime + '}';
+        return "ClientConfig{" + "clientExpiredTime=" + clientExpiredTime + ", clientReleaseBatchWindow="
+                + clientReleaseBatchWindow + ", clientReleaseBatchSize=" + clientReleaseBatchSize + '}';
     }
 }
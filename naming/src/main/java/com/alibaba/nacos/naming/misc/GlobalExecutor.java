@@ -87,6 +87,10 @@ public class GlobalExecutor {
             .newScheduledExecutorService(ClassUtils.getCanonicalName(NamingApp.class),
                             1, new NameThreadFactory("com.alibaba.nacos.naming.health-check-pool"));
     
+    private static final ExecutorService CLIENT_INDEX_EXECUTOR = ExecutorFactory.Managed
+            .newFixedExecutorService(ClassUtils.getCanonicalName(NamingApp.class), DEFAULT_THREAD_COUNT,
+                    new NameThreadFactory("com.alibaba.nacos.naming.client.index"));
+    
     public static void registerServerStatusUpdater(Runnable runnable) {
         NAMING_TIMER_EXECUTOR.scheduleAtFixedRate(runnable, 0, SERVER_STATUS_UPDATE_PERIOD, TimeUnit.MILLISECONDS);
     }
@@ -112,6 +116,10 @@ public class GlobalExecutor {
         TCP_SUPER_SENSE_EXECUTOR.schedule(runnable, delay, unit);
     }
     
+    public static void executeNamingHealth(Runnable command) {
+        NAMING_HEALTH_EXECUTOR.execute(command);
+    }
+    
     public static ScheduledFuture<?> scheduleNamingHealth(Runnable command, long delay, TimeUnit unit) {
         return NAMING_HEALTH_EXECUTOR.schedule(command, delay, unit);
     }
@@ -141,6 +149,15 @@ public class GlobalExecutor {
         EXPIRED_CLIENT_CLEANER_EXECUTOR.scheduleWithFixedDelay(runnable, initialDelay, delay, unit);
     }
     
+    public static void scheduleClientIndexFlush(Runnable runnable, long delay, TimeUnit unit) {
+        NAMING_TIMER_EXECUTOR.schedule(runnable, delay, unit);
+    }
+    
+    public static <T> List<Future<T>> invokeAllClientIndexTask(Collection<? extends Callable<T>> tasks)
+            throws InterruptedException {
+        return CLIENT_INDEX_EXECUTOR.invokeAll(tasks);
+    }
+    
     public static ExecutorService getCallbackExecutor() {
         return PUSH_CALLBACK_EXECUTOR;
     }
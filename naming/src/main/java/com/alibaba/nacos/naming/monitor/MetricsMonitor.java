@@ -18,12 +18,16 @@ package com.alibaba.nacos.naming.monitor;
 
 import com.alibaba.nacos.naming.core.v2.pojo.BatchInstancePublishInfo;
 import com.alibaba.nacos.naming.core.v2.pojo.InstancePublishInfo;
+import com.alibaba.nacos.common.task.engine.NacosShardedDelayTaskExecuteEngine;
 import com.alibaba.nacos.common.utils.TopnCounterMetricsContainer;
 import com.alibaba.nacos.core.monitor.NacosMeterRegistryCenter;
 import com.alibaba.nacos.naming.misc.Loggers;
 import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.ImmutableTag;
 import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Timer;
 
 import java.lang.reflect.Field;
 import java.util.ArrayList;
@@ -43,6 +47,10 @@ public class MetricsMonitor {
     
     private static final MetricsMonitor INSTANCE = new MetricsMonitor();
     
+    private static final Timer HTTP_HEALTH_CHECK_TIMER = Timer.builder("nacos_naming_health_check_rt")
+            .tags("module", "naming", "type", "http").publishPercentileHistogram()
+            .register(NacosMeterRegistryCenter.getMeterRegistry(METER_REGISTRY));
+    
     private final AtomicInteger mysqlHealthCheck = new AtomicInteger();
     
     private final AtomicInteger httpHealthCheck = new AtomicInteger();
@@ -263,6 +271,44 @@ public class MetricsMonitor {
         return NacosMeterRegistryCenter.counter(METER_REGISTRY, "nacos_exception", "module", "naming", "name", "leaderSendBeatFailed");
     }
     
+    public static Timer getPushEncodeTimer() {
+        return NacosMeterRegistryCenter.timer(METER_REGISTRY, "nacos_timer", "module", "naming", "name", "pushEncode");
+    }
+    
+    /**
+     * Get the timer of http health check rt, with percentile histogram published.
+     *
+     * @return http health check timer
+     */
+    public static Timer getHttpHealthCheckTimer() {
+        return HTTP_HEALTH_CHECK_TIMER;
+    }
+    
+    public static Counter getPushEncodeSavedBytes() {
+        return NacosMeterRegistryCenter.counter(METER_REGISTRY, "nacos_naming_push_encode_saved_bytes", "module",
+                "naming", "name", "pushEncodeSavedBytes");
+    }
+    
+    /**
+     * Register the metrics of one shard of push delay task engine, including the count of pending tasks, and the
+     * counts of added and merged tasks.
+     *
+     * @param shardIndex index of shard
+     * @param engine     push delay task engine
+     */
+    public static void registerPushDelayTaskShard(int shardIndex, NacosShardedDelayTaskExecuteEngine engine) {
+        String shard = String.valueOf(shardIndex);
+        Gauge.builder("nacos_naming_push_delay_task", engine, each -> each.getShardSize(shardIndex))
+                .tags("module", "naming", "shard", shard)
+                .register(NacosMeterRegistryCenter.getMeterRegistry(METER_REGISTRY));
+        FunctionCounter.builder("nacos_naming_push_delay_task_total", engine,
+                each -> each.getShardAddedCount(shardIndex)).tags("module", "naming", "name", "added", "shard", shard)
+                .register(NacosMeterRegistryCenter.getMeterRegistry(METER_REGISTRY));
+        FunctionCounter.builder("nacos_naming_push_delay_task_total", engine,
+                each -> each.getShardMergedCount(shardIndex)).tags("module", "naming", "name", "merged", "shard", shard)
+                .register(NacosMeterRegistryCenter.getMeterRegistry(METER_REGISTRY));
+    }
+    
     /**
      * increment IpCount when use batchRegister instance.
      * @param old old instancePublishInfo
@@ -0,0 +1,104 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.naming.push.v2.executor;
+
+import com.alibaba.nacos.api.naming.pojo.Instance;
+import com.alibaba.nacos.api.naming.pojo.ServiceInfo;
+import com.alibaba.nacos.api.naming.remote.request.NotifySubscriberRequest;
+import com.alibaba.nacos.common.remote.PreEncodedBody;
+import com.alibaba.nacos.common.remote.PreEncodedRequest;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.util.List;
+
+/**
+ * Notify subscriber request whose body is encoded once and shared by the pushes of the same push data to many
+ * subscribers.
+ *
+ * @author Nacos
+ */
+class PreEncodedNotifySubscriberRequest extends NotifySubscriberRequest implements PreEncodedRequest {
+    
+    private static final String PAYLOAD_TYPE = NotifySubscriberRequest.class.getSimpleName();
+    
+    private final PreEncodedBody preEncodedBody;
+    
+    private PreEncodedNotifySubscriberRequest(ServiceInfo serviceInfo, PreEncodedBody preEncodedBody) {
+        this.preEncodedBody = preEncodedBody;
+        setServiceInfo(serviceInfo);
+    }
+    
+    /**
+     * Build the service info into a shared body, which is encoded by the codec of each receiver at its first push.
+     *
+     * @param serviceInfo service info to push
+     * @param revision    revision of the service info
+     * @return request with encoded body
+     */
+    static PreEncodedNotifySubscriberRequest encode(ServiceInfo serviceInfo, long revision) {
+        NotifySubscriberRequest request = NotifySubscriberRequest.buildNotifySubscriberRequest(serviceInfo);
+        request.setRevision(revision);
+        return new PreEncodedNotifySubscriberRequest(serviceInfo, new PreEncodedBody(request));
+    }
+    
+    /**
+     * Build the delta of service info into a shared body, which is encoded by the codec of each receiver at its first
+     * push.
+     *
+     * @param serviceInfo  full service info to push
+     * @param changedHosts added and modified instances
+     * @param removedHosts removed instances
+     * @param baseRevision revision of the service info the delta based on
+     * @param revision     revision of the full service info
+     * @return request with encoded delta body
+     */
+    static PreEncodedNotifySubscriberRequest encodeDelta(ServiceInfo serviceInfo, List<Instance> changedHosts,
+            List<Instance> removedHosts, long baseRevision, long revision) {
+        ServiceInfo delta = new ServiceInfo(serviceInfo.getName(), serviceInfo.getClusters());
+        delta.setGroupName(serviceInfo.getGroupName());
+        delta.setCacheMillis(serviceInfo.getCacheMillis());
+        delta.setLastRefTime(serviceInfo.getLastRefTime());
+        delta.setChecksum(serviceInfo.getChecksum());
+        delta.setAllIPs(serviceInfo.isAllIPs());
+        delta.setReachProtectionThreshold(serviceInfo.isReachProtectionThreshold());
+        delta.setHosts(changedHosts);
+        NotifySubscriberRequest request = NotifySubscriberRequest
+                .buildNotifySubscriberDeltaRequest(delta, removedHosts, baseRevision, revision);
+        return new PreEncodedNotifySubscriberRequest(serviceInfo, new PreEncodedBody(request));
+    }
+    
+    /**
+     * Create a new request sharing the encoded body, each push needs its own request for its own request id.
+     *
+     * @return new request
+     */
+    PreEncodedNotifySubscriberRequest share() {
+        return new PreEncodedNotifySubscriberRequest(getServiceInfo(), preEncodedBody);
+    }
+    
+    @JsonIgnore
+    @Override
+    public String getPayloadType() {
+        return PAYLOAD_TYPE;
+    }
+    
+    @JsonIgnore
+    @Override
+    public PreEncodedBody getPreEncodedBody() {
+        return preEncodedBody;
+    }
+}
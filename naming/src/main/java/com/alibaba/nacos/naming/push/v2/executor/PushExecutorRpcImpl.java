@@ -16,43 +16,192 @@
 
 package com.alibaba.nacos.naming.push.v2.executor;
 
+import com.alibaba.nacos.api.ability.constant.AbilityKey;
+import com.alibaba.nacos.api.naming.pojo.Instance;
 import com.alibaba.nacos.api.naming.pojo.ServiceInfo;
-import com.alibaba.nacos.api.naming.remote.request.NotifySubscriberRequest;
+import com.alibaba.nacos.api.naming.utils.NamingUtils;
+import com.alibaba.nacos.api.remote.PushCallBack;
+import com.alibaba.nacos.core.remote.Connection;
+import com.alibaba.nacos.core.remote.ConnectionManager;
 import com.alibaba.nacos.core.remote.RpcPushService;
+import com.alibaba.nacos.naming.core.v2.metadata.ServiceMetadata;
 import com.alibaba.nacos.naming.misc.GlobalExecutor;
+import com.alibaba.nacos.naming.monitor.MetricsMonitor;
 import com.alibaba.nacos.naming.pojo.Subscriber;
+import com.alibaba.nacos.naming.push.v2.PushConfig;
 import com.alibaba.nacos.naming.push.v2.PushDataWrapper;
 import com.alibaba.nacos.naming.push.v2.task.NamingPushCallback;
+import com.alibaba.nacos.naming.selector.NoneSelector;
 import com.alibaba.nacos.naming.utils.ServiceUtil;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
 /**
  * Push execute service for rpc.
  *
+ * <p>The push request is encoded once for each subscriber-visible view of the push data, and the encoded body is
+ * shared by all the subscribers with the same view.
+ *
+ * <p>If delta push is enabled and supported by the subscriber client, only the changed instances against the service
+ * info acknowledged by the client last time are pushed. The client rejects the delta if it does not hold that service
+ * info any more, and the retry of the failed push sends the full service info.
+ *
  * @author xiweng.yy
  */
 @Component
 public class PushExecutorRpcImpl implements PushExecutor {
     
+    /**
+     * Push the full service info if more than half of the instances are changed or removed.
+     */
+    private static final int MAX_DELTA_RATIO_DIVISOR = 2;
+    
     private final RpcPushService pushService;
     
-    public PushExecutorRpcImpl(RpcPushService pushService) {
+    private final ConnectionManager connectionManager;
+    
+    private final PushRevisionManager revisionManager;
+    
+    public PushExecutorRpcImpl(RpcPushService pushService, ConnectionManager connectionManager) {
         this.pushService = pushService;
+        this.connectionManager = connectionManager;
+        this.revisionManager = new PushRevisionManager();
     }
     
     @Override
     public void doPush(String clientId, Subscriber subscriber, PushDataWrapper data) {
-        pushService.pushWithoutAck(clientId,
-                NotifySubscriberRequest.buildNotifySubscriberRequest(getServiceInfo(data, subscriber)));
+        // the push without ack can't be the base of delta push
+        revisionManager.invalidate(clientId, subscriber);
+        pushService.pushWithoutAck(clientId, getFullRequest(getPushView(data, subscriber)).share());
     }
     
     @Override
     public void doPushWithCallback(String clientId, Subscriber subscriber, PushDataWrapper data,
             NamingPushCallback callBack) {
-        ServiceInfo actualServiceInfo = getServiceInfo(data, subscriber);
-        callBack.setActualServiceInfo(actualServiceInfo);
-        pushService.pushWithCallback(clientId, NotifySubscriberRequest.buildNotifySubscriberRequest(actualServiceInfo),
-                callBack, GlobalExecutor.getCallbackExecutor());
+        PushView pushView = getPushView(data, subscriber);
+        callBack.setActualServiceInfo(pushView.serviceInfo);
+        if (!isDeltaPushSupported(clientId)) {
+            pushService.pushWithCallback(clientId, getFullRequest(pushView).share(), callBack,
+                    GlobalExecutor.getCallbackExecutor());
+            return;
+        }
+        PushRevisionManager.AckedServiceInfo acked = revisionManager.getAcked(clientId, subscriber);
+        PreEncodedNotifySubscriberRequest pushRequest = null == acked ? getFullRequest(pushView)
+                : getDeltaRequest(pushView, acked).orElseGet(() -> getFullRequest(pushView));
+        pushService.pushWithCallback(clientId, pushRequest.share(),
+                new RevisionAckCallback(clientId, subscriber, pushView, callBack),
+                GlobalExecutor.getCallbackExecutor());
+    }
+    
+    private boolean isDeltaPushSupported(String clientId) {
+        if (!PushConfig.getInstance().isDeltaPushEnabled()) {
+            return false;
+        }
+        Connection connection = connectionManager.getConnection(clientId);
+        if (null == connection || null == connection.getAbilityTable()) {
+            return false;
+        }
+        return Boolean.TRUE
+                .equals(connection.getAbilityTable().get(AbilityKey.SDK_CLIENT_NAMING_DELTA_PUSH.getName()));
+    }
+    
+    private PushView getPushView(PushDataWrapper data, Subscriber subscriber) {
+        String viewKey = buildViewKey(data.getServiceMetadata(), subscriber);
+        Optional<PushView> pushView = data.getProcessedPushData(viewKey);
+        if (pushView.isPresent()) {
+            return pushView.get();
+        }
+        PushView result = new PushView(getServiceInfo(data, subscriber), revisionManager.nextRevision());
+        data.addProcessedPushData(viewKey, result);
+        return result;
+    }
+    
+    private PreEncodedNotifySubscriberRequest getFullRequest(PushView pushView) {
+        if (null != pushView.fullRequest) {
+            MetricsMonitor.getPushEncodeSavedBytes()
+                    .increment(pushView.fullRequest.getPreEncodedBody().getEncodedSize());
+            return pushView.fullRequest;
+        }
+        long startTime = System.nanoTime();
+        pushView.fullRequest = PreEncodedNotifySubscriberRequest.encode(pushView.serviceInfo, pushView.revision);
+        MetricsMonitor.getPushEncodeTimer().record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+        return pushView.fullRequest;
+    }
+    
+    private Optional<PreEncodedNotifySubscriberRequest> getDeltaRequest(PushView pushView,
+            PushRevisionManager.AckedServiceInfo acked) {
+        Optional<PreEncodedNotifySubscriberRequest> result = pushView.deltaRequests.get(acked.getRevision());
+        if (null != result) {
+            result.ifPresent(each -> MetricsMonitor.getPushEncodeSavedBytes()
+                    .increment(each.getPreEncodedBody().getEncodedSize()));
+            return result;
+        }
+        long startTime = System.nanoTime();
+        result = Optional.ofNullable(buildDeltaRequest(pushView, acked));
+        MetricsMonitor.getPushEncodeTimer().record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+        pushView.deltaRequests.put(acked.getRevision(), result);
+        return result;
+    }
+    
+    /**
+     * Build delta request against the acknowledged service info, or {@code null} if the delta is not smaller than the
+     * full service info.
+     */
+    private PreEncodedNotifySubscriberRequest buildDeltaRequest(PushView pushView,
+            PushRevisionManager.AckedServiceInfo acked) {
+        List<Instance> targetHosts = pushView.serviceInfo.getHosts();
+        Map<String, Instance> baseHosts = new HashMap<>(acked.getServiceInfo().getHosts().size());
+        for (Instance each : acked.getServiceInfo().getHosts()) {
+            if (null != baseHosts.put(NamingUtils.getDeltaInstanceKey(each), each)) {
+                return null;
+            }
+        }
+        List<Instance> changedHosts = new ArrayList<>();
+        Set<String> targetKeys = new HashSet<>(targetHosts.size());
+        for (Instance each : targetHosts) {
+            String key = NamingUtils.getDeltaInstanceKey(each);
+            if (!targetKeys.add(key)) {
+                return null;
+            }
+            Instance baseInstance = baseHosts.remove(key);
+            if (null == baseInstance || !baseInstance.equals(each)) {
+                changedHosts.add(each);
+            }
+        }
+        if ((changedHosts.size() + baseHosts.size()) * MAX_DELTA_RATIO_DIVISOR > targetHosts.size()) {
+            return null;
+        }
+        List<Instance> removedHosts = new ArrayList<>(baseHosts.size());
+        for (Instance each : baseHosts.values()) {
+            Instance removed = new Instance();
+            removed.setIp(each.getIp());
+            removed.setPort(each.getPort());
+            removed.setClusterName(each.getClusterName());
+            removedHosts.add(removed);
+        }
+        return PreEncodedNotifySubscriberRequest
+                .encodeDelta(pushView.serviceInfo, changedHosts, removedHosts, acked.getRevision(), pushView.revision);
+    }
+    
+    /**
+     * The pushed view depends on the cluster of subscriber, and on the ip of subscriber only if the service has a
+     * selector.
+     */
+    private String buildViewKey(ServiceMetadata serviceMetadata, Subscriber subscriber) {
+        String viewKey = "rpc@" + subscriber.getCluster();
+        if (null != serviceMetadata && null != serviceMetadata.getSelector()
+                && !(serviceMetadata.getSelector() instanceof NoneSelector)) {
+            viewKey += "@" + subscriber.getIp();
+        }
+        return viewKey;
     }
     
     private ServiceInfo getServiceInfo(PushDataWrapper data, Subscriber subscriber) {
@@ -60,4 +209,64 @@ public class PushExecutorRpcImpl implements PushExecutor {
                 .selectInstancesWithHealthyProtection(data.getOriginalData(), data.getServiceMetadata(), false, true,
                         subscriber);
     }
+    
+    /**
+     * Service info of one subscriber-visible view with the encoded full and delta requests.
+     */
+    private static class PushView {
+        
+        private final ServiceInfo serviceInfo;
+        
+        private final long revision;
+        
+        private PreEncodedNotifySubscriberRequest fullRequest;
+        
+        private final Map<Long, Optional<PreEncodedNotifySubscriberRequest>> deltaRequests = new HashMap<>(1);
+        
+        private PushView(ServiceInfo serviceInfo, long revision) {
+            this.serviceInfo = serviceInfo;
+            this.revision = revision;
+        }
+    }
+    
+    /**
+     * Record the pushed service info as the base of next delta push after the client acknowledged it.
+     */
+    private class RevisionAckCallback implements PushCallBack {
+        
+        private final String clientId;
+        
+        private final Subscriber subscriber;
+        
+        private final PushView pushView;
+        
+        private final NamingPushCallback delegate;
+        
+        private RevisionAckCallback(String clientId, Subscriber subscriber, PushView pushView,
+                NamingPushCallback delegate) {
+            this.clientId = clientId;
+            this.subscriber = subscriber;
+            this.pushView = pushView;
+            this.delegate = delegate;
+        }
+        
+        @Override
+        public long getTimeout() {
+            return delegate.getTimeout();
+        }
+        
+        @Override
+        public void onSuccess() {
+            if (null != connectionManager.getConnection(clientId)) {
+                revisionManager.ack(clientId, subscriber, pushView.revision, pushView.serviceInfo);
+            }
+            delegate.onSuccess();
+        }
+        
+        @Override
+        public void onFail(Throwable e) {
+            revisionManager.invalidate(clientId, subscriber);
+            delegate.onFail(e);
+        }
+    }
 }
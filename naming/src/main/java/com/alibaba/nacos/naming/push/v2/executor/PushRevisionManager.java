@@ -0,0 +1,119 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.naming.push.v2.executor;
+
+import com.alibaba.nacos.api.naming.pojo.ServiceInfo;
+import com.alibaba.nacos.api.naming.utils.NamingUtils;
+import com.alibaba.nacos.common.notify.Event;
+import com.alibaba.nacos.common.notify.NotifyCenter;
+import com.alibaba.nacos.common.notify.listener.SmartSubscriber;
+import com.alibaba.nacos.naming.core.v2.event.client.ClientEvent;
+import com.alibaba.nacos.naming.core.v2.event.client.ClientOperationEvent;
+import com.alibaba.nacos.naming.core.v2.event.publisher.NamingEventPublisherFactory;
+import com.alibaba.nacos.naming.core.v2.pojo.Service;
+import com.alibaba.nacos.naming.pojo.Subscriber;
+
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Manager of the service info acknowledged by subscriber clients, which is the base of the next delta push.
+ *
+ * @author Nacos
+ */
+class PushRevisionManager extends SmartSubscriber {
+    
+    private final AtomicLong revisionGenerator = new AtomicLong();
+    
+    private final ConcurrentMap<String, Map<Service, AckedServiceInfo>> ackedServiceInfos = new ConcurrentHashMap<>();
+    
+    PushRevisionManager() {
+        NotifyCenter.registerSubscriber(this, NamingEventPublisherFactory.getInstance());
+    }
+    
+    long nextRevision() {
+        return revisionGenerator.incrementAndGet();
+    }
+    
+    AckedServiceInfo getAcked(String clientId, Subscriber subscriber) {
+        Map<Service, AckedServiceInfo> acked = ackedServiceInfos.get(clientId);
+        return null == acked ? null : acked.get(toService(subscriber));
+    }
+    
+    void ack(String clientId, Subscriber subscriber, long revision, ServiceInfo serviceInfo) {
+        ackedServiceInfos.computeIfAbsent(clientId, key -> new ConcurrentHashMap<>(4))
+                .put(toService(subscriber), new AckedServiceInfo(revision, serviceInfo));
+    }
+    
+    void invalidate(String clientId, Subscriber subscriber) {
+        Map<Service, AckedServiceInfo> acked = ackedServiceInfos.get(clientId);
+        if (null != acked) {
+            acked.remove(toService(subscriber));
+        }
+    }
+    
+    private Service toService(Subscriber subscriber) {
+        String serviceName = subscriber.getServiceName();
+        return Service.newService(subscriber.getNamespaceId(), NamingUtils.getGroupName(serviceName),
+                NamingUtils.getServiceName(serviceName));
+    }
+    
+    @Override
+    public List<Class<? extends Event>> subscribeTypes() {
+        List<Class<? extends Event>> result = new LinkedList<>();
+        result.add(ClientEvent.ClientDisconnectEvent.class);
+        result.add(ClientOperationEvent.ClientUnsubscribeServiceEvent.class);
+        return result;
+    }
+    
+    @Override
+    public void onEvent(Event event) {
+        if (event instanceof ClientEvent.ClientDisconnectEvent) {
+            ackedServiceInfos.remove(((ClientEvent.ClientDisconnectEvent) event).getClient().getClientId());
+        } else if (event instanceof ClientOperationEvent.ClientUnsubscribeServiceEvent) {
+            ClientOperationEvent operationEvent = (ClientOperationEvent) event;
+            Map<Service, AckedServiceInfo> acked = ackedServiceInfos.get(operationEvent.getClientId());
+            if (null != acked) {
+                acked.remove(operationEvent.getService());
+            }
+        }
+    }
+    
+    static class AckedServiceInfo {
+        
+        private final long revision;
+        
+        private final ServiceInfo serviceInfo;
+        
+        private AckedServiceInfo(long revision, ServiceInfo serviceInfo) {
+            this.revision = revision;
+            this.serviceInfo = serviceInfo;
+        }
+        
+        long getRevision() {
+            return revision;
+        }
+        
+        ServiceInfo getServiceInfo() {
+            return serviceInfo;
+        }
+    }
+}
@@ -18,7 +18,7 @@ package com.alibaba.nacos.naming.push.v2.task;
 
 import com.alibaba.nacos.common.task.NacosTask;
 import com.alibaba.nacos.common.task.NacosTaskProcessor;
-import com.alibaba.nacos.common.task.engine.NacosDelayTaskExecuteEngine;
+import com.alibaba.nacos.common.task.engine.NacosShardedDelayTaskExecuteEngine;
 import com.alibaba.nacos.naming.core.v2.client.manager.ClientManager;
 import com.alibaba.nacos.naming.core.v2.index.ClientServiceIndexesManager;
 import com.alibaba.nacos.naming.core.v2.index.ServiceStorage;
@@ -27,14 +27,17 @@ import com.alibaba.nacos.naming.core.v2.pojo.Service;
 import com.alibaba.nacos.naming.misc.Loggers;
 import com.alibaba.nacos.naming.misc.NamingExecuteTaskDispatcher;
 import com.alibaba.nacos.naming.misc.SwitchDomain;
+import com.alibaba.nacos.naming.monitor.MetricsMonitor;
 import com.alibaba.nacos.naming.push.v2.executor.PushExecutor;
 
 /**
  * Nacos naming push delay task execute engine.
  *
+ * <p>Push delay tasks are sharded by service, so that the churn of many services is merged and processed in parallel.
+ *
  * @author xiweng.yy
  */
-public class PushDelayTaskExecuteEngine extends NacosDelayTaskExecuteEngine {
+public class PushDelayTaskExecuteEngine extends NacosShardedDelayTaskExecuteEngine {
     
     private final ClientManager clientManager;
     
@@ -59,6 +62,9 @@ public class PushDelayTaskExecuteEngine extends NacosDelayTaskExecuteEngine {
         this.pushExecutor = pushExecutor;
         this.switchDomain = switchDomain;
         setDefaultTaskProcessor(new PushDelayTaskProcessor(this));
+        for (int i = 0; i < getShardCount(); i++) {
+            MetricsMonitor.registerPushDelayTaskShard(i, this);
+        }
     }
     
     public ClientManager getClientManager() {
@@ -82,11 +88,11 @@ public class PushDelayTaskExecuteEngine extends NacosDelayTaskExecuteEngine {
     }
     
     @Override
-    protected void processTasks() {
+    protected void processTasks(int shardIndex) {
         if (!switchDomain.isPushEnabled()) {
             return;
         }
-        super.processTasks();
+        super.processTasks(shardIndex);
     }
     
     private static class PushDelayTaskProcessor implements NacosTaskProcessor {
@@ -49,6 +49,8 @@ public class DistroDataRequestHandler extends RequestHandler<DistroDataRequest,
             switch (request.getDataOperation()) {
                 case VERIFY:
                     return handleVerify(request.getDistroData(), meta);
+                case VERIFY_DIGEST:
+                    return handleVerifyDigest(request.getDistroData(), meta);
                 case SNAPSHOT:
                     return handleSnapshot();
                 case ADD:
@@ -77,6 +79,12 @@ public class DistroDataRequestHandler extends RequestHandler<DistroDataRequest,
         return result;
     }
     
+    private DistroDataResponse handleVerifyDigest(DistroData distroData, RequestMeta meta) {
+        DistroDataResponse result = new DistroDataResponse();
+        result.setDistroData(distroProtocol.onVerifyDigest(distroData, meta.getClientIp()));
+        return result;
+    }
+    
     private DistroDataResponse handleSnapshot() {
         DistroDataResponse result = new DistroDataResponse();
         DistroData distroData = distroProtocol.onSnapshot(DistroClientDataProcessor.TYPE);
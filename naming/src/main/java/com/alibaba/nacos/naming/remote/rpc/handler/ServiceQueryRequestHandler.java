@@ -61,8 +61,9 @@ public class ServiceQueryRequestHandler extends RequestHandler<ServiceQueryReque
         boolean healthyOnly = request.isHealthyOnly();
         ServiceInfo result = serviceStorage.getData(service);
         ServiceMetadata serviceMetadata = metadataManager.getServiceMetadata(service).orElse(null);
-        result = ServiceUtil.selectInstancesWithHealthyProtection(result, serviceMetadata, cluster, healthyOnly, true,
-                meta.getClientIp());
+        result = ServiceUtil.selectInstancesWithHealthyProtection(result,
+                serviceStorage.getFilteredInstances(service, result, cluster, healthyOnly, true), serviceMetadata,
+                cluster, meta.getClientIp());
         return QueryServiceResponse.buildSuccessResponse(result);
     }
 }
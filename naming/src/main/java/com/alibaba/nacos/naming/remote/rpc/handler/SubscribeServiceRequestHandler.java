@@ -72,9 +72,10 @@ public class SubscribeServiceRequestHandler extends RequestHandler<SubscribeServ
         Service service = Service.newService(namespaceId, groupName, serviceName, true);
         Subscriber subscriber = new Subscriber(meta.getClientIp(), meta.getClientVersion(), app, meta.getClientIp(),
                 namespaceId, groupedServiceName, 0, request.getClusters());
-        ServiceInfo serviceInfo = ServiceUtil.selectInstancesWithHealthyProtection(serviceStorage.getData(service),
-                metadataManager.getServiceMetadata(service).orElse(null), subscriber.getCluster(), false,
-                true, subscriber.getIp());
+        ServiceInfo data = serviceStorage.getData(service);
+        ServiceInfo serviceInfo = ServiceUtil.selectInstancesWithHealthyProtection(data,
+                serviceStorage.getFilteredInstances(service, data, subscriber.getCluster(), false, true),
+                metadataManager.getServiceMetadata(service).orElse(null), subscriber.getCluster(), subscriber.getIp());
         if (request.isSubscribe()) {
             clientOperationService.subscribeService(service, subscriber, meta.getConnectionId());
             NotifyCenter.publishEvent(new SubscribeServiceTraceEvent(System.currentTimeMillis(),
@@ -184,6 +184,23 @@ public final class ServiceUtil {
      */
     public static ServiceInfo selectInstancesWithHealthyProtection(ServiceInfo serviceInfo, ServiceMetadata serviceMetadata, String cluster,
             boolean healthyOnly, boolean enableOnly, String subscriberIp) {
+        return selectInstancesWithHealthyProtection(serviceInfo,
+                filterInstances(serviceInfo, cluster, healthyOnly, enableOnly), serviceMetadata, cluster, subscriberIp);
+    }
+    
+    /**
+     * Select instance of service info with healthy protection, from the instances already filtered by cluster, healthy
+     * and enabled status.
+     *
+     * @param serviceInfo     original service info
+     * @param filtered        instances filtered from original service info
+     * @param serviceMetadata service meta info
+     * @param cluster         cluster of instances
+     * @param subscriberIp    subscriber ip address
+     * @return new service info
+     */
+    public static ServiceInfo selectInstancesWithHealthyProtection(ServiceInfo serviceInfo, FilteredInstances filtered,
+            ServiceMetadata serviceMetadata, String cluster, String subscriberIp) {
         InstancesFilter filter = (filteredResult, allInstances, healthyCount) -> {
             if (serviceMetadata == null) {
                 return;
@@ -226,36 +243,28 @@ public final class ServiceUtil {
                 filteredResult.setHosts(filteredInstances);
             }
         };
-        return doSelectInstances(serviceInfo, cluster, healthyOnly, enableOnly, filter);
+        return doSelectInstances(serviceInfo, cluster, filtered, filter);
     }
 
     /**
-     * Select instance of service info.
+     * Filter instances of service info by cluster, healthy and enabled status, the filtered lists are immutable so the
+     * result can be shared.
      *
      * @param serviceInfo original service info
      * @param cluster     cluster of instances
      * @param healthyOnly whether only select instance which healthy
      * @param enableOnly  whether only select instance which enabled
-     * @param filter      do some other filter operation
-     * @return new service info
+     * @return filtered instances
      */
-    private static ServiceInfo doSelectInstances(ServiceInfo serviceInfo, String cluster,
-                                                 boolean healthyOnly, boolean enableOnly,
-                                                 InstancesFilter filter) {
-        ServiceInfo result = new ServiceInfo();
-        result.setName(serviceInfo.getName());
-        result.setGroupName(serviceInfo.getGroupName());
-        result.setCacheMillis(serviceInfo.getCacheMillis());
-        result.setLastRefTime(System.currentTimeMillis());
-        result.setClusters(cluster);
-        result.setReachProtectionThreshold(false);
+    public static FilteredInstances filterInstances(ServiceInfo serviceInfo, String cluster, boolean healthyOnly,
+            boolean enableOnly) {
         Set<String> clusterSets = com.alibaba.nacos.common.utils.StringUtils.isNotBlank(cluster) ? new HashSet<>(
                 Arrays.asList(cluster.split(","))) : new HashSet<>();
         long healthyCount = 0L;
         // The instance list won't be modified almost time.
-        List<com.alibaba.nacos.api.naming.pojo.Instance> filteredInstances = new LinkedList<>();
+        List<com.alibaba.nacos.api.naming.pojo.Instance> filteredInstances = new ArrayList<>();
         // The instance list of all filtered by cluster/enabled condition.
-        List<com.alibaba.nacos.api.naming.pojo.Instance> allInstances = new LinkedList<>();
+        List<com.alibaba.nacos.api.naming.pojo.Instance> allInstances = new ArrayList<>();
         for (com.alibaba.nacos.api.naming.pojo.Instance ip : serviceInfo.getHosts()) {
             if (checkCluster(clusterSets, ip) && checkEnabled(enableOnly, ip)) {
                 if (!healthyOnly || ip.isHealthy()) {
@@ -267,9 +276,38 @@ public final class ServiceUtil {
                 allInstances.add(ip);
             }
         }
-        result.setHosts(filteredInstances);
+        return new FilteredInstances(Collections.unmodifiableList(filteredInstances),
+                Collections.unmodifiableList(allInstances), healthyCount);
+    }
+    
+    private static ServiceInfo doSelectInstances(ServiceInfo serviceInfo, String cluster,
+                                                 boolean healthyOnly, boolean enableOnly,
+                                                 InstancesFilter filter) {
+        return doSelectInstances(serviceInfo, cluster, filterInstances(serviceInfo, cluster, healthyOnly, enableOnly),
+                filter);
+    }
+    
+    /**
+     * Select instance of service info.
+     *
+     * @param serviceInfo       original service info
+     * @param cluster           cluster of instances
+     * @param filteredInstances instances filtered by cluster/enabled/healthy
+     * @param filter            do some other filter operation
+     * @return new service info
+     */
+    private static ServiceInfo doSelectInstances(ServiceInfo serviceInfo, String cluster,
+            FilteredInstances filteredInstances, InstancesFilter filter) {
+        ServiceInfo result = new ServiceInfo();
+        result.setName(serviceInfo.getName());
+        result.setGroupName(serviceInfo.getGroupName());
+        result.setCacheMillis(serviceInfo.getCacheMillis());
+        result.setLastRefTime(System.currentTimeMillis());
+        result.setClusters(cluster);
+        result.setReachProtectionThreshold(false);
+        result.setHosts(filteredInstances.getInstances());
         if (filter != null) {
-            filter.doFilter(result, allInstances, healthyCount);
+            filter.doFilter(result, filteredInstances.getAllInstances(), filteredInstances.getHealthyCount());
         }
         return result;
     }
@@ -300,4 +338,44 @@ public final class ServiceUtil {
 
     }
 
+    /**
+     * Instances filtered by cluster, healthy and enabled status, the lists are immutable and can be shared.
+     */
+    public static final class FilteredInstances {
+        
+        private final List<com.alibaba.nacos.api.naming.pojo.Instance> instances;
+        
+        private final List<com.alibaba.nacos.api.naming.pojo.Instance> allInstances;
+        
+        private final long healthyCount;
+        
+        private FilteredInstances(List<com.alibaba.nacos.api.naming.pojo.Instance> instances,
+                List<com.alibaba.nacos.api.naming.pojo.Instance> allInstances, long healthyCount) {
+            this.instances = instances;
+            this.allInstances = allInstances;
+            this.healthyCount = healthyCount;
+        }
+        
+        /**
+         * Instances filtered by cluster, enabled and healthy status.
+         *
+         * @return immutable instance list
+         */
+        public List<com.alibaba.nacos.api.naming.pojo.Instance> getInstances() {
+            return instances;
+        }
+        
+        /**
+         * Instances filtered by cluster and enabled status only.
+         *
+         * @return immutable instance list
+         */
+        public List<com.alibaba.nacos.api.naming.pojo.Instance> getAllInstances() {
+            return allInstances;
+        }
+        
+        public long getHealthyCount() {
+            return healthyCount;
+        }
+    }
 }
@@ -21,6 +21,7 @@ import com.alibaba.nacos.consistency.DataOperation;
 import com.alibaba.nacos.core.distributed.distro.DistroProtocol;
 import com.alibaba.nacos.core.distributed.distro.entity.DistroData;
 import com.alibaba.nacos.core.distributed.distro.entity.DistroKey;
+import com.alibaba.nacos.naming.cluster.transport.JacksonSerializer;
 import com.alibaba.nacos.naming.cluster.transport.Serializer;
 import com.alibaba.nacos.naming.constants.ClientConstants;
 import com.alibaba.nacos.naming.core.v2.client.Client;
@@ -44,8 +45,10 @@ import org.springframework.context.ConfigurableApplicationContext;
 import java.util.Collections;
 import java.util.List;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
@@ -53,6 +56,7 @@ import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -276,4 +280,93 @@ public class DistroClientDataProcessorTest {
         assertEquals(CLIENT_ID, list.iterator().next().getDistroKey().getResourceKey());
         assertEquals(DistroClientDataProcessor.TYPE, list.iterator().next().getDistroKey().getResourceType());
     }
+    
+    @Test
+    public void testGetVerifyDigest() {
+        mockJacksonSerializer();
+        client.setRevision(10L);
+        when(clientManager.allClientId()).thenReturn(Collections.singletonList(CLIENT_ID));
+        DistroData actual = distroClientDataProcessor.getVerifyDigest();
+        assertEquals(DataOperation.VERIFY_DIGEST, actual.getType());
+        assertEquals(DistroClientDataProcessor.TYPE, actual.getDistroKey().getResourceType());
+        DistroClientVerifyDigest digest = serializer.deserialize(actual.getContent(), DistroClientVerifyDigest.class);
+        assertEquals(1, digest.getBucketCount());
+        assertEquals(DistroClientVerifyDigest.hash(CLIENT_ID, 10L), digest.getBucketHashes()[0]);
+    }
+    
+    @Test
+    public void testGetVerifyDigestWithoutResponsibleClient() {
+        when(clientManager.isResponsibleClient(client)).thenReturn(false);
+        when(clientManager.allClientId()).thenReturn(Collections.singletonList(CLIENT_ID));
+        assertNull(distroClientDataProcessor.getVerifyDigest());
+    }
+    
+    @Test
+    public void testGetVerifyDataForDigestDifference() {
+        mockJacksonSerializer();
+        when(clientManager.allClientId()).thenReturn(Collections.singletonList(CLIENT_ID));
+        DistroClientVerifyDigest difference = new DistroClientVerifyDigest();
+        difference.setBucketCount(1);
+        difference.setDifferentBuckets(new int[0]);
+        DistroData differenceData = new DistroData(new DistroKey("digest", DistroClientDataProcessor.TYPE, "self"),
+                serializer.serialize(difference));
+        assertNull(distroClientDataProcessor.getVerifyData(differenceData));
+        difference.setDifferentBuckets(new int[] {0});
+        differenceData.setContent(serializer.serialize(difference));
+        List<DistroData> actual = distroClientDataProcessor.getVerifyData(differenceData);
+        assertEquals(1, actual.size());
+        assertEquals(DataOperation.VERIFY, actual.get(0).getType());
+        assertEquals(CLIENT_ID, actual.get(0).getDistroKey().getResourceKey());
+        assertEquals("self", actual.get(0).getDistroKey().getTargetServer());
+    }
+    
+    @Test
+    public void testProcessVerifyDigest() {
+        mockJacksonSerializer();
+        client.setRevision(10L);
+        DistroClientVerifyDigest digest = new DistroClientVerifyDigest(1);
+        digest.addClient(CLIENT_ID, 10L);
+        DistroKey digestKey = new DistroKey("digest", DistroClientDataProcessor.TYPE, MOCK_TARGET_SERVER);
+        DistroData digestData = new DistroData(digestKey, serializer.serialize(digest));
+        // clients of source server are unknown before verified one by one.
+        assertArrayEquals(new int[] {0}, getDifferentBuckets(digestData));
+        verify(clientManager, never()).verifyClient(any());
+        DistroClientVerifyInfo verifyInfo = new DistroClientVerifyInfo(CLIENT_ID, 10L);
+        when(serializer.deserialize(any(), eq(DistroClientVerifyInfo.class))).thenReturn(verifyInfo);
+        when(clientManager.verifyClient(any())).thenReturn(true);
+        assertTrue(distroClientDataProcessor.processVerifyData(distroData, MOCK_TARGET_SERVER));
+        // matched digest renews the client.
+        assertArrayEquals(new int[0], getDifferentBuckets(digestData));
+        verify(clientManager, times(2)).verifyClient(any());
+        // different digest removes the client from index until verified one by one again.
+        client.setRevision(11L);
+        assertArrayEquals(new int[] {0}, getDifferentBuckets(digestData));
+        client.setRevision(10L);
+        assertArrayEquals(new int[] {0}, getDifferentBuckets(digestData));
+        verify(clientManager, times(2)).verifyClient(any());
+    }
+    
+    @Test
+    public void testProcessInvalidVerifyDigest() {
+        mockJacksonSerializer();
+        DistroClientVerifyDigest digest = new DistroClientVerifyDigest(3);
+        DistroKey digestKey = new DistroKey("digest", DistroClientDataProcessor.TYPE, MOCK_TARGET_SERVER);
+        DistroData digestData = new DistroData(digestKey, serializer.serialize(digest));
+        assertNull(distroClientDataProcessor.processVerifyDigest(digestData, MOCK_TARGET_SERVER));
+    }
+    
+    private int[] getDifferentBuckets(DistroData digestData) {
+        DistroData actual = distroClientDataProcessor.processVerifyDigest(digestData, MOCK_TARGET_SERVER);
+        assertEquals(DataOperation.VERIFY_DIGEST, actual.getType());
+        assertEquals(MOCK_TARGET_SERVER, actual.getDistroKey().getTargetServer());
+        return serializer.deserialize(actual.getContent(), DistroClientVerifyDigest.class).getDifferentBuckets();
+    }
+    
+    private void mockJacksonSerializer() {
+        JacksonSerializer jacksonSerializer = new JacksonSerializer();
+        when(serializer.serialize(any()))
+                .thenAnswer(invocation -> jacksonSerializer.serialize(invocation.getArgument(0)));
+        when(serializer.deserialize(any(), eq(DistroClientVerifyDigest.class))).thenAnswer(
+                invocation -> jacksonSerializer.deserialize(invocation.getArgument(0), DistroClientVerifyDigest.class));
+    }
 }
\ No newline at end of file
@@ -41,7 +41,9 @@ import org.mockito.junit.MockitoJUnitRunner;
 import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.mock.env.MockEnvironment;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
@@ -470,4 +472,39 @@ public class DistroClientTransportAgentTest {
         when(clusterRpcClientProxy.sendRequest(eq(member), any(), any(Long.class))).thenReturn(response);
         transportAgent.getDatumSnapshot(member.getAddress());
     }
+    
+    @Test
+    public void testSyncVerifyDigestForMemberUnhealthy() throws NacosException {
+        DistroData verifyDigest = new DistroData();
+        verifyDigest.setDistroKey(new DistroKey());
+        when(memberManager.hasMember(member.getAddress())).thenReturn(true);
+        when(memberManager.find(member.getAddress())).thenReturn(member);
+        assertNull(transportAgent.syncVerifyDigest(verifyDigest, member.getAddress()));
+        verify(clusterRpcClientProxy, never()).sendRequest(any(Member.class), any(), any(Long.class));
+    }
+    
+    @Test
+    public void testSyncVerifyDigestForOldVersionMember() throws NacosException {
+        DistroData verifyDigest = new DistroData();
+        verifyDigest.setDistroKey(new DistroKey());
+        when(memberManager.hasMember(member.getAddress())).thenReturn(true);
+        member.setState(NodeState.UP);
+        when(clusterRpcClientProxy.isRunning(member)).thenReturn(true);
+        when(clusterRpcClientProxy.sendRequest(eq(member), any(), any(Long.class))).thenReturn(response);
+        assertNull(transportAgent.syncVerifyDigest(verifyDigest, member.getAddress()));
+    }
+    
+    @Test
+    public void testSyncVerifyDigestSuccess() throws NacosException {
+        DistroData verifyDigest = new DistroData();
+        verifyDigest.setDistroKey(new DistroKey());
+        when(memberManager.hasMember(member.getAddress())).thenReturn(true);
+        member.setState(NodeState.UP);
+        when(clusterRpcClientProxy.isRunning(member)).thenReturn(true);
+        when(clusterRpcClientProxy.sendRequest(eq(member), any(), any(Long.class))).thenReturn(response);
+        DistroData digestDifference = new DistroData();
+        ((DistroDataResponse) response).setDistroData(digestDifference);
+        assertEquals(digestDifference, transportAgent.syncVerifyDigest(verifyDigest, member.getAddress()));
+        assertEquals(member.getAddress(), verifyDigest.getDistroKey().getTargetServer());
+    }
 }
@@ -0,0 +1,53 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.naming.consistency.ephemeral.distro.v2;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+public class DistroClientVerifyDigestTest {
+    
+    @Test
+    public void testBucketCountFor() {
+        assertEquals(1, DistroClientVerifyDigest.bucketCountFor(0));
+        assertEquals(1, DistroClientVerifyDigest.bucketCountFor(100));
+        assertEquals(64, DistroClientVerifyDigest.bucketCountFor(5000));
+        assertEquals(1024, DistroClientVerifyDigest.bucketCountFor(100000000));
+    }
+    
+    @Test
+    public void testDigestIndependentOfClientOrder() {
+        DistroClientVerifyDigest digest1 = new DistroClientVerifyDigest(16);
+        DistroClientVerifyDigest digest2 = new DistroClientVerifyDigest(16);
+        for (int i = 0; i < 100; i++) {
+            digest1.addClient("client" + i, i);
+            digest2.addClient("client" + (99 - i), 99 - i);
+        }
+        assertArrayEquals(digest1.getBucketHashes(), digest2.getBucketHashes());
+        digest2.addClient("client100", 100);
+        assertNotEquals(digest1.getBucketHashes()[DistroClientVerifyDigest.bucketOf("client100", 16)],
+                digest2.getBucketHashes()[DistroClientVerifyDigest.bucketOf("client100", 16)]);
+    }
+    
+    @Test
+    public void testHashWithRevision() {
+        assertNotEquals(DistroClientVerifyDigest.hash("client", 1L), DistroClientVerifyDigest.hash("client", 2L));
+    }
+}
@@ -19,7 +19,10 @@ package com.alibaba.nacos.naming.core.v2.index;
 import com.alibaba.nacos.common.notify.Event;
 import com.alibaba.nacos.naming.core.v2.client.Client;
 import com.alibaba.nacos.naming.core.v2.event.client.ClientOperationEvent;
+import com.alibaba.nacos.naming.core.v2.pojo.InstancePublishInfo;
 import com.alibaba.nacos.naming.core.v2.pojo.Service;
+import com.alibaba.nacos.naming.misc.ClientConfig;
+import com.alibaba.nacos.sys.env.EnvUtil;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
@@ -27,16 +30,20 @@ import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.mock.env.MockEnvironment;
 
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
 
 @RunWith(MockitoJUnitRunner.class)
 public class ClientServiceIndexesManagerTest {
@@ -59,6 +66,7 @@ public class ClientServiceIndexesManagerTest {
     
     @Before
     public void setUp() throws NoSuchFieldException, IllegalAccessException {
+        EnvUtil.setEnvironment(new MockEnvironment());
         clientServiceIndexesManager = new ClientServiceIndexesManager();
         
         Class<ClientServiceIndexesManager> clientServiceIndexesManagerClass = ClientServiceIndexesManager.class;
@@ -204,4 +212,80 @@ public class ClientServiceIndexesManagerTest {
         Assert.assertEquals(allClientsSubscribeService.size(), 1);
     }
     
-}
\ No newline at end of file
+    @Test
+    public void testReleasedClientsAppliedBeforeNextOperation() {
+        Service releasedService = Service.newService("namespace", "group", "released");
+        Client releasedClient = mockReleasedClient(NACOS, releasedService);
+        clientServiceIndexesManager.onEvent(new ClientOperationEvent.ClientRegisterServiceEvent(releasedService, NACOS));
+        clientServiceIndexesManager.onEvent(new ClientOperationEvent.ClientSubscribeServiceEvent(releasedService, NACOS));
+        
+        clientServiceIndexesManager.onEvent(new ClientOperationEvent.ClientReleaseEvent(releasedClient, true));
+        // Client registered again with the same id before the released client applied.
+        clientServiceIndexesManager.onEvent(new ClientOperationEvent.ClientRegisterServiceEvent(releasedService, NACOS));
+        
+        Assert.assertTrue(clientServiceIndexesManager.getAllClientsRegisteredService(releasedService).contains(NACOS));
+        Assert.assertTrue(clientServiceIndexesManager.getAllClientsSubscribeService(releasedService).isEmpty());
+    }
+    
+    @Test
+    public void testReleasedClientsFlushedAfterWindow() throws InterruptedException {
+        Service releasedService = Service.newService("namespace", "group", "released");
+        Client releasedClient = mockReleasedClient(NACOS, releasedService);
+        clientServiceIndexesManager.onEvent(new ClientOperationEvent.ClientRegisterServiceEvent(releasedService, NACOS));
+        clientServiceIndexesManager.onEvent(new ClientOperationEvent.ClientSubscribeServiceEvent(releasedService, NACOS));
+        
+        clientServiceIndexesManager.onEvent(new ClientOperationEvent.ClientReleaseEvent(releasedClient, true));
+        TimeUnit.MILLISECONDS.sleep(ClientConfig.getInstance().getClientReleaseBatchWindow() * 5);
+        
+        Assert.assertTrue(clientServiceIndexesManager.getAllClientsRegisteredService(releasedService).isEmpty());
+        Assert.assertTrue(clientServiceIndexesManager.getAllClientsSubscribeService(releasedService).isEmpty());
+        Assert.assertFalse(clientServiceIndexesManager.getSubscribedService().contains(releasedService));
+    }
+    
+    @Test
+    public void testMassReleaseAppliedInStripes() {
+        Service[] services = new Service[100];
+        for (int i = 0; i < services.length; i++) {
+            services[i] = Service.newService("namespace", "group", "service" + i);
+        }
+        List<Client> clients = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            String clientId = "client" + i;
+            clients.add(mockReleasedClient(clientId, services));
+            for (Service each : services) {
+                clientServiceIndexesManager.onEvent(new ClientOperationEvent.ClientRegisterServiceEvent(each, clientId));
+                clientServiceIndexesManager.onEvent(new ClientOperationEvent.ClientSubscribeServiceEvent(each, clientId));
+            }
+        }
+        clientServiceIndexesManager.onEvent(new ClientOperationEvent.ClientRegisterServiceEvent(services[0], NACOS));
+        // Only applied when the batch is full.
+        long batchWindow = ClientConfig.getInstance().getClientReleaseBatchWindow();
+        int batchSize = ClientConfig.getInstance().getClientReleaseBatchSize();
+        ClientConfig.getInstance().setClientReleaseBatchWindow(TimeUnit.MINUTES.toMillis(1));
+        ClientConfig.getInstance().setClientReleaseBatchSize(clients.size());
+        try {
+            for (Client each : clients) {
+                clientServiceIndexesManager.onEvent(new ClientOperationEvent.ClientReleaseEvent(each, true));
+            }
+        } finally {
+            ClientConfig.getInstance().setClientReleaseBatchWindow(batchWindow);
+            ClientConfig.getInstance().setClientReleaseBatchSize(batchSize);
+        }
+        
+        Assert.assertEquals(Collections.singleton(NACOS),
+                new HashSet<>(clientServiceIndexesManager.getAllClientsRegisteredService(services[0])));
+        for (int i = 1; i < services.length; i++) {
+            Assert.assertTrue(clientServiceIndexesManager.getAllClientsRegisteredService(services[i]).isEmpty());
+            Assert.assertTrue(clientServiceIndexesManager.getAllClientsSubscribeService(services[i]).isEmpty());
+        }
+    }
+    
+    private Client mockReleasedClient(String clientId, Service... services) {
+        Client result = Mockito.mock(Client.class);
+        Mockito.when(result.getClientId()).thenReturn(clientId);
+        Mockito.when(result.getAllPublishedService()).thenReturn(Arrays.asList(services));
+        Mockito.when(result.getAllSubscribeService()).thenReturn(Arrays.asList(services));
+        Mockito.when(result.getInstancePublishInfo(Mockito.any())).thenReturn(new InstancePublishInfo("1.1.1.1", 8848));
+        return result;
+    }
+}
@@ -18,11 +18,16 @@ package com.alibaba.nacos.naming.core.v2.index;
 
 import com.alibaba.nacos.api.naming.pojo.Instance;
 import com.alibaba.nacos.api.naming.pojo.ServiceInfo;
+import com.alibaba.nacos.naming.core.v2.ServiceManager;
+import com.alibaba.nacos.naming.core.v2.client.Client;
 import com.alibaba.nacos.naming.core.v2.client.manager.ClientManagerDelegate;
+import com.alibaba.nacos.naming.core.v2.event.service.ServiceEvent;
 import com.alibaba.nacos.naming.core.v2.metadata.NamingMetadataManager;
 import com.alibaba.nacos.naming.core.v2.pojo.InstancePublishInfo;
 import com.alibaba.nacos.naming.core.v2.pojo.Service;
 import com.alibaba.nacos.naming.misc.SwitchDomain;
+import com.alibaba.nacos.naming.utils.ServiceUtil;
+import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
@@ -34,6 +39,7 @@ import org.mockito.junit.MockitoJUnitRunner;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
@@ -68,6 +74,8 @@ public class ServiceStorageTest {
     
     private static final String NACOS = "nacos";
     
+    private static final Service INCREMENTAL_SERVICE = Service.newService("namespaceId", "groupName", "incremental");
+    
     @Before
     public void setUp() throws NoSuchFieldException, IllegalAccessException {
         serviceStorage = new ServiceStorage(clientServiceIndexesManager, clientManagerDelegate, switchDomain,
@@ -86,6 +94,11 @@ public class ServiceStorageTest {
         infoConcurrentMap.put(SERVICE, serviceInfo);
     }
     
+    @After
+    public void tearDown() {
+        ServiceManager.getInstance().removeSingleton(INCREMENTAL_SERVICE);
+    }
+    
     @Test
     public void testGetClusters() {
         Set<String> clusters = serviceStorage.getClusters(SERVICE);
@@ -164,4 +177,143 @@ public class ServiceStorageTest {
         Assert.assertNotNull(instance);
     }
     
-}
\ No newline at end of file
+    @Test
+    public void testIncrementalUpdateOnlyParseChangedClient() {
+        mockClient("client1", new InstancePublishInfo("1.1.1.1", 8848));
+        Client client2 = mockClient("client2", new InstancePublishInfo("2.2.2.2", 8848));
+        Service singleton = ServiceManager.getInstance().getSingleton(INCREMENTAL_SERVICE);
+        Mockito.when(clientServiceIndexesManager.getAllClientsRegisteredService(singleton))
+                .thenReturn(Arrays.asList("client1", "client2"));
+        List<Instance> first = serviceStorage.getPushData(singleton).getHosts();
+        Assert.assertEquals(2, first.size());
+        
+        Mockito.when(client2.getInstancePublishInfo(singleton)).thenReturn(new InstancePublishInfo("2.2.2.2", 9848));
+        List<Instance> second = serviceStorage.getPushData(singleton).getHosts();
+        
+        Assert.assertEquals(2, second.size());
+        Assert.assertTrue(second.stream().anyMatch(each -> each.getPort() == 9848));
+        Assert.assertTrue(first.stream().noneMatch(each -> each.getPort() == 9848));
+        Assert.assertEquals(second, serviceStorage.getPushData(singleton).getHosts());
+        // Two instances parsed at first, then only the instance of client2 is parsed again.
+        Mockito.verify(namingMetadataManager, Mockito.times(3)).getInstanceMetadata(Mockito.any(), Mockito.any());
+    }
+    
+    @Test
+    public void testIncrementalRemoveReleasedClient() {
+        mockClient("client1", new InstancePublishInfo("1.1.1.1", 8848));
+        Client client2 = mockClient("client2", new InstancePublishInfo("2.2.2.2", 8848));
+        Service singleton = ServiceManager.getInstance().getSingleton(INCREMENTAL_SERVICE);
+        Mockito.when(clientServiceIndexesManager.getAllClientsRegisteredService(singleton))
+                .thenReturn(Arrays.asList("client1", "client2"));
+        Assert.assertEquals(2, serviceStorage.getPushData(singleton).getHosts().size());
+        
+        Mockito.when(clientManagerDelegate.getClient("client2")).thenReturn(null);
+        List<Instance> hosts = serviceStorage.getPushData(singleton).getHosts();
+        
+        Assert.assertEquals(1, hosts.size());
+        Assert.assertEquals("1.1.1.1", hosts.get(0).getIp());
+        Assert.assertEquals(1, serviceStorage.getClusters(singleton).size());
+    }
+    
+    @Test
+    public void testIncrementalRemoveClientNotInIndex() {
+        mockClient("client1", new InstancePublishInfo("1.1.1.1", 8848));
+        mockClient("client2", new InstancePublishInfo("2.2.2.2", 8848));
+        Service singleton = ServiceManager.getInstance().getSingleton(INCREMENTAL_SERVICE);
+        Mockito.when(clientServiceIndexesManager.getAllClientsRegisteredService(singleton))
+                .thenReturn(Arrays.asList("client1", "client2"));
+        Assert.assertEquals(2, serviceStorage.getPushData(singleton).getHosts().size());
+        
+        Mockito.when(clientServiceIndexesManager.getAllClientsRegisteredService(singleton))
+                .thenReturn(Collections.singletonList("client1"));
+        List<Instance> hosts = serviceStorage.getPushData(singleton).getHosts();
+        
+        Assert.assertEquals(1, hosts.size());
+        Assert.assertEquals("1.1.1.1", hosts.get(0).getIp());
+    }
+    
+    @Test
+    public void testPushDataReadHealthyChangedBeforeClientEvent() {
+        InstancePublishInfo publishInfo = new InstancePublishInfo("1.1.1.1", 8848);
+        publishInfo.setHealthy(true);
+        mockClient("client1", publishInfo);
+        Service singleton = ServiceManager.getInstance().getSingleton(INCREMENTAL_SERVICE);
+        Mockito.when(clientServiceIndexesManager.getAllClientsRegisteredService(singleton))
+                .thenReturn(Collections.singletonList("client1"));
+        Assert.assertTrue(serviceStorage.getPushData(singleton).getHosts().get(0).isHealthy());
+        
+        // Health checkers change the publish info in place, and the push is triggered before client event delivered.
+        publishInfo.setHealthy(false);
+        Assert.assertFalse(serviceStorage.getPushData(singleton).getHosts().get(0).isHealthy());
+        publishInfo.setHealthy(true);
+        Assert.assertTrue(serviceStorage.getPushData(singleton).getHosts().get(0).isHealthy());
+    }
+    
+    @Test
+    public void testRebuildWhenInstanceMetadataChanged() {
+        mockClient("client1", new InstancePublishInfo("1.1.1.1", 8848));
+        mockClient("client2", new InstancePublishInfo("1.1.1.1", 8848));
+        Service singleton = ServiceManager.getInstance().getSingleton(INCREMENTAL_SERVICE);
+        Mockito.when(clientServiceIndexesManager.getAllClientsRegisteredService(singleton))
+                .thenReturn(Arrays.asList("client1", "client2"));
+        // The same instance published by different clients is merged.
+        Assert.assertEquals(1, serviceStorage.getPushData(singleton).getHosts().size());
+        
+        serviceStorage.onEvent(new ServiceEvent.ServiceChangedEvent(singleton,
+                ServiceEvent.ServiceChangedEvent.INSTANCE_METADATA_CHANGED, true));
+        Assert.assertEquals(1, serviceStorage.getPushData(singleton).getHosts().size());
+        Mockito.verify(clientManagerDelegate, Mockito.times(2)).getClient("client1");
+    }
+    
+    @Test
+    public void testFilteredInstancesMemoizedUntilDataChanged() {
+        InstancePublishInfo healthyInstance = new InstancePublishInfo("1.1.1.1", 8848);
+        healthyInstance.setHealthy(true);
+        mockClient("client1", healthyInstance);
+        mockClient("client2", new InstancePublishInfo("2.2.2.2", 8848));
+        Service singleton = ServiceManager.getInstance().getSingleton(INCREMENTAL_SERVICE);
+        Mockito.when(clientServiceIndexesManager.getAllClientsRegisteredService(singleton))
+                .thenReturn(Arrays.asList("client1", "client2"));
+        ServiceInfo data = serviceStorage.getPushData(singleton);
+        ServiceUtil.FilteredInstances filtered = serviceStorage.getFilteredInstances(singleton, data, "", true, true);
+        Assert.assertEquals(1, filtered.getInstances().size());
+        Assert.assertEquals("1.1.1.1", filtered.getInstances().get(0).getIp());
+        Assert.assertEquals(1L, filtered.getHealthyCount());
+        Assert.assertSame(filtered, serviceStorage.getFilteredInstances(singleton, data, "", true, true));
+        Assert.assertNotSame(filtered, serviceStorage.getFilteredInstances(singleton, data, "", false, true));
+        
+        ServiceInfo newData = serviceStorage.getPushData(singleton);
+        ServiceUtil.FilteredInstances newFiltered = serviceStorage
+                .getFilteredInstances(singleton, newData, "", true, true);
+        Assert.assertNotSame(filtered, newFiltered);
+        Assert.assertSame(newFiltered, serviceStorage.getFilteredInstances(singleton, newData, "", true, true));
+        // The stale data is filtered every time without memoized.
+        Assert.assertNotSame(serviceStorage.getFilteredInstances(singleton, data, "", true, true),
+                serviceStorage.getFilteredInstances(singleton, data, "", true, true));
+    }
+    
+    @Test
+    public void testFilteredViewsDroppedWhenDataReplaced() throws NoSuchFieldException, IllegalAccessException {
+        mockClient("client1", new InstancePublishInfo("1.1.1.1", 8848));
+        Service singleton = ServiceManager.getInstance().getSingleton(INCREMENTAL_SERVICE);
+        Mockito.when(clientServiceIndexesManager.getAllClientsRegisteredService(singleton))
+                .thenReturn(Collections.singletonList("client1"));
+        ServiceInfo data = serviceStorage.getPushData(singleton);
+        serviceStorage.getFilteredInstances(singleton, data, "", false, true);
+        
+        Field serviceFilteredViews = ServiceStorage.class.getDeclaredField("serviceFilteredViews");
+        serviceFilteredViews.setAccessible(true);
+        ConcurrentMap<Service, ?> filteredViews = (ConcurrentMap<Service, ?>) serviceFilteredViews.get(serviceStorage);
+        Assert.assertTrue(filteredViews.containsKey(singleton));
+        
+        serviceStorage.getPushData(singleton);
+        Assert.assertFalse(filteredViews.containsKey(singleton));
+    }
+    
+    private Client mockClient(String clientId, InstancePublishInfo publishInfo) {
+        Client client = Mockito.mock(Client.class);
+        Mockito.when(client.getInstancePublishInfo(Mockito.any())).thenReturn(publishInfo);
+        Mockito.when(clientManagerDelegate.getClient(clientId)).thenReturn(client);
+        return client;
+    }
+}
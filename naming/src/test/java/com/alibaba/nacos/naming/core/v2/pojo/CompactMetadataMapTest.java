@@ -0,0 +1,128 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.naming.core.v2.pojo;
+
+import org.junit.Test;
+
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class CompactMetadataMapTest {
+    
+    @Test
+    public void testPutGetRemove() {
+        CompactMetadataMap map = new CompactMetadataMap();
+        assertNull(map.put("a", "1"));
+        assertNull(map.put("b", 2));
+        assertNull(map.put(null, null));
+        assertEquals("1", map.put("a", "3"));
+        assertEquals(3, map.size());
+        assertEquals("3", map.get(new String("a")));
+        assertTrue(map.containsKey(null));
+        assertEquals(2, map.remove("b"));
+        assertNull(map.remove("b"));
+        assertEquals(2, map.size());
+        map.clear();
+        assertTrue(map.isEmpty());
+    }
+    
+    @Test
+    public void testPutAll() {
+        Map<String, Object> source = new HashMap<>();
+        source.put("a", "1");
+        source.put("b", "2");
+        CompactMetadataMap map = new CompactMetadataMap();
+        map.put("a", "0");
+        map.put("c", "3");
+        map.putAll(source);
+        assertEquals(3, map.size());
+        assertEquals("1", map.get("a"));
+        assertEquals("2", map.get("b"));
+        assertEquals("3", map.get("c"));
+    }
+    
+    @Test
+    public void testInternKeysAndShortValues() {
+        StringBuilder longValue = new StringBuilder();
+        for (int i = 0; i < 65; i++) {
+            longValue.append('v');
+        }
+        CompactMetadataMap first = new CompactMetadataMap();
+        first.put(new String("interned-key"), new String("interned-source"));
+        first.put("long", longValue.toString());
+        CompactMetadataMap second = new CompactMetadataMap();
+        second.put(new String("interned-key"), new String("interned-source"));
+        second.put("long", longValue.toString());
+        assertSame(first.keySet().iterator().next(), second.keySet().iterator().next());
+        assertSame(first.get("interned-key"), second.get("interned-key"));
+        assertNotSame(first.get("long"), second.get("long"));
+        // Interned by the interner of naming rather than the JVM string pool.
+        assertNotSame("interned-source", first.get("interned-key"));
+    }
+    
+    @Test
+    public void testEqualsWithHashMap() {
+        Map<String, Object> source = new HashMap<>();
+        source.put("a", "1");
+        source.put("b", 2.0D);
+        CompactMetadataMap map = new CompactMetadataMap(source);
+        assertEquals(source, map);
+        assertEquals(map, source);
+        assertEquals(source.hashCode(), map.hashCode());
+        assertEquals(source, new HashMap<>(map));
+    }
+    
+    @Test
+    public void testIterator() {
+        CompactMetadataMap map = new CompactMetadataMap();
+        map.put("a", "1");
+        map.put("b", "2");
+        map.put("c", "3");
+        Iterator<Map.Entry<String, Object>> iterator = map.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, Object> entry = iterator.next();
+            if ("b".equals(entry.getKey())) {
+                iterator.remove();
+            } else {
+                entry.setValue(entry.getValue() + "0");
+            }
+        }
+        assertEquals(2, map.size());
+        assertEquals("10", map.get("a"));
+        assertEquals("30", map.get("c"));
+        assertFalse(map.containsKey("b"));
+    }
+    
+    @Test(expected = ConcurrentModificationException.class)
+    public void testIteratorFailFast() {
+        CompactMetadataMap map = new CompactMetadataMap();
+        map.put("a", "1");
+        map.put("b", "2");
+        for (String each : map.keySet()) {
+            map.put(each + "0", "0");
+        }
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.naming.core.v2.pojo;
+
+import com.alibaba.nacos.common.utils.JacksonUtils;
+import com.alibaba.nacos.consistency.serialize.HessianSerializer;
+import org.junit.Test;
+
+import java.io.ObjectStreamException;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class InstancePublishInfoTest {
+    
+    @Test
+    public void testIp() {
+        String[] ips = {"1.1.1.1", "192.168.0.1", "255.255.255.255", "0.0.0.0", "10.0.0.01", "256.1.1.1", "1.1.1",
+                "1.1.1.1.1", "1..1.1", "1.1.1.", "a.b.c.d", "2001:db8::1", "nacos.io", ""};
+        for (String each : ips) {
+            assertEquals(each, new InstancePublishInfo(each, 8848).getIp());
+        }
+        InstancePublishInfo info = new InstancePublishInfo("1.1.1.1", 8848);
+        info.setCluster("DEFAULT");
+        assertEquals("1.1.1.1:8848:DEFAULT", info.getMetadataId());
+        info = new InstancePublishInfo();
+        assertNull(info.getIp());
+        info.setIp("1.1.1.1");
+        info.setIp(null);
+        assertNull(info.getIp());
+    }
+    
+    @Test
+    public void testEqualsWithPackedIp() {
+        InstancePublishInfo info1 = new InstancePublishInfo("1.1.1.1", 8848);
+        InstancePublishInfo info2 = new InstancePublishInfo("1.1.1.1", 8848);
+        assertEquals(info1, info2);
+        assertEquals(info1.hashCode(), info2.hashCode());
+        info2.setIp("1.1.1.2");
+        assertTrue(!info1.equals(info2));
+    }
+    
+    @Test
+    public void testCompactExtendDatum() {
+        Map<String, Object> extendDatum = new HashMap<>();
+        extendDatum.put(new String("version"), new String("1.0"));
+        extendDatum.put("weight", 2.0D);
+        InstancePublishInfo info1 = new InstancePublishInfo("1.1.1.1", 8848);
+        info1.setExtendDatum(extendDatum);
+        info1.setCluster(new String("DEFAULT"));
+        InstancePublishInfo info2 = new InstancePublishInfo("1.1.1.2", 8848);
+        info2.getExtendDatum().put(new String("version"), new String("1.0"));
+        info2.setCluster(new String("DEFAULT"));
+        
+        assertTrue(info1.getExtendDatum() instanceof CompactMetadataMap);
+        assertEquals(extendDatum, info1.getExtendDatum());
+        assertSame(info1.getCluster(), info2.getCluster());
+        assertSame(info1.getExtendDatum().get("version"), info2.getExtendDatum().get("version"));
+    }
+    
+    @Test
+    public void testHessianSerializeAsPlainFields() throws ObjectStreamException {
+        HealthCheckInstancePublishInfo info = new HealthCheckInstancePublishInfo("1.1.1.1", 8848);
+        info.setCluster("cluster");
+        info.setHealthy(true);
+        info.getExtendDatum().put("version", "1.0");
+        info.setLastHeartBeatTime(1000L);
+        InstancePublishInfo plain = (InstancePublishInfo) info.writeReplace();
+        assertEquals("1.1.1.1", plain.getIp());
+        assertTrue(plain.getExtendDatum() instanceof HashMap);
+        assertSame(plain, plain.writeReplace());
+        
+        HessianSerializer serializer = new HessianSerializer();
+        HealthCheckInstancePublishInfo actual = serializer.deserialize(serializer.serialize(info));
+        assertEquals(info, actual);
+        assertEquals("1.1.1.1", actual.getIp());
+        assertEquals("cluster", actual.getCluster());
+        assertEquals(1000L, actual.getLastHeartBeatTime());
+        assertTrue(actual.getExtendDatum() instanceof CompactMetadataMap);
+        // the original instance is not changed by serialization.
+        assertTrue(info.getExtendDatum() instanceof CompactMetadataMap);
+    }
+    
+    @Test
+    public void testJacksonSerialize() {
+        InstancePublishInfo info = new InstancePublishInfo("1.1.1.1", 8848);
+        info.setCluster("cluster");
+        info.getExtendDatum().put("version", "1.0");
+        String json = JacksonUtils.toJson(info);
+        assertTrue(json.contains("\"ip\":\"1.1.1.1\""));
+        
+        InstancePublishInfo actual = JacksonUtils.toObj(json, InstancePublishInfo.class);
+        assertEquals(info, actual);
+        assertTrue(actual.getExtendDatum() instanceof CompactMetadataMap);
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.naming.healthcheck;
+
+import com.alibaba.nacos.naming.healthcheck.heartbeat.BeatCheckTask;
+import com.alibaba.nacos.sys.env.EnvUtil;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class HealthCheckReactorTest {
+    
+    @Mock
+    private BeatCheckTask beatCheckTask;
+    
+    @BeforeClass
+    public static void setUpBeforeClass() {
+        EnvUtil.setEnvironment(new MockEnvironment());
+    }
+    
+    @Test
+    public void testScheduleAndCancelBeatCheck() {
+        when(beatCheckTask.taskKey()).thenReturn("testScheduleAndCancelBeatCheck");
+        int pending = HealthCheckReactor.getPendingBeatCheckCount();
+        HealthCheckReactor.scheduleCheck(beatCheckTask);
+        HealthCheckReactor.scheduleCheck(beatCheckTask);
+        assertEquals(pending + 1, HealthCheckReactor.getPendingBeatCheckCount());
+        HealthCheckReactor.cancelCheck(beatCheckTask);
+        assertEquals(pending, HealthCheckReactor.getPendingBeatCheckCount());
+        HealthCheckReactor.cancelCheck(beatCheckTask);
+        assertEquals(pending, HealthCheckReactor.getPendingBeatCheckCount());
+    }
+    
+    @Test
+    public void testScheduleCheckNoLaterThan() {
+        when(beatCheckTask.taskKey()).thenReturn("testScheduleCheckNoLaterThan");
+        lenient().when(beatCheckTask.getNextCheckDelay()).thenReturn(TimeUnit.MINUTES.toMillis(1));
+        final int pending = HealthCheckReactor.getPendingBeatCheckCount();
+        HealthCheckReactor.scheduleCheck(beatCheckTask);
+        // later deadline than the armed one doesn't re-arm the check.
+        HealthCheckReactor.scheduleCheckNoLaterThan(beatCheckTask, TimeUnit.MINUTES.toMillis(1));
+        verify(beatCheckTask, after(500).never()).run();
+        HealthCheckReactor.scheduleCheckNoLaterThan(beatCheckTask, 0L);
+        verify(beatCheckTask, timeout(3000)).run();
+        HealthCheckReactor.cancelCheck(beatCheckTask);
+        assertEquals(pending, HealthCheckReactor.getPendingBeatCheckCount());
+    }
+}
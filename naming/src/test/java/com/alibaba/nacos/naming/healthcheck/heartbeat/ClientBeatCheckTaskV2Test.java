@@ -26,7 +26,9 @@ import com.alibaba.nacos.naming.core.v2.metadata.NamingMetadataManager;
 import com.alibaba.nacos.naming.core.v2.pojo.HealthCheckInstancePublishInfo;
 import com.alibaba.nacos.naming.core.v2.pojo.Service;
 import com.alibaba.nacos.naming.misc.GlobalConfig;
+import com.alibaba.nacos.naming.misc.SwitchDomain;
 import com.alibaba.nacos.naming.misc.UtilsAndCommons;
+import com.alibaba.nacos.sys.env.EnvUtil;
 import com.alibaba.nacos.sys.utils.ApplicationUtils;
 import org.junit.Before;
 import org.junit.Test;
@@ -34,6 +36,7 @@ import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.mock.env.MockEnvironment;
 
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
@@ -158,6 +161,72 @@ public class ClientBeatCheckTaskV2Test {
         assertFalse(client.getInstancePublishInfo(Service.newService(NAMESPACE, GROUP_NAME, SERVICE_NAME)).isHealthy());
     }
     
+    @Test
+    public void testNextCheckDelayByHeartBeatTimeout() {
+        injectInstance(true, System.currentTimeMillis() - 5000L);
+        when(globalConfig.isExpireInstance()).thenReturn(true);
+        beatCheckTask.run();
+        long delay = beatCheckTask.getNextCheckDelay();
+        assertTrue(delay > 9000L && delay <= 10001L);
+    }
+    
+    @Test
+    public void testNextCheckDelayByExpiredTimeout() {
+        injectInstance(false, System.currentTimeMillis() - 25000L);
+        beatCheckTask.run();
+        long delay = beatCheckTask.getNextCheckDelay();
+        assertTrue(delay > 4000L && delay <= 5001L);
+    }
+    
+    @Test
+    public void testNextCheckDelayLimitedByHeartBeatTimeout() {
+        injectInstance(true, System.currentTimeMillis()).getExtendDatum()
+                .put(PreservedMetadataKeys.HEART_BEAT_TIMEOUT, 60000L);
+        when(globalConfig.isExpireInstance()).thenReturn(true);
+        beatCheckTask.run();
+        long delay = beatCheckTask.getNextCheckDelay();
+        assertTrue(delay > 14000L && delay <= 15000L);
+    }
+    
+    @Test
+    public void testNextCheckDelayWhenNotResponsible() {
+        injectInstance(true, System.currentTimeMillis());
+        when(distroMapper.responsible(anyString())).thenReturn(false);
+        beatCheckTask.run();
+        assertEquals(5000L, beatCheckTask.getNextCheckDelay());
+    }
+    
+    @Test
+    public void testNextCheckDelayWhenPassedDeadline() {
+        injectInstance(false, 0);
+        beatCheckTask.run();
+        assertFalse(client.getAllInstancePublishInfo().isEmpty());
+        assertEquals(5000L, beatCheckTask.getNextCheckDelay());
+    }
+    
+    @Test
+    public void testRearmCheckForInstanceWithShorterTimeout() throws InterruptedException {
+        EnvUtil.setEnvironment(new MockEnvironment());
+        when(applicationContext.getBean(SwitchDomain.class)).thenReturn(new SwitchDomain());
+        IpPortBasedClient scheduledClient = new IpPortBasedClient(CLIENT_ID, true);
+        scheduledClient.init();
+        try {
+            HealthCheckInstancePublishInfo instance = new HealthCheckInstancePublishInfo(IP, PORT);
+            instance.setHealthy(true);
+            instance.setCluster(UtilsAndCommons.DEFAULT_CLUSTER_NAME);
+            instance.getExtendDatum().put(PreservedMetadataKeys.HEART_BEAT_TIMEOUT, 200L);
+            // The client is armed by the default beat interval, and re-armed by the joined instance.
+            scheduledClient.addServiceInstance(Service.newService(NAMESPACE, GROUP_NAME, SERVICE_NAME), instance);
+            long deadline = System.currentTimeMillis() + 3000L;
+            while (instance.isHealthy() && System.currentTimeMillis() < deadline) {
+                TimeUnit.MILLISECONDS.sleep(50);
+            }
+            assertFalse(instance.isHealthy());
+        } finally {
+            scheduledClient.release();
+        }
+    }
+    
     private HealthCheckInstancePublishInfo injectInstance(boolean healthy, long heartbeatTime) {
         HealthCheckInstancePublishInfo instance = new HealthCheckInstancePublishInfo(IP, PORT);
         instance.setHealthy(healthy);
@@ -40,6 +40,7 @@ import java.net.ConnectException;
 import java.net.HttpURLConnection;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -49,6 +50,8 @@ import static org.mockito.Mockito.when;
 @RunWith(MockitoJUnitRunner.class)
 public class HttpHealthCheckProcessorTest {
     
+    private static final String NIO_THREAD_NAME = "com.alibaba.nacos.naming.health.http.nio";
+    
     @Mock
     private HealthCheckCommonV2 healthCheckCommon;
     
@@ -100,6 +103,23 @@ public class HttpHealthCheckProcessorTest {
         Assert.assertEquals(httpHealthCheckProcessor.getType(), HealthCheckType.HTTP.name());
     }
     
+    @Test
+    public void testShutdownNioHealthChecker() throws InterruptedException {
+        MockEnvironment environment = new MockEnvironment();
+        environment.setProperty(HttpHealthCheckProcessor.NIO_ENABLED, "true");
+        EnvUtil.setEnvironment(environment);
+        Set<Thread> before = Thread.getAllStackTraces().keySet();
+        HttpHealthCheckProcessor nioProcessor = new HttpHealthCheckProcessor(healthCheckCommon, switchDomain);
+        List<Thread> selectorThreads = Thread.getAllStackTraces().keySet().stream()
+                .filter(each -> !before.contains(each) && each.getName().startsWith(NIO_THREAD_NAME))
+                .collect(Collectors.toList());
+        Assert.assertEquals(1, selectorThreads.size());
+        
+        nioProcessor.shutdown();
+        selectorThreads.get(0).join(3000L);
+        Assert.assertFalse(selectorThreads.get(0).isAlive());
+    }
+    
     @Test
     public void testConstructor()
             throws NoSuchMethodException, IllegalAccessException, InvocationTargetException, InstantiationException {
@@ -0,0 +1,224 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.naming.healthcheck.v2.processor;
+
+import com.alibaba.nacos.common.http.Callback;
+import com.alibaba.nacos.common.model.RestResult;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class NioHttpHealthCheckerTest {
+    
+    private ServerSocket serverSocket;
+    
+    private AtomicInteger acceptCount;
+    
+    private volatile String response;
+    
+    private NioHttpHealthChecker checker;
+    
+    @Before
+    public void setUp() throws IOException {
+        serverSocket = new ServerSocket(0);
+        acceptCount = new AtomicInteger();
+        response = "HTTP/1.1 200 OK\r\nContent-Length: 2\r\n\r\nok";
+        Thread acceptor = new Thread(this::accept);
+        acceptor.setDaemon(true);
+        acceptor.start();
+        checker = new NioHttpHealthChecker(16, 4, 1000L, 10000L, "GET", Runnable::run);
+    }
+    
+    @After
+    public void tearDown() throws IOException {
+        checker.shutdown();
+        serverSocket.close();
+    }
+    
+    private void accept() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                acceptCount.incrementAndGet();
+                Thread worker = new Thread(() -> serve(socket));
+                worker.setDaemon(true);
+                worker.start();
+            } catch (IOException ignore) {
+            }
+        }
+    }
+    
+    private void serve(Socket socket) {
+        try (Socket ignore = socket) {
+            BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(socket.getInputStream(), StandardCharsets.ISO_8859_1));
+            OutputStream outputStream = socket.getOutputStream();
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty() && null != response) {
+                    outputStream.write(response.getBytes(StandardCharsets.ISO_8859_1));
+                    outputStream.flush();
+                }
+            }
+        } catch (IOException ignore) {
+        }
+    }
+    
+    @Test
+    public void testCheckReuseConnection() throws Exception {
+        int port = serverSocket.getLocalPort();
+        ResultCallback first = new ResultCallback();
+        ResultCallback second = new ResultCallback();
+        checker.check("127.0.0.1", port, "/health", Collections.singletonMap("k", "v"), first);
+        checker.check("127.0.0.1", port, "/health", Collections.emptyMap(), second);
+        assertEquals(200, first.result.get(5, TimeUnit.SECONDS).getCode());
+        assertEquals(200, second.result.get(5, TimeUnit.SECONDS).getCode());
+        ResultCallback third = new ResultCallback();
+        checker.check("127.0.0.1", port, "/health", Collections.emptyMap(), third);
+        assertEquals(200, third.result.get(5, TimeUnit.SECONDS).getCode());
+        assertEquals(1, acceptCount.get());
+    }
+    
+    @Test
+    public void testCheckChunkedResponse() throws Exception {
+        response = "HTTP/1.1 503 Service Unavailable\r\nTransfer-Encoding: chunked\r\n\r\n"
+                + "4\r\nbusy\r\n0\r\n\r\n";
+        ResultCallback callback = new ResultCallback();
+        checker.check("127.0.0.1", serverSocket.getLocalPort(), "/", Collections.emptyMap(), callback);
+        assertEquals(503, callback.result.get(5, TimeUnit.SECONDS).getCode());
+    }
+    
+    @Test
+    public void testCheckTimeout() throws Exception {
+        response = null;
+        ResultCallback callback = new ResultCallback();
+        checker.check("127.0.0.1", serverSocket.getLocalPort(), "/", Collections.emptyMap(), callback);
+        assertTrue(callback.error.get(5, TimeUnit.SECONDS) instanceof SocketTimeoutException);
+    }
+    
+    @Test
+    public void testCheckConnectRefused() throws Exception {
+        int port;
+        try (ServerSocket closed = new ServerSocket(0)) {
+            port = closed.getLocalPort();
+        }
+        ResultCallback callback = new ResultCallback();
+        checker.check("127.0.0.1", port, "/", Collections.emptyMap(), callback);
+        assertTrue(callback.error.get(5, TimeUnit.SECONDS) instanceof ConnectException);
+    }
+    
+    @Test
+    public void testCheckHostName() throws Exception {
+        ResultCallback callback = new ResultCallback();
+        checker.check("localhost", serverSocket.getLocalPort(), "/", Collections.emptyMap(), callback);
+        assertEquals(200, callback.result.get(5, TimeUnit.SECONDS).getCode());
+    }
+    
+    @Test
+    public void testShutdownFailWaitingChecks() throws Exception {
+        response = null;
+        NioHttpHealthChecker singleChecker = new NioHttpHealthChecker(1, 1, 10000L, 10000L, "GET", Runnable::run);
+        ResultCallback inFlight = new ResultCallback();
+        ResultCallback waiting = new ResultCallback();
+        singleChecker.check("127.0.0.1", serverSocket.getLocalPort(), "/", Collections.emptyMap(), inFlight);
+        singleChecker.check("127.0.0.1", serverSocket.getLocalPort(), "/", Collections.emptyMap(), waiting);
+        singleChecker.shutdown();
+        assertTrue(inFlight.error.get(5, TimeUnit.SECONDS) instanceof IOException);
+        assertTrue(waiting.error.get(5, TimeUnit.SECONDS) instanceof IOException);
+        ResultCallback afterShutdown = new ResultCallback();
+        singleChecker.check("127.0.0.1", serverSocket.getLocalPort(), "/", Collections.emptyMap(), afterShutdown);
+        assertTrue(afterShutdown.error.get(5, TimeUnit.SECONDS) instanceof IOException);
+    }
+    
+    @Test
+    public void testEncodeRequestHostOfIpv6() {
+        String request = new String(checker.encodeRequest("::1", 8080, "/", Collections.emptyMap()),
+                StandardCharsets.ISO_8859_1);
+        assertTrue(request.contains("Host: [::1]:8080\r\n"));
+        request = new String(checker.encodeRequest("127.0.0.1", 8080, "/", Collections.emptyMap()),
+                StandardCharsets.ISO_8859_1);
+        assertTrue(request.contains("Host: 127.0.0.1:8080\r\n"));
+    }
+    
+    @Test
+    public void testParsePipelinedResponses() throws IOException {
+        NioHttpHealthChecker.ResponseParser parser = new NioHttpHealthChecker.ResponseParser();
+        ByteBuffer buffer = ByteBuffer.wrap(("HTTP/1.1 100 Continue\r\n\r\n"
+                + "HTTP/1.1 200 OK\r\nContent-Length: 3\r\n\r\nabc"
+                + "HTTP/1.0 404 Not Found\r\n\r\nnot found").getBytes(StandardCharsets.ISO_8859_1));
+        parser.reset(false);
+        assertTrue(parser.parse(buffer));
+        assertEquals(200, parser.getStatusCode());
+        assertTrue(parser.isKeepAlive());
+        parser.reset(false);
+        assertFalse(parser.parse(buffer));
+        assertEquals(404, parser.getStatusCode());
+        assertTrue(parser.finishOnClose());
+        assertFalse(parser.isKeepAlive());
+    }
+    
+    @Test
+    public void testParseHeadResponse() throws IOException {
+        NioHttpHealthChecker.ResponseParser parser = new NioHttpHealthChecker.ResponseParser();
+        ByteBuffer buffer = ByteBuffer.wrap("HTTP/1.1 200 OK\r\nContent-Length: 10\r\nConnection: close\r\n\r\n"
+                .getBytes(StandardCharsets.ISO_8859_1));
+        parser.reset(true);
+        assertTrue(parser.parse(buffer));
+        assertFalse(parser.isKeepAlive());
+        assertFalse(buffer.hasRemaining());
+    }
+    
+    private static class ResultCallback implements Callback<String> {
+        
+        private final CompletableFuture<RestResult<String>> result = new CompletableFuture<>();
+        
+        private final CompletableFuture<Throwable> error = new CompletableFuture<>();
+        
+        @Override
+        public void onReceive(RestResult<String> restResult) {
+            result.complete(restResult);
+        }
+        
+        @Override
+        public void onError(Throwable throwable) {
+            error.complete(throwable);
+        }
+        
+        @Override
+        public void onCancel() {
+        }
+    }
+}
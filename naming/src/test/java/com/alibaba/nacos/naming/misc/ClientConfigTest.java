@@ -58,9 +58,13 @@ public class ClientConfigTest {
     public void testInitConfigFormEnv()
             throws NoSuchMethodException, InvocationTargetException, InstantiationException, IllegalAccessException {
         mockEnvironment.setProperty(ClientConstants.CLIENT_EXPIRED_TIME_CONFIG_KEY, String.valueOf(EXPIRED_TIME));
+        mockEnvironment.setProperty(ClientConstants.CLIENT_RELEASE_BATCH_WINDOW_CONFIG_KEY, "200");
+        mockEnvironment.setProperty(ClientConstants.CLIENT_RELEASE_BATCH_SIZE_CONFIG_KEY, "500");
         Constructor<ClientConfig> declaredConstructor = ClientConfig.class.getDeclaredConstructor();
         declaredConstructor.setAccessible(true);
         ClientConfig clientConfig = declaredConstructor.newInstance();
         Assert.assertEquals(clientConfig.getClientExpiredTime(), EXPIRED_TIME);
+        Assert.assertEquals(200L, clientConfig.getClientReleaseBatchWindow());
+        Assert.assertEquals(500, clientConfig.getClientReleaseBatchSize());
     }
 }
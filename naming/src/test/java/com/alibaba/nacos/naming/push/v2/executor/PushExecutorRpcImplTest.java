@@ -16,14 +16,21 @@
 
 package com.alibaba.nacos.naming.push.v2.executor;
 
+import com.alibaba.nacos.api.ability.constant.AbilityKey;
+import com.alibaba.nacos.api.grpc.auto.Payload;
 import com.alibaba.nacos.api.naming.pojo.Instance;
 import com.alibaba.nacos.api.naming.pojo.ServiceInfo;
 import com.alibaba.nacos.api.naming.remote.request.NotifySubscriberRequest;
 import com.alibaba.nacos.api.remote.PushCallBack;
+import com.alibaba.nacos.common.remote.client.grpc.GrpcUtils;
+import com.alibaba.nacos.common.remote.codec.PayloadBodyCodecs;
+import com.alibaba.nacos.core.remote.Connection;
+import com.alibaba.nacos.core.remote.ConnectionManager;
 import com.alibaba.nacos.core.remote.RpcPushService;
 import com.alibaba.nacos.naming.core.v2.metadata.ServiceMetadata;
 import com.alibaba.nacos.naming.misc.GlobalExecutor;
 import com.alibaba.nacos.naming.pojo.Subscriber;
+import com.alibaba.nacos.naming.push.v2.PushConfig;
 import com.alibaba.nacos.naming.push.v2.PushDataWrapper;
 import com.alibaba.nacos.naming.push.v2.task.NamingPushCallback;
 import com.alibaba.nacos.naming.selector.SelectorManager;
@@ -32,20 +39,28 @@ import com.alibaba.nacos.sys.utils.ApplicationUtils;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.invocation.InvocationOnMock;
 import org.mockito.junit.MockitoJUnitRunner;
 import org.mockito.stubbing.Answer;
 import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -69,6 +84,12 @@ public class PushExecutorRpcImplTest {
     @Mock
     private ConfigurableApplicationContext context;
     
+    @Mock
+    private ConnectionManager connectionManager;
+    
+    @Mock
+    private Connection connection;
+    
     private PushDataWrapper pushData;
     
     private PushExecutorRpcImpl pushExecutor;
@@ -80,7 +101,7 @@ public class PushExecutorRpcImplTest {
         EnvUtil.setEnvironment(new MockEnvironment());
         serviceMetadata = new ServiceMetadata();
         pushData = new PushDataWrapper(serviceMetadata, new ServiceInfo("G@@S"));
-        pushExecutor = new PushExecutorRpcImpl(pushService);
+        pushExecutor = new PushExecutorRpcImpl(pushService, connectionManager);
         EnvUtil.setEnvironment(new MockEnvironment());
         doAnswer(new CallbackAnswer()).when(pushService)
                 .pushWithCallback(eq(rpcClientId), any(NotifySubscriberRequest.class), eq(pushCallBack),
@@ -103,6 +124,77 @@ public class PushExecutorRpcImplTest {
         verify(pushCallBack).onSuccess();
     }
     
+    @Test
+    public void testDoPushShareEncodedBody() {
+        Subscriber otherSubscriber = mock(Subscriber.class);
+        when(otherSubscriber.getCluster()).thenReturn("otherCluster");
+        pushExecutor.doPush(rpcClientId, subscriber, pushData);
+        pushExecutor.doPush(rpcClientId, subscriber, pushData);
+        pushExecutor.doPush(rpcClientId, otherSubscriber, pushData);
+        ArgumentCaptor<NotifySubscriberRequest> captor = ArgumentCaptor.forClass(NotifySubscriberRequest.class);
+        verify(pushService, times(3)).pushWithoutAck(eq(rpcClientId), captor.capture());
+        List<NotifySubscriberRequest> requests = captor.getAllValues();
+        assertNotSame(requests.get(0), requests.get(1));
+        assertSame(((PreEncodedNotifySubscriberRequest) requests.get(0)).getPreEncodedBody(),
+                ((PreEncodedNotifySubscriberRequest) requests.get(1)).getPreEncodedBody());
+        assertNotSame(((PreEncodedNotifySubscriberRequest) requests.get(0)).getPreEncodedBody(),
+                ((PreEncodedNotifySubscriberRequest) requests.get(2)).getPreEncodedBody());
+        verify(selectorManager, times(2)).select(any(), any(), any());
+    }
+    
+    @Test
+    public void testDoPushWithCallbackDelta() {
+        ReflectionTestUtils.setField(PushConfig.getInstance(), "deltaPushEnabled", true);
+        try {
+            when(connectionManager.getConnection(rpcClientId)).thenReturn(connection);
+            when(connection.getAbilityTable()).thenReturn(
+                    Collections.singletonMap(AbilityKey.SDK_CLIENT_NAMING_DELTA_PUSH.getName(), true));
+            when(subscriber.getNamespaceId()).thenReturn("N");
+            when(subscriber.getServiceName()).thenReturn("G@@S");
+            doAnswer(invocationOnMock -> {
+                ((PushCallBack) invocationOnMock.getArgument(2)).onSuccess();
+                return null;
+            }).when(pushService).pushWithCallback(eq(rpcClientId), any(NotifySubscriberRequest.class),
+                    any(PushCallBack.class), eq(GlobalExecutor.getCallbackExecutor()));
+            pushExecutor.doPushWithCallback(rpcClientId, subscriber, newPushData(1.0), pushCallBack);
+            pushExecutor.doPushWithCallback(rpcClientId, subscriber, newPushData(2.0), pushCallBack);
+            
+            ArgumentCaptor<NotifySubscriberRequest> captor = ArgumentCaptor.forClass(NotifySubscriberRequest.class);
+            verify(pushService, times(2)).pushWithCallback(eq(rpcClientId), captor.capture(), any(PushCallBack.class),
+                    eq(GlobalExecutor.getCallbackExecutor()));
+            NotifySubscriberRequest full = decode(captor.getAllValues().get(0));
+            NotifySubscriberRequest delta = decode(captor.getAllValues().get(1));
+            assertEquals(0L, full.getBaseRevision());
+            assertEquals(4, full.getServiceInfo().getHosts().size());
+            assertEquals(full.getRevision(), delta.getBaseRevision());
+            assertEquals(1, delta.getServiceInfo().getHosts().size());
+            assertEquals(2.0, delta.getServiceInfo().getHosts().get(0).getWeight(), 0.0);
+            assertEquals(0, delta.getRemovedHosts().size());
+            verify(pushCallBack, times(2)).onSuccess();
+        } finally {
+            ReflectionTestUtils.setField(PushConfig.getInstance(), "deltaPushEnabled", false);
+        }
+    }
+    
+    private PushDataWrapper newPushData(double weight) {
+        ServiceInfo serviceInfo = new ServiceInfo("G@@S");
+        List<Instance> hosts = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            Instance instance = new Instance();
+            instance.setIp("1.1.1." + i);
+            instance.setPort(8848);
+            instance.setWeight(0 == i ? weight : 1.0);
+            hosts.add(instance);
+        }
+        serviceInfo.setHosts(hosts);
+        return new PushDataWrapper(serviceMetadata, serviceInfo);
+    }
+    
+    private NotifySubscriberRequest decode(NotifySubscriberRequest request) {
+        Payload payload = GrpcUtils.convert(request, PayloadBodyCodecs.PROTOBUF);
+        return PayloadBodyCodecs.PROTOBUF.decode(payload.getBody().getValue(), NotifySubscriberRequest.class);
+    }
+    
     private class CallbackAnswer implements Answer<Void> {
         
         @Override
@@ -37,8 +37,10 @@ import org.mockito.junit.MockitoJUnitRunner;
 import java.util.Collections;
 import java.util.concurrent.TimeUnit;
 
+import static org.junit.Assert.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -99,4 +101,14 @@ public class PushDelayTaskExecuteEngineTest {
         verify(pushExecutor).doPushWithCallback(anyString(), any(Subscriber.class), any(PushDataWrapper.class),
                 any(NamingPushCallback.class));
     }
+    
+    @Test
+    public void testNotProcessTaskWhenPushDisabled() throws InterruptedException {
+        when(switchDomain.isPushEnabled()).thenReturn(false);
+        executeEngine.addTask(service, new PushDelayTask(service, 0L));
+        TimeUnit.MILLISECONDS.sleep(200L);
+        verify(pushExecutor, never()).doPushWithCallback(anyString(), any(Subscriber.class),
+                any(PushDataWrapper.class), any(NamingPushCallback.class));
+        assertEquals(1, executeEngine.size());
+    }
 }
@@ -37,6 +37,7 @@ import static com.alibaba.nacos.consistency.DataOperation.DELETE;
 import static com.alibaba.nacos.consistency.DataOperation.QUERY;
 import static com.alibaba.nacos.consistency.DataOperation.SNAPSHOT;
 import static com.alibaba.nacos.consistency.DataOperation.VERIFY;
+import static com.alibaba.nacos.consistency.DataOperation.VERIFY_DIGEST;
 
 /**
  * {@link DistroDataRequestHandler} unit tests.
@@ -82,5 +83,10 @@ public class DistroDataRequestHandlerTest {
         distroDataRequest.setDataOperation(ADD);
         DistroDataResponse response4 = distroDataRequestHandler.handle(distroDataRequest, requestMeta);
         Assert.assertNull(response4.getDistroData());
+        
+        distroDataRequest.setDataOperation(VERIFY_DIGEST);
+        Mockito.when(distroProtocol.onVerifyDigest(Mockito.any(), Mockito.any())).thenReturn(distroData);
+        DistroDataResponse response5 = distroDataRequestHandler.handle(distroDataRequest, requestMeta);
+        Assert.assertEquals(distroData, response5.getDistroData());
     }
 }
@@ -27,6 +27,7 @@ import com.alibaba.nacos.naming.core.v2.index.ServiceStorage;
 import com.alibaba.nacos.naming.core.v2.metadata.NamingMetadataManager;
 import com.alibaba.nacos.naming.core.v2.metadata.ServiceMetadata;
 import com.alibaba.nacos.naming.selector.SelectorManager;
+import com.alibaba.nacos.naming.utils.ServiceUtil;
 import com.alibaba.nacos.sys.utils.ApplicationUtils;
 import org.junit.Assert;
 import org.junit.Before;
@@ -84,6 +85,9 @@ public class ServiceQueryRequestHandlerTest {
         serviceInfo.setName("C");
         serviceInfo.setHosts(instances);
         Mockito.when(serviceStorage.getData(Mockito.any())).thenReturn(serviceInfo);
+        Mockito.when(serviceStorage.getFilteredInstances(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.anyBoolean(),
+                Mockito.anyBoolean())).thenAnswer(invocation -> ServiceUtil.filterInstances(invocation.getArgument(1),
+                invocation.getArgument(2), invocation.getArgument(3), invocation.getArgument(4)));
         
         ServiceMetadata serviceMetadata = new ServiceMetadata();
         Mockito.when(metadataManager.getServiceMetadata(Mockito.any())).thenReturn(Optional.of(serviceMetadata));